@@ -0,0 +1,126 @@
+package com.openlineage.server.storage.document;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.MongoClientSettings;
+import com.openlineage.server.domain.ColumnLineageDatasetFacet;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a large {@code columnLineage} facet with
+ * {@link FacetCodecs} against the Jackson path it replaced: record → Jackson
+ * → sanitized Map → BSON on write, BSON → Document → unsanitized Map →
+ * Jackson → record on read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacetCodecBenchmark {
+
+    /** The converter's mapper before the codecs. */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final CodecRegistry CLIENT = CodecRegistries.fromRegistries(FacetCodecs.REGISTRY,
+            MongoClientSettings.getDefaultCodecRegistry());
+
+    @Param({"50", "500"})
+    public int columns;
+
+    @Param({"8"})
+    public int inputsPerColumn;
+
+    private ColumnLineageDatasetFacet facet;
+    /** The facet as the driver hands it to the read converter. */
+    private Document stored;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        Map<String, ColumnLineageDatasetFacet.Fields> fields = new LinkedHashMap<>();
+        for (int c = 0; c < columns; c++) {
+            List<ColumnLineageDatasetFacet.InputField> inputs = new ArrayList<>();
+            for (int i = 0; i < inputsPerColumn; i++) {
+                inputs.add(new ColumnLineageDatasetFacet.InputField("s3://warehouse",
+                        "raw.orders_" + i, "payload.field_" + c + "_" + i));
+            }
+            fields.put("order.column_" + c, new ColumnLineageDatasetFacet.Fields(inputs,
+                    "derived from " + inputsPerColumn + " inputs", "TRANSFORMATION"));
+        }
+        facet = new ColumnLineageDatasetFacet(fields);
+
+        Document written = new Document("columnLineage", FacetCodecs.encode(facet));
+        stored = Document.parse(written.toJson()).get("columnLineage", Document.class);
+
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CLIENT.get(ColumnLineageDatasetFacet.class).encode(new BsonBinaryWriter(buffer), facet,
+                EncoderContext.builder().build());
+        bytes = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeJackson() {
+        return toBson(DocumentDbSanitizer.sanitize(facet));
+    }
+
+    @Benchmark
+    public byte[] writeCodec() {
+        return toBson(FacetCodecs.encode(facet));
+    }
+
+    @Benchmark
+    public ColumnLineageDatasetFacet readJackson() {
+        return MAPPER.convertValue(DocumentDbSanitizer.unsanitize(stored), ColumnLineageDatasetFacet.class);
+    }
+
+    @Benchmark
+    public ColumnLineageDatasetFacet readCodec() {
+        return FacetCodecs.decode(ColumnLineageDatasetFacet.class, stored);
+    }
+
+    /** Decoding straight from the wire, where the driver hands out raw BSON. */
+    @Benchmark
+    public ColumnLineageDatasetFacet readCodecFromBytes() {
+        Codec<ColumnLineageDatasetFacet> codec = CLIENT.get(ColumnLineageDatasetFacet.class);
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DecoderContext.builder().build());
+    }
+
+    /** Encodes a {@code $set} of the facet the way the driver sends an update. */
+    private static byte[] toBson(Object facet) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CLIENT.get(Document.class).encode(new BsonBinaryWriter(buffer),
+                new Document("$set", new Document("facets.columnLineage", facet)), EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+}
@@ -1,5 +1,6 @@
 package com.openlineage.server.api;
 
+import com.openlineage.server.service.EventPartitionService;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,9 +12,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminController {
 
     private final MongoTemplate mongoTemplate;
+    private final EventPartitionService eventPartitions;
 
-    public AdminController(MongoTemplate mongoTemplate) {
+    public AdminController(MongoTemplate mongoTemplate, EventPartitionService eventPartitions) {
         this.mongoTemplate = mongoTemplate;
+        this.eventPartitions = eventPartitions;
     }
 
     @DeleteMapping("/database")
@@ -37,7 +40,8 @@ public class AdminController {
 
     /**
      * Manual purge endpoint — deletes documents older than the specified date.
-     * Targets: lineage_events, runs, input_dataset_input_facets, output_dataset_output_facets.
+     * Targets: lineage_events and its monthly partitions, runs, input_dataset_input_facets,
+     * output_dataset_output_facets.
      */
     @org.springframework.web.bind.annotation.PostMapping("/purge")
     public ResponseEntity<java.util.Map<String, Object>> purgeOldData(
@@ -46,7 +50,8 @@ public class AdminController {
         java.time.ZonedDateTime cutoff = java.time.ZonedDateTime.parse(olderThan);
         java.util.Map<String, Object> results = new java.util.LinkedHashMap<>();
 
-        String[] collections = {"lineage_events", "runs", "input_dataset_input_facets", "output_dataset_output_facets"};
+        java.util.List<String> collections = new java.util.ArrayList<>(eventPartitions.collections(null));
+        collections.addAll(java.util.List.of("runs", "input_dataset_input_facets", "output_dataset_output_facets"));
 
         for (String collection : collections) {
             org.springframework.data.mongodb.core.query.Query query = org.springframework.data.mongodb.core.query.Query
@@ -60,15 +65,17 @@ public class AdminController {
     }
 
     /**
-     * Storage stats endpoint — returns document counts and sizes for all collections.
+     * Storage stats endpoint — returns document counts and sizes for all collections,
+     * including each monthly partition of lineage_events.
      */
     @org.springframework.web.bind.annotation.GetMapping("/stats")
     public ResponseEntity<java.util.Map<String, Object>> getStats() {
         java.util.Map<String, Object> stats = new java.util.LinkedHashMap<>();
 
-        String[] collections = {"lineage_events", "runs", "jobs", "datasets",
+        java.util.List<String> collections = new java.util.ArrayList<>(eventPartitions.collections(null));
+        collections.addAll(java.util.List.of("runs", "jobs", "datasets",
                 "input_dataset_input_facets", "output_dataset_output_facets",
-                "lineage_edges", "namespace_registry"};
+                "lineage_edges", "namespace_registry"));
 
         for (String collection : collections) {
             long count = mongoTemplate.getCollection(collection).estimatedDocumentCount();
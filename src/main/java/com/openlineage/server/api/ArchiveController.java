@@ -0,0 +1,143 @@
+package com.openlineage.server.api;
+
+import com.openlineage.server.archival.ArchiveManifestBackfill;
+import com.openlineage.server.archival.ArchiveQueryService;
+import com.openlineage.server.archival.ArchivedEventSummary;
+import com.openlineage.server.archival.ArchivedRunSummary;
+import com.openlineage.server.archival.RehydrationService;
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.RehydrationJobDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Time-range queries over archived runs and events, e.g. all {@code FAIL}
+ * runs of a job in a month. Only archived records are searched; recent ones
+ * are in the regular run and event endpoints.
+ *
+ * Archived records can also be copied back into DocumentDB in bulk by a
+ * background rehydration under {@code /rehydrations}.
+ *
+ * {@code POST /manifest/backfill} indexes records archived before the
+ * manifest, which lookups by id cannot find until then.
+ */
+@RestController
+@RequestMapping("/api/v2/archive")
+public class ArchiveController {
+
+    /** Body of a rehydration; validated by {@link RehydrationService.RehydrationRequest}. */
+    public record RehydrationBody(Instant from, Instant to, List<MarquezId> jobs, List<String> kinds) {
+    }
+
+    private final ArchiveQueryService archiveQueryService;
+    private final RehydrationService rehydrationService;
+    private final ArchiveManifestBackfill manifestBackfill;
+
+    public ArchiveController(@Autowired(required = false) ArchiveQueryService archiveQueryService,
+            @Autowired(required = false) RehydrationService rehydrationService,
+            @Autowired(required = false) ArchiveManifestBackfill manifestBackfill) {
+        this.archiveQueryService = archiveQueryService;
+        this.rehydrationService = rehydrationService;
+        this.manifestBackfill = manifestBackfill;
+    }
+
+    @GetMapping("/runs")
+    public List<ArchivedRunSummary> runs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(required = false) String namespace,
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "100") int limit) {
+        return query(() -> service().runs(filter(from, to, namespace, job, state, limit)));
+    }
+
+    @GetMapping("/events")
+    public List<ArchivedEventSummary> events(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(required = false) String namespace,
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(defaultValue = "100") int limit) {
+        return query(() -> service().events(filter(from, to, namespace, job, eventType, limit)));
+    }
+
+    /**
+     * Starts copying archived runs and events matching an event time range
+     * and/or jobs back into DocumentDB. Poll {@code GET /rehydrations/{id}}
+     * for progress.
+     */
+    @PostMapping("/rehydrations")
+    public ResponseEntity<RehydrationJobDocument> rehydrate(@RequestBody RehydrationBody body) {
+        RehydrationJobDocument job;
+        try {
+            job = query(() -> rehydration().submit(new RehydrationService.RehydrationRequest(
+                    body.from(), body.to(), body.jobs(), body.kinds())));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+        return ResponseEntity.accepted()
+                .location(java.net.URI.create("/api/v2/archive/rehydrations/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/rehydrations/{id}")
+    public ResponseEntity<RehydrationJobDocument> getRehydration(@PathVariable String id) {
+        return ResponseEntity.of(rehydration().find(id));
+    }
+
+    /** Stops a queued or running rehydration; documents already copied stay. */
+    @DeleteMapping("/rehydrations/{id}")
+    public ResponseEntity<RehydrationJobDocument> cancelRehydration(@PathVariable String id) {
+        return ResponseEntity.of(rehydration().cancel(id));
+    }
+
+    /** Starts the manifest backfill in the background; {@code 409} if it is already running here. */
+    @PostMapping("/manifest/backfill")
+    public ResponseEntity<Void> backfillManifest() {
+        if (manifestBackfill == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Archival is not enabled");
+        }
+        if (!manifestBackfill.start()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A manifest backfill is already running");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private ArchiveQueryService service() {
+        if (archiveQueryService == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Archival is not enabled");
+        }
+        return archiveQueryService;
+    }
+
+    private RehydrationService rehydration() {
+        if (rehydrationService == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Archival is not enabled");
+        }
+        return rehydrationService;
+    }
+
+    private static ArchiveQueryService.Filter filter(ZonedDateTime from, ZonedDateTime to, String namespace,
+            String job, String state, int limit) {
+        return new ArchiveQueryService.Filter(namespace, job, state, from.toInstant(), to.toInstant(), limit);
+    }
+
+    private static <T> T query(java.util.function.Supplier<T> query) {
+        try {
+            return query.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -248,7 +247,7 @@ public class DatasetController {
         }
 
         private com.openlineage.server.api.models.DatasetResponse mapDatasetFull(DatasetDocument doc) {
-                Map<String, Facet> mergedFacets = new HashMap<>();
+                Map<String, Facet> mergedFacets = new com.openlineage.server.config.LazyFacetMap();
 
                 Optional<InputDatasetFacetDocument> inputDoc = inputFacetRepository.findById(doc.getId());
                 inputDoc.ifPresent(d -> {
@@ -0,0 +1,88 @@
+package com.openlineage.server.api;
+
+import com.openlineage.server.api.models.DatasetResponse;
+import com.openlineage.server.mapper.DatasetMapper;
+import com.openlineage.server.service.FacetIndexService;
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Filters datasets by indexed facet values (see {@link FacetIndexService}).
+ */
+@RestController
+@RequestMapping("/api/v2/facet-index")
+public class FacetIndexController {
+
+    private final FacetIndexService facetIndexService;
+    private final MongoTemplate mongoTemplate;
+    private final DatasetMapper datasetMapper;
+
+    public FacetIndexController(FacetIndexService facetIndexService, MongoTemplate mongoTemplate,
+            DatasetMapper datasetMapper) {
+        this.facetIndexService = facetIndexService;
+        this.mongoTemplate = mongoTemplate;
+        this.datasetMapper = datasetMapper;
+    }
+
+    /** Facet paths that can be used in {@code filter}. */
+    @GetMapping("/paths")
+    public List<String> paths() {
+        return facetIndexService.getPaths();
+    }
+
+    /**
+     * Datasets matching every {@code filter=<path>:<value>} pair, by
+     * namespace and name, e.g.
+     * {@code ?filter=ownership.owners.name:team-data&filter=storage.fileFormat:parquet}.
+     */
+    @GetMapping("/datasets")
+    public DatasetResponse.DatasetsResponse datasets(
+            @RequestParam("filter") List<String> filters,
+            @RequestParam(value = "namespace", required = false) String namespace,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+
+        if (limit <= 0) limit = 10;
+        if (limit > 100) limit = 100;
+        if (offset < 0) offset = 0;
+
+        Map<String, String> byPath = new LinkedHashMap<>();
+        for (String filter : filters) {
+            int sep = filter.indexOf(':');
+            if (sep <= 0) {
+                throw new IllegalArgumentException("filter must be <path>:<value>: " + filter);
+            }
+            byPath.put(filter.substring(0, sep), filter.substring(sep + 1));
+        }
+
+        FacetIndexService.Matches matches = facetIndexService.findDatasets(byPath, namespace, offset, limit);
+        if (matches.datasets().isEmpty()) {
+            return new DatasetResponse.DatasetsResponse(List.of(), (int) matches.total());
+        }
+
+        Map<MarquezId, DatasetDocument> found = new HashMap<>();
+        for (DatasetDocument doc : mongoTemplate.find(Query.query(Criteria.where("_id").in(matches.datasets())),
+                DatasetDocument.class)) {
+            found.put(doc.getId(), doc);
+        }
+        List<DatasetResponse> datasets = matches.datasets().stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(doc -> datasetMapper.toResponse(doc, false))
+                .toList();
+        return new DatasetResponse.DatasetsResponse(datasets, (int) matches.total());
+    }
+}
@@ -1,25 +1,214 @@
 package com.openlineage.server.api;
 
-import com.openlineage.server.api.models.LineageExportModels.LineageExportResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openlineage.server.service.ExportJobService;
+import com.openlineage.server.service.JsonLineageSink;
 import com.openlineage.server.service.LineageExportService;
+import com.openlineage.server.service.LineageParquetWriter;
+import com.openlineage.server.service.NdjsonLineageSink;
+import com.openlineage.server.storage.document.ExportJobDocument;
+import com.openlineage.server.storage.document.ExportJobStatus;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.parquet.io.OutputFile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * Lineage export, streamed straight to the response: rows are serialized as
+ * they are read, so memory does not grow with the size of the export.
+ *
+ * {@code format=json} (default) keeps the {@code LineageExportResult} shape;
+ * {@code format=ndjson} writes one self-describing row per line;
+ * {@code format=parquet} downloads one Parquet file of the {@code rows}
+ * kind ({@code job} or {@code column}).
+ *
+ * Every export returns a change token for a later {@code /changes} delta.
+ * Large exports can instead run in the background under {@code /jobs}.
+ */
 @RestController
 @RequestMapping("/api/v2/lineage-export")
 public class LineageExportController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String CHANGE_TOKEN_HEADER = "X-Change-Token";
+
     private final LineageExportService lineageExportService;
+    private final ExportJobService exportJobService;
+    private final ObjectMapper objectMapper;
 
-    public LineageExportController(LineageExportService lineageExportService) {
+    public LineageExportController(LineageExportService lineageExportService, ExportJobService exportJobService,
+            ObjectMapper objectMapper) {
         this.lineageExportService = lineageExportService;
+        this.exportJobService = exportJobService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/recent/{days}")
-    public LineageExportResult exportRecentLineage(
+    public void exportRecentLineage(
             @PathVariable int days,
-            @RequestParam(required = false) List<String> namespaces) {
-        return lineageExportService.exportLineage(days, namespaces);
+            @RequestParam(required = false) List<String> namespaces,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(defaultValue = "job") String rows,
+            HttpServletResponse response) throws IOException {
+
+        export(format, rows, days + "d", false, response,
+                sink -> lineageExportService.streamLineage(days, namespaces, sink));
+    }
+
+    /**
+     * Rows of jobs changed since {@code token} was issued. Tokens come from
+     * the {@value #CHANGE_TOKEN_HEADER} header of any export (and the
+     * {@code changeToken} field of a JSON delta); the first sync does a full
+     * {@code /recent/{days}} export to obtain one.
+     */
+    @GetMapping("/changes")
+    public void exportChanges(
+            @RequestParam String token,
+            @RequestParam(required = false) List<String> namespaces,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(defaultValue = "job") String rows,
+            HttpServletResponse response) throws IOException {
+
+        java.time.Instant since = LineageExportService.parseChangeToken(token);
+        export(format, rows, "changes", true, response,
+                sink -> lineageExportService.streamChanges(since, namespaces, sink));
+    }
+
+    /**
+     * Starts a background export of the last {@code days} days, or returns
+     * an identical one already queued, running or recently finished. Poll
+     * {@code GET /jobs/{id}} until it succeeds, then download its files.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobDocument> submitJob(
+            @RequestParam int days,
+            @RequestParam(required = false) List<String> namespaces,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(defaultValue = ExportJobService.TARGET_LOCAL) String target) {
+
+        ExportJobDocument job;
+        try {
+            job = exportJobService.submit(new ExportJobService.ExportRequest(days, namespaces, format, target));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+        return ResponseEntity.accepted()
+                .location(java.net.URI.create("/api/v2/lineage-export/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ExportJobDocument> getJob(@PathVariable String id) {
+        return ResponseEntity.of(exportJobService.find(id));
+    }
+
+    /** Cancels a queued or running export; a finished one is returned unchanged. */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<ExportJobDocument> cancelJob(@PathVariable String id) {
+        return ResponseEntity.of(exportJobService.cancel(id));
+    }
+
+    @GetMapping("/jobs/{id}/files/{name}")
+    public void downloadJobFile(@PathVariable String id, @PathVariable String name, HttpServletResponse response)
+            throws IOException {
+        ExportJobDocument job = exportJobService.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Export not found: " + id));
+        if (job.getStatus() != ExportJobStatus.SUCCEEDED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Export " + id + " is " + job.getStatus());
+        }
+        ExportJobDocument.ExportFile file = job.getFiles().stream()
+                .filter(f -> f.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No file " + name + " in " + id));
+
+        InputStream in;
+        try {
+            in = exportJobService.open(job, file);
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Result of export " + id + " is not on this instance (exported by " + job.getInstance() + ")");
+        }
+        try (in) {
+            response.setContentType(file.getContentType());
+            response.setContentLengthLong(file.getSize());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(file.getName()).build().toString());
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void into(LineageExportService.Sink sink) throws IOException;
+    }
+
+    /**
+     * @param label      file name part of a Parquet download
+     * @param tokenInBody whether a JSON response also carries the change token
+     */
+    private void export(String format, String rows, String label, boolean tokenInBody,
+            HttpServletResponse response, Export export) throws IOException {
+        boolean parquet = "parquet".equalsIgnoreCase(format);
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!parquet && !ndjson && !"json".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unknown format: " + format + " (expected json, ndjson or parquet)");
+        }
+        boolean jobRows = "job".equalsIgnoreCase(rows);
+        if (parquet && !jobRows && !"column".equalsIgnoreCase(rows)) {
+            throw new IllegalArgumentException("Unknown rows: " + rows + " (expected job or column)");
+        }
+
+        // Taken before reading, so whatever changes during the export is in the next delta
+        String changeToken = lineageExportService.nextChangeToken();
+        response.setHeader(CHANGE_TOKEN_HEADER, changeToken);
+        if (parquet) {
+            exportParquet(jobRows, label, response, export);
+            return;
+        }
+
+        response.setContentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = objectMapper.createGenerator(response.getOutputStream())) {
+            // A failure mid-export must leave the output truncated, not closed into valid-looking JSON
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (ndjson) {
+                export.into(new NdjsonLineageSink(gen));
+            } else {
+                JsonLineageSink sink = new JsonLineageSink(gen, tokenInBody ? changeToken : null);
+                export.into(sink);
+                sink.finish();
+            }
+        }
+    }
+
+    private void exportParquet(boolean jobRows, String label, HttpServletResponse response, Export export)
+            throws IOException {
+        response.setContentType(LineageParquetWriter.CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename((jobRows ? "job" : "column") + "_lineage_" + label + ".parquet").build().toString());
+        OutputFile file = LineageParquetWriter.stream(response.getOutputStream());
+        LineageParquetWriter writer = jobRows
+                ? new LineageParquetWriter(file, null)
+                : new LineageParquetWriter(null, file);
+        try {
+            export.into(writer);
+        } catch (IOException | RuntimeException e) {
+            // No footer: a failed download must not be readable as a complete file
+            writer.abort();
+            throw e;
+        }
+        writer.close();
     }
 }
@@ -332,7 +332,7 @@ public class OpenLineageResource {
             }
         }
 
-        Map<String, com.openlineage.server.domain.Facet> mergedFacets = new HashMap<>();
+        Map<String, com.openlineage.server.domain.Facet> mergedFacets = new com.openlineage.server.config.LazyFacetMap();
         if (inputFacet != null && inputFacet.getFacets() != null) {
             mergedFacets.putAll(inputFacet.getFacets());
         }
@@ -386,7 +386,7 @@ public class OpenLineageResource {
                 MarquezId dsId = ds.getId();
 
                 // Merge facets from input and output facet documents
-                Map<String, com.openlineage.server.domain.Facet> mergedFacets = new HashMap<>();
+                Map<String, com.openlineage.server.domain.Facet> mergedFacets = new com.openlineage.server.config.LazyFacetMap();
                 InputDatasetFacetDocument inFacet = inputFacetMap.get(dsId);
                 if (inFacet != null && inFacet.getFacets() != null) {
                     mergedFacets.putAll(inFacet.getFacets());
@@ -30,16 +30,16 @@ public class RunController {
     private final JobRepository jobRepository;
     private final LineageService lineageService;
     private final com.openlineage.server.mapper.RunMapper runMapper;
-    private final com.openlineage.server.archival.S3ArchiveClient s3ArchiveClient;
+    private final com.openlineage.server.archival.ArchiveManifest archiveManifest;
 
     public RunController(RunRepository repository, JobRepository jobRepository, LineageService lineageService,
             com.openlineage.server.mapper.RunMapper runMapper,
-            @org.springframework.beans.factory.annotation.Autowired(required = false) com.openlineage.server.archival.S3ArchiveClient s3ArchiveClient) {
+            @org.springframework.beans.factory.annotation.Autowired(required = false) com.openlineage.server.archival.ArchiveManifest archiveManifest) {
         this.repository = repository;
         this.jobRepository = jobRepository;
         this.lineageService = lineageService;
         this.runMapper = runMapper;
-        this.s3ArchiveClient = s3ArchiveClient;
+        this.archiveManifest = archiveManifest;
     }
 
     // List runs for a job
@@ -76,8 +76,8 @@ public class RunController {
             return runMapper.toRunResponse(doc.get(), true);
         }
         // Fallback to S3 archive
-        if (s3ArchiveClient != null) {
-            return s3ArchiveClient.fetchRun(runId)
+        if (archiveManifest != null) {
+            return archiveManifest.fetchRun(runId)
                     .map(archived -> runMapper.toRunResponse(archived, true))
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Run not found"));
         }
@@ -89,8 +89,8 @@ public class RunController {
             @RequestParam(required = false) String type) {
         // Try MongoDB first, then S3 fallback
         RunDocument run = repository.findById(runId).orElse(null);
-        if (run == null && s3ArchiveClient != null) {
-            run = s3ArchiveClient.fetchRun(runId).orElse(null);
+        if (run == null && archiveManifest != null) {
+            run = archiveManifest.fetchRun(runId).orElse(null);
         }
         if (run == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Run not found");
@@ -4,7 +4,11 @@ import com.openlineage.server.api.models.SearchFilter;
 import com.openlineage.server.api.models.SearchResult;
 import com.openlineage.server.api.models.SearchSort;
 import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.search.SearchCursor;
+import com.openlineage.server.search.SearchIndexService;
+import com.openlineage.server.search.SortedMerge;
 import com.openlineage.server.storage.document.JobDocument;
+import com.openlineage.server.storage.document.MarquezId;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -14,10 +18,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v2/search")
@@ -25,15 +35,30 @@ public class SearchController {
 
     private final MongoTemplate mongoTemplate;
     private final com.openlineage.server.mapper.SearchMapper searchMapper;
+    private final SearchIndexService searchIndex;
 
-    public SearchController(MongoTemplate mongoTemplate, com.openlineage.server.mapper.SearchMapper searchMapper) {
+    public SearchController(MongoTemplate mongoTemplate, com.openlineage.server.mapper.SearchMapper searchMapper,
+            SearchIndexService searchIndex) {
         this.mongoTemplate = mongoTemplate;
         this.searchMapper = searchMapper;
+        this.searchIndex = searchIndex;
     }
 
-    public record SearchResponse(int totalCount, List<SearchResult> results) {
+    /**
+     * {@code totalCount} is exact when served from the in-memory index and a
+     * capped count ({@value #COUNT_CAP} per type) on the MongoDB fallback.
+     * {@code nextCursor} is omitted on the last page.
+     */
+    @com.fasterxml.jackson.annotation.JsonInclude(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)
+    public record SearchResponse(int totalCount, List<SearchResult> results, String nextCursor) {
+        public SearchResponse(int totalCount, List<SearchResult> results) {
+            this(totalCount, results, null);
+        }
     }
 
+    /** Upper bound for counting regex matches on the MongoDB fallback path. */
+    static final int COUNT_CAP = 1000;
+
     @GetMapping
     public SearchResponse search(
             @RequestParam("q") String query,
@@ -42,75 +67,260 @@ public class SearchController {
             @RequestParam(value = "limit", defaultValue = "10") int limit,
             @RequestParam(value = "namespace", required = false) String namespace,
             @RequestParam(value = "before", required = false) String before,
-            @RequestParam(value = "after", required = false) String after) {
-
-        List<SearchResult> allResults = new ArrayList<>();
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy) {
 
         // Cap limit to prevent runaway queries
         if (limit <= 0) limit = 10;
         if (limit > 100) limit = 100;
 
-        if (filter == null || filter == SearchFilter.JOB) {
-            allResults.addAll(searchJobs(query, namespace, before, after, limit));
+        SearchIndexService.Entry last = cursor != null ? SearchCursor.decode(cursor, sort).last() : null;
+
+        if (fuzzy && filter != SearchFilter.FIELD && searchIndex.isReady()) {
+            // Ranked by edit distance — a single page, no cursor
+            SearchIndexService.SearchHits hits = searchIndex.fuzzySearch(query, filter, namespace, limit);
+            return new SearchResponse(hits.totalCount(), hydrate(hits.entries()));
         }
 
-        if (filter == null || filter == SearchFilter.DATASET) {
-            allResults.addAll(searchDatasets(query, namespace, before, after, limit));
+        if (searchIndex.isReady()) {
+            SearchIndexService.SearchHits hits = searchIndex.search(query, filter, namespace,
+                    parseDate(after), parseDate(before), sort, limit, last);
+            List<SearchResult> results = hydrate(hits.entries());
+            return new SearchResponse(hits.totalCount(), results,
+                    nextCursor(sort, hits.entries(), hits.hasMore()));
         }
 
-        // Sort and Limit in memory (simplified approach for joined search)
-        Comparator<SearchResult> comparator = switch (sort) {
-            case UPDATE_AT -> Comparator
-                    .comparing(SearchResult::updatedAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed();
-            case NAME -> Comparator.comparing(SearchResult::name, Comparator.nullsLast(Comparator.naturalOrder()));
-        };
+        // Each collection returns its own page already sorted by the database;
+        // one extra row per type tells us whether another page exists.
+        List<List<Hit>> pages = new ArrayList<>();
+        int totalCount = 0;
+        boolean byField = filter == SearchFilter.FIELD;
+        for (SearchFilter type : List.of(SearchFilter.JOB, SearchFilter.DATASET)) {
+            if (filter != null && filter != type && !(byField && type == SearchFilter.DATASET)) {
+                continue;
+            }
+            pages.add(findSorted(type, criteria(type, query, byField, namespace, before, after, sort, last),
+                    sort, limit + 1));
+            Criteria all = criteria(type, query, byField, namespace, before, after, sort, null);
+            totalCount += (int) mongoTemplate.count(new Query(all).limit(COUNT_CAP), documentClass(type));
+        }
 
-        List<SearchResult> finalResults = allResults.stream()
-                .sorted(comparator)
-                .limit(limit)
-                .collect(Collectors.toList());
+        Comparator<SearchIndexService.Entry> order = SearchIndexService.comparator(sort);
+        List<Hit> merged = SortedMerge.merge(pages, (a, b) -> order.compare(a.entry(), b.entry()), limit + 1);
+        boolean hasMore = merged.size() > limit;
+        List<Hit> page = hasMore ? merged.subList(0, limit) : merged;
 
-        return new SearchResponse(finalResults.size(), finalResults);
+        return new SearchResponse(totalCount, page.stream().map(Hit::result).toList(),
+                nextCursor(sort, page.stream().map(Hit::entry).toList(), hasMore));
     }
 
     /**
-     * Search jobs using regex on _id.name (since DocumentDB does not support $text index natively)
+     * Typeahead: names (or name segments) starting with {@code q}, most
+     * recently updated first. Answered entirely from memory — no descriptions
+     * are returned so no documents need to be loaded.
      */
-    private List<SearchResult> searchJobs(String query, String namespace, String before, String after, int limit) {
-        String regex = "(?i).*" + query + ".*";
-        Criteria criteria = Criteria.where("_id.name").regex(regex);
-        Query jobQuery = new Query(criteria);
-        addFilters(jobQuery, namespace, before, after);
-        jobQuery.limit(limit);
-        List<JobDocument> jobs = mongoTemplate.find(jobQuery, JobDocument.class);
-        return jobs.stream().map(searchMapper::toSearchResult).toList();
+    @GetMapping("/suggest")
+    public SearchResponse suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(value = "filter", required = false) SearchFilter filter,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "namespace", required = false) String namespace) {
+
+        if (limit <= 0) limit = 10;
+        if (limit > 100) limit = 100;
+
+        if (!searchIndex.isReady()) {
+            // Still warming up — degrade to a regular search
+            return search(prefix, filter, SearchSort.UPDATE_AT, limit, namespace, null, null, null, false);
+        }
+
+        List<SearchResult> results = searchIndex.suggest(prefix, filter, namespace, limit).stream()
+                .map(e -> {
+                    ZonedDateTime updatedAt = ZonedDateTime.ofInstant(Instant.ofEpochMilli(e.updatedAt()), ZoneOffset.UTC);
+                    return e.type() == SearchFilter.JOB
+                            ? SearchResult.job(e.name(), e.namespace(), updatedAt, null)
+                            : SearchResult.dataset(e.name(), e.namespace(), updatedAt, null);
+                })
+                .toList();
+        return new SearchResponse(results.size(), results);
+    }
+
+    /**
+     * Loads the documents behind ranked index entries (descriptions are not
+     * kept in memory) and returns them in rank order. Entries whose document
+     * has since been deleted are dropped.
+     */
+    private List<SearchResult> hydrate(List<SearchIndexService.Entry> entries) {
+        List<MarquezId> jobIds = new ArrayList<>();
+        List<MarquezId> datasetIds = new ArrayList<>();
+        for (SearchIndexService.Entry e : entries) {
+            MarquezId id = new MarquezId(e.namespace(), e.name());
+            if (e.type() == SearchFilter.JOB) {
+                jobIds.add(id);
+            } else {
+                datasetIds.add(id);
+            }
+        }
+
+        Map<String, SearchResult> byNodeId = new HashMap<>();
+        if (!jobIds.isEmpty()) {
+            mongoTemplate.find(Query.query(Criteria.where("_id").in(jobIds)), JobDocument.class).stream()
+                    .map(searchMapper::toSearchResult)
+                    .forEach(r -> byNodeId.put(r.nodeId(), r));
+        }
+        if (!datasetIds.isEmpty()) {
+            mongoTemplate.find(Query.query(Criteria.where("_id").in(datasetIds)), DatasetDocument.class).stream()
+                    .map(searchMapper::toSearchResult)
+                    .forEach(r -> byNodeId.put(r.nodeId(), r));
+        }
+
+        List<SearchResult> results = new ArrayList<>(entries.size());
+        for (SearchIndexService.Entry e : entries) {
+            String prefix = e.type() == SearchFilter.JOB ? "job:" : "dataset:";
+            SearchResult r = byNodeId.get(prefix + e.namespace() + ":" + e.name());
+            if (r != null) {
+                results.add(r);
+            }
+        }
+        return results;
+    }
+
+    /** A fallback-path match: its sort key plus the rendered result. */
+    private record Hit(SearchIndexService.Entry entry, SearchResult result) {
+    }
+
+    private static String nextCursor(SearchSort sort, List<SearchIndexService.Entry> page, boolean hasMore) {
+        if (!hasMore || page.isEmpty()) {
+            return null;
+        }
+        return new SearchCursor(sort, page.get(page.size() - 1)).encode();
     }
 
     /**
-     * Search datasets using regex on _id.name (since DocumentDB does not support $text index natively)
+     * Regex on {@code searchName} (DocumentDB does not support $text), sorted
+     * in the database on an indexed key so {@code limit} cuts the right rows.
+     * Only used while the in-memory search index is warming up.
      */
-    private List<SearchResult> searchDatasets(String query, String namespace, String before, String after, int limit) {
-        String regex = "(?i).*" + query + ".*";
-        Criteria criteria = Criteria.where("_id.name").regex(regex);
-        Query dsQuery = new Query(criteria);
-        addFilters(dsQuery, namespace, before, after);
-        dsQuery.limit(limit);
-        List<DatasetDocument> datasets = mongoTemplate.find(dsQuery, DatasetDocument.class);
-        return datasets.stream().map(searchMapper::toSearchResult).toList();
+    private List<Hit> findSorted(SearchFilter type, Criteria criteria, SearchSort sort, int limit) {
+        Sort byName = Sort.by(Sort.Order.asc("searchName"), Sort.Order.asc("_id.namespace"));
+        Sort byUpdated = Sort.by(Sort.Order.desc("updatedAt")).and(byName);
+        Query q = new Query(criteria)
+                .with(switch (sort) {
+                    case RELEVANCE -> Sort.by(Sort.Order.desc("importance.score")).and(byUpdated);
+                    case UPDATE_AT -> byUpdated;
+                    case NAME -> byName;
+                })
+                .limit(limit);
+        if (type == SearchFilter.JOB) {
+            return mongoTemplate.find(q, JobDocument.class).stream()
+                    .map(j -> new Hit(new SearchIndexService.Entry(type, j.getId().getNamespace(),
+                            j.getId().getName(), toMillis(j.getUpdatedAt()),
+                            SearchIndexService.score(j.getImportance())), searchMapper.toSearchResult(j)))
+                    .toList();
+        }
+        return mongoTemplate.find(q, DatasetDocument.class).stream()
+                .map(d -> new Hit(new SearchIndexService.Entry(type, d.getId().getNamespace(),
+                        d.getId().getName(), toMillis(d.getUpdatedAt()),
+                        SearchIndexService.score(d.getImportance())), searchMapper.toSearchResult(d)))
+                .toList();
     }
 
-    /** Apply namespace and date filters to a query */
-    private void addFilters(Query query, String namespace, String before, String after) {
+    private static Class<?> documentClass(SearchFilter type) {
+        return type == SearchFilter.JOB ? JobDocument.class : DatasetDocument.class;
+    }
+
+    /**
+     * Match (name substring, or exact field name when {@code byField}),
+     * namespace/date filters and — when paging — the keyset predicate.
+     */
+    private static Criteria criteria(SearchFilter type, String query, boolean byField, String namespace,
+            String before, String after, SearchSort sort, SearchIndexService.Entry last) {
+        List<Criteria> parts = new ArrayList<>();
+        if (byField) {
+            parts.add(Criteria.where("fields.name").regex("(?i)^" + escapeRegex(query) + "$"));
+        } else {
+            parts.add(Criteria.where("searchName").regex("(?i).*" + escapeRegex(query) + ".*"));
+        }
         if (namespace != null) {
-            query.addCriteria(Criteria.where("_id.namespace").is(namespace));
+            parts.add(Criteria.where("_id.namespace").is(namespace));
         }
         if (before != null || after != null) {
             Criteria dateCriteria = Criteria.where("updatedAt");
             if (after != null)
-                dateCriteria.gt(java.time.LocalDate.parse(after).atStartOfDay(java.time.ZoneId.of("UTC")));
+                dateCriteria.gt(parseDate(after));
             if (before != null)
-                dateCriteria.lt(java.time.LocalDate.parse(before).atStartOfDay(java.time.ZoneId.of("UTC")));
-            query.addCriteria(dateCriteria);
+                dateCriteria.lt(parseDate(before));
+            parts.add(dateCriteria);
         }
+        if (last != null) {
+            parts.add(afterCursor(type, sort, last));
+        }
+        return new Criteria().andOperator(parts);
+    }
+
+    /**
+     * Rows of collection {@code type} ranked strictly after {@code last}, in
+     * the order of {@link SearchIndexService#comparator}: name, then type
+     * (JOB before DATASET), then namespace — preceded by updatedAt descending
+     * for UPDATE_AT, and by importance then updatedAt descending for
+     * RELEVANCE. Unscored documents have no {@code importance} and sort last,
+     * as if their score were 0.
+     */
+    private static Criteria afterCursor(SearchFilter type, SearchSort sort, SearchIndexService.Entry last) {
+        int typeCmp = type.compareTo(last.type());
+        Criteria byName;
+        if (typeCmp == 0) {
+            byName = new Criteria().orOperator(
+                    Criteria.where("searchName").gt(last.name()),
+                    new Criteria().andOperator(
+                            Criteria.where("searchName").is(last.name()),
+                            Criteria.where("_id.namespace").gt(last.namespace())));
+        } else if (typeCmp > 0) {
+            byName = Criteria.where("searchName").gte(last.name());
+        } else {
+            byName = Criteria.where("searchName").gt(last.name());
+        }
+        if (sort == SearchSort.NAME) {
+            return byName;
+        }
+        Instant updatedAt = Instant.ofEpochMilli(last.updatedAt());
+        Criteria byUpdated = new Criteria().orOperator(
+                Criteria.where("updatedAt").lt(updatedAt),
+                new Criteria().andOperator(Criteria.where("updatedAt").is(updatedAt), byName));
+        if (sort == SearchSort.UPDATE_AT) {
+            return byUpdated;
+        }
+        if (last.importance() <= 0) {
+            return new Criteria().andOperator(Criteria.where("importance.score").is(null), byUpdated);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("importance.score").lt(last.importance()),
+                Criteria.where("importance.score").is(null),
+                new Criteria().andOperator(Criteria.where("importance.score").is(last.importance()), byUpdated));
+    }
+
+    private static long toMillis(ZonedDateTime time) {
+        return time != null ? time.toInstant().toEpochMilli() : 0L;
+    }
+
+    /**
+     * Escapes regex metacharacters so user input is matched literally.
+     * {@code Pattern.quote} is avoided: DocumentDB's regex engine does not
+     * reliably support {@code \Q...\E} blocks.
+     */
+    static String escapeRegex(String query) {
+        StringBuilder sb = new StringBuilder(query.length() + 8);
+        for (char c : query.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static ZonedDateTime parseDate(String date) {
+        return date != null ? LocalDate.parse(date).atStartOfDay(ZoneId.of("UTC")) : null;
     }
 }
@@ -2,47 +2,80 @@ package com.openlineage.server.api;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import com.openlineage.server.storage.repository.JobRepository;
-import com.openlineage.server.storage.repository.DatasetRepository;
-import com.openlineage.server.storage.repository.NamespaceRepository;
-import com.openlineage.server.storage.document.LineageEventDocument;
+import com.openlineage.server.service.DistinctActivityService;
+import com.openlineage.server.service.DistinctActivityService.Sketches;
+import com.openlineage.server.service.StatsRollupService;
+import com.openlineage.server.service.StatsRollupService.Tier;
+import com.openlineage.server.storage.document.DistinctActivityDocument;
+import com.openlineage.server.storage.document.StatsRollupDocument;
 
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
-import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import org.springframework.data.mongodb.core.aggregation.DateOperators;
-import org.bson.Document;
-import java.util.HashMap;
-import java.util.Collections;
-
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Dashboard time series, read from the rollups maintained at ingestion
+ * ({@link StatsRollupService}) — a few dozen small documents per request,
+ * whatever the data volume or period.
+ *
+ * Rollup buckets are UTC hours, days and months. A period is served from the
+ * coarsest tier whose buckets line up with the local buckets in the
+ * requested timezone; otherwise from the next finer tier, with each bucket
+ * attributed to the local bucket its start falls in.
+ */
 @RestController
 @RequestMapping("/api/v2/stats")
 public class StatsController {
 
+        /** Local bucket unit and count per {@code period}, and the tiers that can serve it, coarsest first. */
+        private enum Period {
+                DAY(ChronoUnit.HOURS, 24, Tier.HOURLY),
+                WEEK(ChronoUnit.DAYS, 7, Tier.DAILY, Tier.HOURLY),
+                MONTH(ChronoUnit.DAYS, 30, Tier.DAILY, Tier.HOURLY),
+                YEAR(ChronoUnit.MONTHS, 12, Tier.MONTHLY, Tier.DAILY);
+
+                private final ChronoUnit unit;
+                private final int buckets;
+                private final Tier[] tiers;
+
+                Period(ChronoUnit unit, int buckets, Tier... tiers) {
+                        this.unit = unit;
+                        this.buckets = buckets;
+                        this.tiers = tiers;
+                }
+
+                static Period of(String period) {
+                        try {
+                                return valueOf(period.toUpperCase(Locale.ROOT));
+                        } catch (IllegalArgumentException e) {
+                                throw new IllegalArgumentException("Unknown period: " + period
+                                                + " (expected DAY, WEEK, MONTH or YEAR)");
+                        }
+                }
+        }
+
         private final MongoTemplate mongoTemplate;
-        private final JobRepository jobRepository;
-        private final DatasetRepository datasetRepository;
-        private final NamespaceRepository namespaceRepository;
+        private final StatsRollupService statsRollupService;
+        private final DistinctActivityService distinctActivityService;
 
-        public StatsController(MongoTemplate mongoTemplate, JobRepository jobRepository,
-                        DatasetRepository datasetRepository, NamespaceRepository namespaceRepository) {
+        public StatsController(MongoTemplate mongoTemplate, StatsRollupService statsRollupService,
+                        DistinctActivityService distinctActivityService) {
                 this.mongoTemplate = mongoTemplate;
-                this.jobRepository = jobRepository;
-                this.datasetRepository = datasetRepository;
-                this.namespaceRepository = namespaceRepository;
+                this.statsRollupService = statsRollupService;
+                this.distinctActivityService = distinctActivityService;
         }
 
         public record LineageMetric(
@@ -60,133 +93,174 @@ public class StatsController {
                         @JsonProperty("count") long count) {
         }
 
-        @GetMapping("/lineage-events")
-        public List<LineageMetric> getLineageEventStats(
-                        @RequestParam(defaultValue = "DAY") String period,
-                        @RequestParam(defaultValue = "UTC") String timezone) {
+        public record DistinctMetric(
+                        @JsonProperty("startInterval") String startInterval,
+                        @JsonProperty("endInterval") String endInterval,
+                        @JsonProperty("jobs") long jobs,
+                        @JsonProperty("datasets") long datasets,
+                        @JsonProperty("producers") long producers) {
 
-                ZonedDateTime now = ZonedDateTime.now(ZoneId.of(timezone));
-                // Hardcoding DAY logic for now as requested
-                ZonedDateTime startTime = now.minus(24, ChronoUnit.HOURS).truncatedTo(ChronoUnit.HOURS);
-                ZonedDateTime endTime = now.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
-
-                Aggregation aggregation = Aggregation.newAggregation(
-                                Aggregation.match(Criteria.where("event.eventTime").gte(startTime.toInstant())
-                                                .lt(endTime.toInstant())),
-                                Aggregation.project()
-                                                .and(DateOperators.DateToString.dateOf("event.eventTime")
-                                                                .toString("%Y-%m-%dT%H:00:00Z")
-                                                                .withTimezone(DateOperators.Timezone.valueOf(timezone)))
-                                                .as("hour")
-                                                .and("event.eventType").as("type"),
-                                Aggregation.group("hour", "type").count().as("count"));
-
-                AggregationResults<Document> results = mongoTemplate.aggregate(aggregation, LineageEventDocument.class,
-                                Document.class);
-
-                // Map: Hour -> (Type -> Count)
-                Map<String, Map<String, Integer>> data = new HashMap<>();
-                for (Document doc : results.getMappedResults()) {
-                        Document id = (Document) doc.get("_id");
-                        String hour = id.getString("hour");
-                        String type = id.getString("type").toUpperCase();
-                        int count = doc.getInteger("count", 0);
-                        data.computeIfAbsent(hour, k -> new HashMap<>()).put(type, count);
+                static DistinctMetric of(Instant start, Instant end, Sketches sketches) {
+                        return new DistinctMetric(start.toString(), end.toString(), sketches.distinctJobs(),
+                                        sketches.distinctDatasets(), sketches.distinctProducers());
                 }
+        }
 
-                List<LineageMetric> metrics = new ArrayList<>();
-                ZonedDateTime current = startTime;
-                while (current.isBefore(endTime)) {
+        public record DistinctActivity(
+                        @JsonProperty("intervals") List<DistinctMetric> intervals,
+                        @JsonProperty("total") DistinctMetric total) {
+        }
 
-                        // Ideally we use same formatter as projection.
-                        String dbKey = current.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:00:00'Z'"));
+        @GetMapping("/lineage-events")
+        public List<LineageMetric> getLineageEventStats(
+                        @RequestParam(defaultValue = "DAY") String period,
+                        @RequestParam(defaultValue = "UTC") String timezone) {
 
-                        final ZonedDateTime end = current.plus(1, ChronoUnit.HOURS);
+                List<StatsRollupDocument> buckets = bucketed(Period.of(period), ZoneId.of(timezone));
 
-                        Map<String, Integer> counts = data.getOrDefault(dbKey, Collections.emptyMap());
+                List<LineageMetric> metrics = new ArrayList<>(buckets.size() - 1);
+                for (int i = 0; i < buckets.size() - 1; i++) {
+                        Map<String, Long> counts = buckets.get(i).getEvents();
 
-                        int fail = counts.getOrDefault("FAIL", 0) + counts.getOrDefault("FAILED", 0);
-                        int startCount = counts.getOrDefault("START", 0);
-                        int complete = counts.getOrDefault("COMPLETE", 0) + counts.getOrDefault("COMPLETED", 0);
-                        int abort = counts.getOrDefault("ABORT", 0) + counts.getOrDefault("ABORTED", 0);
+                        int fail = (int) (counts.getOrDefault("FAIL", 0L) + counts.getOrDefault("FAILED", 0L));
+                        int startCount = (int) (long) counts.getOrDefault("START", 0L);
+                        int complete = (int) (counts.getOrDefault("COMPLETE", 0L) + counts.getOrDefault("COMPLETED", 0L));
+                        int abort = (int) (counts.getOrDefault("ABORT", 0L) + counts.getOrDefault("ABORTED", 0L));
 
                         metrics.add(new LineageMetric(
-                                        current.format(DateTimeFormatter.ISO_INSTANT),
-                                        end.format(DateTimeFormatter.ISO_INSTANT),
+                                        buckets.get(i).getBucket().toString(),
+                                        buckets.get(i + 1).getBucket().toString(),
                                         fail, startCount, complete, abort));
-
-                        current = current.plus(1, ChronoUnit.HOURS);
                 }
                 return metrics;
         }
 
-        @GetMapping("/jobs")
-        public List<IntervalMetric> getJobStats(
+        /**
+         * Approximate distinct jobs, datasets and producers active in each
+         * bucket of {@code period} and across the whole period, merged from
+         * HyperLogLog sketches (about 1% error; see {@link DistinctActivityService}).
+         */
+        @GetMapping("/distinct")
+        public DistinctActivity getDistinctActivity(
                         @RequestParam(defaultValue = "DAY") String period,
                         @RequestParam(defaultValue = "UTC") String timezone) {
-                return getCumulativeStats(period, timezone, "jobs", jobRepository.count());
-        }
-
-        // Helper for cumulative stats (jobs, datasets, sources)
-        // Refactored to actually query DB correctly
-        private List<IntervalMetric> getCumulativeStats(
-                        String period,
-                        String timezone,
-                        String collectionName,
-                        long currentTotalCount // This is just a hint, we need actual queries
-        ) {
-                ZonedDateTime now = ZonedDateTime.now(ZoneId.of(timezone));
-                ZonedDateTime startTime = now.minus(24, ChronoUnit.HOURS).truncatedTo(ChronoUnit.HOURS);
-                ZonedDateTime endTime = now.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
-
-                List<IntervalMetric> metrics = new ArrayList<>();
-                ZonedDateTime current = startTime;
-
-                long baseCount = mongoTemplate.count(
-                                org.springframework.data.mongodb.core.query.Query.query(
-                                                Criteria.where("createdAt").lt(startTime.toInstant())),
-                                getCollectionClass(collectionName));
-
-                Aggregation aggregation = Aggregation.newAggregation(
-                                Aggregation.match(Criteria.where("createdAt").gte(startTime.toInstant())
-                                                .lt(endTime.toInstant())),
-                                Aggregation.project()
-                                                .and(DateOperators.DateToString.dateOf("createdAt")
-                                                                .toString("%Y-%m-%dT%H:00:00Z")
-                                                                .withTimezone(DateOperators.Timezone.valueOf(timezone)))
-                                                .as("hour"),
-                                Aggregation.group("hour").count().as("count"));
-                AggregationResults<Document> results = mongoTemplate.aggregate(aggregation,
-                                getCollectionClass(collectionName),
-                                Document.class);
-
-                Map<String, Long> counts = new HashMap<>();
-                for (Document doc : results.getMappedResults()) {
-                        Object countObj = doc.get("count");
-                        long countVal = 0;
-                        if (countObj instanceof Number) {
-                                countVal = ((Number) countObj).longValue();
+
+                Window window = window(Period.of(period), ZoneId.of(timezone));
+                TreeMap<Instant, Sketches> buckets = new TreeMap<>();
+                for (Instant bound : window.bounds()) {
+                        buckets.put(bound, new Sketches());
+                }
+                for (DistinctActivityDocument doc : distinctActivityService.sketches(window.tier(), window.start(),
+                                window.end())) {
+                        Map.Entry<Instant, Sketches> local = buckets.floorEntry(doc.getBucket());
+                        if (local != null) {
+                                local.getValue().merge(Sketches.of(doc));
                         }
-                        counts.put(doc.getString("_id"), countVal);
                 }
 
-                while (current.isBefore(endTime)) {
-                        ZonedDateTime next = current.plus(1, ChronoUnit.HOURS);
-                        String key = current.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:00:00'Z'"));
+                List<Instant> bounds = window.bounds();
+                Sketches total = new Sketches();
+                List<DistinctMetric> intervals = new ArrayList<>(bounds.size() - 1);
+                for (int i = 0; i < bounds.size() - 1; i++) {
+                        Sketches sketches = buckets.get(bounds.get(i));
+                        total.merge(sketches);
+                        intervals.add(DistinctMetric.of(bounds.get(i), bounds.get(i + 1), sketches));
+                }
+                return new DistinctActivity(intervals, DistinctMetric.of(window.start(), window.end(), total));
+        }
 
-                        long countInHour = counts.getOrDefault(key, 0L);
-                        baseCount += countInHour;
+        @GetMapping("/jobs")
+        public List<IntervalMetric> getJobStats(
+                        @RequestParam(defaultValue = "DAY") String period,
+                        @RequestParam(defaultValue = "UTC") String timezone) {
+                return getCumulativeStats(period, timezone, "jobs");
+        }
 
-                        metrics.add(new IntervalMetric(
-                                        current.format(DateTimeFormatter.ISO_INSTANT),
-                                        next.format(DateTimeFormatter.ISO_INSTANT),
-                                        baseCount));
-                        current = next;
+        /**
+         * Running totals (jobs, datasets, sources) at the end of each bucket:
+         * the collection's current size minus what was created after that
+         * bucket, so nothing older than the window is ever counted.
+         */
+        private List<IntervalMetric> getCumulativeStats(String period, String timezone, String collectionName) {
+                ToLongFunction<StatsRollupDocument> counter = getCounter(collectionName);
+                List<StatsRollupDocument> buckets = bucketed(Period.of(period), ZoneId.of(timezone));
+
+                int n = buckets.size() - 1;
+                long[] totals = new long[n];
+                long total = mongoTemplate.estimatedCount(getCollectionClass(collectionName));
+                for (int i = n - 1; i >= 0; i--) {
+                        totals[i] = Math.max(0, total);
+                        total -= counter.applyAsLong(buckets.get(i));
                 }
 
+                List<IntervalMetric> metrics = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                        metrics.add(new IntervalMetric(
+                                        buckets.get(i).getBucket().toString(),
+                                        buckets.get(i + 1).getBucket().toString(),
+                                        totals[i]));
+                }
                 return metrics;
         }
 
+        /** Local bucket boundaries of a period, oldest first, and the tier to read them from. */
+        private record Window(List<Instant> bounds, Tier tier) {
+                Instant start() {
+                        return bounds.get(0);
+                }
+
+                Instant end() {
+                        return bounds.get(bounds.size() - 1);
+                }
+        }
+
+        /**
+         * Boundaries of the local buckets of {@code period}, ending with the
+         * end of the bucket containing now, and the coarsest tier aligned
+         * with all of them.
+         */
+        private static Window window(Period period, ZoneId zone) {
+                ZonedDateTime current = floor(ZonedDateTime.now(zone), period.unit);
+                List<Instant> bounds = new ArrayList<>(period.buckets + 2);
+                for (int i = period.buckets; i >= -1; i--) {
+                        bounds.add(current.minus(i, period.unit).toInstant());
+                }
+
+                for (Tier candidate : period.tiers) {
+                        if (bounds.stream().allMatch(bound -> candidate.floor(bound).equals(bound))) {
+                                return new Window(bounds, candidate);
+                        }
+                }
+                return new Window(bounds, period.tiers[period.tiers.length - 1]);
+        }
+
+        /**
+         * Counters per local bucket of {@code period}, oldest first, ending with
+         * the bucket containing now. A trailing empty document marks the end of
+         * the last bucket.
+         */
+        private List<StatsRollupDocument> bucketed(Period period, ZoneId zone) {
+                Window window = window(period, zone);
+                TreeMap<Instant, StatsRollupDocument> buckets = new TreeMap<>();
+                for (Instant bound : window.bounds()) {
+                        buckets.put(bound, new StatsRollupDocument(bound));
+                }
+                for (StatsRollupDocument rollup : statsRollupService.rollups(window.tier(), window.start(), window.end())) {
+                        Map.Entry<Instant, StatsRollupDocument> local = buckets.floorEntry(rollup.getBucket());
+                        if (local != null) {
+                                StatsRollupService.addTo(local.getValue(), rollup);
+                        }
+                }
+                return new ArrayList<>(buckets.values());
+        }
+
+        /** Start of the local hour, day or month containing {@code time}. */
+        private static ZonedDateTime floor(ZonedDateTime time, ChronoUnit unit) {
+                return unit == ChronoUnit.MONTHS
+                                ? time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)
+                                : time.truncatedTo(unit);
+        }
+
         private Class<?> getCollectionClass(String name) {
                 return switch (name) {
                         case "jobs" -> com.openlineage.server.storage.document.JobDocument.class;
@@ -196,17 +270,26 @@ public class StatsController {
                 };
         }
 
+        private static ToLongFunction<StatsRollupDocument> getCounter(String name) {
+                return switch (name) {
+                        case "jobs" -> StatsRollupDocument::getNewJobs;
+                        case "datasets" -> StatsRollupDocument::getNewDatasets;
+                        case "sources" -> StatsRollupDocument::getNewSources;
+                        default -> throw new IllegalArgumentException("Unknown collection: " + name);
+                };
+        }
+
         @GetMapping("/datasets")
         public List<IntervalMetric> getDatasetStats(
                         @RequestParam(defaultValue = "DAY") String period,
                         @RequestParam(defaultValue = "UTC") String timezone) {
-                return getCumulativeStats(period, timezone, "datasets", 0);
+                return getCumulativeStats(period, timezone, "datasets");
         }
 
         @GetMapping("/sources")
         public List<IntervalMetric> getSourceStats(
                         @RequestParam(defaultValue = "DAY") String period,
                         @RequestParam(defaultValue = "UTC") String timezone) {
-                return getCumulativeStats(period, timezone, "sources", 0);
+                return getCumulativeStats(period, timezone, "sources");
         }
 }
@@ -62,7 +62,7 @@ public class SymlinkController {
     }
 
     private DatasetResponse mapDatasetFull(DatasetDocument doc) {
-        Map<String, Facet> mergedFacets = new HashMap<>();
+        Map<String, Facet> mergedFacets = new com.openlineage.server.config.LazyFacetMap();
 
         Optional<InputDatasetFacetDocument> inputDoc = inputFacetRepository.findById(doc.getId());
         inputDoc.ifPresent(d -> {
@@ -2,5 +2,7 @@ package com.openlineage.server.api.models;
 
 public enum SearchFilter {
     JOB,
-    DATASET
+    DATASET,
+    /** Datasets having a schema field with the queried name. */
+    FIELD
 }
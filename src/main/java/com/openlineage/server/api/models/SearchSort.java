@@ -2,5 +2,7 @@ package com.openlineage.server.api.models;
 
 public enum SearchSort {
     NAME,
-    UPDATE_AT
+    UPDATE_AT,
+    /** Most central in the lineage graph first (see {@code ImportanceService}), then most recent. */
+    RELEVANCE
 }
@@ -0,0 +1,491 @@
+package com.openlineage.server.archival;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.storage.document.ArchiveCheckpointDocument;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Moves documents older than a cutoff from DocumentDB to the archive, in
+ * stages connected by bounded queues:
+ *
+ * <pre>
+ * reader (cursor, oldest first) → serializer (gzip segment)
+ *     → uploaders ({@code archival.upload-parallelism}: segment, then Parquet summary)
+ *     → deleter (manifest, bulk delete, checkpoint)
+ * </pre>
+ *
+ * A slow stage blocks the ones before it, so at most a few batches are held
+ * in memory. Reads and deletes share an {@code archival.ops-per-second}
+ * budget, to leave DocumentDB IOPS for ingestion. Batches are deleted and
+ * checkpointed in read order, even though uploads finish out of order, so
+ * the checkpoint is always a point before which everything is archived.
+ *
+ * The checkpoint ({@code archive_checkpoints}) doubles as a lease: only one
+ * instance archives a kind at a time, and a run that is interrupted, fails
+ * or whose instance dies is resumed from its position by the next run. The
+ * lease is heartbeated on a timer, independently of how long a batch takes.
+ * Resuming matters on DocumentDB, where a scan from the start would first
+ * wade through the index entries of everything just deleted.
+ *
+ * Meters, tagged with {@code kind}: {@code archival.documents} (per
+ * {@code stage}: read, serialized, uploaded, deleted), {@code archival.stage}
+ * (time per batch and stage), {@code archival.queue} (batches waiting for
+ * each stage) and {@code archival.lag} (seconds between the last archived
+ * document and the cutoff).
+ */
+public class ArchivalPipeline<T> {
+
+    /** Outcome of one run; {@code failed} counts documents read but not archived. */
+    public record Result(long archived, long failed, boolean completed) {
+    }
+
+    /** A lease whose owner stopped heartbeating for this long can be taken over. */
+    static final Duration STALE_AFTER = Duration.ofMinutes(10);
+    /** How often a run refreshes its lease, well inside {@link #STALE_AFTER}. */
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofMinutes(1);
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivalPipeline.class);
+    private static final long POLL_MS = 100;
+
+    private record Uploaded(List<String> ids, Instant last, ArchiveClient.UploadedSegment segment) {
+    }
+
+    private final List<T> endOfBatches = new ArrayList<>();
+    private final Future<Uploaded> endOfUploads = CompletableFuture.completedFuture(null);
+
+    private final String kind;
+    private final Class<T> type;
+    private final String timeField;
+    private final Function<T, String> idOf;
+    private final Function<T, Instant> timeOf;
+    private final ArchiveSummary<T, ?> summary;
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveClient archiveClient;
+    private final ArchiveManifest manifest;
+    private final ArchivalProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopRequested;
+    private final AtomicInteger serializeBacklog = new AtomicInteger();
+    private final AtomicInteger uploadBacklog = new AtomicInteger();
+    private final AtomicInteger deleteBacklog = new AtomicInteger();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ArchivalPipeline(String kind, Class<T> type, String timeField, Function<T, String> idOf,
+            Function<T, Instant> timeOf, ArchiveSummary<T, ?> summary, MongoTemplate mongoTemplate,
+            ArchiveClient archiveClient, ArchiveManifest manifest, ArchivalProperties properties,
+            MeterRegistry meterRegistry) {
+        this.kind = kind;
+        this.type = type;
+        this.timeField = timeField;
+        this.idOf = idOf;
+        this.timeOf = timeOf;
+        this.summary = summary;
+        this.mongoTemplate = mongoTemplate;
+        this.archiveClient = archiveClient;
+        this.manifest = manifest;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        queueGauge("serialize", serializeBacklog);
+        queueGauge("upload", uploadBacklog);
+        queueGauge("delete", deleteBacklog);
+        Gauge.builder("archival.lag", lagSeconds, AtomicLong::get)
+                .tag("kind", kind)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private void queueGauge(String stage, AtomicInteger backlog) {
+        Gauge.builder("archival.queue", backlog, AtomicInteger::get)
+                .tags("kind", kind, "stage", stage)
+                .baseUnit("batches")
+                .register(meterRegistry);
+    }
+
+    /** Makes a run in progress stop after its current batches; its checkpoint is kept. */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /** Archives everything older than {@code cutoff}, resuming an unfinished run. */
+    public Result run(Instant cutoff) {
+        return run(cutoff, null);
+    }
+
+    /**
+     * Archives everything older than {@code cutoff} in {@code collection}
+     * but deletes nothing: the caller drops the collection once the run
+     * completes. The collection has a lease and checkpoint of its own
+     * ({@link #checkpointId}), so a run that stops resumes in it and not in
+     * another collection of the kind.
+     */
+    public Result run(Instant cutoff, String collection) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Archival of {} is already running on this instance", kind);
+            return new Result(0, 0, false);
+        }
+        try {
+            String id = checkpointId(kind, collection);
+            ArchiveCheckpointDocument checkpoint = acquire(id, cutoff);
+            if (checkpoint == null) {
+                log.info("Archival of {} is running on another instance", id);
+                return new Result(0, 0, false);
+            }
+            return execute(id, cutoff, checkpoint.getPosition(), collection);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** {@code _id} of the checkpoint: the kind for its main collection, else kind and collection. */
+    static String checkpointId(String kind, String collection) {
+        return collection == null ? kind : kind + ":" + collection;
+    }
+
+    /** The checkpoint {@code id}, as long as this instance holds its lease. */
+    private Query held(String id) {
+        return Query.query(Criteria.where("_id").is(id).and("owner").is(owner));
+    }
+
+    private ArchiveCheckpointDocument acquire(String id, Instant cutoff) {
+        Instant now = Instant.now();
+        Query available = Query.query(Criteria.where("_id").is(id).orOperator(
+                Criteria.where("status").ne(ArchiveCheckpointDocument.Status.RUNNING),
+                Criteria.where("heartbeatAt").lt(now.minus(STALE_AFTER))));
+        Update claim = new Update()
+                .set("status", ArchiveCheckpointDocument.Status.RUNNING)
+                .set("owner", owner)
+                .set("cutoff", cutoff)
+                .set("archived", 0L)
+                .set("startedAt", now)
+                .set("heartbeatAt", now)
+                .unset("finishedAt")
+                .unset("error");
+        try {
+            return mongoTemplate.findAndModify(available, claim,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), ArchiveCheckpointDocument.class);
+        } catch (DuplicateKeyException e) {
+            // The checkpoint exists and is held by a live run
+            return null;
+        }
+    }
+
+    private Result execute(String id, Instant cutoff, Instant resumeFrom, String collection) {
+        Criteria window = Criteria.where(timeField).lt(cutoff);
+        if (resumeFrom != null) {
+            // Documents at the position itself may not all have been archived
+            window = Criteria.where(timeField).gte(resumeFrom).lt(cutoff);
+            log.info("Resuming archival of {} from {}", id, resumeFrom);
+        }
+        // Rehydrated copies are already archived; TTL removes them
+        window = window.and(RehydrationService.REHYDRATED_AT).exists(false);
+        Query query = Query.query(window)
+                .with(Sort.by(Sort.Direction.ASC, timeField))
+                .cursorBatchSize(properties.getBatchSize());
+
+        OpsLimiter limiter = new OpsLimiter(properties.getOpsPerSecond());
+        int parallelism = Math.max(1, properties.getUploadParallelism());
+        int capacity = Math.max(1, properties.getQueueCapacity());
+        BlockingQueue<List<T>> toSerialize = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<Future<Uploaded>> toDelete = new ArrayBlockingQueue<>(capacity + parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong read = new AtomicLong();
+        AtomicLong archived = new AtomicLong();
+
+        ExecutorService stages = Executors.newFixedThreadPool(2, daemon("archival-" + kind + "-stage-"));
+        ExecutorService uploaders = Executors.newFixedThreadPool(parallelism, daemon("archival-" + kind + "-upload-"));
+        ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+                daemon("archival-" + kind + "-heartbeat-"));
+        try {
+            heartbeat.scheduleWithFixedDelay(() -> heartbeat(id, failure), HEARTBEAT_INTERVAL.toMillis(),
+                    HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            stages.submit(stage(failure, () -> serialize(toSerialize, toDelete, uploaders, failure)));
+            stages.submit(stage(failure,
+                    () -> delete(id, toDelete, limiter, cutoff, collection, archived, failure)));
+            stage(failure, () -> read(query, collection, toSerialize, limiter, read, failure)).run();
+
+            stages.shutdown();
+            while (!stages.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Archival of {}: waiting for in-flight batches", kind);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } finally {
+            stages.shutdownNow();
+            uploaders.shutdownNow();
+            heartbeat.shutdownNow();
+            serializeBacklog.set(0);
+            uploadBacklog.set(0);
+            deleteBacklog.set(0);
+        }
+
+        Throwable error = failure.get();
+        finish(id, error, archived.get());
+        long failed = read.get() - archived.get();
+        if (error == null) {
+            lagSeconds.set(0);
+        } else if (!(error instanceof CancellationException)) {
+            log.error("Archival of {} failed after {} documents: {}", kind, archived.get(), error.toString());
+        }
+        return new Result(archived.get(), failed, error == null);
+    }
+
+    private void read(Query query, String collection, BlockingQueue<List<T>> toSerialize, OpsLimiter limiter,
+            AtomicLong read, AtomicReference<Throwable> failure) throws InterruptedException {
+        int batchSize = properties.getBatchSize();
+        try (Stream<T> cursor = collection == null ? mongoTemplate.stream(query, type)
+                : mongoTemplate.stream(query, type, collection)) {
+            Iterator<T> documents = cursor.iterator();
+            List<T> batch = new ArrayList<>(batchSize);
+            long started = System.nanoTime();
+            while (!failed(failure) && documents.hasNext()) {
+                batch.add(documents.next());
+                if (batch.size() == batchSize || !documents.hasNext()) {
+                    limiter.acquire(batch.size());
+                    record("read", batch.size(), started);
+                    read.addAndGet(batch.size());
+                    if (!handOff(toSerialize, batch, serializeBacklog, failure)) {
+                        return;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                    started = System.nanoTime();
+                }
+            }
+        }
+        handOff(toSerialize, endOfBatches, serializeBacklog, failure);
+    }
+
+    private void serialize(BlockingQueue<List<T>> toSerialize, BlockingQueue<Future<Uploaded>> toDelete,
+            ExecutorService uploaders, AtomicReference<Throwable> failure) throws InterruptedException {
+        while (true) {
+            List<T> batch = take(toSerialize, serializeBacklog, failure);
+            if (batch == null) {
+                return;
+            }
+            if (batch == endOfBatches) {
+                handOff(toDelete, endOfUploads, deleteBacklog, failure);
+                return;
+            }
+            long started = System.nanoTime();
+            ArchiveSegment segment = archiveClient.serialize(batch, idOf);
+            record("serialized", batch.size(), started);
+
+            List<String> ids = batch.stream().map(idOf).toList();
+            Instant first = timeOf.apply(batch.get(0));
+            Instant last = timeOf.apply(batch.get(batch.size() - 1));
+            uploadBacklog.incrementAndGet();
+            Future<Uploaded> upload = uploaders.submit(() -> {
+                long uploadStarted = System.nanoTime();
+                try {
+                    ArchiveClient.UploadedSegment uploaded = archiveClient.upload(kind, segment, first, last);
+                    try {
+                        archiveClient.uploadSummary(summary, batch, uploaded);
+                    } catch (RuntimeException e) {
+                        // The segment is safe and in the manifest; only time-range queries miss it until
+                        // ArchiveManifestBackfill rebuilds the summary from the segment
+                        log.warn("Archived {} without its summary: {}", uploaded.key(), e.getMessage());
+                    }
+                    record("uploaded", ids.size(), uploadStarted);
+                    return new Uploaded(ids, last, uploaded);
+                } finally {
+                    uploadBacklog.decrementAndGet();
+                }
+            });
+            if (!handOff(toDelete, upload, deleteBacklog, failure)) {
+                upload.cancel(true);
+                return;
+            }
+        }
+    }
+
+    private void delete(String id, BlockingQueue<Future<Uploaded>> toDelete, OpsLimiter limiter, Instant cutoff,
+            String collection, AtomicLong archived, AtomicReference<Throwable> failure)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            Future<Uploaded> next = take(toDelete, deleteBacklog, failure);
+            if (next == null || next == endOfUploads) {
+                return;
+            }
+            Uploaded uploaded = next.get();
+            long started = System.nanoTime();
+            // Nothing is removed unless it is uploaded and in the manifest
+            manifest.record(kind, uploaded.segment());
+            if (collection == null) {
+                limiter.acquire(uploaded.ids().size());
+                // A document updated since it was read is past the cutoff and is archived by a later run
+                DeleteResult deleted = mongoTemplate.remove(Query.query(
+                        Criteria.where("_id").in(uploaded.ids()).and(timeField).lt(cutoff)), type);
+                record("deleted", (int) deleted.getDeletedCount(), started);
+                if (deleted.getDeletedCount() < uploaded.ids().size()) {
+                    log.debug("{} {} changed while being archived and were kept",
+                            uploaded.ids().size() - deleted.getDeletedCount(), kind);
+                }
+            }
+
+            archived.addAndGet(uploaded.ids().size());
+            checkpoint(id, uploaded.last(), uploaded.ids().size());
+            lagSeconds.set(Math.max(0, Duration.between(uploaded.last(), cutoff).toSeconds()));
+            log.debug("Archived {} {} to {}", uploaded.ids().size(), kind, uploaded.segment().key());
+        }
+    }
+
+    private void checkpoint(String id, Instant position, int archived) {
+        UpdateResult result = mongoTemplate.updateFirst(held(id),
+                new Update()
+                        .set("position", position)
+                        .inc("archived", archived)
+                        .set("heartbeatAt", Instant.now()),
+                ArchiveCheckpointDocument.class);
+        if (result.getMatchedCount() == 0) {
+            throw new IllegalStateException("Archival lease for " + id + " was taken over by another instance");
+        }
+    }
+
+    /** Refreshes the lease; losing it to another instance stops the run. */
+    private void heartbeat(String id, AtomicReference<Throwable> failure) {
+        try {
+            UpdateResult result = mongoTemplate.updateFirst(held(id),
+                    new Update().set("heartbeatAt", Instant.now()), ArchiveCheckpointDocument.class);
+            if (result.getMatchedCount() == 0) {
+                failure.compareAndSet(null, new IllegalStateException(
+                        "Archival lease for " + id + " was taken over by another instance"));
+            }
+        } catch (RuntimeException e) {
+            // Retried at the next interval, well before the lease goes stale
+            log.warn("Failed to refresh archival lease for {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void finish(String id, Throwable error, long archived) {
+        ArchiveCheckpointDocument.Status status = error == null ? ArchiveCheckpointDocument.Status.COMPLETED
+                : error instanceof CancellationException ? ArchiveCheckpointDocument.Status.INTERRUPTED
+                : ArchiveCheckpointDocument.Status.FAILED;
+        Update update = new Update()
+                .set("status", status)
+                .set("finishedAt", Instant.now());
+        if (error == null) {
+            // The next run starts over, picking up anything that aged past the cutoff since
+            update.unset("position");
+        } else {
+            update.set("error", error.toString());
+        }
+        try {
+            mongoTemplate.updateFirst(held(id), update, ArchiveCheckpointDocument.class);
+        } catch (RuntimeException e) {
+            // The lease goes stale and is taken over; the position is still valid
+            log.warn("Failed to record end of {} archival ({} archived): {}", id, archived, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /** A stage whose failure stops the whole pipeline. */
+    private static Runnable stage(AtomicReference<Throwable> failure, Stage stage) {
+        return () -> {
+            try {
+                stage.run();
+            } catch (ExecutionException e) {
+                failure.compareAndSet(null, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            }
+        };
+    }
+
+    private boolean failed(AtomicReference<Throwable> failure) {
+        if (stopRequested) {
+            failure.compareAndSet(null, new CancellationException("Archival of " + kind + " stopped"));
+        }
+        return failure.get() != null;
+    }
+
+    /** Put, unless the pipeline fails while the queue is full. */
+    private <E> boolean handOff(BlockingQueue<E> queue, E item, AtomicInteger backlog,
+            AtomicReference<Throwable> failure) throws InterruptedException {
+        while (!queue.offer(item, POLL_MS, TimeUnit.MILLISECONDS)) {
+            if (failed(failure)) {
+                return false;
+            }
+        }
+        backlog.incrementAndGet();
+        return true;
+    }
+
+    /** Take, or {@code null} once the pipeline has failed. */
+    private <E> E take(BlockingQueue<E> queue, AtomicInteger backlog, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        while (true) {
+            if (failed(failure)) {
+                return null;
+            }
+            E item = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                backlog.decrementAndGet();
+                return item;
+            }
+        }
+    }
+
+    private void record(String stage, int documents, long startedNanos) {
+        meterRegistry.counter("archival.documents", "kind", kind, "stage", stage).increment(documents);
+        Timer.builder("archival.stage")
+                .tags("kind", kind, "stage", stage)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -11,7 +11,19 @@ public class ArchivalProperties {
     private int retentionDays = 90;
     private int batchSize = 500;
     private String cron = "0 0 3 * * *";
+    /** Concurrent segment uploads per archival run. */
+    private int uploadParallelism = 4;
+    /** Batches buffered between pipeline stages. */
+    private int queueCapacity = 4;
+    /** Documents read plus deleted per second; 0 means unlimited. */
+    private int opsPerSecond = 0;
+    /** {@code s3} or {@code local}. */
+    private String backend = "s3";
     private S3Properties s3 = new S3Properties();
+    private LocalProperties local = new LocalProperties();
+    private CacheProperties cache = new CacheProperties();
+    private QueryProperties query = new QueryProperties();
+    private RehydrationProperties rehydration = new RehydrationProperties();
 
     public boolean isEnabled() {
         return enabled;
@@ -45,6 +57,38 @@ public class ArchivalProperties {
         this.cron = cron;
     }
 
+    public int getUploadParallelism() {
+        return uploadParallelism;
+    }
+
+    public void setUploadParallelism(int uploadParallelism) {
+        this.uploadParallelism = uploadParallelism;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getOpsPerSecond() {
+        return opsPerSecond;
+    }
+
+    public void setOpsPerSecond(int opsPerSecond) {
+        this.opsPerSecond = opsPerSecond;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
     public S3Properties getS3() {
         return s3;
     }
@@ -53,6 +97,38 @@ public class ArchivalProperties {
         this.s3 = s3;
     }
 
+    public LocalProperties getLocal() {
+        return local;
+    }
+
+    public void setLocal(LocalProperties local) {
+        this.local = local;
+    }
+
+    public CacheProperties getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheProperties cache) {
+        this.cache = cache;
+    }
+
+    public QueryProperties getQuery() {
+        return query;
+    }
+
+    public void setQuery(QueryProperties query) {
+        this.query = query;
+    }
+
+    public RehydrationProperties getRehydration() {
+        return rehydration;
+    }
+
+    public void setRehydration(RehydrationProperties rehydration) {
+        this.rehydration = rehydration;
+    }
+
     public static class S3Properties {
         private String bucket = "";
         private String prefix = "openlineage/archive";
@@ -82,4 +158,106 @@ public class ArchivalProperties {
             this.region = region;
         }
     }
+
+    public static class LocalProperties {
+        private String path = "";
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+
+    /** In-memory cache of archived runs read through the API. */
+    public static class CacheProperties {
+        /** Approximate bytes of cached runs, as serialized JSON; 0 disables. */
+        private long maxBytes = 64L * 1024 * 1024;
+        /** How long an id found nowhere is remembered; 0 disables. */
+        private long absentTtlMs = 300000;
+        private int maxAbsent = 10000;
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public long getAbsentTtlMs() {
+            return absentTtlMs;
+        }
+
+        public void setAbsentTtlMs(long absentTtlMs) {
+            this.absentTtlMs = absentTtlMs;
+        }
+
+        public int getMaxAbsent() {
+            return maxAbsent;
+        }
+
+        public void setMaxAbsent(int maxAbsent) {
+            this.maxAbsent = maxAbsent;
+        }
+    }
+
+    /** Time-range queries over archived summaries. */
+    public static class QueryProperties {
+        /** Summaries read at once. */
+        private int parallelism = 8;
+        /** Queries whose time range spans more summaries are rejected. */
+        private int maxSummaries = 10000;
+        private int maxResults = 1000;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxSummaries() {
+            return maxSummaries;
+        }
+
+        public void setMaxSummaries(int maxSummaries) {
+            this.maxSummaries = maxSummaries;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+
+    /** Bulk copies of archived data back into DocumentDB. */
+    public static class RehydrationProperties {
+        /** Segments read and inserted at once by a job. */
+        private int parallelism = 4;
+        /** Jobs waiting behind the running one on an instance. */
+        private int maxQueued = 4;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+    }
 }
@@ -0,0 +1,207 @@
+package com.openlineage.server.archival;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.parquet.io.InputFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads and writes archived runs, events and export results on whichever
+ * {@link ArchiveStorage} backend is configured ({@code archival.backend}).
+ */
+@Component
+@ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
+public class ArchiveClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveClient.class);
+
+    private final ArchiveStorage storage;
+    private final ObjectMapper mapper;
+
+    /** An uploaded segment: its key and the byte range of every record. */
+    public record UploadedSegment(String key, List<ArchiveSegment.Entry> entries) {
+    }
+
+    public ArchiveClient(ArchiveStorage storage) {
+        this.storage = storage;
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /** Serialize and compress a batch into one segment (see {@link ArchiveSegment}). */
+    public <T> ArchiveSegment serialize(List<T> documents, Function<T, String> id) {
+        try {
+            ArchiveSegment segment = new ArchiveSegment();
+            for (T document : documents) {
+                segment.add(id.apply(document), mapper.writeValueAsBytes(document));
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize archive segment", e);
+        }
+    }
+
+    /**
+     * Upload a segment of {@code kind} records, keyed by the time range of its batch.
+     * Key: {kind}/segments/{year}/{month}/{from}-{to}-{batch}.ndjson.gz
+     */
+    public UploadedSegment upload(String kind, ArchiveSegment segment, Instant from, Instant to) {
+        String key = segment.key(kind, from, to);
+        try {
+            storage.put(key, segment.bytes(), ArchiveSegment.CONTENT_TYPE);
+            log.debug("Uploaded archive segment of {} {}: {}", segment.entries().size(), kind, storage.describe(key));
+            return new UploadedSegment(key, segment.entries());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload archive segment: " + key, e);
+        }
+    }
+
+    /**
+     * Write the Parquet summary of an uploaded batch (see {@link ArchiveSummary}).
+     *
+     * @return the summary's key
+     */
+    public <T> String uploadSummary(ArchiveSummary<T, ?> summary, List<T> batch, UploadedSegment segment) {
+        try {
+            ArchiveSummary.File file = summary.write(batch, segment);
+            storage.put(file.key(), file.bytes(), ArchiveSummary.CONTENT_TYPE);
+            return file.key();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload archive summary of " + segment.key(), e);
+        }
+    }
+
+    /**
+     * Every record of a segment, in order, decompressed as it is read. The
+     * caller closes the stream.
+     */
+    public <T> Stream<T> streamSegment(String key, Class<T> clazz) throws IOException {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(storage.open(key)), StandardCharsets.UTF_8));
+        return lines.lines()
+                .map(line -> {
+                    try {
+                        return mapper.readValue(line, clazz);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Invalid record in " + key, e);
+                    }
+                })
+                .onClose(() -> {
+                    try {
+                        lines.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /** Keys of every object of {@code kind}: segments, summaries and per-record objects. */
+    public List<String> list(String kind) throws IOException {
+        return storage.list(kind + "/");
+    }
+
+    /**
+     * The id and byte range of every record of a segment, read back from the
+     * segment itself; for segments archived before the manifest.
+     */
+    public <T> List<ArchiveSegment.Entry> indexSegment(String key, Class<T> clazz, Function<T, String> idOf)
+            throws IOException {
+        byte[] data;
+        try (InputStream in = storage.open(key)) {
+            data = in.readAllBytes();
+        }
+        List<ArchiveSegment.Entry> entries = new ArrayList<>();
+        for (ArchiveSegment.Member member : ArchiveSegment.members(data)) {
+            String id = idOf.apply(mapper.readValue(member.line(), clazz));
+            entries.add(new ArchiveSegment.Entry(id, member.offset(), member.length()));
+        }
+        return entries;
+    }
+
+    /** Keys of every summary of {@code kind}. */
+    public List<String> listSummaries(String kind) throws IOException {
+        return storage.list(kind + "/summaries/");
+    }
+
+    /** A summary for Parquet to read with ranged reads. */
+    public InputFile summaryFile(String key) throws IOException {
+        return new ArchiveInputFile(storage, key, storage.size(key));
+    }
+
+    /**
+     * Read one record of a segment with a ranged read; offset and length come
+     * from {@link ArchiveSegment.Entry}.
+     */
+    public <T> T readRecord(String key, long offset, int length, Class<T> clazz) {
+        try {
+            byte[] member = storage.read(key, offset, length);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(member))) {
+                return mapper.readValue(in, clazz);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read archived record: " + key + "@" + offset, e);
+        }
+    }
+
+    /** Size of a document as archived JSON; approximates its footprint in memory. */
+    public long serializedSize(Object document) {
+        try {
+            return mapper.writeValueAsBytes(document).length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Upload a local file to the archive.
+     *
+     * @param key e.g. {@code exports/<id>/lineage.json.gz}
+     * @return the key, for {@link #openObject}
+     */
+    public String uploadFile(String key, Path file, String contentType) {
+        try {
+            storage.put(key, file, contentType);
+            log.debug("Uploaded file: {}", storage.describe(key));
+            return key;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload to archive: " + key, e);
+        }
+    }
+
+    /** Open an object for streaming; the caller closes the stream. */
+    public InputStream openObject(String key) throws IOException {
+        return storage.open(key);
+    }
+
+    /**
+     * Read a whole object holding one record as plain JSON: the per-record
+     * layout used before segments ({@code {kind}/{year}/{month}/{id}.json}).
+     */
+    public <T> T readObject(String key, Class<T> clazz) {
+        try (InputStream in = storage.open(key)) {
+            return mapper.readValue(in, clazz);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to download from archive: " + key, e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.openlineage.server.archival;
+
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A Parquet file in the archive, read with ranged reads: the footer first,
+ * then only the column chunks of the row groups that survive pruning. Small
+ * reads are served from a read-ahead window so the footer and neighbouring
+ * chunks do not each cost a request. The window is shared by the file's
+ * streams, so a second reader of the same file (e.g. one for the footer
+ * metadata, then one for the rows) gets the footer without another request.
+ * Not thread-safe: read a file from one thread at a time.
+ */
+final class ArchiveInputFile implements InputFile {
+
+    static final int READ_AHEAD = 64 * 1024;
+
+    private final ArchiveStorage storage;
+    private final String key;
+    private final long length;
+    private long windowStart;
+    private byte[] window = new byte[0];
+
+    ArchiveInputFile(ArchiveStorage storage, String key, long length) {
+        this.storage = storage;
+        this.key = key;
+        this.length = length;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public SeekableInputStream newStream() {
+        return new RangedStream();
+    }
+
+    private final class RangedStream extends SeekableInputStream {
+        private long position;
+
+        @Override
+        public long getPos() {
+            return position;
+        }
+
+        @Override
+        public void seek(long newPos) {
+            position = newPos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= length) {
+                return -1;
+            }
+            fill(1);
+            return window[(int) (position++ - windowStart)] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int start, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int n = (int) Math.min(len, length - position);
+            readFully(bytes, start, n);
+            return n;
+        }
+
+        @Override
+        public void readFully(byte[] bytes) throws IOException {
+            readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(byte[] bytes, int start, int len) throws IOException {
+            if (position + len > length) {
+                throw new EOFException(key + " ends before " + (position + len));
+            }
+            if (len > READ_AHEAD) {
+                // Column chunks: read exactly what was asked, bypassing the window
+                System.arraycopy(storage.read(key, position, len), 0, bytes, start, len);
+            } else {
+                fill(len);
+                System.arraycopy(window, (int) (position - windowStart), bytes, start, len);
+            }
+            position += len;
+        }
+
+        @Override
+        public int read(ByteBuffer buf) throws IOException {
+            if (!buf.hasRemaining()) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int n = (int) Math.min(buf.remaining(), length - position);
+            byte[] bytes = new byte[n];
+            readFully(bytes, 0, n);
+            buf.put(bytes);
+            return n;
+        }
+
+        @Override
+        public void readFully(ByteBuffer buf) throws IOException {
+            byte[] bytes = new byte[buf.remaining()];
+            readFully(bytes, 0, bytes.length);
+            buf.put(bytes);
+        }
+
+        /**
+         * Makes the window cover {@code len} (at most {@link #READ_AHEAD})
+         * bytes from the current position. Near the end the window is
+         * aligned to the end, so the footer length and the footer itself
+         * come in one read.
+         */
+        private void fill(int len) throws IOException {
+            if (position >= windowStart && position + len <= windowStart + window.length) {
+                return;
+            }
+            long start = Math.max(0, Math.min(position, length - READ_AHEAD));
+            window = storage.read(key, start, (int) Math.min(READ_AHEAD, length - start));
+            windowStart = start;
+        }
+    }
+}
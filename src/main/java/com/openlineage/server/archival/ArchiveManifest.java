@@ -0,0 +1,109 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.ArchiveManifestDocument;
+import com.openlineage.server.storage.document.LineageEventDocument;
+import com.openlineage.server.storage.document.RunDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Index of archived records ({@code archive_manifest}): record id to segment
+ * key and byte range. Lookups cost one primary-key read plus one ranged read,
+ * however large the archive, and never search the archive: a record without
+ * an entry is not archived. Records archived before the manifest existed get
+ * their entries from {@link ArchiveManifestBackfill}.
+ */
+@Component
+@ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
+public class ArchiveManifest {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveManifest.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveClient archiveClient;
+    private final ArchivedRunCache runCache;
+
+    public ArchiveManifest(MongoTemplate mongoTemplate, ArchiveClient archiveClient, ArchivalProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveClient = archiveClient;
+        ArchivalProperties.CacheProperties cache = properties.getCache();
+        this.runCache = new ArchivedRunCache(cache.getMaxBytes(), cache.getAbsentTtlMs(), cache.getMaxAbsent());
+    }
+
+    /**
+     * Record every entry of an uploaded segment. Upserts, so re-archiving a
+     * batch after a crash is harmless.
+     */
+    public void record(String kind, ArchiveClient.UploadedSegment segment) {
+        if (segment.entries().isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                ArchiveManifestDocument.class);
+        for (ArchiveSegment.Entry entry : segment.entries()) {
+            bulk.upsert(Query.query(Criteria.where("_id").is(ArchiveManifestDocument.id(kind, entry.id()))),
+                    new Update()
+                            .set("key", segment.key())
+                            .set("offset", entry.offset())
+                            .set("length", entry.length())
+                            .set("archivedAt", now));
+        }
+        bulk.execute();
+    }
+
+    /**
+     * An archived run, served from {@link ArchivedRunCache} when it (or its
+     * absence) was looked up recently. Failed lookups are not cached.
+     */
+    public Optional<RunDocument> fetchRun(String runId) {
+        Optional<RunDocument> cached = runCache.get(runId);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<RunDocument> run;
+        try {
+            run = locate(ArchiveSegment.RUNS, runId).map(found -> read(found, RunDocument.class));
+        } catch (RuntimeException e) {
+            log.warn("Failed to fetch archived run {}: {}", runId, e.getMessage());
+            return Optional.empty();
+        }
+        if (run.isPresent()) {
+            runCache.put(runId, run.get(), archiveClient.serializedSize(run.get()));
+        } else {
+            runCache.putAbsent(runId);
+        }
+        return run;
+    }
+
+    public Optional<LineageEventDocument> fetchEvent(String eventId) {
+        try {
+            return locate(ArchiveSegment.EVENTS, eventId).map(found -> read(found, LineageEventDocument.class));
+        } catch (RuntimeException e) {
+            log.warn("Failed to fetch archived event {}: {}", eventId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<ArchiveManifestDocument> locate(String kind, String recordId) {
+        return Optional.ofNullable(mongoTemplate.findById(ArchiveManifestDocument.id(kind, recordId),
+                ArchiveManifestDocument.class));
+    }
+
+    private <T> T read(ArchiveManifestDocument entry, Class<T> clazz) {
+        if (entry.isWholeObject()) {
+            return archiveClient.readObject(entry.getKey(), clazz);
+        }
+        return archiveClient.readRecord(entry.getKey(), entry.getOffset(), entry.getLength(), clazz);
+    }
+}
@@ -0,0 +1,208 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.ArchiveManifestDocument;
+import com.openlineage.server.storage.document.LineageEventDocument;
+import com.openlineage.server.storage.document.RunDocument;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * One-off job writing {@code archive_manifest} entries for records archived
+ * before the manifest existed, so that lookups ({@link ArchiveManifest})
+ * never have to search the archive:
+ * <ul>
+ *   <li>objects of the per-record layout, {@code {kind}/{year}/{month}/{id}.json},
+ *       get a whole-object entry;</li>
+ *   <li>segments without any entry are downloaded once and split back into
+ *       their gzip members;</li>
+ *   <li>segments without a summary, whose upload failed after the segment's,
+ *       get one rebuilt from their records.</li>
+ * </ul>
+ * Started with {@code POST /api/v2/archive/manifest/backfill}, in the
+ * background, one at a time per instance. Entries are only inserted where
+ * none exists, so running it again, or while archival runs, is harmless.
+ */
+@Service
+@ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
+public class ArchiveManifestBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveManifestBackfill.class);
+
+    private static final int BATCH = 1000;
+
+    /** Entries and summaries written for one kind. */
+    public record Result(long objects, long segments, long entries, long summaries) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveClient archiveClient;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ArchiveManifestBackfill(MongoTemplate mongoTemplate, ArchiveClient archiveClient) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveClient = archiveClient;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "archive-manifest-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** @return false if a backfill is already running on this instance */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                backfill(ArchiveSummary.RUNS, RunDocument.class, RunDocument::getRunId);
+                backfill(ArchiveSummary.EVENTS, LineageEventDocument.class, LineageEventDocument::getId);
+            } catch (RuntimeException e) {
+                log.error("Archive manifest backfill failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    <T> Result backfill(ArchiveSummary<T, ?> summary, Class<T> clazz, Function<T, String> idOf) {
+        String kind = summary.kind();
+        List<String> keys;
+        try {
+            keys = archiveClient.list(kind);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archived " + kind, e);
+        }
+        Set<String> indexed = indexedKeys();
+        String segments = kind + "/segments/";
+        String summaries = kind + "/summaries/";
+        Set<String> summarized = new HashSet<>();
+        for (String key : keys) {
+            if (key.startsWith(summaries)) {
+                summarized.add(ArchiveSummary.batchIdOf(key));
+            }
+        }
+
+        List<ArchiveManifestDocument> pending = new ArrayList<>();
+        long objects = 0;
+        long segmentCount = 0;
+        long entries = 0;
+        long summaryCount = 0;
+        for (String key : keys) {
+            if (key.startsWith(segments)) {
+                boolean unindexed = !indexed.contains(key);
+                boolean unsummarized = !summarized.contains(ArchiveSummary.batchId(key));
+                if (!unindexed && !unsummarized) {
+                    continue;
+                }
+                try {
+                    List<ArchiveSegment.Entry> found = archiveClient.indexSegment(key, clazz, idOf);
+                    if (unindexed) {
+                        for (ArchiveSegment.Entry entry : found) {
+                            pending.add(entry(kind, entry.id(), key, entry.offset(), entry.length()));
+                        }
+                        segmentCount++;
+                    }
+                    if (unsummarized) {
+                        List<T> batch;
+                        try (Stream<T> records = archiveClient.streamSegment(key, clazz)) {
+                            batch = records.toList();
+                        }
+                        archiveClient.uploadSummary(summary, batch, new ArchiveClient.UploadedSegment(key, found));
+                        summaryCount++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Skipping archive segment {}: {}", key, e.getMessage());
+                    continue;
+                }
+            } else if (!key.startsWith(summaries) && key.endsWith(".json")) {
+                String id = key.substring(key.lastIndexOf('/') + 1, key.length() - ".json".length());
+                pending.add(entry(kind, id, key, 0, ArchiveManifestDocument.WHOLE_OBJECT));
+                objects++;
+            }
+            if (pending.size() >= BATCH) {
+                entries += insert(pending);
+            }
+        }
+        entries += insert(pending);
+        log.info("Backfilled archive manifest for {}: {} objects, {} segments, {} new entries, {} summaries",
+                kind, objects, segmentCount, entries, summaryCount);
+        return new Result(objects, segmentCount, entries, summaryCount);
+    }
+
+    /** Segments that already have entries; read once, since {@code key} is not indexed. */
+    private Set<String> indexedKeys() {
+        Set<String> keys = new HashSet<>();
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("key"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, ArchiveManifestDocument.class,
+                Document.class)) {
+            groups.forEach(group -> keys.add(group.getString("_id")));
+        }
+        return keys;
+    }
+
+    private static ArchiveManifestDocument entry(String kind, String id, String key, long offset, int length) {
+        ArchiveManifestDocument entry = new ArchiveManifestDocument();
+        entry.setId(ArchiveManifestDocument.id(kind, id));
+        entry.setKey(key);
+        entry.setOffset(offset);
+        entry.setLength(length);
+        return entry;
+    }
+
+    /** Inserts the entries whose id has none yet, then clears {@code pending}; returns how many were new. */
+    private long insert(List<ArchiveManifestDocument> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                ArchiveManifestDocument.class);
+        for (ArchiveManifestDocument entry : pending) {
+            bulk.upsert(Query.query(Criteria.where("_id").is(entry.getId())),
+                    new Update()
+                            .setOnInsert("key", entry.getKey())
+                            .setOnInsert("offset", entry.getOffset())
+                            .setOnInsert("length", entry.getLength())
+                            .setOnInsert("archivedAt", now));
+        }
+        pending.clear();
+        return bulk.execute().getUpserts().size();
+    }
+}
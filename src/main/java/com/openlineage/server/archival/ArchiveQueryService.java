@@ -0,0 +1,120 @@
+package com.openlineage.server.archival;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time-range queries over archived runs and events, answered from their
+ * Parquet summaries ({@link ArchiveSummary}) without rehydrating anything.
+ *
+ * Summaries outside the range are skipped by key. The rest are read in
+ * parallel ({@code archival.query.parallelism}), each with the filter pushed
+ * down so row groups and pages are pruned by their statistics, and only the
+ * summary columns are fetched. Results are the most recent first.
+ */
+@Service
+@ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
+public class ArchiveQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveQueryService.class);
+
+    /** eventTime in {@code [from, to)}; the other fields match exactly when set. */
+    public record Filter(String namespace, String job, String state, Instant from, Instant to, int limit) {
+    }
+
+    private final ArchiveClient archiveClient;
+    private final ArchivalProperties.QueryProperties properties;
+    private final ExecutorService scanners;
+
+    public ArchiveQueryService(ArchiveClient archiveClient, ArchivalProperties properties) {
+        this.archiveClient = archiveClient;
+        this.properties = properties.getQuery();
+        AtomicInteger threads = new AtomicInteger();
+        this.scanners = Executors.newFixedThreadPool(Math.max(1, this.properties.getParallelism()), r -> {
+            Thread thread = new Thread(r, "archive-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanners.shutdownNow();
+    }
+
+    public List<ArchivedRunSummary> runs(Filter filter) {
+        return query(ArchiveSummary.RUNS, filter);
+    }
+
+    public List<ArchivedEventSummary> events(Filter filter) {
+        return query(ArchiveSummary.EVENTS, filter);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the range is empty or spans more
+     *         than {@code archival.query.max-summaries} summaries
+     */
+    <S extends Record> List<S> query(ArchiveSummary<?, S> summary, Filter filter) {
+        if (!filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int limit = Math.max(1, Math.min(filter.limit(), properties.getMaxResults()));
+
+        List<String> keys;
+        try {
+            keys = archiveClient.listSummaries(summary.kind()).stream()
+                    .filter(key -> ArchiveSummary.overlaps(key, filter.from(), filter.to()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archived " + summary.kind(), e);
+        }
+        if (keys.size() > properties.getMaxSummaries()) {
+            throw new IllegalArgumentException("Time range spans " + keys.size() + " archive summaries (max "
+                    + properties.getMaxSummaries() + "); narrow it");
+        }
+
+        FilterPredicate predicate = summary.predicate(filter);
+        List<Future<List<S>>> scans = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            // Each summary contributes its `limit` most recent matches, which cover the overall `limit`
+            scans.add(scanners.submit(() -> summary.read(archiveClient.summaryFile(key), predicate, limit)));
+        }
+
+        List<S> matches = new ArrayList<>();
+        try {
+            for (Future<List<S>> scan : scans) {
+                matches.addAll(scan.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archive query interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to read archived " + summary.kind(), e.getCause());
+        } finally {
+            scans.forEach(scan -> scan.cancel(true));
+        }
+        log.debug("Archive query over {} read {} summaries, {} matches", summary.kind(), keys.size(),
+                matches.size());
+
+        return matches.stream()
+                .sorted(Comparator.comparing(summary::timeOf, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+}
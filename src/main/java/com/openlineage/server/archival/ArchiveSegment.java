@@ -0,0 +1,127 @@
+package com.openlineage.server.archival;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * One archival batch packed into a single gzipped NDJSON object.
+ *
+ * Every line is compressed as its own gzip member. Concatenated members are
+ * still one valid {@code .ndjson.gz} file (gunzip and GZIPInputStream read
+ * them as a whole), but each record can also be read alone from its byte
+ * range.
+ */
+public final class ArchiveSegment {
+
+    public static final String CONTENT_TYPE = "application/gzip";
+
+    /** Kinds of archived records; also their top-level folder under the prefix. */
+    public static final String RUNS = "runs";
+    public static final String EVENTS = "events";
+
+    /** Byte range of one record within the segment. */
+    public record Entry(String id, long offset, int length) {
+    }
+
+    /** One gzip member of a segment read back: its byte range and decompressed line. */
+    record Member(long offset, int length, byte[] line) {
+    }
+
+    /** What {@link GZIPOutputStream} writes around each member: a header without optional fields, CRC and size. */
+    private static final int HEADER = 10;
+    private static final int TRAILER = 8;
+
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    private final List<Entry> entries = new ArrayList<>();
+
+    public void add(String id, byte[] json) throws IOException {
+        int offset = data.size();
+        try (GZIPOutputStream member = new GZIPOutputStream(data)) {
+            member.write(json);
+            member.write('\n');
+        }
+        entries.add(new Entry(id, offset, data.size() - offset));
+    }
+
+    public byte[] bytes() {
+        return data.toByteArray();
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Splits the bytes of a segment back into its gzip members, for segments
+     * whose byte ranges were never recorded in the manifest.
+     *
+     * @throws IOException if {@code data} is not a segment written by {@link #add}
+     */
+    static List<Member> members(byte[] data) throws IOException {
+        List<Member> members = new ArrayList<>();
+        Inflater inflater = new Inflater(true);
+        byte[] buffer = new byte[8192];
+        try {
+            int offset = 0;
+            while (offset < data.length) {
+                int available = data.length - offset - HEADER;
+                if (available < TRAILER || (data[offset] & 0xff) != 0x1f || (data[offset + 1] & 0xff) != 0x8b
+                        || data[offset + 3] != 0) {
+                    throw new IOException("No gzip member at offset " + offset);
+                }
+                inflater.reset();
+                inflater.setInput(data, offset + HEADER, available);
+                ByteArrayOutputStream line = new ByteArrayOutputStream();
+                while (!inflater.finished()) {
+                    int inflated = inflater.inflate(buffer);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated gzip member at offset " + offset);
+                    }
+                    line.write(buffer, 0, inflated);
+                }
+                int length = HEADER + available - inflater.getRemaining() + TRAILER;
+                if (offset + length > data.length) {
+                    throw new IOException("Truncated gzip member at offset " + offset);
+                }
+                members.add(new Member(offset, length, line.toByteArray()));
+                offset += length;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid gzip member", e);
+        } finally {
+            inflater.end();
+        }
+        return members;
+    }
+
+    /**
+     * Key below the archive prefix:
+     * {@code {kind}/segments/{year}/{month}/{fromMillis}-{toMillis}-{batch}.ndjson.gz}.
+     * The batch part is derived from the record ids, so re-archiving the same
+     * batch after a crash overwrites the object instead of duplicating it.
+     */
+    public String key(String kind, Instant from, Instant to) {
+        ZonedDateTime month = from.atZone(ZoneOffset.UTC);
+        StringBuilder ids = new StringBuilder();
+        for (Entry entry : entries) {
+            ids.append(entry.id()).append('\n');
+        }
+        UUID batch = UUID.nameUUIDFromBytes(ids.toString().getBytes(StandardCharsets.UTF_8));
+        return String.format("%s/segments/%d/%02d/%d-%d-%s.ndjson.gz", kind, month.getYear(), month.getMonthValue(),
+                from.toEpochMilli(), to.toEpochMilli(), batch);
+    }
+}
@@ -0,0 +1,37 @@
+package com.openlineage.server.archival;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Object store holding the archive, selected by {@code archival.backend}.
+ *
+ * Keys are relative to the archive root ({@code archival.s3.prefix} in the
+ * bucket, or the {@code archival.local.path} directory) and use {@code /}
+ * as separator, e.g. {@code runs/segments/2024/03/...ndjson.gz}. Writing a
+ * key that exists replaces it, and readers never see a partly written
+ * object.
+ */
+public interface ArchiveStorage {
+
+    void put(String key, byte[] data, String contentType) throws IOException;
+
+    void put(String key, Path file, String contentType) throws IOException;
+
+    /** The caller closes the stream. */
+    InputStream open(String key) throws IOException;
+
+    /** {@code length} bytes starting at {@code offset}. */
+    byte[] read(String key, long offset, int length) throws IOException;
+
+    /** Size of the object in bytes. */
+    long size(String key) throws IOException;
+
+    /** Every key starting with {@code prefix}, in no particular order. */
+    List<String> list(String prefix) throws IOException;
+
+    /** Where {@code key} is, for log messages. */
+    String describe(String key);
+}
@@ -0,0 +1,289 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.service.LineageParquetWriter;
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.LineageEventDocument;
+import com.openlineage.server.storage.document.RunDocument;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.api.Binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Parquet file written next to every archived segment, with the queryable
+ * columns ({@code S}) of each record and its byte range in the segment, so
+ * archived records can be searched by time range without reading segments.
+ *
+ * Rows are sorted by {@code eventTime}, which keeps row group and page
+ * statistics narrow. The key carries the eventTime range too, so a query
+ * skips summaries outside its range without reading them:
+ * {@code {kind}/summaries/{year}/{month}/{minMillis}-{maxMillis}-{batch}.parquet}.
+ */
+public final class ArchiveSummary<T, S extends Record> {
+
+    public static final String CONTENT_TYPE = LineageParquetWriter.CONTENT_TYPE;
+
+    public static final ArchiveSummary<RunDocument, ArchivedRunSummary> RUNS = new ArchiveSummary<>(
+            ArchiveSegment.RUNS, RunDocument.class, ArchivedRunSummary.class, ArchivedRunSummary::of,
+            ArchivedRunSummary::runId, ArchivedRunSummary::eventTime);
+    public static final ArchiveSummary<LineageEventDocument, ArchivedEventSummary> EVENTS = new ArchiveSummary<>(
+            ArchiveSegment.EVENTS, LineageEventDocument.class, ArchivedEventSummary.class, ArchivedEventSummary::of,
+            ArchivedEventSummary::id, ArchivedEventSummary::eventTime);
+
+    static final String TIME_COLUMN = "eventTime";
+    /** Footer metadata naming the segment that {@code offset} and {@code length} point into. */
+    static final String SEGMENT_METADATA = "openlineage.archive.segment";
+
+    /** A summary ready to upload. */
+    public record File(String key, byte[] bytes) {
+    }
+
+    /** Ids of the rows of a summary that match a predicate, and the segment holding them. */
+    record Matches(String segment, Set<String> ids) {
+    }
+
+    private final String kind;
+    private final Class<T> documentType;
+    private final Class<S> type;
+    private final Function<T, S> summarize;
+    private final Function<S, String> idOf;
+    private final Function<S, Instant> timeOf;
+    /** Oldest first, rows without an eventTime before any other. */
+    private final Comparator<S> byTime;
+    /** The columns of {@code S}; what queries read. */
+    private final Schema projection;
+    /** The columns of {@code S}, then {@code offset} and {@code length}. */
+    private final Schema schema;
+    private final Constructor<S> constructor;
+
+    private ArchiveSummary(String kind, Class<T> documentType, Class<S> type, Function<T, S> summarize,
+            Function<S, String> idOf, Function<S, Instant> timeOf) {
+        this.kind = kind;
+        this.documentType = documentType;
+        this.type = type;
+        this.summarize = summarize;
+        this.idOf = idOf;
+        this.timeOf = timeOf;
+        this.byTime = Comparator.comparing(timeOf, Comparator.nullsFirst(Comparator.naturalOrder()));
+        this.projection = LineageParquetWriter.schemaOf(type);
+
+        List<Schema.Field> fields = new ArrayList<>();
+        for (Schema.Field field : projection.getFields()) {
+            fields.add(new Schema.Field(field, field.schema()));
+        }
+        fields.add(new Schema.Field("offset", Schema.create(Schema.Type.LONG)));
+        fields.add(new Schema.Field("length", Schema.create(Schema.Type.LONG)));
+        this.schema = Schema.createRecord(projection.getName(), null, projection.getNamespace(), false, fields);
+
+        try {
+            this.constructor = type.getDeclaredConstructor(Arrays.stream(type.getRecordComponents())
+                    .map(RecordComponent::getType)
+                    .toArray(Class<?>[]::new));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(type + " has no canonical constructor", e);
+        }
+    }
+
+    public String kind() {
+        return kind;
+    }
+
+    Class<T> documentType() {
+        return documentType;
+    }
+
+    Instant timeOf(S summary) {
+        return timeOf.apply(summary);
+    }
+
+    String idOf(T document) {
+        return idOf.apply(summarize.apply(document));
+    }
+
+    /** The summary of an uploaded batch; {@code batch} is in segment order. */
+    public File write(List<T> batch, ArchiveClient.UploadedSegment segment) throws IOException {
+        List<GenericData.Record> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            GenericData.Record row = LineageParquetWriter.toRecord(summarize.apply(batch.get(i)), schema);
+            ArchiveSegment.Entry entry = segment.entries().get(i);
+            row.put("offset", entry.offset());
+            row.put("length", (long) entry.length());
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparing(row -> (Long) row.get(TIME_COLUMN),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParquetWriter<GenericRecord> writer = AvroParquetWriter.<GenericRecord>builder(
+                        LineageParquetWriter.stream(out))
+                .withSchema(schema)
+                .withCompressionCodec(CompressionCodecName.SNAPPY)
+                .withDictionaryEncoding(true)
+                .withExtraMetaData(Map.of(SEGMENT_METADATA, segment.key()))
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build()) {
+            for (GenericData.Record row : rows) {
+                writer.write(row);
+            }
+        }
+
+        List<Long> times = rows.stream().map(row -> (Long) row.get(TIME_COLUMN)).filter(Objects::nonNull).toList();
+        long min = times.isEmpty() ? 0 : times.get(0);
+        long max = times.isEmpty() ? 0 : times.get(times.size() - 1);
+        ZonedDateTime month = Instant.ofEpochMilli(min).atZone(ZoneOffset.UTC);
+        String key = String.format("%s/summaries/%d/%02d/%d-%d-%s.parquet", kind, month.getYear(),
+                month.getMonthValue(), min, max, batchId(segment.key()));
+        return new File(key, out.toByteArray());
+    }
+
+    /** The part of a summary's key naming its segment. */
+    static String batchId(String segmentKey) {
+        return UUID.nameUUIDFromBytes(segmentKey.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /** {@link #batchId} of the segment the summary at {@code key} was written for. */
+    static String batchIdOf(String key) {
+        String[] range = key.substring(key.lastIndexOf('/') + 1).split("-", 3);
+        return range.length < 3 ? "" : range[2].replace(".parquet", "");
+    }
+
+    /**
+     * Whether the summary at {@code key} may hold rows with an eventTime in
+     * {@code [from, to)}. Keys that cannot be parsed are assumed to.
+     */
+    static boolean overlaps(String key, Instant from, Instant to) {
+        String[] range = key.substring(key.lastIndexOf('/') + 1).split("-", 3);
+        try {
+            long min = Long.parseLong(range[0]);
+            long max = Long.parseLong(range[1]);
+            return min < to.toEpochMilli() && max >= from.toEpochMilli();
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Pushed down into the reader, which skips row groups and pages whose
+     * statistics or dictionaries rule the predicate out, then applies it to
+     * each row.
+     */
+    FilterPredicate predicate(ArchiveQueryService.Filter filter) {
+        FilterPredicate predicate = timeRange(filter.from(), filter.to());
+        predicate = equalTo(predicate, "jobNamespace", filter.namespace());
+        predicate = equalTo(predicate, "jobName", filter.job());
+        return equalTo(predicate, "eventType", filter.state());
+    }
+
+    /** eventTime in {@code [from, to)} and, unless {@code jobs} is empty, one of {@code jobs}. */
+    FilterPredicate predicate(Instant from, Instant to, List<MarquezId> jobs) {
+        FilterPredicate anyJob = null;
+        for (MarquezId job : jobs) {
+            FilterPredicate one = FilterApi.and(
+                    FilterApi.eq(FilterApi.binaryColumn("jobNamespace"), Binary.fromString(job.getNamespace())),
+                    FilterApi.eq(FilterApi.binaryColumn("jobName"), Binary.fromString(job.getName())));
+            anyJob = anyJob == null ? one : FilterApi.or(anyJob, one);
+        }
+        FilterPredicate range = timeRange(from, to);
+        return anyJob == null ? range : FilterApi.and(range, anyJob);
+    }
+
+    private static FilterPredicate timeRange(Instant from, Instant to) {
+        Operators.LongColumn time = FilterApi.longColumn(TIME_COLUMN);
+        return FilterApi.and(FilterApi.gtEq(time, from.toEpochMilli()), FilterApi.lt(time, to.toEpochMilli()));
+    }
+
+    private static FilterPredicate equalTo(FilterPredicate predicate, String column, String value) {
+        return value == null ? predicate
+                : FilterApi.and(predicate, FilterApi.eq(FilterApi.binaryColumn(column), Binary.fromString(value)));
+    }
+
+    /**
+     * The {@code limit} most recent rows matching {@code predicate}, reading
+     * only the summary columns. Rows are stored oldest first, so every match
+     * is read and the newest are kept in a min-heap on eventTime.
+     */
+    List<S> read(InputFile file, FilterPredicate predicate, int limit) throws IOException {
+        Configuration conf = new Configuration();
+        AvroReadSupport.setRequestedProjection(conf, projection);
+        PriorityQueue<S> newest = new PriorityQueue<>(Math.min(limit, 1024) + 1, byTime);
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(file)
+                .withDataModel(GenericData.get())
+                .withConf(conf)
+                .withFilter(FilterCompat.get(predicate))
+                .build()) {
+            for (GenericRecord row = reader.read(); row != null; row = reader.read()) {
+                newest.add(toSummary(row));
+                if (newest.size() > limit) {
+                    newest.poll();
+                }
+            }
+        }
+        return new ArrayList<>(newest);
+    }
+
+    /** Every row matching {@code predicate}, by id, with the segment named in the footer. */
+    Matches match(InputFile file, FilterPredicate predicate) throws IOException {
+        String segment;
+        try (ParquetFileReader footer = ParquetFileReader.open(file)) {
+            segment = footer.getFooter().getFileMetaData().getKeyValueMetaData().get(SEGMENT_METADATA);
+        }
+        Set<String> ids = new HashSet<>();
+        for (S row : read(file, predicate, Integer.MAX_VALUE)) {
+            ids.add(idOf.apply(row));
+        }
+        return new Matches(segment, ids);
+    }
+
+    private S toSummary(GenericRecord row) {
+        RecordComponent[] components = type.getRecordComponents();
+        Object[] values = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Object value = row.get(components[i].getName());
+            if (value instanceof CharSequence text) {
+                value = text.toString();
+            } else if (value instanceof Long millis && components[i].getType() == Instant.class) {
+                value = Instant.ofEpochMilli(millis);
+            }
+            values[i] = value;
+        }
+        try {
+            return constructor.newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.domain.RunEvent;
+import com.openlineage.server.storage.document.LineageEventDocument;
+
+import java.time.Instant;
+
+/** The queryable columns of an archived event; see {@link ArchiveSummary}. */
+public record ArchivedEventSummary(
+        String id,
+        String runId,
+        String jobNamespace,
+        String jobName,
+        String eventType,
+        Instant eventTime) {
+
+    public static ArchivedEventSummary of(LineageEventDocument document) {
+        RunEvent event = document.getEvent();
+        return new ArchivedEventSummary(document.getId(),
+                event != null && event.run() != null ? event.run().runId() : null,
+                event != null && event.job() != null ? event.job().namespace() : null,
+                event != null && event.job() != null ? event.job().name() : null,
+                event != null ? event.eventType() : null,
+                ArchivedRunSummary.instant(document.getEventTime()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.RunDocument;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archived runs read recently, so that repeated views of an old run (say,
+ * while an incident is investigated) are served from memory instead of the
+ * archive. Bounded by the approximate size of the runs, measured as their
+ * serialized JSON, and evicted least recently used first.
+ *
+ * Ids found in neither the database nor the archive are remembered for a
+ * limited time, since a run can still be ingested and archived later.
+ */
+final class ArchivedRunCache {
+
+    private record Entry(RunDocument run, long bytes) {
+    }
+
+    private final long maxBytes;
+    private final long absentTtlNanos;
+    private final int maxAbsent;
+
+    /** Access order: least recently used first. */
+    private final LinkedHashMap<String, Entry> runs = new LinkedHashMap<>(16, 0.75f, true);
+    /** Insertion order, id to expiry ({@link System#nanoTime}): oldest first. */
+    private final LinkedHashMap<String, Long> absent = new LinkedHashMap<>();
+    private long bytes;
+
+    ArchivedRunCache(long maxBytes, long absentTtlMs, int maxAbsent) {
+        this.maxBytes = maxBytes;
+        this.absentTtlNanos = TimeUnit.MILLISECONDS.toNanos(absentTtlMs);
+        this.maxAbsent = maxAbsent;
+    }
+
+    /**
+     * The cached run, {@code Optional.empty()} for an id known to be absent,
+     * or {@code null} when the id is not cached.
+     */
+    synchronized Optional<RunDocument> get(String runId) {
+        Entry entry = runs.get(runId);
+        if (entry != null) {
+            return Optional.of(entry.run());
+        }
+        Long expiry = absent.get(runId);
+        if (expiry == null) {
+            return null;
+        }
+        if (expiry - System.nanoTime() > 0) {
+            return Optional.empty();
+        }
+        absent.remove(runId);
+        return null;
+    }
+
+    synchronized void put(String runId, RunDocument run, long size) {
+        if (size > maxBytes) {
+            return;
+        }
+        absent.remove(runId);
+        Entry previous = runs.put(runId, new Entry(run, size));
+        bytes += size - (previous == null ? 0 : previous.bytes());
+        Iterator<Entry> eldest = runs.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().bytes();
+            eldest.remove();
+        }
+    }
+
+    synchronized void putAbsent(String runId) {
+        if (absentTtlNanos <= 0 || maxAbsent <= 0) {
+            return;
+        }
+        absent.remove(runId);
+        absent.put(runId, System.nanoTime() + absentTtlNanos);
+        Iterator<Map.Entry<String, Long>> eldest = absent.entrySet().iterator();
+        while (absent.size() > maxAbsent) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+}
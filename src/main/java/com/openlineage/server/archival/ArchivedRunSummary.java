@@ -0,0 +1,27 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.RunDocument;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/** The queryable columns of an archived run; see {@link ArchiveSummary}. */
+public record ArchivedRunSummary(
+        String runId,
+        String jobNamespace,
+        String jobName,
+        String eventType,
+        Instant eventTime,
+        Instant startTime,
+        Instant endTime) {
+
+    public static ArchivedRunSummary of(RunDocument run) {
+        return new ArchivedRunSummary(run.getRunId(), run.getJob().getNamespace(), run.getJob().getName(),
+                run.getEventType(), instant(run.getEventTime()), instant(run.getStartTime()),
+                instant(run.getEndTime()));
+    }
+
+    static Instant instant(ZonedDateTime time) {
+        return time != null ? time.toInstant() : null;
+    }
+}
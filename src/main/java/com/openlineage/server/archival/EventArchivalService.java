@@ -1,17 +1,17 @@
 package com.openlineage.server.archival;
 
+import com.openlineage.server.service.EventPartitionService;
 import com.openlineage.server.storage.document.LineageEventDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
-import java.util.List;
 
 @Service
 @ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
@@ -19,20 +19,30 @@ public class EventArchivalService {
 
     private static final Logger log = LoggerFactory.getLogger(EventArchivalService.class);
 
-    private final MongoTemplate mongoTemplate;
-    private final S3ArchiveClient s3Client;
     private final ArchivalProperties properties;
+    private final EventPartitionService eventPartitions;
+    private final ArchivalPipeline<LineageEventDocument> pipeline;
 
-    public EventArchivalService(MongoTemplate mongoTemplate, S3ArchiveClient s3Client,
-            ArchivalProperties properties) {
-        this.mongoTemplate = mongoTemplate;
-        this.s3Client = s3Client;
+    public EventArchivalService(MongoTemplate mongoTemplate, ArchiveClient archiveClient,
+            ArchiveManifest manifest, ArchivalProperties properties, EventPartitionService eventPartitions,
+            MeterRegistry meterRegistry) {
         this.properties = properties;
+        this.eventPartitions = eventPartitions;
+        this.pipeline = new ArchivalPipeline<>(ArchiveSegment.EVENTS, LineageEventDocument.class, "createdAt",
+                LineageEventDocument::getId, event -> event.getCreatedAt().toInstant(), ArchiveSummary.EVENTS,
+                mongoTemplate, archiveClient, manifest, properties, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeline.stop();
     }
 
     /**
      * Archives lineage events older than retention period.
      * Runs 30 minutes after run archival to spread the load.
+     * Then archives the event partitions whose month is entirely before
+     * the cutoff, oldest first, dropping each once it is archived.
      */
     @Scheduled(cron = "${archival.cron}")
     public void archiveOldEvents() {
@@ -45,35 +55,22 @@ public class EventArchivalService {
         ZonedDateTime cutoff = ZonedDateTime.now().minusDays(archiveDays);
         log.info("Starting event archival for events older than {}", cutoff);
 
-        int totalArchived = 0;
-        int totalFailed = 0;
-
-        while (true) {
-            Query query = Query.query(Criteria.where("createdAt").lt(cutoff))
-                    .limit(properties.getBatchSize());
-            List<LineageEventDocument> batch = mongoTemplate.find(query, LineageEventDocument.class);
+        ArchivalPipeline.Result result = pipeline.run(cutoff.toInstant());
+        log.info("Event archival {}: {} archived, {} failed", result.completed() ? "complete" : "stopped",
+                result.archived(), result.failed());
 
-            if (batch.isEmpty()) {
+        if (!result.completed()) {
+            return;
+        }
+        for (String partition : eventPartitions.partitionsBefore(cutoff.toInstant())) {
+            result = pipeline.run(cutoff.toInstant(), partition);
+            log.info("Event archival of {} {}: {} archived, {} failed", partition,
+                    result.completed() ? "complete" : "stopped", result.archived(), result.failed());
+            if (!result.completed()) {
+                // Kept, with its checkpoint, for the next run
                 break;
             }
-
-            for (LineageEventDocument event : batch) {
-                try {
-                    s3Client.uploadEvent(event);
-                    mongoTemplate.remove(
-                            Query.query(Criteria.where("_id").is(event.getId())),
-                            LineageEventDocument.class);
-                    totalArchived++;
-                } catch (Exception e) {
-                    totalFailed++;
-                    log.error("Failed to archive event {}: {}", event.getId(), e.getMessage());
-                }
-            }
-
-            log.info("Archived batch of {} events ({} total, {} failed)",
-                    batch.size(), totalArchived, totalFailed);
+            eventPartitions.drop(partition);
         }
-
-        log.info("Event archival complete: {} archived, {} failed", totalArchived, totalFailed);
     }
 }
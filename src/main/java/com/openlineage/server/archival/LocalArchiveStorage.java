@@ -0,0 +1,130 @@
+package com.openlineage.server.archival;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Archive in a local or network-mounted directory ({@code archival.local.path}),
+ * one file per key. Objects are written to a hidden temporary file and moved
+ * into place, so a crash never leaves a truncated segment behind.
+ */
+@Component
+@ConditionalOnExpression("${archival.enabled:false} and '${archival.backend:s3}' == 'local'")
+public class LocalArchiveStorage implements ArchiveStorage {
+
+    private static final String TEMP_PREFIX = ".tmp-";
+
+    private final Path root;
+
+    public LocalArchiveStorage(ArchivalProperties properties) throws IOException {
+        String path = properties.getLocal().getPath();
+        if (path == null || path.isBlank()) {
+            throw new IllegalStateException("archival.local.path is required with archival.backend=local");
+        }
+        this.root = Files.createDirectories(Path.of(path)).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, byte[] data, String contentType) throws IOException {
+        Path target = resolve(key);
+        Path temp = temp(target);
+        try {
+            Files.write(temp, data);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        Path target = resolve(key);
+        Path temp = temp(target);
+        try {
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public byte[] read(String key, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException(key + " ends before " + (offset + length));
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        // Walk from the deepest directory the prefix names, then match the rest
+        int slash = prefix.lastIndexOf('/');
+        Path dir = slash < 0 ? root : resolve(prefix.substring(0, slash));
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith(TEMP_PREFIX))
+                    .map(file -> root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"))
+                    .filter(key -> key.startsWith(prefix))
+                    .toList();
+        }
+    }
+
+    @Override
+    public String describe(String key) {
+        return root.resolve(key).toString();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid archive key: " + key);
+        }
+        return path;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Path temp(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return target.resolveSibling(TEMP_PREFIX + target.getFileName() + "-" + UUID.randomUUID());
+    }
+}
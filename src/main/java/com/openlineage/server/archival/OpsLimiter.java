@@ -0,0 +1,34 @@
+package com.openlineage.server.archival;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces database operations out to at most {@code opsPerSecond}, shared by
+ * every stage that touches DocumentDB. Unused permits are not saved up, so
+ * there are no bursts after an idle period. {@code 0} means unlimited.
+ */
+final class OpsLimiter {
+
+    private final long nanosPerOp;
+    private long next = System.nanoTime();
+
+    OpsLimiter(int opsPerSecond) {
+        this.nanosPerOp = opsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / opsPerSecond : 0;
+    }
+
+    void acquire(int ops) throws InterruptedException {
+        if (nanosPerOp == 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(next, now);
+            next = start + ops * nanosPerOp;
+            wait = start - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
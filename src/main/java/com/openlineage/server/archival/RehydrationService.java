@@ -0,0 +1,355 @@
+package com.openlineage.server.archival;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.RehydrationJobDocument;
+import jakarta.annotation.PreDestroy;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Copies archived runs and events back into {@code runs} and
+ * {@code lineage_events}, e.g. for an audit, as background jobs tracked in
+ * {@code rehydration_jobs}.
+ *
+ * Matches are found through the Parquet summaries (by event time range
+ * and/or job), and only segments holding matches are streamed. Up to
+ * {@code archival.rehydration.parallelism} segments are processed at once,
+ * each inserted in unordered bulk writes; documents already in DocumentDB
+ * fail with a duplicate key and are counted as skipped.
+ *
+ * Rehydrated documents get a fresh {@code createdAt}, so the collections'
+ * TTL indexes remove them again after the usual retention, and a
+ * {@value #REHYDRATED_AT} marker that keeps archival from archiving them
+ * a second time.
+ */
+@Service
+@ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
+public class RehydrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RehydrationService.class);
+
+    static final String REHYDRATED_AT = "rehydratedAt";
+    private static final int DUPLICATE_KEY = 11000;
+
+    /** What to rehydrate: an event time range (open ends allowed), jobs, or both. */
+    public record RehydrationRequest(Instant from, Instant to, List<MarquezId> jobs, List<String> kinds) {
+        public RehydrationRequest {
+            jobs = jobs == null ? List.of() : List.copyOf(jobs);
+            if (from == null && to == null && jobs.isEmpty()) {
+                throw new IllegalArgumentException("Give a time range, jobs, or both");
+            }
+            for (MarquezId job : jobs) {
+                if (job == null || job.getNamespace() == null || job.getName() == null) {
+                    throw new IllegalArgumentException("Jobs need a namespace and a name");
+                }
+            }
+            from = from == null ? Instant.EPOCH : from;
+            to = to == null ? Instant.now() : to;
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("'from' must be before 'to'");
+            }
+            kinds = kinds == null || kinds.isEmpty()
+                    ? List.of(ArchiveSegment.RUNS, ArchiveSegment.EVENTS)
+                    : kinds.stream().distinct().toList();
+            for (String kind : kinds) {
+                if (!ArchiveSegment.RUNS.equals(kind) && !ArchiveSegment.EVENTS.equals(kind)) {
+                    throw new IllegalArgumentException("Unknown kind: " + kind + " (expected runs or events)");
+                }
+            }
+        }
+    }
+
+    /** Progress of a job queued or running on this instance. */
+    static final class Progress {
+        final AtomicLong summaries = new AtomicLong();
+        final AtomicLong segments = new AtomicLong();
+        final AtomicLong inserted = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        volatile boolean cancelled;
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveClient archiveClient;
+    private final ArchivalProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final String instance = ManagementFactory.getRuntimeMXBean().getName();
+    private final Map<String, Progress> running = new ConcurrentHashMap<>();
+
+    public RehydrationService(MongoTemplate mongoTemplate, ArchiveClient archiveClient,
+            ArchivalProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveClient = archiveClient;
+        this.properties = properties;
+        // One job at a time per instance; its segments are processed in parallel
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getRehydration().getMaxQueued())),
+                daemon("rehydration-job-"));
+    }
+
+    /**
+     * @throws RejectedExecutionException if this instance has too many jobs queued
+     */
+    public RehydrationJobDocument submit(RehydrationRequest request) {
+        RehydrationJobDocument job = new RehydrationJobDocument();
+        job.setId(UUID.randomUUID().toString());
+        job.setFrom(request.from());
+        job.setTo(request.to());
+        job.setJobs(request.jobs());
+        job.setKinds(request.kinds());
+        job.setStatus(RehydrationJobDocument.Status.QUEUED);
+        job.setInstance(instance);
+        job.setCreatedAt(Instant.now());
+        mongoTemplate.insert(job);
+
+        Progress progress = new Progress();
+        running.put(job.getId(), progress);
+        try {
+            executor.execute(() -> run(job, request, progress));
+        } catch (RejectedExecutionException e) {
+            running.remove(job.getId());
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(job.getId())), RehydrationJobDocument.class);
+            throw new RejectedExecutionException("Too many rehydrations queued on this instance ("
+                    + executor.getQueue().size() + ")");
+        }
+        log.info("Queued rehydration {} of {} from {} to {} for {} jobs", job.getId(), request.kinds(),
+                request.from(), request.to(), request.jobs().isEmpty() ? "all" : request.jobs().size());
+        return job;
+    }
+
+    public Optional<RehydrationJobDocument> find(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, RehydrationJobDocument.class));
+    }
+
+    /** Stops a queued or running job; documents already inserted stay. */
+    public Optional<RehydrationJobDocument> cancel(String id) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id).and("status")
+                        .in(RehydrationJobDocument.Status.QUEUED, RehydrationJobDocument.Status.RUNNING)),
+                new Update().set("status", RehydrationJobDocument.Status.CANCELLED).set("finishedAt", Instant.now()),
+                RehydrationJobDocument.class);
+        Progress progress = running.get(id);
+        if (progress != null) {
+            progress.cancelled = true;
+        }
+        return find(id);
+    }
+
+    private void run(RehydrationJobDocument job, RehydrationRequest request, Progress progress) {
+        String id = job.getId();
+        try {
+            if (progress.cancelled || !transition(id, RehydrationJobDocument.Status.QUEUED, new Update()
+                    .set("status", RehydrationJobDocument.Status.RUNNING)
+                    .set("startedAt", Instant.now())
+                    .set("instance", instance))) {
+                return; // Cancelled while queued
+            }
+            try {
+                rehydrate(id, request, progress);
+            } catch (Exception e) {
+                if (progress.cancelled) {
+                    log.info("Rehydration {} cancelled", id);
+                } else {
+                    log.error("Rehydration {} failed", id, e);
+                    transition(id, RehydrationJobDocument.Status.RUNNING,
+                            finished(RehydrationJobDocument.Status.FAILED, progress)
+                                    .set("error", String.valueOf(e.getMessage())));
+                }
+                return;
+            }
+            if (!progress.cancelled && transition(id, RehydrationJobDocument.Status.RUNNING,
+                    finished(RehydrationJobDocument.Status.SUCCEEDED, progress))) {
+                log.info("Rehydration {} finished: {} inserted, {} already present, from {} segments", id,
+                        progress.inserted.get(), progress.skipped.get(), progress.segments.get());
+            } else {
+                log.info("Rehydration {} cancelled", id);
+            }
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    void rehydrate(String id, RehydrationRequest request, Progress progress) throws Exception {
+        for (String kind : request.kinds()) {
+            if (ArchiveSegment.RUNS.equals(kind)) {
+                rehydrate(ArchiveSummary.RUNS, id, request, progress);
+            } else {
+                rehydrate(ArchiveSummary.EVENTS, id, request, progress);
+            }
+        }
+    }
+
+    private <T> void rehydrate(ArchiveSummary<T, ?> summary, String id, RehydrationRequest request,
+            Progress progress) throws Exception {
+        List<String> keys = archiveClient.listSummaries(summary.kind()).stream()
+                .filter(key -> ArchiveSummary.overlaps(key, request.from(), request.to()))
+                .toList();
+        FilterPredicate predicate = summary.predicate(request.from(), request.to(), request.jobs());
+
+        int parallelism = Math.max(1, properties.getRehydration().getParallelism());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                daemon("rehydration-" + summary.kind() + "-"));
+        try {
+            List<Future<?>> tasks = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                tasks.add(workers.submit(() -> {
+                    if (!progress.cancelled) {
+                        rehydrateSegment(summary, key, predicate, progress);
+                        report(id, progress);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private <T> void rehydrateSegment(ArchiveSummary<T, ?> summary, String key, FilterPredicate predicate,
+            Progress progress) throws IOException {
+        ArchiveSummary.Matches matches = summary.match(archiveClient.summaryFile(key), predicate);
+        progress.summaries.incrementAndGet();
+        if (matches.ids().isEmpty()) {
+            return;
+        }
+        if (matches.segment() == null) {
+            throw new IllegalStateException("Archive summary " + key + " does not name its segment");
+        }
+        progress.segments.incrementAndGet();
+
+        int batchSize = properties.getBatchSize();
+        try (Stream<T> records = archiveClient.streamSegment(matches.segment(), summary.documentType())) {
+            Iterator<T> matching = records.filter(document -> matches.ids().contains(summary.idOf(document))).iterator();
+            List<T> batch = new ArrayList<>(batchSize);
+            while (!progress.cancelled && matching.hasNext()) {
+                batch.add(matching.next());
+                if (batch.size() == batchSize || !matching.hasNext()) {
+                    insert(summary.documentType(), batch, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+    }
+
+    /** Unordered, so one document already present does not stop the rest of the batch. */
+    private <T> void insert(Class<T> type, List<T> documents, Progress progress) {
+        Date now = new Date();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        for (T document : documents) {
+            Document mapped = new Document();
+            mongoTemplate.getConverter().write(document, mapped);
+            mapped.put("createdAt", now);
+            mapped.put(REHYDRATED_AT, now);
+            bulk.insert(mapped);
+        }
+        try {
+            BulkWriteResult result = bulk.execute();
+            progress.inserted.addAndGet(result.getInsertedCount());
+        } catch (BulkOperationException e) {
+            long duplicates = e.getErrors().stream().filter(error -> error.getCode() == DUPLICATE_KEY).count();
+            if (duplicates < e.getErrors().size()) {
+                throw e;
+            }
+            progress.inserted.addAndGet(e.getResult().getInsertedCount());
+            progress.skipped.addAndGet(duplicates);
+        }
+    }
+
+    /** Records progress; a job no longer running was cancelled, possibly through another instance. */
+    private void report(String id, Progress progress) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id).and("status").is(RehydrationJobDocument.Status.RUNNING)),
+                counts(new Update(), progress), RehydrationJobDocument.class);
+        if (result != null && result.getMatchedCount() == 0) {
+            progress.cancelled = true;
+        }
+    }
+
+    private static Update finished(RehydrationJobDocument.Status status, Progress progress) {
+        return counts(new Update().set("status", status).set("finishedAt", Instant.now()), progress);
+    }
+
+    private static Update counts(Update update, Progress progress) {
+        return update
+                .set("summaries", progress.summaries.get())
+                .set("segments", progress.segments.get())
+                .set("inserted", progress.inserted.get())
+                .set("skipped", progress.skipped.get());
+    }
+
+    /** Applies {@code update} if the job is still in status {@code from}. */
+    private boolean transition(String id, RehydrationJobDocument.Status from, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id).and("status").is(from)), update,
+                RehydrationJobDocument.class);
+        return result != null && result.getModifiedCount() > 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running.isEmpty()) {
+            try {
+                mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("_id").in(List.copyOf(running.keySet())).and("status")
+                                .in(RehydrationJobDocument.Status.QUEUED, RehydrationJobDocument.Status.RUNNING)),
+                        new Update().set("status", RehydrationJobDocument.Status.FAILED)
+                                .set("error", "Rehydration interrupted: instance " + instance + " shut down")
+                                .set("finishedAt", Instant.now()),
+                        RehydrationJobDocument.class);
+            } catch (Exception e) {
+                log.warn("Failed to mark interrupted rehydrations: {}", e.getMessage());
+            }
+            running.values().forEach(progress -> progress.cancelled = true);
+        }
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
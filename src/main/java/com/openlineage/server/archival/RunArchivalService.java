@@ -1,17 +1,16 @@
 package com.openlineage.server.archival;
 
 import com.openlineage.server.storage.document.RunDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
-import java.util.List;
 
 @Service
 @ConditionalOnProperty(name = "archival.enabled", havingValue = "true")
@@ -19,15 +18,20 @@ public class RunArchivalService {
 
     private static final Logger log = LoggerFactory.getLogger(RunArchivalService.class);
 
-    private final MongoTemplate mongoTemplate;
-    private final S3ArchiveClient s3Client;
     private final ArchivalProperties properties;
+    private final ArchivalPipeline<RunDocument> pipeline;
 
-    public RunArchivalService(MongoTemplate mongoTemplate, S3ArchiveClient s3Client,
-            ArchivalProperties properties) {
-        this.mongoTemplate = mongoTemplate;
-        this.s3Client = s3Client;
+    public RunArchivalService(MongoTemplate mongoTemplate, ArchiveClient archiveClient,
+            ArchiveManifest manifest, ArchivalProperties properties, MeterRegistry meterRegistry) {
         this.properties = properties;
+        this.pipeline = new ArchivalPipeline<>(ArchiveSegment.RUNS, RunDocument.class, "updatedAt",
+                RunDocument::getRunId, run -> run.getUpdatedAt().toInstant(), ArchiveSummary.RUNS,
+                mongoTemplate, archiveClient, manifest, properties, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeline.stop();
     }
 
     @Scheduled(cron = "${archival.cron}")
@@ -39,35 +43,8 @@ public class RunArchivalService {
         ZonedDateTime cutoff = ZonedDateTime.now().minusDays(properties.getRetentionDays());
         log.info("Starting run archival for runs older than {}", cutoff);
 
-        int totalArchived = 0;
-        int totalFailed = 0;
-
-        while (true) {
-            Query query = Query.query(Criteria.where("updatedAt").lt(cutoff))
-                    .limit(properties.getBatchSize());
-            List<RunDocument> batch = mongoTemplate.find(query, RunDocument.class);
-
-            if (batch.isEmpty()) {
-                break;
-            }
-
-            for (RunDocument run : batch) {
-                try {
-                    s3Client.uploadRun(run);
-                    mongoTemplate.remove(
-                            Query.query(Criteria.where("_id").is(run.getRunId())),
-                            RunDocument.class);
-                    totalArchived++;
-                } catch (Exception e) {
-                    totalFailed++;
-                    log.error("Failed to archive run {}: {}", run.getRunId(), e.getMessage());
-                }
-            }
-
-            log.info("Archived batch of {} runs ({} total, {} failed)",
-                    batch.size(), totalArchived, totalFailed);
-        }
-
-        log.info("Run archival complete: {} archived, {} failed", totalArchived, totalFailed);
+        ArchivalPipeline.Result result = pipeline.run(cutoff.toInstant());
+        log.info("Run archival {}: {} archived, {} failed", result.completed() ? "complete" : "stopped",
+                result.archived(), result.failed());
     }
 }
@@ -0,0 +1,93 @@
+package com.openlineage.server.archival;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/** Archive in an S3 bucket, below {@code archival.s3.prefix} (the default backend). */
+@Component
+@ConditionalOnExpression("${archival.enabled:false} and '${archival.backend:s3}' == 's3'")
+public class S3ArchiveStorage implements ArchiveStorage {
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String prefix;
+
+    public S3ArchiveStorage(ArchivalProperties properties) {
+        this.s3Client = S3Client.builder()
+                .region(Region.of(properties.getS3().getRegion()))
+                .build();
+        this.bucket = properties.getS3().getBucket();
+        this.prefix = properties.getS3().getPrefix() + "/";
+    }
+
+    @Override
+    public void put(String key, byte[] data, String contentType) {
+        s3Client.putObject(putRequest(key, contentType), RequestBody.fromBytes(data));
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) {
+        s3Client.putObject(putRequest(key, contentType), RequestBody.fromFile(file));
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(prefix + key)
+                .build());
+    }
+
+    @Override
+    public byte[] read(String key, long offset, int length) {
+        ResponseBytes<GetObjectResponse> resp = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(prefix + key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build());
+        return resp.asByteArray();
+    }
+
+    @Override
+    public long size(String key) {
+        return s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(prefix + key)
+                .build())
+                .contentLength();
+    }
+
+    @Override
+    public List<String> list(String keyPrefix) {
+        return s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix + keyPrefix)
+                .build())
+                .contents()
+                .stream()
+                .map(obj -> obj.key().substring(prefix.length()))
+                .toList();
+    }
+
+    @Override
+    public String describe(String key) {
+        return "s3://" + bucket + "/" + prefix + key;
+    }
+
+    private PutObjectRequest putRequest(String key, String contentType) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(prefix + key)
+                .contentType(contentType)
+                .build();
+    }
+}
@@ -1,18 +1,20 @@
 package com.openlineage.server.config;
 
 import com.openlineage.server.domain.*;
+import com.openlineage.server.service.FacetBlobService;
 import com.openlineage.server.storage.document.DocumentDbSanitizer;
+import com.openlineage.server.storage.document.FacetCodecs;
 import org.bson.Document;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 
-import java.util.HashMap;
-
 import java.util.Map;
 
 /**
  * Custom MongoDB read converter that converts a BSON Document representing
  * a Map&lt;String, Facet&gt; back into the correct Facet implementations.
+ * Facets are decoded lazily, on first access (see {@link LazyFacetMap}), and
+ * typed facets with their BSON codecs (see {@link FacetCodecs}).
  *
  * Without this converter, Spring Data tries to instantiate the Facet interface
  * directly (NO_CONSTRUCTOR error) because it doesn't know which concrete class
@@ -24,6 +26,17 @@ import java.util.Map;
 @ReadingConverter
 public class DocumentToFacetMapConverter implements Converter<Document, Map<String, Facet>> {
 
+    /** Resolves facets stored in {@code facet_blobs}; {@code null} leaves references as they are. */
+    private final FacetBlobService blobs;
+
+    public DocumentToFacetMapConverter() {
+        this(null);
+    }
+
+    public DocumentToFacetMapConverter(FacetBlobService blobs) {
+        this.blobs = blobs;
+    }
+
     // Well-known facet keys mapped to typed classes — mirrors
     // OpenLineageFacetsDeserializer
     private static final Map<String, Class<? extends Facet>> TYPED_FACETS = Map.ofEntries(
@@ -38,51 +51,37 @@ public class DocumentToFacetMapConverter implements Converter<Document, Map<Stri
             Map.entry("sql", SqlJobFacet.class),
             Map.entry("sourceCodeLocation", SourceCodeLocationJobFacet.class));
 
-    private static final com.fasterxml.jackson.databind.ObjectMapper MAPPER = new com.fasterxml.jackson.databind.ObjectMapper()
-            .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
-            .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-            .configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
     @Override
     public Map<String, Facet> convert(Document source) {
-        Map<String, Facet> result = new HashMap<>();
-
-        for (Map.Entry<String, Object> entry : source.entrySet()) {
-            String key = entry.getKey();
-
-            // Skip MongoDB internal fields
-            if ("_class".equals(key))
-                continue;
-
-            // Unsanitize the key (restore dots/dollars from _dot_/_dollar_)
-            String originalKey = DocumentDbSanitizer.unsanitizeKey(key);
-
-            Object value = entry.getValue();
-            Facet facet = convertToFacet(originalKey, value);
-            result.put(originalKey, facet);
-        }
+        return LazyFacetMap.read(source, blobs);
+    }
 
-        return result;
+    /** Whether the facet named {@code key} decodes to a typed class rather than a {@link GenericFacet}. */
+    static boolean isTyped(String key) {
+        return TYPED_FACETS.containsKey(key);
     }
 
-    private Facet convertToFacet(String key, Object value) {
+    /** Decodes the BSON value of the facet named {@code key} (already unsanitized). */
+    static Facet decode(String key, Object value) {
         if (value == null) {
             return new GenericFacet();
         }
 
-        // Unsanitize the value (restore dotted keys inside nested maps)
-        Object unsanitized = DocumentDbSanitizer.unsanitize(value);
-
         Class<? extends Facet> typedClass = TYPED_FACETS.get(key);
 
-        try {
-            if (typedClass != null) {
-                return MAPPER.convertValue(unsanitized, typedClass);
+        if (typedClass != null && value instanceof Map) {
+            try {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> stored = (Map<String, Object>) value;
+                return FacetCodecs.decode(typedClass, stored);
+            } catch (org.bson.BSONException e) {
+                // Fall through to GenericFacet
             }
-        } catch (IllegalArgumentException e) {
-            // Fall through to GenericFacet
         }
 
+        // Unsanitize the value (restore dotted keys inside nested maps)
+        Object unsanitized = DocumentDbSanitizer.unsanitize(value);
+
         // Default: GenericFacet preserves all data as a map
         GenericFacet generic = new GenericFacet();
         if (unsanitized instanceof Map) {
@@ -0,0 +1,269 @@
+package com.openlineage.server.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.openlineage.server.domain.Facet;
+import com.openlineage.server.service.FacetBlobService;
+import com.openlineage.server.storage.document.DocumentDbSanitizer;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The facets of a document read from DocumentDB, each decoded (see
+ * {@link DocumentToFacetMapConverter}) the first time it is accessed.
+ * Reading a document only restores the facet names, so endpoints that
+ * never look at the facets pay for nothing more, and the ones that look at
+ * a few decode those.
+ *
+ * Serialized to JSON, untyped facets not yet accessed are written straight
+ * from their BSON values, with the same output a {@code GenericFacet} would
+ * give. {@link #putAll} from another {@code LazyFacetMap} copies facets
+ * without decoding them, so merge facet maps into a {@code LazyFacetMap}
+ * rather than a {@code HashMap}.
+ *
+ * Facets stored in {@code facet_blobs} are read as references and resolved
+ * when they are decoded or serialized (see {@link FacetBlobService}).
+ *
+ * Like {@code HashMap}, not safe for concurrent modification; concurrent
+ * reads are.
+ */
+@JsonSerialize(using = LazyFacetMap.Serializer.class)
+public class LazyFacetMap extends AbstractMap<String, Facet> {
+
+    /** A facet as read from BSON, not yet decoded; shared by copies. */
+    private record Raw(Object stored, FacetBlobService blobs) {
+
+        /** The stored value, with a blob reference resolved. */
+        Object value() {
+            return blobs == null ? stored : blobs.resolve(stored);
+        }
+    }
+
+    /** Facet name to a {@link Facet}, or its {@link Raw} value; in document order. */
+    private final LinkedHashMap<String, Object> slots = new LinkedHashMap<>();
+
+    public LazyFacetMap() {
+    }
+
+    /** Facets of a BSON document, keyed by their unsanitized names. */
+    static LazyFacetMap read(Document source) {
+        return read(source, null);
+    }
+
+    /** Same, resolving blob references through {@code blobs} when it is set. */
+    static LazyFacetMap read(Document source, FacetBlobService blobs) {
+        LazyFacetMap facets = new LazyFacetMap();
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            // Skip MongoDB internal fields
+            if (!"_class".equals(entry.getKey())) {
+                facets.slots.put(DocumentDbSanitizer.unsanitizeKey(entry.getKey()), new Raw(entry.getValue(), blobs));
+            }
+        }
+        return facets;
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return slots.containsKey(name);
+    }
+
+    @Override
+    public Facet get(Object name) {
+        return slots.containsKey(name) ? decoded((String) name) : null;
+    }
+
+    @Override
+    public Facet put(String name, Facet facet) {
+        return decode(name, slots.put(name, facet));
+    }
+
+    @Override
+    public Facet remove(Object name) {
+        return decode((String) name, slots.remove(name));
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Facet> facets) {
+        if (facets instanceof LazyFacetMap lazy) {
+            synchronized (lazy) {
+                slots.putAll(lazy.slots);
+            }
+        } else {
+            super.putAll(facets);
+        }
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Facet>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return slots.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Facet>> iterator() {
+                Iterator<String> names = slots.keySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return names.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Facet> next() {
+                        return new LazyEntry(names.next());
+                    }
+
+                    @Override
+                    public void remove() {
+                        names.remove();
+                    }
+                };
+            }
+        };
+    }
+
+    /** An entry that decodes its facet when asked for it. */
+    private final class LazyEntry implements Map.Entry<String, Facet> {
+        private final String name;
+
+        LazyEntry(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getKey() {
+            return name;
+        }
+
+        @Override
+        public Facet getValue() {
+            return decoded(name);
+        }
+
+        @Override
+        public Facet setValue(Facet facet) {
+            return put(name, facet);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Map.Entry<?, ?> entry && name.equals(entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + getValue();
+        }
+    }
+
+    /** Decodes a facet in place; replacing the value of a key does not disturb iterators. */
+    private synchronized Facet decoded(String name) {
+        Object slot = slots.get(name);
+        if (slot instanceof Raw) {
+            Facet facet = decode(name, slot);
+            slots.put(name, facet);
+            return facet;
+        }
+        return (Facet) slot;
+    }
+
+    private static Facet decode(String name, Object slot) {
+        return slot instanceof Raw raw ? DocumentToFacetMapConverter.decode(name, raw.value()) : (Facet) slot;
+    }
+
+    private synchronized List<Map.Entry<String, Object>> snapshot() {
+        List<Map.Entry<String, Object>> snapshot = new ArrayList<>(slots.size());
+        for (Map.Entry<String, Object> slot : slots.entrySet()) {
+            snapshot.add(new SimpleImmutableEntry<>(slot));
+        }
+        return snapshot;
+    }
+
+    static final class Serializer extends StdSerializer<LazyFacetMap> {
+
+        Serializer() {
+            super(LazyFacetMap.class);
+        }
+
+        @Override
+        public void serialize(LazyFacetMap facets, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(facets);
+            for (Map.Entry<String, Object> slot : facets.snapshot()) {
+                gen.writeFieldName(slot.getKey());
+                if (slot.getValue() instanceof Raw raw && !DocumentToFacetMapConverter.isTyped(slot.getKey())) {
+                    writeGeneric(raw.value(), gen, provider);
+                } else {
+                    provider.defaultSerializeValue(decode(slot.getKey(), slot.getValue()), gen);
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        /** What the {@code GenericFacet} decoded from {@code value} would serialize to. */
+        private static void writeGeneric(Object value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (value instanceof Map) {
+                writeUnsanitized(value, gen, provider);
+            } else {
+                gen.writeStartObject();
+                if (value != null) {
+                    gen.writeFieldName("value");
+                    writeUnsanitized(value, gen, provider);
+                }
+                gen.writeEndObject();
+            }
+        }
+
+        /** Writes a BSON value, restoring the keys of nested documents as it goes. */
+        private static void writeUnsanitized(Object value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (value instanceof Map<?, ?> map) {
+                gen.writeStartObject();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    gen.writeFieldName(DocumentDbSanitizer.unsanitizeKey(String.valueOf(entry.getKey())));
+                    writeUnsanitized(entry.getValue(), gen, provider);
+                }
+                gen.writeEndObject();
+            } else if (value instanceof List<?> list) {
+                gen.writeStartArray();
+                for (Object item : list) {
+                    writeUnsanitized(item, gen, provider);
+                }
+                gen.writeEndArray();
+            } else {
+                provider.defaultSerializeValue(value, gen);
+            }
+        }
+    }
+}
@@ -22,14 +22,17 @@ public class MongoConfig {
 
     private static final Logger log = LoggerFactory.getLogger(MongoConfig.class);
 
+    /** {@code facetBlobs} is lazy: it needs the MongoTemplate these conversions are part of. */
     @Bean
-    public MongoCustomConversions customConversions() {
+    public MongoCustomConversions customConversions(
+            @org.springframework.context.annotation.Lazy com.openlineage.server.service.FacetBlobService facetBlobs) {
         List<Converter<?, ?>> converters = new ArrayList<>();
         converters.add(new ZonedDateTimeToDateConverter());
         converters.add(new DateToZonedDateTimeConverter());
         // MarquezId is stored natively as a nested document {namespace, name}
         // — no string converters needed (the old ":" delimiter broke S3/JDBC URIs).
-        converters.add(new DocumentToFacetMapConverter());
+        converters.add(new DocumentToFacetMapConverter(facetBlobs));
+        converters.add(new FacetBlobRefToDocumentConverter());
         return new MongoCustomConversions(converters);
     }
 
@@ -62,6 +65,15 @@ public class MongoConfig {
         }
     }
 
+    /** Stored as {@code {"_blob": hash}}, without a type hint, wherever a facet goes. */
+    static class FacetBlobRefToDocumentConverter
+            implements Converter<com.openlineage.server.storage.document.FacetBlobRef, org.bson.Document> {
+        @Override
+        public org.bson.Document convert(com.openlineage.server.storage.document.FacetBlobRef source) {
+            return source.toDocument();
+        }
+    }
+
     /**
      * Customizes the MongoDB client settings.
      *
@@ -83,6 +95,10 @@ public class MongoConfig {
             MongoProperties mongoProperties) {
         return builder -> {
             builder.uuidRepresentation(org.bson.UuidRepresentation.STANDARD);
+            // Typed facets are written by their own codecs, ahead of the driver's record codec
+            builder.codecRegistry(org.bson.codecs.configuration.CodecRegistries.fromRegistries(
+                    com.openlineage.server.storage.document.FacetCodecs.REGISTRY,
+                    com.mongodb.MongoClientSettings.getDefaultCodecRegistry()));
             builder.retryWrites(false);
             if (iamAuth) {
                 if (mongoProperties.getUsername() != null && !mongoProperties.getUsername().isBlank()) {
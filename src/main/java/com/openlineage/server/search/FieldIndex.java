@@ -0,0 +1,98 @@
+package com.openlineage.server.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Inverted index from lower-cased schema field name to the ids of the
+ * datasets that currently have a field of that name.
+ *
+ * Unlike names, a dataset's fields change over time, so each id remembers its
+ * current field set and {@link #set} applies only the difference.
+ *
+ * Not thread-safe — callers guard access (see {@link SearchIndexService}).
+ */
+public class FieldIndex {
+
+    private static final String[] NONE = new String[0];
+
+    private final Map<String, SortedIds> postings = new HashMap<>();
+    private final List<String[]> fieldsById = new ArrayList<>();
+
+    /** Replaces the field set of {@code id}. */
+    public void set(int id, Collection<String> fieldNames) {
+        TreeSet<String> names = new TreeSet<>();
+        for (String name : fieldNames) {
+            if (name != null && !name.isEmpty()) {
+                names.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+        String[] next = names.toArray(NONE);
+
+        while (fieldsById.size() <= id) {
+            fieldsById.add(NONE);
+        }
+        String[] previous = fieldsById.set(id, next);
+
+        for (String name : previous) {
+            if (Arrays.binarySearch(next, name) < 0) {
+                SortedIds ids = postings.get(name);
+                if (ids != null && ids.remove(id) && ids.size == 0) {
+                    postings.remove(name);
+                }
+            }
+        }
+        for (String name : next) {
+            if (Arrays.binarySearch(previous, name) < 0) {
+                postings.computeIfAbsent(name, k -> new SortedIds()).add(id);
+            }
+        }
+    }
+
+    /** Sorted ids of datasets with a field named {@code fieldName} (case-insensitive). */
+    public int[] lookup(String fieldName) {
+        SortedIds ids = postings.get(fieldName.toLowerCase(Locale.ROOT));
+        return ids != null ? Arrays.copyOf(ids.ids, ids.size) : new int[0];
+    }
+
+    /** Number of distinct field names. */
+    public int size() {
+        return postings.size();
+    }
+
+    /** Sorted int set; ids mostly arrive in ascending order, so adds are usually appends. */
+    private static final class SortedIds {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
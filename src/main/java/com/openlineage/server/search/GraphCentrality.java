@@ -0,0 +1,225 @@
+package com.openlineage.server.search;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Centrality measures over a {@link LineageGraph}. Every pass is a parallel
+ * loop over node ids on a caller-supplied {@link ForkJoinPool}; each node
+ * reads the previous pass's values and only writes its own slots, so passes
+ * need no locking.
+ */
+public final class GraphCentrality {
+
+    /** Hashes kept per node by the reach sketch; relative error beyond K nodes is about 1/sqrt(K - 2). */
+    static final int REACH_SKETCH_SIZE = 16;
+
+    /** Unused sketch slot; also the exclusive upper bound of node hashes. */
+    private static final int EMPTY = Integer.MAX_VALUE;
+
+    /** Nodes per fork/join leaf task. */
+    private static final int GRAIN = 4096;
+
+    private GraphCentrality() {
+    }
+
+    /**
+     * PageRank over the <em>reversed</em> lineage graph: every job and dataset
+     * passes its rank to the nodes it reads from, so datasets feeding many
+     * downstream consumers rank highest. Ranks sum to 1.
+     *
+     * @param initial previous ranks to warm-start from (any positive scale,
+     *                normalized here), or {@code null} for uniform
+     */
+    public static double[] pageRank(LineageGraph graph, ForkJoinPool pool, double damping,
+            double tolerance, int maxIterations, double[] initial) {
+        int n = graph.nodeCount();
+        if (n == 0) {
+            return new double[0];
+        }
+        double[] rank = new double[n];
+        if (initial != null && initial.length == n) {
+            double total = Arrays.stream(initial).sum();
+            for (int u = 0; u < n; u++) {
+                rank[u] = total > 0 ? initial[u] / total : 1.0 / n;
+            }
+        } else {
+            Arrays.fill(rank, 1.0 / n);
+        }
+        double[] next = new double[n];
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double[] current = rank;
+            double[] updated = next;
+            // Nodes without inputs have no reversed out-links; their rank is spread evenly
+            double dangling = sum(pool, n, u -> graph.inDegree(u) == 0 ? current[u] : 0);
+            double base = (1 - damping) / n + damping * dangling / n;
+
+            double delta = sum(pool, n, v -> {
+                double incoming = 0;
+                for (int i = graph.outStart(v), end = graph.outEnd(v); i < end; i++) {
+                    int consumer = graph.outTarget(i);
+                    incoming += current[consumer] / graph.inDegree(consumer);
+                }
+                double value = base + damping * incoming;
+                updated[v] = value;
+                return Math.abs(value - current[v]);
+            });
+
+            rank = updated;
+            next = current;
+            if (delta < tolerance) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Number of nodes reachable downstream of each node (excluding itself),
+     * using bottom-k sketches: every node gets a random 31-bit hash, and each
+     * node keeps the {@value #REACH_SKETCH_SIZE} smallest hashes among the
+     * nodes it reaches. A node reaching fewer than K nodes gets an exact
+     * count; beyond that {@code (K - 1) / kthSmallest} estimates the size.
+     *
+     * Sketches are merged along out-edges in passes until nothing changes, so
+     * cycles are handled and the cost is bounded by
+     * {@code passes × edges × K} rather than one traversal per node. Each pass
+     * reads the previous pass's sketches and only rescans nodes whose
+     * successors changed.
+     *
+     * @param maxPasses upper bound on passes; graphs deeper than this get
+     *                  underestimated reach for their most upstream nodes
+     */
+    public static long[] downstreamReach(LineageGraph graph, ForkJoinPool pool, long seed, int maxPasses) {
+        int n = graph.nodeCount();
+        int k = REACH_SKETCH_SIZE;
+        int[] sketch = new int[n * k];
+        Arrays.fill(sketch, EMPTY);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int u = 0; u < n; u++) {
+            sketch[u * k] = random.nextInt(EMPTY);
+        }
+        int[] next = sketch.clone();
+
+        byte[] active = new byte[n];
+        Arrays.fill(active, (byte) 1);
+        byte[] changed = new byte[n];
+        for (int pass = 0; pass < maxPasses; pass++) {
+            int[] current = sketch;
+            int[] updated = next;
+            byte[] scan = active;
+            double changes = sum(pool, n, u -> {
+                changed[u] = 0;
+                int own = u * k;
+                if (scan[u] == 0 || graph.outDegree(u) == 0) {
+                    System.arraycopy(current, own, updated, own, k);
+                    return 0;
+                }
+                int[] merged = Arrays.copyOfRange(current, own, own + k);
+                int[] scratch = new int[k];
+                for (int i = graph.outStart(u), end = graph.outEnd(u); i < end; i++) {
+                    mergeBottomK(merged, current, graph.outTarget(i) * k, scratch);
+                }
+                System.arraycopy(merged, 0, updated, own, k);
+                if (!Arrays.equals(merged, 0, k, current, own, own + k)) {
+                    changed[u] = 1;
+                }
+                return changed[u];
+            });
+            sketch = updated;
+            next = current;
+            if (changes == 0) {
+                break;
+            }
+            // Only nodes with a successor that changed can change in the next pass
+            byte[] nextActive = new byte[n];
+            sum(pool, n, v -> {
+                if (changed[v] != 0) {
+                    for (int i = graph.inStart(v), end = graph.inEnd(v); i < end; i++) {
+                        nextActive[graph.inSource(i)] = 1;
+                    }
+                }
+                return 0;
+            });
+            active = nextActive;
+        }
+
+        long[] reach = new long[n];
+        for (int u = 0; u < n; u++) {
+            int kth = sketch[u * k + k - 1];
+            if (kth == EMPTY) {
+                int count = 0;
+                while (count < k && sketch[u * k + count] != EMPTY) {
+                    count++;
+                }
+                reach[u] = count - 1;
+            } else {
+                reach[u] = Math.max(k - 1, Math.round((k - 1) / (kth / (double) EMPTY)) - 1);
+            }
+        }
+        return reach;
+    }
+
+    /**
+     * Replaces {@code acc} with the k smallest distinct values of
+     * {@code acc} ∪ {@code values[from .. from + k)}; both are sorted and
+     * padded with {@link #EMPTY}.
+     */
+    private static void mergeBottomK(int[] acc, int[] values, int from, int[] scratch) {
+        int k = acc.length;
+        int i = 0;
+        int j = from;
+        int end = from + k;
+        for (int out = 0; out < k; out++) {
+            int a = i < k ? acc[i] : EMPTY;
+            int b = j < end ? values[j] : EMPTY;
+            if (a == b) {
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+            scratch[out] = Math.min(a, b);
+        }
+        System.arraycopy(scratch, 0, acc, 0, k);
+    }
+
+    /** Parallel sum of {@code f(0) .. f(n - 1)}. */
+    static double sum(ForkJoinPool pool, int n, IntToDoubleFunction f) {
+        return pool.invoke(new RangeSum(f, 0, n));
+    }
+
+    private static final class RangeSum extends RecursiveTask<Double> {
+        private final IntToDoubleFunction f;
+        private final int from;
+        private final int to;
+
+        RangeSum(IntToDoubleFunction f, int from, int to) {
+            this.f = f;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= GRAIN) {
+                double total = 0;
+                for (int i = from; i < to; i++) {
+                    total += f.applyAsDouble(i);
+                }
+                return total;
+            }
+            int mid = (from + to) >>> 1;
+            RangeSum left = new RangeSum(f, from, mid);
+            left.fork();
+            double right = new RangeSum(f, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.openlineage.server.search;
+
+import com.openlineage.server.api.models.SearchFilter;
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.ImportanceScore;
+import com.openlineage.server.storage.document.JobDocument;
+import com.openlineage.server.storage.document.LineageEdgeDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Periodically scores every job and dataset by its position in the lineage
+ * graph and stores the result as {@code importance} on the documents, where
+ * it backs {@code sort=RELEVANCE} in search.
+ *
+ * Each run streams {@code lineage_edges} into a {@link LineageGraph}, then
+ * computes degrees, approximate downstream reach and PageRank on a
+ * fork/join pool (see {@link GraphCentrality}). To keep runs cheap:
+ * - a run is skipped when the edge collection has not changed since the last one
+ * - PageRank is warm-started from the previous run's scores
+ * - only scores that moved by more than {@value #SCORE_EPSILON} (relative), or
+ *   whose degree or reach changed, are written back
+ * Nodes scored by the last run that have left the graph (their last edge
+ * was replaced or expired) have their {@code importance} removed.
+ */
+@Service
+public class ImportanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportanceService.class);
+
+    private static final double DAMPING = 0.85;
+    private static final double TOLERANCE = 1e-7;
+    private static final int MAX_ITERATIONS = 100;
+    private static final int REACH_MAX_PASSES = 200;
+    private static final long REACH_SEED = 0x5eed_1ea9L;
+    private static final double SCORE_EPSILON = 0.01;
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchIndexService searchIndex;
+    private final boolean enabled;
+    private final int parallelism;
+
+    /** Scores written by the last run. */
+    private Map<Node, ImportanceScore> lastScores = Map.of();
+    /** Edge collection fingerprint (latest updatedAt, count) at the last run. */
+    private List<Object> lastFingerprint;
+
+    public ImportanceService(MongoTemplate mongoTemplate, SearchIndexService searchIndex,
+            @Value("${openlineage.search.importance.enabled:true}") boolean enabled,
+            @Value("${openlineage.search.importance.parallelism:0}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.searchIndex = searchIndex;
+        this.enabled = enabled;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** A graph node: the job or dataset an edge endpoint refers to. */
+    private record Node(SearchFilter type, String namespace, String name) {
+    }
+
+    @Scheduled(fixedDelayString = "${openlineage.search.importance.interval-ms:3600000}",
+            initialDelayString = "${openlineage.search.importance.initial-delay-ms:120000}")
+    public void scheduledRecompute() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            recompute(false);
+        } catch (Exception e) {
+            log.error("Importance recomputation failed", e);
+        }
+    }
+
+    /**
+     * Recomputes all scores.
+     *
+     * @param force recompute even if no lineage edge changed since the last run
+     * @return number of documents whose score was written
+     */
+    public synchronized int recompute(boolean force) {
+        List<Object> fingerprint = edgeFingerprint();
+        if (!force && fingerprint.equals(lastFingerprint)) {
+            log.debug("Lineage edges unchanged; skipping importance recomputation");
+            return 0;
+        }
+        long started = System.currentTimeMillis();
+
+        Map<String, Integer> ids = new HashMap<>();
+        List<Node> nodes = new ArrayList<>();
+        LineageGraph.Builder builder = new LineageGraph.Builder();
+        Query edgeQuery = new Query();
+        edgeQuery.fields().include("sourceType").include("sourceNamespace").include("sourceName")
+                .include("targetType").include("targetNamespace").include("targetName");
+        try (Stream<LineageEdgeDocument> edges = mongoTemplate.stream(edgeQuery, LineageEdgeDocument.class)) {
+            edges.forEach(edge -> builder.addEdge(
+                    nodeId(ids, nodes, edge.getSourceType(), edge.getSourceNamespace(), edge.getSourceName()),
+                    nodeId(ids, nodes, edge.getTargetType(), edge.getTargetNamespace(), edge.getTargetName())));
+        }
+        LineageGraph graph = builder.build(nodes.size());
+        int n = graph.nodeCount();
+
+        double[] initial = new double[n];
+        for (int u = 0; u < n; u++) {
+            ImportanceScore previous = lastScores.get(nodes.get(u));
+            initial[u] = previous != null ? previous.score() : 1.0;
+        }
+
+        double[] rank;
+        long[] reach;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            rank = GraphCentrality.pageRank(graph, pool, DAMPING, TOLERANCE, MAX_ITERATIONS, initial);
+            reach = GraphCentrality.downstreamReach(graph, pool, REACH_SEED, REACH_MAX_PASSES);
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Node, ImportanceScore> scores = new HashMap<>(n * 2);
+        Map<String, Double> changed = new HashMap<>();
+        Writes writes = new Writes();
+        for (int u = 0; u < n; u++) {
+            Node node = nodes.get(u);
+            // Scaled so the average node scores 1.0, independent of graph size
+            ImportanceScore score = new ImportanceScore(rank[u] * n, graph.inDegree(u), graph.outDegree(u), reach[u]);
+            scores.put(node, score);
+            if (!changed(lastScores.get(node), score)) {
+                continue;
+            }
+            changed.put(key(node), score.score());
+            writes.add(node, new Update()
+                    .set("importance.score", score.score())
+                    .set("importance.inDegree", score.inDegree())
+                    .set("importance.outDegree", score.outDegree())
+                    .set("importance.downstreamReach", score.downstreamReach()));
+        }
+        for (Node node : lastScores.keySet()) {
+            if (!scores.containsKey(node)) {
+                changed.put(key(node), 0.0);
+                writes.add(node, new Update().unset("importance"));
+            }
+        }
+        writes.flush();
+
+        searchIndex.setImportance(changed);
+        lastScores = scores;
+        lastFingerprint = fingerprint;
+        log.info("Importance scores computed for {} nodes / {} edges in {} ms ({} written)",
+                n, graph.edgeCount(), System.currentTimeMillis() - started, changed.size());
+        return changed.size();
+    }
+
+    /** Importance updates, sent in unordered bulks of {@value #WRITE_BATCH_SIZE} per collection. */
+    private final class Writes {
+        private BulkOperations jobs;
+        private BulkOperations datasets;
+        private int jobWrites;
+        private int datasetWrites;
+
+        void add(Node node, Update update) {
+            Query query = Query.query(Criteria.where("_id").is(new MarquezId(node.namespace(), node.name())));
+            if (node.type() == SearchFilter.JOB) {
+                if (jobs == null) {
+                    jobs = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobDocument.class);
+                }
+                jobs.updateOne(query, update);
+                if (++jobWrites % WRITE_BATCH_SIZE == 0) {
+                    jobs.execute();
+                    jobs = null;
+                }
+            } else {
+                if (datasets == null) {
+                    datasets = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DatasetDocument.class);
+                }
+                datasets.updateOne(query, update);
+                if (++datasetWrites % WRITE_BATCH_SIZE == 0) {
+                    datasets.execute();
+                    datasets = null;
+                }
+            }
+        }
+
+        void flush() {
+            if (jobs != null) {
+                jobs.execute();
+            }
+            if (datasets != null) {
+                datasets.execute();
+            }
+        }
+    }
+
+    private static boolean changed(ImportanceScore previous, ImportanceScore current) {
+        return previous == null
+                || previous.inDegree() != current.inDegree()
+                || previous.outDegree() != current.outDegree()
+                || previous.downstreamReach() != current.downstreamReach()
+                || Math.abs(current.score() - previous.score()) > SCORE_EPSILON * previous.score();
+    }
+
+    /**
+     * Latest edge {@code updatedAt} plus the estimated edge count — every
+     * ingested edge bumps the former, and run replacement that only deletes
+     * edges changes the latter.
+     */
+    private List<Object> edgeFingerprint() {
+        Query latest = new Query().with(Sort.by(Sort.Direction.DESC, "updatedAt")).limit(1);
+        latest.fields().include("updatedAt");
+        LineageEdgeDocument edge = mongoTemplate.findOne(latest, LineageEdgeDocument.class);
+        List<Object> fingerprint = new ArrayList<>(2);
+        fingerprint.add(edge != null && edge.getUpdatedAt() != null ? edge.getUpdatedAt().toInstant() : null);
+        fingerprint.add(mongoTemplate.estimatedCount(LineageEdgeDocument.class));
+        return fingerprint;
+    }
+
+    private static int nodeId(Map<String, Integer> ids, List<Node> nodes, String type, String namespace, String name) {
+        Node node = new Node("job".equals(type) ? SearchFilter.JOB : SearchFilter.DATASET, namespace, name);
+        return ids.computeIfAbsent(key(node), k -> {
+            nodes.add(node);
+            return nodes.size() - 1;
+        });
+    }
+
+    private static String key(Node node) {
+        return SearchIndexService.key(node.type(), node.namespace(), node.name());
+    }
+}
@@ -0,0 +1,110 @@
+package com.openlineage.server.search;
+
+import java.util.Arrays;
+
+/**
+ * Immutable lineage graph in compressed sparse row form: nodes are dense int
+ * ids, and the out- and in-neighbours of node {@code u} are the slices
+ * {@code [offset[u], offset[u + 1])} of a single int array. Millions of edges
+ * fit in a few int arrays instead of millions of boxed adjacency lists.
+ */
+public final class LineageGraph {
+
+    private final int nodeCount;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    private LineageGraph(int nodeCount, int[] outOffsets, int[] outTargets, int[] inOffsets, int[] inSources) {
+        this.nodeCount = nodeCount;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    public int outDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    public int inDegree(int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    int outStart(int node) {
+        return outOffsets[node];
+    }
+
+    int outEnd(int node) {
+        return outOffsets[node + 1];
+    }
+
+    int outTarget(int i) {
+        return outTargets[i];
+    }
+
+    int inStart(int node) {
+        return inOffsets[node];
+    }
+
+    int inEnd(int node) {
+        return inOffsets[node + 1];
+    }
+
+    int inSource(int i) {
+        return inSources[i];
+    }
+
+    /** Accumulates edges as two parallel int arrays, then sorts them into CSR. */
+    public static final class Builder {
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private int edges;
+        private int nodeCount;
+
+        public void addEdge(int source, int target) {
+            if (edges == from.length) {
+                from = Arrays.copyOf(from, edges * 2);
+                to = Arrays.copyOf(to, edges * 2);
+            }
+            from[edges] = source;
+            to[edges] = target;
+            edges++;
+            nodeCount = Math.max(nodeCount, Math.max(source, target) + 1);
+        }
+
+        /** @param nodeCount total nodes, at least one more than the largest id seen */
+        public LineageGraph build(int nodeCount) {
+            int n = Math.max(nodeCount, this.nodeCount);
+            int[] outOffsets = new int[n + 1];
+            int[] inOffsets = new int[n + 1];
+            for (int e = 0; e < edges; e++) {
+                outOffsets[from[e] + 1]++;
+                inOffsets[to[e] + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                outOffsets[u + 1] += outOffsets[u];
+                inOffsets[u + 1] += inOffsets[u];
+            }
+            // Counting sort of the edges by source (out) and by target (in)
+            int[] outTargets = new int[edges];
+            int[] inSources = new int[edges];
+            int[] outNext = Arrays.copyOf(outOffsets, n);
+            int[] inNext = Arrays.copyOf(inOffsets, n);
+            for (int e = 0; e < edges; e++) {
+                outTargets[outNext[from[e]]++] = to[e];
+                inSources[inNext[to[e]]++] = from[e];
+            }
+            return new LineageGraph(n, outOffsets, outTargets, inOffsets, inSources);
+        }
+    }
+}
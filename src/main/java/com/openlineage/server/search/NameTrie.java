@@ -0,0 +1,185 @@
+package com.openlineage.server.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Compressed (radix) trie over lower-cased keys, used for typeahead.
+ *
+ * Every node carries {@code maxUpdated}, an upper bound on the recency of any
+ * id stored in its subtree. {@link #topK} walks the subtree of a prefix
+ * best-first on that bound, so the k most recent matches are found without
+ * visiting the whole subtree. Bounds only ever grow; an id whose recency drops
+ * or that is removed leaves a stale (too high) bound behind, which costs a
+ * little extra work but never a wrong result.
+ *
+ * Not thread-safe — callers guard access (see {@link SearchIndexService}).
+ */
+public class NameTrie {
+
+    private final Node root = new Node("");
+
+    /**
+     * Associates {@code id} with {@code key} (already lower-cased) and raises
+     * the recency bound along the path to {@code updatedAt}. Adding the same
+     * id twice is a no-op apart from the bound update.
+     */
+    public void add(String key, int id, long updatedAt) {
+        Node node = root;
+        node.raise(updatedAt);
+        int i = 0;
+        while (i < key.length()) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node(key.substring(i));
+                child.raise(updatedAt);
+                child.addId(id);
+                node.children.put(c, child);
+                return;
+            }
+
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge: node -> mid -> child
+                Node mid = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.children.put(child.label.charAt(0), child);
+                mid.maxUpdated = child.maxUpdated;
+                node.children.put(c, mid);
+                child = mid;
+            }
+            child.raise(updatedAt);
+            node = child;
+            i += common;
+        }
+        node.addId(id);
+    }
+
+    /**
+     * Returns up to {@code limit} distinct ids stored under keys starting with
+     * {@code prefix}, most recent first.
+     *
+     * @param recency current recency of an id
+     * @param accept  filter applied to candidate ids (removed or filtered-out
+     *                ids should be rejected here)
+     */
+    public List<Integer> topK(String prefix, int limit, IntToLongFunction recency, IntPredicate accept) {
+        Node start = find(prefix);
+        List<Integer> result = new ArrayList<>(limit);
+        if (start == null || limit <= 0) {
+            return result;
+        }
+
+        // Frontier holds both subtrees (keyed by their bound) and concrete ids
+        // (keyed by their exact recency). An id popped ahead of every
+        // remaining bound is final.
+        PriorityQueue<Item> frontier = new PriorityQueue<>();
+        frontier.add(new Item(start.maxUpdated, start, -1));
+        Set<Integer> seen = new HashSet<>();
+
+        while (!frontier.isEmpty() && result.size() < limit) {
+            Item item = frontier.poll();
+            if (item.node == null) {
+                result.add(item.id);
+                continue;
+            }
+            Node node = item.node;
+            for (int n = 0; n < node.idCount; n++) {
+                int id = node.ids[n];
+                if (seen.add(id) && accept.test(id)) {
+                    frontier.add(new Item(recency.applyAsLong(id), null, id));
+                }
+            }
+            for (Node child : node.children.values()) {
+                frontier.add(new Item(child.maxUpdated, child, -1));
+            }
+        }
+        return result;
+    }
+
+    /** Node whose subtree holds exactly the keys starting with {@code prefix}. */
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                return child; // prefix ends at or inside this edge
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static final class Node {
+        String label;
+        final Map<Character, Node> children = new HashMap<>(4);
+        int[] ids;
+        int idCount;
+        long maxUpdated = Long.MIN_VALUE;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void raise(long updatedAt) {
+            if (updatedAt > maxUpdated) {
+                maxUpdated = updatedAt;
+            }
+        }
+
+        void addId(int id) {
+            if (ids == null) {
+                ids = new int[1];
+            }
+            for (int n = 0; n < idCount; n++) {
+                if (ids[n] == id) {
+                    return;
+                }
+            }
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, idCount * 2);
+            }
+            ids[idCount++] = id;
+        }
+    }
+
+    /** Frontier element: a subtree ({@code node != null}) or a concrete id. */
+    private record Item(long priority, Node node, int id) implements Comparable<Item> {
+        @Override
+        public int compareTo(Item other) {
+            int cmp = Long.compare(other.priority, priority); // most recent first
+            if (cmp != 0) {
+                return cmp;
+            }
+            // On ties emit ids before expanding subtrees
+            return Boolean.compare(node != null, other.node != null);
+        }
+    }
+}
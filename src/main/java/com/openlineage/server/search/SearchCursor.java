@@ -0,0 +1,63 @@
+package com.openlineage.server.search;
+
+import com.openlineage.server.api.models.SearchFilter;
+import com.openlineage.server.api.models.SearchSort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for search pagination: the sort order plus the sort
+ * key of the last entry on the previous page. The next page starts strictly
+ * after that key, so pages stay stable while names are being added.
+ */
+public record SearchCursor(SearchSort sort, SearchIndexService.Entry last) {
+
+    private static final byte VERSION = 2;
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(sort.name());
+            out.writeUTF(last.type().name());
+            out.writeUTF(last.namespace());
+            out.writeUTF(last.name());
+            out.writeLong(last.updatedAt());
+            out.writeDouble(last.importance());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or was
+     *                                  issued for a different sort order
+     */
+    public static SearchCursor decode(String cursor, SearchSort expectedSort) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported search cursor");
+            }
+            SearchSort sort = SearchSort.valueOf(in.readUTF());
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Search cursor was issued for sort=" + sort);
+            }
+            SearchFilter type = SearchFilter.valueOf(in.readUTF());
+            String namespace = in.readUTF();
+            String name = in.readUTF();
+            long updatedAt = in.readLong();
+            double importance = in.readDouble();
+            return new SearchCursor(sort, new SearchIndexService.Entry(type, namespace, name, updatedAt, importance));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed search cursor", e);
+        }
+    }
+}
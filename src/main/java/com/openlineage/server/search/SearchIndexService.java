@@ -0,0 +1,593 @@
+package com.openlineage.server.search;
+
+import com.openlineage.server.api.models.SearchFilter;
+import com.openlineage.server.api.models.SearchSort;
+import com.openlineage.server.domain.SchemaDatasetFacet;
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.ImportanceScore;
+import com.openlineage.server.storage.document.JobDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process name index over jobs and datasets.
+ *
+ * DocumentDB has no {@code $text} support, so substring search on
+ * names used to be an unanchored regex — a full collection scan.
+ * This service keeps every job/dataset name in memory with a
+ * {@link TrigramIndex}: posting lists are intersected for candidates, which
+ * are then verified with an exact case-insensitive substring match. A
+ * {@link NameTrie} over the same entries answers typeahead prefix lookups, a
+ * {@link TokenBkTree} over name tokens answers typo-tolerant lookups and a
+ * {@link FieldIndex} maps schema field names to datasets.
+ *
+ * Lifecycle:
+ * - Warmed from MongoDB once the application is ready
+ * - Updated incrementally by {@code JobService} / {@code DatasetService} upserts
+ * - Periodically refreshed from {@code modifiedAt} (server time of the last
+ *   write) so writes made by other instances become searchable, including
+ *   late or replayed events whose {@code updatedAt} is in the past
+ * - Importance scores for {@code RELEVANCE} pushed by {@link ImportanceService}
+ *
+ * Until the warm-up finishes {@link #isReady()} is false and callers fall back
+ * to querying MongoDB.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    /** Overlap applied to the refresh high-water mark to absorb writes still in flight at the last refresh. */
+    private static final long REFRESH_OVERLAP_MS = 60_000;
+
+    /** Characters that start a new name segment for typeahead. */
+    private static final String SEGMENT_SEPARATORS = "./:_-";
+
+    /** Name token separators for fuzzy search — the same split as dataset name parsing. */
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[./_]+");
+
+    /** BK-tree nodes visited per query token before a fuzzy lookup gives up. */
+    private static final int FUZZY_MAX_VISITS = 20_000;
+
+    /** Entries scored per query token; bounds fuzzy lookups on very common tokens. */
+    private static final int FUZZY_MAX_CANDIDATES = 50_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();
+    private volatile boolean ready = false;
+
+    /** Upserts received while a rebuild is running — replayed onto the new state. */
+    private List<Upsert> replayLog = null;
+    /** Highest {@code modifiedAt} loaded, in DocumentDB server time. */
+    private volatile long highWaterMark = 0;
+
+    public SearchIndexService(MongoTemplate mongoTemplate,
+            @Value("${openlineage.search.index.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * A single indexed job or dataset. {@code updatedAt} is epoch millis;
+     * {@code importance} is the centrality score (0 until first computed).
+     */
+    public record Entry(SearchFilter type, String namespace, String name, long updatedAt, double importance) {
+        public Entry(SearchFilter type, String namespace, String name, long updatedAt) {
+            this(type, namespace, name, updatedAt, 0);
+        }
+
+        Entry withImportance(double importance) {
+            return new Entry(type, namespace, name, updatedAt, importance);
+        }
+    }
+
+    /**
+     * Ranked page of matches. {@code totalCount} counts every match of the
+     * query, not just those past the cursor.
+     */
+    public record SearchHits(int totalCount, List<Entry> entries, boolean hasMore) {
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void indexJob(String namespace, String name, ZonedDateTime updatedAt) {
+        index(new Upsert(new Entry(SearchFilter.JOB, namespace, name, toMillis(updatedAt)), null, false, 0));
+    }
+
+    public void indexDataset(String namespace, String name, ZonedDateTime updatedAt) {
+        indexDataset(namespace, name, updatedAt, null);
+    }
+
+    /**
+     * @param fieldNames current schema field names, or {@code null} if the
+     *                   upsert did not carry a schema (fields unchanged)
+     */
+    public void indexDataset(String namespace, String name, ZonedDateTime updatedAt, List<String> fieldNames) {
+        index(new Upsert(new Entry(SearchFilter.DATASET, namespace, name, toMillis(updatedAt)), fieldNames, false,
+                0));
+    }
+
+    /**
+     * Applies freshly computed importance scores, keyed by {@link #key}.
+     * Scores are persisted before this is called, so a concurrent rebuild
+     * picks them up from MongoDB.
+     */
+    void setImportance(Map<String, Double> scores) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            scores.forEach(state::setImportance);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Upsert upsert) {
+        if (!enabled || upsert.entry().name() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            state.put(upsert);
+            if (replayLog != null) {
+                replayLog.add(upsert);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substring search over indexed names or, with {@link SearchFilter#FIELD},
+     * datasets having a schema field named exactly {@code query}
+     * (case-insensitive).
+     *
+     * @param after  exclusive lower bound on updatedAt (nullable)
+     * @param before exclusive upper bound on updatedAt (nullable)
+     * @param cursor last entry of the previous page (nullable); only entries
+     *               ranked after it are returned
+     */
+    public SearchHits search(String query, SearchFilter filter, String namespace,
+            ZonedDateTime after, ZonedDateTime before, SearchSort sort, int limit, Entry cursor) {
+        long afterMs = after != null ? after.toInstant().toEpochMilli() : Long.MIN_VALUE;
+        long beforeMs = before != null ? before.toInstant().toEpochMilli() : Long.MAX_VALUE;
+        Comparator<Entry> comparator = comparator(sort);
+        boolean byField = filter == SearchFilter.FIELD;
+        SearchFilter type = byField ? SearchFilter.DATASET : filter;
+
+        // Max-heap on the ranking order: the head is the worst of the current top-k
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, comparator.reversed());
+        int total = 0;
+        int remaining = 0;
+
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = state.entries;
+            int[] candidates;
+            if (byField) {
+                candidates = state.fields.lookup(query);
+            } else if (query.length() >= TrigramIndex.GRAM) {
+                candidates = state.trigrams.candidates(query);
+            } else {
+                // Too short for trigrams — a linear pass in memory is still far
+                // cheaper than a collection scan
+                candidates = null;
+            }
+
+            int count = candidates != null ? candidates.length : entries.size();
+            for (int i = 0; i < count; i++) {
+                Entry e = entries.get(candidates != null ? candidates[i] : i);
+                if (!accept(e, type, namespace, afterMs, beforeMs)
+                        || (!byField && !containsIgnoreCase(e.name(), query))) {
+                    continue;
+                }
+                total++;
+                if (cursor == null || comparator.compare(e, cursor) > 0) {
+                    remaining++;
+                    offer(top, e, limit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Entry> ranked = new ArrayList<>(top);
+        ranked.sort(comparator);
+        return new SearchHits(total, ranked, remaining > limit);
+    }
+
+    /**
+     * Typo-tolerant search. {@code query} is split into tokens like names
+     * are; an entry matches when each query token is within a few edits of
+     * one of its name tokens (0 for up to 3 characters, 1 up to 6, else 2).
+     * Ranked by total edit distance, then most recent first.
+     *
+     * Results are a single page; lookups are bounded by
+     * {@value #FUZZY_MAX_VISITS} tree nodes and {@value #FUZZY_MAX_CANDIDATES}
+     * entries per token, so very common tokens may not be exhaustively scored.
+     */
+    public SearchHits fuzzySearch(String query, SearchFilter filter, String namespace, int limit) {
+        List<String> queryTokens = tokens(query);
+        if (queryTokens.isEmpty()) {
+            return new SearchHits(0, List.of(), false);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = state.entries;
+            Map<Integer, Integer> distances = null; // entry id -> summed edit distance
+            for (String token : queryTokens) {
+                Map<Integer, Integer> best = new HashMap<>();
+                state.tokens.search(token, maxEdits(token), FUZZY_MAX_VISITS, (match, d, ids, idCount) -> {
+                    for (int n = 0; n < idCount; n++) {
+                        if (best.size() < FUZZY_MAX_CANDIDATES || best.containsKey(ids[n])) {
+                            best.merge(ids[n], d, Math::min);
+                        }
+                    }
+                });
+                if (distances == null) {
+                    distances = best;
+                } else {
+                    distances.keySet().retainAll(best.keySet());
+                    distances.replaceAll((id, sum) -> sum + best.get(id));
+                }
+                if (distances.isEmpty()) {
+                    return new SearchHits(0, List.of(), false);
+                }
+            }
+
+            record Scored(Entry entry, int distance) {
+            }
+            Comparator<Scored> ranking = Comparator.comparingInt(Scored::distance)
+                    .thenComparing(Scored::entry, comparator(SearchSort.UPDATE_AT));
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+            int total = 0;
+            for (Map.Entry<Integer, Integer> candidate : distances.entrySet()) {
+                Entry e = entries.get(candidate.getKey());
+                if (!accept(e, filter, namespace, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                    continue;
+                }
+                total++;
+                top.offer(new Scored(e, candidate.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(ranking);
+            return new SearchHits(total, ranked.stream().map(Scored::entry).toList(), false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int maxEdits(String token) {
+        if (token.length() <= 3) {
+            return 0;
+        }
+        return token.length() <= 6 ? 1 : 2;
+    }
+
+    /** Distinct lower-cased name tokens, split on {@code .}, {@code /} and {@code _}. */
+    static List<String> tokens(String name) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATORS.split(name.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Field names from {@code DatasetDocument.fields}: schema field records at
+     * ingestion, BSON documents when read back from MongoDB.
+     */
+    public static List<String> fieldNames(List<?> fields) {
+        if (fields == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(fields.size());
+        for (Object field : fields) {
+            if (field instanceof SchemaDatasetFacet.SchemaField schemaField) {
+                names.add(schemaField.name());
+            } else if (field instanceof Map<?, ?> map && map.get("name") != null) {
+                names.add(map.get("name").toString());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Typeahead lookup: up to {@code limit} entries, most recent first, whose
+     * name — or any segment of it after a {@code . / : _ -} separator — starts
+     * with {@code prefix} (case-insensitive).
+     */
+    public List<Entry> suggest(String prefix, SearchFilter filter, String namespace, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = state.entries;
+            List<Integer> ids = state.trie.topK(key, limit,
+                    id -> entries.get(id).updatedAt(),
+                    id -> {
+                        Entry e = entries.get(id);
+                        return (filter == null || e.type() == filter)
+                                && (namespace == null || namespace.equals(e.namespace()));
+                    });
+            List<Entry> result = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                result.add(entries.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Trie keys for a name: the whole lower-cased name plus every suffix that
+     * starts right after a separator, so "warehouse.daily_orders" is found by
+     * "war", "dai" and "ord".
+     */
+    static List<String> suggestKeys(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        List<String> keys = new ArrayList<>();
+        keys.add(lower);
+        for (int i = 0; i < lower.length() - 1; i++) {
+            if (SEGMENT_SEPARATORS.indexOf(lower.charAt(i)) >= 0
+                    && SEGMENT_SEPARATORS.indexOf(lower.charAt(i + 1)) < 0) {
+                keys.add(lower.substring(i + 1));
+            }
+        }
+        return keys;
+    }
+
+    private static void offer(PriorityQueue<Entry> top, Entry e, int limit) {
+        top.offer(e);
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static boolean accept(Entry e, SearchFilter type, String namespace, long afterMs, long beforeMs) {
+        if (type != null && e.type() != type) {
+            return false;
+        }
+        if (namespace != null && !namespace.equals(e.namespace())) {
+            return false;
+        }
+        return e.updatedAt() > afterMs && e.updatedAt() < beforeMs;
+    }
+
+    static boolean containsIgnoreCase(String text, String query) {
+        int max = text.length() - query.length();
+        for (int i = 0; i <= max; i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ranking order shared with the MongoDB fallback path in
+     * {@code SearchController}, which must sort and page identically.
+     */
+    public static Comparator<Entry> comparator(SearchSort sort) {
+        Comparator<Entry> byName = Comparator.comparing(Entry::name)
+                .thenComparing(Entry::type)
+                .thenComparing(Entry::namespace);
+        Comparator<Entry> byUpdated = Comparator.comparingLong(Entry::updatedAt).reversed().thenComparing(byName);
+        return switch (sort) {
+            case RELEVANCE -> Comparator.comparingDouble(Entry::importance).reversed().thenComparing(byUpdated);
+            case UPDATE_AT -> byUpdated;
+            case NAME -> byName;
+        };
+    }
+
+    // ── Warm-up & refresh ───────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Search index warm-up failed; search falls back to MongoDB queries", e);
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from MongoDB and swaps it in atomically.
+     * Upserts that arrive during the rebuild are replayed onto the new index.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            replayLog = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexState fresh = new IndexState();
+        long[] maxModified = { 0 };
+        try {
+            load(new Query(), upsert -> {
+                fresh.put(upsert);
+                maxModified[0] = Math.max(maxModified[0], upsert.modifiedAt());
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replayLog = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replayLog.forEach(fresh::put);
+            replayLog = null;
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        highWaterMark = maxModified[0];
+        ready = true;
+        log.info("Search index built: {} names, {} trigrams, {} tokens, {} field names in {} ms",
+                fresh.ids.size(), fresh.trigrams.size(), fresh.tokens.size(), fresh.fields.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Picks up jobs and datasets written by other instances since the last
+     * refresh. Keyed on {@code modifiedAt}, set with {@code $currentDate} on
+     * every upsert, rather than on {@code updatedAt}, which is the event time
+     * and can be older than the high-water mark.
+     */
+    @Scheduled(fixedDelayString = "${openlineage.search.index.refresh-interval-ms:300000}",
+            initialDelayString = "${openlineage.search.index.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (!isReady()) {
+            return;
+        }
+        long since = highWaterMark - REFRESH_OVERLAP_MS;
+        long[] maxModified = { highWaterMark };
+        int[] count = { 0 };
+        load(Query.query(Criteria.where("modifiedAt").gt(Instant.ofEpochMilli(since))), upsert -> {
+            index(upsert);
+            maxModified[0] = Math.max(maxModified[0], upsert.modifiedAt());
+            count[0]++;
+        });
+        highWaterMark = maxModified[0];
+        log.debug("Search index refresh picked up {} changed names", count[0]);
+    }
+
+    private void load(Query base, Consumer<Upsert> sink) {
+        Query jobQuery = Query.of(base);
+        jobQuery.fields().include("_id").include("updatedAt").include("modifiedAt").include("importance");
+        try (Stream<JobDocument> jobs = mongoTemplate.stream(jobQuery, JobDocument.class)) {
+            jobs.forEach(j -> sink.accept(new Upsert(new Entry(SearchFilter.JOB,
+                    j.getId().getNamespace(), j.getId().getName(), toMillis(j.getUpdatedAt()),
+                    score(j.getImportance())), null, true, toMillis(j.getModifiedAt()))));
+        }
+
+        Query datasetQuery = Query.of(base);
+        datasetQuery.fields().include("_id").include("updatedAt").include("modifiedAt").include("fields")
+                .include("importance");
+        try (Stream<DatasetDocument> datasets = mongoTemplate.stream(datasetQuery, DatasetDocument.class)) {
+            datasets.forEach(d -> sink.accept(new Upsert(new Entry(SearchFilter.DATASET,
+                    d.getId().getNamespace(), d.getId().getName(), toMillis(d.getUpdatedAt()),
+                    score(d.getImportance())), fieldNames(d.getFields()), true, toMillis(d.getModifiedAt()))));
+        }
+    }
+
+    private static long toMillis(ZonedDateTime time) {
+        return time != null ? time.toInstant().toEpochMilli() : 0L;
+    }
+
+    public static double score(ImportanceScore importance) {
+        return importance != null ? importance.score() : 0;
+    }
+
+    static String key(SearchFilter type, String namespace, String name) {
+        return type.name() + '\u0000' + namespace + '\u0000' + name;
+    }
+
+    /**
+     * An index write: the entry plus, for datasets, its field names
+     * ({@code null} = unchanged). Ingestion upserts do not know the importance
+     * score ({@code scored == false}) and keep the indexed one, nor the
+     * document's {@code modifiedAt} (0).
+     */
+    private record Upsert(Entry entry, List<String> fieldNames, boolean scored, long modifiedAt) {
+    }
+
+    /** Entries are addressed by a dense int id (their position in {@code entries}). */
+    private static final class IndexState {
+        final List<Entry> entries = new ArrayList<>();
+        final Map<String, Integer> ids = new HashMap<>();
+        final TrigramIndex trigrams = new TrigramIndex();
+        final NameTrie trie = new NameTrie();
+        final TokenBkTree tokens = new TokenBkTree();
+        final FieldIndex fields = new FieldIndex();
+
+        void put(Upsert upsert) {
+            Entry entry = upsert.entry();
+            String key = key(entry.type(), entry.namespace(), entry.name());
+            Integer id = ids.get(key);
+            if (id != null) {
+                Entry previous = entries.get(id);
+                if (!upsert.scored()) {
+                    entry = entry.withImportance(previous.importance());
+                }
+                entries.set(id, entry);
+                if (entry.updatedAt() > previous.updatedAt()) {
+                    // Raise the trie's recency bounds along the name's paths
+                    indexSuggestKeys(id, entry);
+                }
+            } else {
+                id = entries.size();
+                entries.add(entry);
+                ids.put(key, id);
+                trigrams.add(id, entry.name());
+                indexSuggestKeys(id, entry);
+                for (String token : tokens(entry.name())) {
+                    this.tokens.add(token, id);
+                }
+            }
+            if (upsert.fieldNames() != null) {
+                fields.set(id, upsert.fieldNames());
+            }
+        }
+
+        private void indexSuggestKeys(int id, Entry entry) {
+            for (String suggestKey : suggestKeys(entry.name())) {
+                trie.add(suggestKey, id, entry.updatedAt());
+            }
+        }
+
+        void setImportance(String key, double importance) {
+            Integer id = ids.get(key);
+            if (id != null) {
+                entries.set(id, entries.get(id).withImportance(importance));
+            }
+        }
+    }
+}
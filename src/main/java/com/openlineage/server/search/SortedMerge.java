@@ -0,0 +1,43 @@
+package com.openlineage.server.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of already-sorted sources.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    /**
+     * Merges {@code sources}, each sorted by {@code comparator}, and returns
+     * the first {@code limit} elements of the combined order.
+     */
+    public static <T> List<T> merge(List<? extends Iterable<T>> sources, Comparator<? super T> comparator, int limit) {
+        record Head<T>(T value, Iterator<T> rest) {
+        }
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> comparator.compare(a.value(), b.value()));
+        for (Iterable<T> source : sources) {
+            Iterator<T> it = source.iterator();
+            if (it.hasNext()) {
+                heads.add(new Head<>(it.next(), it));
+            }
+        }
+
+        List<T> result = new ArrayList<>(limit);
+        while (!heads.isEmpty() && result.size() < limit) {
+            Head<T> head = heads.poll();
+            result.add(head.value());
+            if (head.rest().hasNext()) {
+                heads.add(new Head<>(head.rest().next(), head.rest()));
+            }
+        }
+        return result;
+    }
+}
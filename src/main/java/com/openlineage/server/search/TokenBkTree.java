@@ -0,0 +1,166 @@
+package com.openlineage.server.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BK-tree of distinct name tokens under Levenshtein distance, used for
+ * typo-tolerant search. Each token carries the ids of the entries whose name
+ * contains it.
+ *
+ * A lookup for tokens within distance {@code k} of a query only descends
+ * into children whose edge distance lies in {@code [d - k, d + k]} (triangle
+ * inequality), and additionally stops after a fixed number of visited nodes
+ * so its cost stays bounded however many tokens are indexed. Subtrees are
+ * visited in order of the lowest distance they can hold, so the budget runs
+ * out on the farthest candidates, never before exact or close matches.
+ *
+ * Not thread-safe — callers guard access (see {@link SearchIndexService}).
+ */
+public class TokenBkTree {
+
+    /** Receives each token found within range of a query. */
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(String token, int distance, int[] ids, int idCount);
+    }
+
+    private Node root;
+    private int size;
+
+    public void add(String token, int id) {
+        if (root == null) {
+            root = new Node(token);
+            root.addId(id);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(token, node.token);
+            if (d == 0) {
+                node.addId(id);
+                return;
+            }
+            Node child = node.child(d);
+            if (child == null) {
+                child = new Node(token);
+                child.addId(id);
+                node.setChild(d, child);
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Visits every token within {@code maxDistance} of {@code query}, giving
+     * up after {@code maxVisits} tree nodes.
+     *
+     * A child reached over edge {@code i} from a node at distance {@code d}
+     * holds nothing closer than {@code |d - i|}, nor than its parent's bound.
+     * Pending nodes are kept in one queue per bound and the lowest is drained
+     * first: bound 0 is the single path an exact match lies on, bound 1 what
+     * a search of radius 1 would visit, and so on.
+     */
+    public void search(String query, int maxDistance, int maxVisits, Visitor visitor) {
+        if (root == null) {
+            return;
+        }
+        List<ArrayDeque<Node>> pending = new ArrayList<>(maxDistance + 1);
+        for (int bound = 0; bound <= maxDistance; bound++) {
+            pending.add(new ArrayDeque<>());
+        }
+        pending.get(0).add(root);
+        int bound = 0;
+        int visits = 0;
+        while (visits++ < maxVisits) {
+            while (bound <= maxDistance && pending.get(bound).isEmpty()) {
+                bound++;
+            }
+            if (bound > maxDistance) {
+                return;
+            }
+            Node node = pending.get(bound).poll();
+            int d = distance(query, node.token);
+            if (d <= maxDistance) {
+                visitor.accept(node.token, d, node.ids, node.idCount);
+            }
+            if (node.children == null) {
+                continue;
+            }
+            int from = Math.max(1, d - maxDistance);
+            int to = Math.min(node.children.length - 1, d + maxDistance);
+            for (int i = from; i <= to; i++) {
+                if (node.children[i] != null) {
+                    pending.get(Math.max(bound, Math.abs(d - i))).add(node.children[i]);
+                }
+            }
+        }
+    }
+
+    /** Number of distinct tokens. */
+    public int size() {
+        return size;
+    }
+
+    /** Levenshtein distance (two-row dynamic programming). */
+    static int distance(String a, String b) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()];
+    }
+
+    private static final class Node {
+        final String token;
+        int[] ids = new int[1];
+        int idCount;
+        /** Indexed by edge distance; grown on demand. */
+        Node[] children;
+
+        Node(String token) {
+            this.token = token;
+        }
+
+        void addId(int id) {
+            if (idCount > 0 && ids[idCount - 1] == id) {
+                return;
+            }
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, idCount * 2);
+            }
+            ids[idCount++] = id;
+        }
+
+        Node child(int d) {
+            return children != null && d < children.length ? children[d] : null;
+        }
+
+        void setChild(int d, Node child) {
+            if (children == null || d >= children.length) {
+                children = children == null ? new Node[d + 1] : Arrays.copyOf(children, d + 1);
+            }
+            children[d] = child;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.openlineage.server.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index of character trigrams over lower-cased names.
+ *
+ * Each trigram maps to a posting list of document ids. Ids must be added in
+ * ascending order so every posting list stays sorted, which lets
+ * {@link #candidates(String)} intersect lists with a binary-search merge
+ * starting from the shortest one.
+ *
+ * Not thread-safe — callers guard access (see {@link SearchIndexService}).
+ */
+public class TrigramIndex {
+
+    /** Queries shorter than this cannot be answered from the index. */
+    public static final int GRAM = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Index {@code text} under {@code docId}. Ids must be strictly increasing
+     * across calls.
+     */
+    public void add(int docId, String text) {
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, k -> new Postings()).add(docId);
+        }
+    }
+
+    /**
+     * Returns the sorted ids of every document containing all trigrams of
+     * {@code query}. Candidates still need an exact substring check.
+     */
+    public int[] candidates(String query) {
+        Set<Long> queryGrams = grams(query);
+        if (queryGrams.isEmpty()) {
+            throw new IllegalArgumentException("Query must be at least " + GRAM + " characters");
+        }
+
+        List<Postings> lists = new ArrayList<>(queryGrams.size());
+        for (long gram : queryGrams) {
+            Postings p = postings.get(gram);
+            if (p == null) {
+                return new int[0];
+            }
+            lists.add(p);
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+
+        Postings smallest = lists.get(0);
+        int[] result = new int[smallest.size];
+        int count = 0;
+        int[] cursors = new int[lists.size()];
+
+        outer: for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            for (int l = 1; l < lists.size(); l++) {
+                Postings other = lists.get(l);
+                int pos = Arrays.binarySearch(other.ids, cursors[l], other.size, id);
+                if (pos < 0) {
+                    cursors[l] = -pos - 1;
+                    if (cursors[l] >= other.size) {
+                        break outer;
+                    }
+                    continue outer;
+                }
+                cursors[l] = pos;
+            }
+            result[count++] = id;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public int size() {
+        return postings.size();
+    }
+
+    /** Distinct trigrams of the lower-cased text, each packed into a long. */
+    static Set<Long> grams(String text) {
+        if (text == null || text.length() < GRAM) {
+            return Set.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            long gram = ((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2);
+            result.add(gram);
+        }
+        return result;
+    }
+
+    /** Growable, sorted int array — avoids boxing millions of ids. */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.openlineage.server.service;
 
 import com.openlineage.server.domain.Dataset;
+import com.openlineage.server.search.SearchIndexService;
 import com.openlineage.server.storage.document.DataSourceDocument;
 import com.openlineage.server.storage.document.DatasetDocument;
 import com.openlineage.server.storage.document.MarquezId;
@@ -17,14 +18,21 @@ public class DatasetService {
     private final FacetMergeService facetMergeService;
     private final VersionService versionService;
     private final DatasetNameNormalizer nameNormalizer;
+    private final SearchIndexService searchIndex;
+    private final StatsRollupService statsRollupService;
+    private final FacetBlobService facetBlobs;
 
     public DatasetService(org.springframework.data.mongodb.core.MongoTemplate mongoTemplate,
             FacetMergeService facetMergeService, VersionService versionService,
-            DatasetNameNormalizer nameNormalizer) {
+            DatasetNameNormalizer nameNormalizer, SearchIndexService searchIndex,
+            StatsRollupService statsRollupService, FacetBlobService facetBlobs) {
         this.mongoTemplate = mongoTemplate;
         this.facetMergeService = facetMergeService;
         this.versionService = versionService;
         this.nameNormalizer = nameNormalizer;
+        this.searchIndex = searchIndex;
+        this.statsRollupService = statsRollupService;
+        this.facetBlobs = facetBlobs;
     }
 
     public java.util.UUID upsertDataset(Dataset dataset, ZonedDateTime eventTime, boolean isInput) {
@@ -61,6 +69,7 @@ public class DatasetService {
                 .setOnInsert("createdAt", eventTime)
                 .setOnInsert("searchName", normalizedName)
                 .set("updatedAt", eventTime)
+                .currentDate("modifiedAt")
                 .set("sourceName", sourceName)
                 .set("isDeleted", false)
                 .set("currentVersion", contextVersion);
@@ -74,7 +83,8 @@ public class DatasetService {
                 update.set(
                         "facets." + com.openlineage.server.storage.document.DocumentDbSanitizer
                                 .sanitizeKey(entry.getKey()),
-                        com.openlineage.server.storage.document.DocumentDbSanitizer.sanitize(entry.getValue()));
+                        facetBlobs.store(entry.getKey(),
+                                com.openlineage.server.storage.document.FacetCodecs.encode(entry.getValue())));
             }
 
             // Extract Description
@@ -121,7 +131,12 @@ public class DatasetService {
             update.addToSet("symlinks", symlink);
         }
 
-        mongoTemplate.upsert(query, update, DatasetDocument.class);
+        com.mongodb.client.result.UpdateResult upsertResult = mongoTemplate.upsert(query, update, DatasetDocument.class);
+        if (upsertResult != null && upsertResult.getUpsertedId() != null) {
+            statsRollupService.recordNewDataset(eventTime);
+        }
+        searchIndex.indexDataset(dataset.namespace(), normalizedName, eventTime,
+                extractedFields != null ? SearchIndexService.fieldNames(extractedFields) : null);
 
         // 3. Normalize column lineage InputField names, then merge facets into split
         // collections
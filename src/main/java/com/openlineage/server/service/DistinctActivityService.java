@@ -0,0 +1,238 @@
+package com.openlineage.server.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.service.StatsRollupService.Tier;
+import com.openlineage.server.storage.document.DistinctActivityDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distinct active jobs, datasets and producers per UTC hour, day and month,
+ * kept as {@link HyperLogLog} sketches in {@code distinct_hourly},
+ * {@code distinct_daily} and {@code distinct_monthly}.
+ *
+ * Ingestion only updates in-memory sketches of the event's hour; a scheduled
+ * flush merges them into the stored sketches of the hour, its day and its
+ * month. Merging is a register-wise maximum, so it is idempotent: a flush
+ * that fails part-way re-queues its sketches and the next flush merges them
+ * again without double counting. Each instance flushes independently; stored
+ * sketches are updated read-merge-write, guarded by a version field.
+ */
+@Service
+public class DistinctActivityService {
+
+    private static final Logger log = LoggerFactory.getLogger(DistinctActivityService.class);
+
+    private static final int MAX_ATTEMPTS = 5;
+    /** Pending hours beyond which the ingesting thread flushes (e.g. while replaying old events). */
+    private static final int MAX_PENDING_HOURS = 256;
+
+    /** Sketches of one bucket. */
+    public static final class Sketches {
+        private final HyperLogLog jobs;
+        private final HyperLogLog datasets;
+        private final HyperLogLog producers;
+
+        public Sketches() {
+            this(new HyperLogLog(), new HyperLogLog(), new HyperLogLog());
+        }
+
+        private Sketches(HyperLogLog jobs, HyperLogLog datasets, HyperLogLog producers) {
+            this.jobs = jobs;
+            this.datasets = datasets;
+            this.producers = producers;
+        }
+
+        public static Sketches of(DistinctActivityDocument doc) {
+            return new Sketches(HyperLogLog.fromBytes(doc.getJobs()), HyperLogLog.fromBytes(doc.getDatasets()),
+                    HyperLogLog.fromBytes(doc.getProducers()));
+        }
+
+        /** Merges {@code other} into these sketches; returns whether anything changed. */
+        public boolean merge(Sketches other) {
+            boolean changed = jobs.merge(other.jobs);
+            changed |= datasets.merge(other.datasets);
+            return producers.merge(other.producers) | changed;
+        }
+
+        public long distinctJobs() {
+            return jobs.estimate();
+        }
+
+        public long distinctDatasets() {
+            return datasets.estimate();
+        }
+
+        public long distinctProducers() {
+            return producers.estimate();
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Map<Instant, Sketches> pending = new ConcurrentHashMap<>();
+
+    public DistinctActivityService(MongoTemplate mongoTemplate,
+            @Value("${openlineage.stats.distinct.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    public static String collection(Tier tier) {
+        return "distinct_" + tier.name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Records the job, datasets and producer of one event in the sketches of its hour. */
+    public void record(ZonedDateTime eventTime, MarquezId job, Collection<MarquezId> datasets, String producer) {
+        if (!enabled) {
+            return;
+        }
+        Instant hour = Tier.HOURLY.floor((eventTime != null ? eventTime : ZonedDateTime.now()).toInstant());
+        // compute() runs under the map's lock for this hour, so flush() never takes a sketch mid-update
+        pending.compute(hour, (h, sketches) -> {
+            if (sketches == null) {
+                sketches = new Sketches();
+            }
+            if (job != null) {
+                sketches.jobs.add(key(job));
+            }
+            if (datasets != null) {
+                for (MarquezId dataset : datasets) {
+                    sketches.datasets.add(key(dataset));
+                }
+            }
+            if (producer != null) {
+                sketches.producers.add(producer);
+            }
+            return sketches;
+        });
+        if (pending.size() > MAX_PENDING_HOURS) {
+            scheduledFlush();
+        }
+    }
+
+    /** Stored sketches of {@code tier} with {@code from <= bucket < to}, oldest first. */
+    public List<DistinctActivityDocument> sketches(Tier tier, Instant from, Instant to) {
+        Query query = Query.query(Criteria.where("_id").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.find(query, DistinctActivityDocument.class, collection(tier));
+    }
+
+    @Scheduled(fixedDelayString = "${openlineage.stats.distinct.flush-interval-ms:60000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Distinct-activity flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduledFlush();
+    }
+
+    /**
+     * Merges all pending sketches into the stored hourly, daily and monthly
+     * sketches. On failure the pending sketches are put back for the next
+     * flush.
+     *
+     * @return number of hours flushed
+     */
+    public synchronized int flush() {
+        Map<Instant, Sketches> hours = new TreeMap<>();
+        for (Instant hour : List.copyOf(pending.keySet())) {
+            Sketches sketches = pending.remove(hour);
+            if (sketches != null) {
+                hours.put(hour, sketches);
+            }
+        }
+        if (hours.isEmpty()) {
+            return 0;
+        }
+
+        Map<Instant, Sketches> days = new TreeMap<>();
+        Map<Instant, Sketches> months = new TreeMap<>();
+        hours.forEach((hour, sketches) -> {
+            days.computeIfAbsent(Tier.DAILY.floor(hour), d -> new Sketches()).merge(sketches);
+            months.computeIfAbsent(Tier.MONTHLY.floor(hour), m -> new Sketches()).merge(sketches);
+        });
+
+        try {
+            hours.forEach((hour, sketches) -> mergeInto(Tier.HOURLY, hour, sketches));
+            days.forEach((day, sketches) -> mergeInto(Tier.DAILY, day, sketches));
+            months.forEach((month, sketches) -> mergeInto(Tier.MONTHLY, month, sketches));
+        } catch (RuntimeException e) {
+            hours.forEach((hour, sketches) -> pending.merge(hour, sketches, (current, failed) -> {
+                current.merge(failed);
+                return current;
+            }));
+            throw e;
+        }
+        return hours.size();
+    }
+
+    private void mergeInto(Tier tier, Instant bucket, Sketches sketches) {
+        String collection = collection(tier);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            DistinctActivityDocument existing = mongoTemplate.findById(bucket, DistinctActivityDocument.class,
+                    collection);
+            if (existing == null) {
+                DistinctActivityDocument doc = new DistinctActivityDocument(bucket);
+                doc.setJobs(sketches.jobs.toBytes());
+                doc.setDatasets(sketches.datasets.toBytes());
+                doc.setProducers(sketches.producers.toBytes());
+                doc.setUpdatedAt(Instant.now());
+                try {
+                    mongoTemplate.insert(doc, collection);
+                    return;
+                } catch (DuplicateKeyException e) {
+                    continue; // Another instance created it first; merge into theirs
+                }
+            }
+
+            Sketches merged = Sketches.of(existing);
+            if (!merged.merge(sketches)) {
+                return;
+            }
+            Update update = new Update()
+                    .set("jobs", merged.jobs.toBytes())
+                    .set("datasets", merged.datasets.toBytes())
+                    .set("producers", merged.producers.toBytes())
+                    .set("updatedAt", Instant.now())
+                    .inc("version", 1L);
+            UpdateResult result = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(bucket).and("version").is(existing.getVersion())),
+                    update, collection);
+            if (result != null && result.getModifiedCount() > 0) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Gave up merging distinct-activity sketch " + collection + "/" + bucket
+                + " after " + MAX_ATTEMPTS + " concurrent updates");
+    }
+
+    private static String key(MarquezId id) {
+        return id.getNamespace() + ":" + id.getName();
+    }
+}
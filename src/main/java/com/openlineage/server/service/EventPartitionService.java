@@ -0,0 +1,172 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.storage.document.LineageEventDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monthly partitions of {@code lineage_events}: {@code lineage_events_YYYYMM},
+ * by the UTC month an event was ingested ({@code createdAt}).
+ *
+ * With {@code openlineage.events.partitioning.enabled}, new events are
+ * written to the partition of the current month and expire by dropping
+ * whole partitions, instead of the TTL monitor deleting them one by one:
+ * right after archival has copied a partition when archival is enabled,
+ * otherwise once its month is older than {@code openlineage.retention.events-ttl}.
+ * Partitions get the indexes of {@link LineageEventDocument} except the TTL
+ * index.
+ *
+ * {@code lineage_events} itself keeps its TTL index and still holds the
+ * events written before partitioning was enabled and rehydrated copies, so
+ * reads cover it too.
+ */
+@Service
+public class EventPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPartitionService.class);
+
+    public static final String COLLECTION = "lineage_events";
+    private static final String PREFIX = COLLECTION + "_";
+    private static final Pattern PARTITION = Pattern.compile(Pattern.quote(PREFIX) + "(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM").withZone(ZoneOffset.UTC);
+
+    private record Partition(String name, YearMonth month) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration retention;
+    private final boolean archival;
+    /** Partitions whose indexes this instance has ensured. */
+    private final Set<String> indexed = ConcurrentHashMap.newKeySet();
+
+    public EventPartitionService(MongoTemplate mongoTemplate,
+            @Value("${openlineage.events.partitioning.enabled:false}") boolean enabled,
+            @Value("${openlineage.retention.events-ttl:90d}") Duration retention,
+            @Value("${archival.enabled:false}") boolean archival) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.archival = archival;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Collection an event created at {@code createdAt} is written to. */
+    public String collectionFor(ZonedDateTime createdAt) {
+        if (!enabled) {
+            return COLLECTION;
+        }
+        String name = PREFIX + MONTH.format(createdAt != null ? createdAt : ZonedDateTime.now());
+        if (indexed.add(name)) {
+            try {
+                ensureIndexes(name);
+            } catch (RuntimeException e) {
+                indexed.remove(name);
+                throw e;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Collections that may hold events with an eventTime at or after
+     * {@code from} ({@code null} for all), newest partition first and
+     * {@code lineage_events} last. Events are ingested after they happen,
+     * give or take the producer's clock, so partitions more than a month
+     * before {@code from} are left out.
+     */
+    public List<String> collections(Instant from) {
+        if (!enabled) {
+            return List.of(COLLECTION);
+        }
+        YearMonth first = from == null ? null : YearMonth.from(from.atZone(ZoneOffset.UTC)).minusMonths(1);
+        List<String> collections = new ArrayList<>();
+        partitions().stream()
+                .filter(partition -> first == null || !partition.month().isBefore(first))
+                .sorted(Comparator.comparing(Partition::month).reversed())
+                .forEach(partition -> collections.add(partition.name()));
+        collections.add(COLLECTION);
+        return collections;
+    }
+
+    /** Partitions whose whole month is before {@code cutoff}, oldest first. */
+    public List<String> partitionsBefore(Instant cutoff) {
+        if (!enabled) {
+            return List.of();
+        }
+        return partitions().stream()
+                .filter(partition -> !partition.month().plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC)
+                        .toInstant().isAfter(cutoff))
+                .sorted(Comparator.comparing(Partition::month))
+                .map(Partition::name)
+                .toList();
+    }
+
+    /** Drops a partition with everything in it. */
+    public void drop(String partition) {
+        if (!PARTITION.matcher(partition).matches()) {
+            throw new IllegalArgumentException(partition + " is not an event partition");
+        }
+        mongoTemplate.dropCollection(partition);
+        indexed.remove(partition);
+        log.info("Dropped event partition {}", partition);
+    }
+
+    /** Retention without archival; with it, partitions are dropped once archived. */
+    @Scheduled(cron = "${openlineage.events.partitioning.retention-cron:0 30 3 * * *}")
+    public void dropExpired() {
+        if (!enabled || archival) {
+            return;
+        }
+        for (String partition : partitionsBefore(Instant.now().minus(retention))) {
+            drop(partition);
+        }
+    }
+
+    private List<Partition> partitions() {
+        List<Partition> partitions = new ArrayList<>();
+        for (String name : mongoTemplate.getCollectionNames()) {
+            Matcher matcher = PARTITION.matcher(name);
+            if (matcher.matches()) {
+                partitions.add(new Partition(name,
+                        YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))));
+            }
+        }
+        return partitions;
+    }
+
+    private void ensureIndexes(String partition) {
+        IndexOperations indexes = mongoTemplate.indexOps(partition);
+        for (IndexDefinition index : IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(LineageEventDocument.class)) {
+            // Partitions are dropped whole; a TTL index would only add deletes
+            if (!index.getIndexOptions().containsKey("expireAfterSeconds")) {
+                indexes.ensureIndex(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package com.openlineage.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.api.models.LineageExportModels.ColumnLineageRow;
+import com.openlineage.server.api.models.LineageExportModels.JobLineageRow;
+import com.openlineage.server.archival.ArchiveClient;
+import com.openlineage.server.storage.document.ExportJobDocument;
+import com.openlineage.server.storage.document.ExportJobDocument.ExportFile;
+import com.openlineage.server.storage.document.ExportJobStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lineage exports run in the background and materialized as files: gzipped
+ * JSON or NDJSON, or a pair of Parquet files. Results go to a local
+ * directory or, with {@code target=s3}, to {@code exports/<id>/} in the
+ * archive (S3, or the directory of the local archive backend); clients poll
+ * the {@code export_jobs} record and download.
+ *
+ * Each instance runs at most {@code max-concurrent} exports and queues
+ * {@code max-queued} more; beyond that submissions are rejected. A request
+ * identical to one queued, running, or finished within
+ * {@code reuse-minutes} returns that export instead of starting another.
+ * Queued and running exports are heartbeated; one whose heartbeat goes
+ * stale (its instance died) is reported as failed.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    public static final String TARGET_LOCAL = "local";
+    public static final String TARGET_S3 = "s3";
+    static final String GZIP = "application/gzip";
+    /** Matches the TTL of {@code export_jobs} records. */
+    static final Duration RESULT_RETENTION = Duration.ofDays(7);
+
+    /** Parameters of an export; equal requests share one export. */
+    public record ExportRequest(int days, List<String> namespaces, String format, String target) {
+        public ExportRequest {
+            if (days <= 0) {
+                throw new IllegalArgumentException("days must be positive");
+            }
+            format = format == null ? "json" : format.toLowerCase(Locale.ROOT);
+            if (!List.of("json", "ndjson", "parquet").contains(format)) {
+                throw new IllegalArgumentException("Unknown format: " + format + " (expected json, ndjson or parquet)");
+            }
+            target = target == null ? TARGET_LOCAL : target.toLowerCase(Locale.ROOT);
+            if (!TARGET_LOCAL.equals(target) && !TARGET_S3.equals(target)) {
+                throw new IllegalArgumentException("Unknown target: " + target + " (expected local or s3)");
+            }
+            namespaces = namespaces == null ? List.of() : namespaces.stream().distinct().sorted().toList();
+        }
+
+        String key() {
+            String canonical = days + "\u0000" + String.join("\u0000", namespaces) + "\u0000" + format + "\u0000"
+                    + target;
+            return UUID.nameUUIDFromBytes(canonical.getBytes(StandardCharsets.UTF_8)).toString();
+        }
+    }
+
+    /** Local state of an export queued or running on this instance. */
+    private static final class RunningExport {
+        final AtomicLong jobRows = new AtomicLong();
+        final AtomicLong columnRows = new AtomicLong();
+        volatile boolean cancelled;
+        private Thread thread;
+
+        synchronized boolean start() {
+            thread = Thread.currentThread();
+            return !cancelled;
+        }
+
+        synchronized void finish() {
+            thread = null;
+            Thread.interrupted(); // A cancel racing the end must not leak into the pool's next task
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final LineageExportService lineageExportService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ArchiveClient> archiveClient;
+    private final Path directory;
+    private final Duration reuseWindow;
+    private final Duration staleAfter;
+    private final ThreadPoolExecutor executor;
+    private final String instance = ManagementFactory.getRuntimeMXBean().getName();
+    private final Map<String, RunningExport> running = new ConcurrentHashMap<>();
+
+    public ExportJobService(MongoTemplate mongoTemplate, LineageExportService lineageExportService,
+            ObjectMapper objectMapper, ObjectProvider<ArchiveClient> archiveClient,
+            @Value("${openlineage.export.jobs.directory:${java.io.tmpdir}/openlineage-exports}") String directory,
+            @Value("${openlineage.export.jobs.max-concurrent:2}") int maxConcurrent,
+            @Value("${openlineage.export.jobs.max-queued:8}") int maxQueued,
+            @Value("${openlineage.export.jobs.reuse-minutes:60}") long reuseMinutes,
+            @Value("${openlineage.export.jobs.heartbeat-ms:30000}") long heartbeatMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.lineageExportService = lineageExportService;
+        this.objectMapper = objectMapper;
+        this.archiveClient = archiveClient;
+        this.directory = Path.of(directory);
+        this.reuseWindow = Duration.ofMinutes(reuseMinutes);
+        this.staleAfter = Duration.ofMillis(4 * heartbeatMs);
+        AtomicInteger threads = new AtomicInteger();
+        int workers = Math.max(1, maxConcurrent);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueued)), r -> {
+                    Thread thread = new Thread(r, "export-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Starts an export, or returns an identical one that is queued, running
+     * or recently finished.
+     *
+     * @throws RejectedExecutionException if this instance is at its export limit
+     */
+    public ExportJobDocument submit(ExportRequest request) {
+        if (TARGET_S3.equals(request.target()) && archiveClient.getIfAvailable() == null) {
+            throw new IllegalArgumentException("target=s3 requires archival.enabled=true");
+        }
+        String key = request.key();
+        ExportJobDocument existing = reusable(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        Instant now = Instant.now();
+        ExportJobDocument job = new ExportJobDocument();
+        job.setId(UUID.randomUUID().toString());
+        job.setRequestKey(key);
+        job.setDays(request.days());
+        job.setNamespaces(request.namespaces());
+        job.setFormat(request.format());
+        job.setTarget(request.target());
+        job.setStatus(ExportJobStatus.QUEUED);
+        job.setInstance(instance);
+        job.setCreatedAt(now);
+        job.setHeartbeatAt(now);
+        mongoTemplate.insert(job);
+
+        RunningExport export = new RunningExport();
+        running.put(job.getId(), export);
+        try {
+            executor.execute(() -> run(job, export));
+        } catch (RejectedExecutionException e) {
+            running.remove(job.getId());
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(job.getId())), ExportJobDocument.class);
+            throw new RejectedExecutionException("Too many exports in progress on this instance ("
+                    + executor.getMaximumPoolSize() + " running, " + executor.getQueue().size() + " queued)");
+        }
+        log.info("Queued export {} ({} days, format={}, target={})", job.getId(), job.getDays(), job.getFormat(),
+                job.getTarget());
+        return job;
+    }
+
+    private ExportJobDocument reusable(String key) {
+        Instant now = Instant.now();
+        Criteria active = Criteria.where("status").in(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING)
+                .and("heartbeatAt").gte(now.minus(staleAfter));
+        Criteria recent = Criteria.where("status").is(ExportJobStatus.SUCCEEDED)
+                .and("finishedAt").gte(now.minus(reuseWindow));
+        Query query = Query.query(new Criteria().andOperator(Criteria.where("requestKey").is(key),
+                new Criteria().orOperator(active, recent)))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(1);
+        return mongoTemplate.findOne(query, ExportJobDocument.class);
+    }
+
+    /** The export, with a queued or running one whose instance stopped heartbeating reported as failed. */
+    public Optional<ExportJobDocument> find(String id) {
+        ExportJobDocument job = mongoTemplate.findById(id, ExportJobDocument.class);
+        if (job != null && !job.getStatus().isFinished() && job.getHeartbeatAt() != null
+                && job.getHeartbeatAt().isBefore(Instant.now().minus(staleAfter))) {
+            String error = "Export abandoned: instance " + job.getInstance() + " stopped";
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(id).and("status").is(job.getStatus())),
+                    new Update().set("status", ExportJobStatus.FAILED).set("error", error)
+                            .set("finishedAt", Instant.now()),
+                    ExportJobDocument.class);
+            job.setStatus(ExportJobStatus.FAILED);
+            job.setError(error);
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /** Cancels a queued or running export (on whichever instance runs it); finished exports are left as they are. */
+    public Optional<ExportJobDocument> cancel(String id) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id)
+                        .and("status").in(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING)),
+                new Update().set("status", ExportJobStatus.CANCELLED).set("finishedAt", Instant.now()),
+                ExportJobDocument.class);
+        RunningExport export = running.get(id);
+        if (export != null) {
+            export.cancel();
+        }
+        return find(id);
+    }
+
+    /** Opens a result file of a finished export; the caller closes the stream. */
+    public InputStream open(ExportJobDocument job, ExportFile file) throws IOException {
+        if (TARGET_S3.equals(job.getTarget())) {
+            ArchiveClient archive = archiveClient.getIfAvailable();
+            if (archive == null) {
+                throw new IllegalStateException("Export " + job.getId() + " is in the archive but archival is disabled");
+            }
+            return archive.openObject(file.getLocation());
+        }
+        // Throws NoSuchFileException when the result is on another instance's disk
+        return Files.newInputStream(Path.of(file.getLocation()));
+    }
+
+    private void run(ExportJobDocument job, RunningExport export) {
+        String id = job.getId();
+        Path dir = directory.resolve(id);
+        try {
+            if (!export.start() || !transition(id, ExportJobStatus.QUEUED, new Update()
+                    .set("status", ExportJobStatus.RUNNING)
+                    .set("startedAt", Instant.now())
+                    .set("heartbeatAt", Instant.now())
+                    .set("instance", instance))) {
+                return; // Cancelled while queued
+            }
+
+            long started = System.currentTimeMillis();
+            List<ExportFile> files;
+            try {
+                files = write(job, dir, export);
+                if (TARGET_S3.equals(job.getTarget())) {
+                    files = upload(id, files);
+                    deleteQuietly(dir);
+                }
+            } catch (Exception e) {
+                deleteQuietly(dir);
+                if (export.cancelled) {
+                    log.info("Export {} cancelled", id);
+                } else {
+                    log.error("Export {} failed", id, e);
+                    transition(id, ExportJobStatus.RUNNING, finished(ExportJobStatus.FAILED, export)
+                            .set("error", String.valueOf(e.getMessage())));
+                }
+                return;
+            }
+
+            if (transition(id, ExportJobStatus.RUNNING, finished(ExportJobStatus.SUCCEEDED, export).set("files", files))) {
+                log.info("Export {} finished: {} job rows, {} column rows in {} ms", id, export.jobRows.get(),
+                        export.columnRows.get(), System.currentTimeMillis() - started);
+            } else {
+                deleteQuietly(dir); // Cancelled as it finished
+            }
+        } finally {
+            export.finish();
+            running.remove(id);
+        }
+    }
+
+    private Update finished(ExportJobStatus status, RunningExport export) {
+        return new Update()
+                .set("status", status)
+                .set("finishedAt", Instant.now())
+                .set("jobLineageCount", export.jobRows.get())
+                .set("columnLineageCount", export.columnRows.get());
+    }
+
+    /** Applies {@code update} if the export is still in status {@code from}. */
+    private boolean transition(String id, ExportJobStatus from, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id).and("status").is(from)), update, ExportJobDocument.class);
+        return result != null && result.getModifiedCount() > 0;
+    }
+
+    private List<ExportFile> write(ExportJobDocument job, Path dir, RunningExport export) throws IOException {
+        Files.createDirectories(dir);
+        List<String> namespaces = job.getNamespaces() == null || job.getNamespaces().isEmpty()
+                ? null
+                : job.getNamespaces();
+        List<ExportFile> files = new ArrayList<>();
+        switch (job.getFormat()) {
+            case "parquet" -> {
+                for (Path file : lineageExportService.exportParquet(job.getDays(), namespaces, dir,
+                        sink -> new TrackingSink(sink, export))) {
+                    files.add(localFile(file, LineageParquetWriter.CONTENT_TYPE));
+                }
+            }
+            case "ndjson" -> {
+                Path file = dir.resolve("lineage.ndjson.gz");
+                try (OutputStream out = gzip(file); JsonGenerator gen = objectMapper.createGenerator(out)) {
+                    lineageExportService.streamLineage(job.getDays(), namespaces,
+                            new TrackingSink(new NdjsonLineageSink(gen), export));
+                }
+                files.add(localFile(file, GZIP));
+            }
+            default -> {
+                Path file = dir.resolve("lineage.json.gz");
+                try (OutputStream out = gzip(file); JsonGenerator gen = objectMapper.createGenerator(out)) {
+                    JsonLineageSink sink = new JsonLineageSink(gen, null);
+                    lineageExportService.streamLineage(job.getDays(), namespaces, new TrackingSink(sink, export));
+                    sink.finish();
+                }
+                files.add(localFile(file, GZIP));
+            }
+        }
+        return files;
+    }
+
+    private static OutputStream gzip(Path file) throws IOException {
+        return new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), 64 * 1024);
+    }
+
+    private static ExportFile localFile(Path file, String contentType) throws IOException {
+        return new ExportFile(file.getFileName().toString(), contentType, Files.size(file),
+                file.toAbsolutePath().toString());
+    }
+
+    private List<ExportFile> upload(String id, List<ExportFile> files) {
+        ArchiveClient archive = archiveClient.getObject();
+        List<ExportFile> uploaded = new ArrayList<>();
+        for (ExportFile file : files) {
+            String key = archive.uploadFile("exports/" + id + "/" + file.getName(), Path.of(file.getLocation()),
+                    file.getContentType());
+            uploaded.add(new ExportFile(file.getName(), file.getContentType(), file.getSize(), key));
+        }
+        return uploaded;
+    }
+
+    /**
+     * Refreshes the heartbeat and progress of this instance's exports, and
+     * stops those cancelled through another instance.
+     */
+    @Scheduled(fixedDelayString = "${openlineage.export.jobs.heartbeat-ms:30000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            running.forEach((id, export) -> mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(id)
+                            .and("status").in(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING)),
+                    new Update().set("heartbeatAt", now)
+                            .set("jobLineageCount", export.jobRows.get())
+                            .set("columnLineageCount", export.columnRows.get()),
+                    ExportJobDocument.class));
+            Query cancelled = Query.query(Criteria.where("_id").in(List.copyOf(running.keySet()))
+                    .and("status").is(ExportJobStatus.CANCELLED));
+            for (ExportJobDocument job : mongoTemplate.find(cancelled, ExportJobDocument.class)) {
+                RunningExport export = running.get(job.getId());
+                if (export != null) {
+                    export.cancel();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Export heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    /** Deletes local result directories older than the {@code export_jobs} TTL. */
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 600_000)
+    public void deleteExpiredResults() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(RESULT_RETENTION);
+        try (Stream<Path> dirs = Files.list(directory)) {
+            dirs.filter(dir -> !running.containsKey(dir.getFileName().toString()))
+                    .filter(dir -> {
+                        try {
+                            return Files.getLastModifiedTime(dir).toInstant().isBefore(cutoff);
+                        } catch (IOException e) {
+                            return false;
+                        }
+                    })
+                    .forEach(ExportJobService::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Failed to clean up export results in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running.isEmpty()) {
+            try {
+                mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("_id").in(List.copyOf(running.keySet()))
+                                .and("status").in(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING)),
+                        new Update().set("status", ExportJobStatus.FAILED)
+                                .set("error", "Export interrupted: instance " + instance + " shut down")
+                                .set("finishedAt", Instant.now()),
+                        ExportJobDocument.class);
+            } catch (Exception e) {
+                log.warn("Failed to mark interrupted exports: {}", e.getMessage());
+            }
+            running.values().forEach(RunningExport::cancel);
+        }
+        executor.shutdownNow();
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /** Counts rows and stops the export once it is cancelled. */
+    private static final class TrackingSink implements LineageExportService.Sink {
+        private final LineageExportService.Sink delegate;
+        private final RunningExport export;
+
+        TrackingSink(LineageExportService.Sink delegate, RunningExport export) {
+            this.delegate = delegate;
+            this.export = export;
+        }
+
+        private void checkCancelled() throws IOException {
+            if (export.cancelled || Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Export cancelled");
+            }
+        }
+
+        @Override
+        public boolean acceptsJobRows() {
+            return delegate.acceptsJobRows();
+        }
+
+        @Override
+        public boolean acceptsColumnRows() {
+            return delegate.acceptsColumnRows();
+        }
+
+        @Override
+        public void beginNamespace(UUID namespaceUuid, String namespace) throws IOException {
+            checkCancelled();
+            delegate.beginNamespace(namespaceUuid, namespace);
+        }
+
+        @Override
+        public void jobRow(JobLineageRow row) throws IOException {
+            checkCancelled();
+            delegate.jobRow(row);
+            export.jobRows.incrementAndGet();
+        }
+
+        @Override
+        public void beginColumnLineage() throws IOException {
+            delegate.beginColumnLineage();
+        }
+
+        @Override
+        public void columnRow(ColumnLineageRow row) throws IOException {
+            checkCancelled();
+            delegate.columnRow(row);
+            export.columnRows.incrementAndGet();
+        }
+
+        @Override
+        public void endNamespace(long jobLineageCount, long columnLineageCount) throws IOException {
+            delegate.endNamespace(jobLineageCount, columnLineageCount);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.openlineage.server.service;
+
+import com.mongodb.MongoClientSettings;
+import com.openlineage.server.domain.Dataset;
+import com.openlineage.server.domain.Facet;
+import com.openlineage.server.domain.RunEvent;
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.DocumentDbSanitizer;
+import com.openlineage.server.storage.document.FacetBlobDocument;
+import com.openlineage.server.storage.document.FacetBlobRef;
+import com.openlineage.server.storage.document.FacetCodecs;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Content-addressed store for large facets ({@code facet_blobs}). Repetitive
+ * jobs send the same {@code schema} and {@code columnLineage} facets with
+ * every event, and each used to be written in full into the dataset, its
+ * input/output facets, the run and the raw event. With
+ * {@code openlineage.facet-blobs.enabled}, configured facets of at least
+ * {@code min-bytes} are stored once, keyed by the SHA-256 of their stored
+ * BSON, and those documents hold {@code {"_blob": hash}} instead.
+ *
+ * References are resolved when a facet map is read (see
+ * {@code LazyFacetMap}), through a byte-bounded cache of blob contents, so
+ * readers and archives see the facets as before. Blobs expire through a TTL
+ * index on {@code lastSeenAt}; writes touch them at most once a day per
+ * instance, and {@link #touchDatasetBlobs} keeps the ones datasets still
+ * reference. Other documents holding references must expire first, so
+ * startup fails when a retention setting ({@code openlineage.retention.*})
+ * is not shorter than the blob TTL.
+ *
+ * Facets queried by content (such as {@code symlinks}) must not be listed.
+ */
+@Service
+public class FacetBlobService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacetBlobService.class);
+
+    public static final String COLLECTION = "facet_blobs";
+    /** How often a blob still being written is touched, well inside its TTL. */
+    static final Duration TOUCH_INTERVAL = Duration.ofDays(1);
+    static final Duration TTL = DurationStyle.detectAndParse(FacetBlobDocument.TTL);
+    private static final int MAX_WRITTEN = 100_000;
+    private static final int TOUCH_BATCH = 1000;
+
+    private static final Codec<Document> DOCUMENTS = CodecRegistries.fromRegistries(FacetCodecs.REGISTRY,
+            MongoClientSettings.getDefaultCodecRegistry()).get(Document.class);
+
+    private record Cached(Document content, long bytes) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Set<String> facets;
+    private final int minBytes;
+    private final long cacheMaxBytes;
+
+    /** Blob contents by hash, access order: least recently used first. */
+    private final LinkedHashMap<String, Cached> contents = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    /** Hash to when this instance last wrote or touched the blob, least recently used first. */
+    private final LinkedHashMap<String, Instant> written = new LinkedHashMap<>(16, 0.75f, true);
+
+    public FacetBlobService(MongoTemplate mongoTemplate,
+            @Value("${openlineage.facet-blobs.enabled:false}") boolean enabled,
+            @Value("${openlineage.facet-blobs.facets:schema,columnLineage}") List<String> facets,
+            @Value("${openlineage.facet-blobs.min-bytes:2048}") int minBytes,
+            @Value("${openlineage.facet-blobs.cache-max-bytes:67108864}") long cacheMaxBytes,
+            @Value("${openlineage.retention.runs-ttl:180d}") Duration runsTtl,
+            @Value("${openlineage.retention.facets-ttl:90d}") Duration facetsTtl,
+            @Value("${openlineage.retention.events-ttl:90d}") Duration eventsTtl) {
+        if (enabled) {
+            checkRetention("runs-ttl", runsTtl);
+            checkRetention("facets-ttl", facetsTtl);
+            checkRetention("events-ttl", eventsTtl);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.facets = Set.copyOf(facets);
+        this.minBytes = minBytes;
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    /**
+     * A document referencing a blob may have touched it up to
+     * {@link #TOUCH_INTERVAL} before its own last write, so it must expire
+     * at least that much earlier than the blob.
+     */
+    private static void checkRetention(String setting, Duration ttl) {
+        if (ttl.plus(TOUCH_INTERVAL).compareTo(TTL) > 0) {
+            throw new IllegalStateException("openlineage.retention." + setting + " (" + ttl
+                    + ") must be at least " + TOUCH_INTERVAL + " shorter than the facet blob TTL (" + TTL
+                    + ") while openlineage.facet-blobs.enabled is set");
+        }
+    }
+
+    /**
+     * What to store for the facet {@code name}, given its stored form
+     * ({@link FacetCodecs#encode}): a {@link FacetBlobRef} once the content
+     * is in {@code facet_blobs}, or {@code stored} itself.
+     */
+    public Object store(String name, Object stored) {
+        if (!enabled || !facets.contains(name) || !(stored instanceof Map)) {
+            return stored;
+        }
+        byte[] bson = bson(stored);
+        if (bson.length < minBytes) {
+            return stored;
+        }
+        String hash = sha256(bson);
+        if (needsWrite(hash)) {
+            write(hash, name, stored, bson.length);
+            written(hash);
+        }
+        return new FacetBlobRef(hash);
+    }
+
+    /** Facets of a dataset, with the ones stored as blobs replaced by references. */
+    public Map<String, Facet> dedupe(Map<String, Facet> facetMap) {
+        if (!enabled || facetMap == null) {
+            return facetMap;
+        }
+        Map<String, Facet> deduped = null;
+        for (Map.Entry<String, Facet> entry : facetMap.entrySet()) {
+            if (facets.contains(entry.getKey())
+                    && store(entry.getKey(), FacetCodecs.encode(entry.getValue())) instanceof FacetBlobRef ref) {
+                if (deduped == null) {
+                    deduped = new LinkedHashMap<>(facetMap);
+                }
+                deduped.put(entry.getKey(), ref);
+            }
+        }
+        return deduped == null ? facetMap : deduped;
+    }
+
+    /** The event with the facets of its inputs and outputs deduplicated; for runs and the raw event. */
+    public RunEvent dedupe(RunEvent event) {
+        if (!enabled) {
+            return event;
+        }
+        List<Dataset> inputs = dedupe(event.inputs());
+        List<Dataset> outputs = dedupe(event.outputs());
+        if (inputs == event.inputs() && outputs == event.outputs()) {
+            return event;
+        }
+        return new RunEvent(event.eventType(), event.eventTime(), event.run(), event.job(), inputs, outputs,
+                event.producer(), event.schemaURL());
+    }
+
+    private List<Dataset> dedupe(List<Dataset> datasets) {
+        if (datasets == null) {
+            return null;
+        }
+        List<Dataset> deduped = null;
+        for (int i = 0; i < datasets.size(); i++) {
+            Dataset dataset = datasets.get(i);
+            Map<String, Facet> facetMap = dataset == null ? null : dedupe(dataset.facets());
+            if (dataset != null && facetMap != dataset.facets()) {
+                if (deduped == null) {
+                    deduped = new ArrayList<>(datasets);
+                }
+                deduped.set(i, new Dataset(dataset.namespace(), dataset.name(), facetMap));
+            }
+        }
+        return deduped == null ? datasets : deduped;
+    }
+
+    /**
+     * The stored value of a facet, with a blob reference replaced by the
+     * blob's content. A reference to a missing blob resolves to
+     * {@code null}, read as an empty facet, never as the reference itself.
+     */
+    public Object resolve(Object stored) {
+        if (!(stored instanceof Map<?, ?> map) || map.size() != 1
+                || !(map.get(FacetBlobRef.FIELD) instanceof String hash)) {
+            return stored;
+        }
+        Document content = cached(hash);
+        if (content != null) {
+            return content;
+        }
+        Query query = Query.query(Criteria.where("_id").is(hash));
+        query.fields().include("content").include("size");
+        Document blob = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (blob == null || !(blob.get("content") instanceof Document found)) {
+            log.warn("Facet blob {} is missing", hash);
+            return null;
+        }
+        cache(hash, found, blob.getInteger("size", 0));
+        return found;
+    }
+
+    /**
+     * Touches the blobs referenced by datasets, which have no TTL, so they
+     * outlive the blob TTL. Runs while references may exist, even with
+     * writes disabled.
+     */
+    @Scheduled(cron = "${openlineage.facet-blobs.keepalive-cron:0 15 4 * * *}")
+    public void touchDatasetBlobs() {
+        if (!enabled && !mongoTemplate.collectionExists(COLLECTION)) {
+            return;
+        }
+        Instant now = Instant.now();
+        long touched = 0;
+        for (String facet : facets) {
+            String field = "facets." + DocumentDbSanitizer.sanitizeKey(facet) + "." + FacetBlobRef.FIELD;
+            List<String> hashes = mongoTemplate.findDistinct(Query.query(Criteria.where(field).exists(true)),
+                    field, DatasetDocument.class, String.class);
+            for (int from = 0; from < hashes.size(); from += TOUCH_BATCH) {
+                List<String> batch = hashes.subList(from, Math.min(hashes.size(), from + TOUCH_BATCH));
+                touched += mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(batch)),
+                        new Update().set("lastSeenAt", now), FacetBlobDocument.class).getModifiedCount();
+            }
+        }
+        log.info("Touched {} facet blobs referenced by datasets", touched);
+    }
+
+    private void write(String hash, String name, Object stored, int size) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .setOnInsert("facet", name)
+                .setOnInsert("content", stored)
+                .setOnInsert("size", size)
+                .setOnInsert("createdAt", now)
+                .set("lastSeenAt", now);
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(hash)), update, FacetBlobDocument.class);
+        } catch (DuplicateKeyException e) {
+            // Inserted concurrently by another writer; the content is the same
+        }
+    }
+
+    /** Whether the blob is not known to have been written or touched within {@link #TOUCH_INTERVAL}. */
+    private synchronized boolean needsWrite(String hash) {
+        Instant last = written.get(hash);
+        return last == null || !last.isAfter(Instant.now().minus(TOUCH_INTERVAL));
+    }
+
+    private synchronized void written(String hash) {
+        written.put(hash, Instant.now());
+        Iterator<String> eldest = written.keySet().iterator();
+        while (written.size() > MAX_WRITTEN) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private synchronized Document cached(String hash) {
+        Cached cached = contents.get(hash);
+        return cached == null ? null : cached.content();
+    }
+
+    private synchronized void cache(String hash, Document content, long bytes) {
+        if (bytes > cacheMaxBytes) {
+            return;
+        }
+        Cached previous = contents.put(hash, new Cached(content, bytes));
+        cachedBytes += bytes - (previous == null ? 0 : previous.bytes());
+        Iterator<Cached> eldest = contents.values().iterator();
+        while (cachedBytes > cacheMaxBytes) {
+            cachedBytes -= eldest.next().bytes();
+            eldest.remove();
+        }
+    }
+
+    private static byte[] bson(Object stored) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        DOCUMENTS.encode(new BsonBinaryWriter(buffer), new Document("content", stored),
+                EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.storage.document.DocumentDbSanitizer;
+import com.openlineage.server.storage.document.FacetIndexDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code facet_index} collection: the values found at a
+ * configured set of facet paths, one document per (dataset, path, value).
+ *
+ * A path is {@code <facetName>.<field>[.<field>...]}; lists along the way are
+ * flattened, so {@code ownership.owners.name} yields every owner name. Facet
+ * names containing dots cannot be addressed.
+ */
+@Service
+public class FacetIndexService {
+
+    /** Datasets of the most selective filter read per query by {@link #findDatasets}. */
+    static final int PAGE_SIZE = 500;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    /** Matches counted per filter to find the most selective one. */
+    private static final int SELECTIVITY_LIMIT = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /** Facet name → configured paths rooted at that facet. */
+    private final Map<String, List<String>> pathsByFacet = new LinkedHashMap<>();
+
+    public FacetIndexService(MongoTemplate mongoTemplate,
+            @Value("${openlineage.facet-index.paths:ownership.owners.name,storage.storageLayer,storage.fileFormat,lifecycleStateChange.lifecycleStateChange}") List<String> paths) {
+        this.mongoTemplate = mongoTemplate;
+        for (String path : paths) {
+            String trimmed = path.trim();
+            int dot = trimmed.indexOf('.');
+            if (dot <= 0 || dot == trimmed.length() - 1) {
+                throw new IllegalArgumentException("Facet index path must be <facet>.<field>: " + path);
+            }
+            pathsByFacet.computeIfAbsent(trimmed.substring(0, dot), k -> new ArrayList<>()).add(trimmed);
+        }
+    }
+
+    public List<String> getPaths() {
+        return pathsByFacet.values().stream().flatMap(List::stream).toList();
+    }
+
+    public boolean isIndexed(String path) {
+        return getPaths().contains(path);
+    }
+
+    /**
+     * Re-indexes the configured paths of the facets present in
+     * {@code sanitizedFacets} (sanitized facet key → sanitized value, as
+     * written to the facet collections; BSON for typed facets). Paths of facets absent from this
+     * event keep their previous values.
+     */
+    public void index(String namespace, String name, Map<String, Object> sanitizedFacets, ZonedDateTime eventTime) {
+        List<Criteria> stale = new ArrayList<>();
+        List<Query> upserts = new ArrayList<>();
+        for (Map.Entry<String, List<String>> facet : pathsByFacet.entrySet()) {
+            Object value = sanitizedFacets.get(DocumentDbSanitizer.sanitizeKey(facet.getKey()));
+            if (value == null) {
+                continue;
+            }
+            for (String path : facet.getValue()) {
+                Set<String> values = extract(value, path);
+                stale.add(Criteria.where("path").is(path).and("value").nin(values));
+                for (String v : values) {
+                    upserts.add(Query.query(Criteria.where("path").is(path)
+                            .and("value").is(v)
+                            .and("namespace").is(namespace)
+                            .and("name").is(name)));
+                }
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        // Drop values the facets no longer have, for every path in one delete
+        mongoTemplate.remove(Query.query(Criteria.where("namespace").is(namespace).and("name").is(name)
+                .orOperator(stale)), FacetIndexDocument.class);
+        if (upserts.isEmpty()) {
+            return;
+        }
+        Update update = new Update().set("updatedAt", eventTime);
+        try {
+            upsert(upserts, update);
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+            // Another ingest of the dataset inserted these first; the retry updates theirs
+            upsert(e.getErrors().stream().map(error -> upserts.get(error.getIndex())).toList(), update);
+        }
+    }
+
+    private void upsert(List<Query> queries, Update update) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FacetIndexDocument.class);
+        for (Query query : queries) {
+            bulk.upsert(query, update);
+        }
+        bulk.execute();
+    }
+
+    /** A page of {@link #findDatasets} matches, and the number of matches in all. */
+    public record Matches(List<MarquezId> datasets, long total) {
+    }
+
+    /**
+     * Datasets having every given path = value pair, in (namespace, name)
+     * order. The most selective filter is read from the
+     * {@code path_value_dataset_idx} index in pages of {@link #PAGE_SIZE};
+     * each page is checked against the other filters with an {@code $in} on
+     * its datasets, so no more than a page is held at a time.
+     */
+    public Matches findDatasets(Map<String, String> filters, String namespace, int offset, int limit) {
+        List<Map.Entry<String, String>> ordered = new ArrayList<>();
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            if (!isIndexed(filter.getKey())) {
+                throw new IllegalArgumentException("Facet path is not indexed: " + filter.getKey());
+            }
+            ordered.add(filter);
+        }
+        if (ordered.isEmpty()) {
+            return new Matches(List.of(), 0);
+        }
+        if (ordered.size() == 1) {
+            Map.Entry<String, String> only = ordered.get(0);
+            Query query = Query.query(match(only, namespace))
+                    .with(Sort.by("namespace", "name"))
+                    .skip(offset)
+                    .limit(limit);
+            return new Matches(datasets(query), mongoTemplate.count(Query.query(match(only, namespace)),
+                    FacetIndexDocument.class));
+        }
+
+        // Counts are capped: past SELECTIVITY_LIMIT any filter is as good a driver as another
+        Map<Map.Entry<String, String>, Long> counts = new HashMap<>();
+        for (Map.Entry<String, String> filter : ordered) {
+            counts.put(filter, mongoTemplate.count(Query.query(match(filter, namespace)).limit(SELECTIVITY_LIMIT),
+                    FacetIndexDocument.class));
+        }
+        ordered.sort(Comparator.comparing(counts::get));
+        if (counts.get(ordered.get(0)) == 0) {
+            return new Matches(List.of(), 0);
+        }
+
+        List<MarquezId> page = new ArrayList<>();
+        long total = 0;
+        MarquezId last = null;
+        while (true) {
+            Criteria driver = match(ordered.get(0), namespace);
+            if (last != null) {
+                driver = driver.orOperator(Criteria.where("namespace").gt(last.getNamespace()),
+                        Criteria.where("namespace").is(last.getNamespace()).and("name").gt(last.getName()));
+            }
+            List<MarquezId> hits = datasets(Query.query(driver)
+                    .with(Sort.by("namespace", "name"))
+                    .limit(PAGE_SIZE));
+            if (hits.isEmpty()) {
+                break;
+            }
+            last = hits.get(hits.size() - 1);
+
+            Set<MarquezId> matched = new LinkedHashSet<>(hits);
+            for (Map.Entry<String, String> filter : ordered.subList(1, ordered.size())) {
+                matched.retainAll(within(filter, namespace, matched));
+                if (matched.isEmpty()) {
+                    break;
+                }
+            }
+            for (MarquezId id : matched) {
+                if (total >= offset && page.size() < limit) {
+                    page.add(id);
+                }
+                total++;
+            }
+            if (hits.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        return new Matches(page, total);
+    }
+
+    private static Criteria match(Map.Entry<String, String> filter, String namespace) {
+        Criteria criteria = Criteria.where("path").is(filter.getKey()).and("value").is(filter.getValue());
+        return namespace == null ? criteria : criteria.and("namespace").is(namespace);
+    }
+
+    /** Those of {@code datasets} that match {@code filter}. */
+    private Set<MarquezId> within(Map.Entry<String, String> filter, String namespace, Set<MarquezId> datasets) {
+        Criteria criteria = match(filter, namespace);
+        if (namespace == null) {
+            criteria = criteria.and("namespace").in(datasets.stream().map(MarquezId::getNamespace).distinct().toList());
+        }
+        criteria = criteria.and("name").in(datasets.stream().map(MarquezId::getName).distinct().toList());
+        // Namespaces and names are matched apart, so pairs across datasets are dropped here
+        return datasets(Query.query(criteria)).stream()
+                .filter(datasets::contains)
+                .collect(Collectors.toSet());
+    }
+
+    private List<MarquezId> datasets(Query query) {
+        query.fields().include("namespace").include("name");
+        return mongoTemplate.find(query, FacetIndexDocument.class).stream()
+                .map(doc -> new MarquezId(doc.getNamespace(), doc.getName()))
+                .toList();
+    }
+
+    /** Values at {@code path} (first segment is the facet name) as strings. */
+    static Set<String> extract(Object facetValue, String path) {
+        String[] segments = path.split("\\.");
+        Set<String> values = new LinkedHashSet<>();
+        collect(facetValue, segments, 1, values);
+        return values;
+    }
+
+    private static void collect(Object node, String[] segments, int pos, Set<String> out) {
+        if (node == null || node instanceof BsonNull) {
+            return;
+        }
+        if (node instanceof List<?> list) {
+            for (Object item : list) {
+                collect(item, segments, pos, out);
+            }
+            return;
+        }
+        if (pos == segments.length) {
+            if (!(node instanceof Map)) {
+                out.add(leaf(node));
+            }
+            return;
+        }
+        if (node instanceof Map<?, ?> map) {
+            collect(map.get(DocumentDbSanitizer.sanitizeKey(segments[pos])), segments, pos + 1, out);
+        }
+    }
+
+    /**
+     * A scalar as text, the same whether it was read as a Java value or, in
+     * codec-encoded facets, as a {@link BsonValue}.
+     */
+    private static String leaf(Object node) {
+        if (node instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        if (!(node instanceof BsonValue value)) {
+            return node.toString();
+        }
+        return switch (value.getBsonType()) {
+            case STRING -> value.asString().getValue();
+            case INT32 -> String.valueOf(value.asInt32().getValue());
+            case INT64 -> String.valueOf(value.asInt64().getValue());
+            case DOUBLE -> String.valueOf(value.asDouble().getValue());
+            case DECIMAL128 -> value.asDecimal128().getValue().bigDecimalValue().toString();
+            case BOOLEAN -> String.valueOf(value.asBoolean().getValue());
+            case DATE_TIME -> Instant.ofEpochMilli(value.asDateTime().getValue()).toString();
+            default -> value.toString();
+        };
+    }
+}
@@ -13,9 +13,14 @@ import java.util.Map;
 public class FacetMergeService {
 
     private final org.springframework.data.mongodb.core.MongoTemplate mongoTemplate;
+    private final FacetIndexService facetIndexService;
+    private final FacetBlobService facetBlobs;
 
-    public FacetMergeService(org.springframework.data.mongodb.core.MongoTemplate mongoTemplate) {
+    public FacetMergeService(org.springframework.data.mongodb.core.MongoTemplate mongoTemplate,
+            FacetIndexService facetIndexService, FacetBlobService facetBlobs) {
         this.mongoTemplate = mongoTemplate;
+        this.facetIndexService = facetIndexService;
+        this.facetBlobs = facetBlobs;
     }
 
     public void mergeInputFacets(String namespace, String name, Map<String, Facet> newFacets, ZonedDateTime eventTime) {
@@ -42,10 +47,18 @@ public class FacetMergeService {
                 .setOnInsert("createdAt", eventTime)
                 .set("updatedAt", eventTime);
 
+        Map<String, Object> sanitized = new java.util.LinkedHashMap<>();
         for (Map.Entry<String, Facet> entry : newFacets.entrySet()) {
-            update.set("facets." + com.openlineage.server.storage.document.DocumentDbSanitizer.sanitizeKey(entry.getKey()), com.openlineage.server.storage.document.DocumentDbSanitizer.sanitize(entry.getValue()));
+            sanitized.put(com.openlineage.server.storage.document.DocumentDbSanitizer.sanitizeKey(entry.getKey()),
+                    com.openlineage.server.storage.document.FacetCodecs.encode(entry.getValue()));
+        }
+        // Indexed from the content; large facets are written as blob references
+        for (Map.Entry<String, Facet> entry : newFacets.entrySet()) {
+            String key = com.openlineage.server.storage.document.DocumentDbSanitizer.sanitizeKey(entry.getKey());
+            update.set("facets." + key, facetBlobs.store(entry.getKey(), sanitized.get(key)));
         }
 
         mongoTemplate.upsert(query, update, entityClass);
+        facetIndexService.index(namespace, name, sanitized, eventTime);
     }
 }
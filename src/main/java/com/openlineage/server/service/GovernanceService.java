@@ -16,12 +16,15 @@ public class GovernanceService {
 
     private final long cacheTtlMs;
     private final NamespaceRepository namespaceRepository;
+    private final StatsRollupService statsRollupService;
     private final java.util.Map<String, CachedNamespace> cache = new java.util.concurrent.ConcurrentHashMap<>();
 
     public GovernanceService(NamespaceRepository namespaceRepository,
-            @org.springframework.beans.factory.annotation.Value("${openlineage.governance.cache-ttl-ms:60000}") long cacheTtlMs) {
+            @org.springframework.beans.factory.annotation.Value("${openlineage.governance.cache-ttl-ms:60000}") long cacheTtlMs,
+            StatsRollupService statsRollupService) {
         this.namespaceRepository = namespaceRepository;
         this.cacheTtlMs = cacheTtlMs;
+        this.statsRollupService = statsRollupService;
     }
 
     public void validateJobNamespaceOwnership(String namespace, String owner) {
@@ -51,6 +54,7 @@ public class GovernanceService {
                     false,
                     null);
             namespaceRepository.save(newNs);
+            statsRollupService.recordNewSource(newNs.getCreatedAt());
             cache.put(namespace, new CachedNamespace(newNs, System.currentTimeMillis() + cacheTtlMs));
             log.info("Auto-registered new namespace '{}' with owner '{}'", namespace, owner);
         }
@@ -76,6 +80,7 @@ public class GovernanceService {
                     false,
                     null);
             namespaceRepository.save(newNs);
+            statsRollupService.recordNewSource(newNs.getCreatedAt());
             cache.put(namespace, new CachedNamespace(newNs, System.currentTimeMillis() + cacheTtlMs));
             log.info("Auto-registered new namespace: {}", namespace);
         }
@@ -1,6 +1,7 @@
 package com.openlineage.server.service;
 
 import com.openlineage.server.domain.Job;
+import com.openlineage.server.search.SearchIndexService;
 import com.openlineage.server.storage.document.JobDocument;
 import com.openlineage.server.storage.document.MarquezId;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -16,10 +17,15 @@ public class JobService {
 
     private final MongoTemplate mongoTemplate;
     private final VersionService versionService;
+    private final SearchIndexService searchIndex;
+    private final StatsRollupService statsRollupService;
 
-    public JobService(MongoTemplate mongoTemplate, VersionService versionService) {
+    public JobService(MongoTemplate mongoTemplate, VersionService versionService, SearchIndexService searchIndex,
+            StatsRollupService statsRollupService) {
         this.mongoTemplate = mongoTemplate;
         this.versionService = versionService;
+        this.searchIndex = searchIndex;
+        this.statsRollupService = statsRollupService;
     }
 
     public void upsertJob(Job job, ZonedDateTime eventTime, java.util.Map<MarquezId, java.util.UUID> inputs,
@@ -34,6 +40,7 @@ public class JobService {
                 .setOnInsert("createdAt", eventTime)
                 .setOnInsert("searchName", job.name())
                 .set("updatedAt", eventTime)
+                .currentDate("modifiedAt")
                 .set("latestRunId", runId)
                 .set("currentVersion", versionService.computeJobVersion(job, inputs, outputs));
 
@@ -66,7 +73,7 @@ public class JobService {
                 update.set(
                         "facets." + com.openlineage.server.storage.document.DocumentDbSanitizer
                                 .sanitizeKey(entry.getKey()),
-                        com.openlineage.server.storage.document.DocumentDbSanitizer.sanitize(entry.getValue()));
+                        com.openlineage.server.storage.document.FacetCodecs.encode(entry.getValue()));
             }
 
             // Extract Description
@@ -102,6 +109,10 @@ public class JobService {
             }
         }
 
-        mongoTemplate.upsert(query, update, JobDocument.class);
+        com.mongodb.client.result.UpdateResult result = mongoTemplate.upsert(query, update, JobDocument.class);
+        if (result != null && result.getUpsertedId() != null) {
+            statsRollupService.recordNewJob(eventTime);
+        }
+        searchIndex.indexJob(job.namespace(), job.name(), eventTime);
     }
 }
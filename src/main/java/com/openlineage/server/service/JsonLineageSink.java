@@ -0,0 +1,75 @@
+package com.openlineage.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.openlineage.server.api.models.LineageExportModels.ColumnLineageRow;
+import com.openlineage.server.api.models.LineageExportModels.JobLineageRow;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Writes {@code {"namespaceData": [...]}} incrementally, preceded by
+ * {@code "changeToken"} when one is given.
+ */
+public class JsonLineageSink implements LineageExportService.Sink {
+    private final JsonGenerator gen;
+    private final String changeToken;
+    private boolean started;
+
+    public JsonLineageSink(JsonGenerator gen, String changeToken) {
+        this.gen = gen;
+        this.changeToken = changeToken;
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            gen.writeStartObject();
+            if (changeToken != null) {
+                gen.writeStringField("changeToken", changeToken);
+            }
+            gen.writeArrayFieldStart("namespaceData");
+            started = true;
+        }
+    }
+
+    @Override
+    public void beginNamespace(UUID namespaceUuid, String namespace) throws IOException {
+        start();
+        gen.writeStartObject();
+        gen.writeObjectField("namespaceUuid", namespaceUuid);
+        gen.writeStringField("namespaceName", namespace);
+        gen.writeArrayFieldStart("jobLineage");
+    }
+
+    @Override
+    public void jobRow(JobLineageRow row) throws IOException {
+        gen.writeObject(row);
+    }
+
+    @Override
+    public void beginColumnLineage() throws IOException {
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("columnLineage");
+    }
+
+    @Override
+    public void columnRow(ColumnLineageRow row) throws IOException {
+        gen.writeObject(row);
+    }
+
+    @Override
+    public void endNamespace(long jobLineageCount, long columnLineageCount) throws IOException {
+        gen.writeEndArray();
+        gen.writeNumberField("jobLineageCount", jobLineageCount);
+        gen.writeNumberField("columnLineageCount", columnLineageCount);
+        gen.writeEndObject();
+        gen.flush();
+    }
+
+    /** Closes the document; also called for an export with no namespaces. */
+    public void finish() throws IOException {
+        start();
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
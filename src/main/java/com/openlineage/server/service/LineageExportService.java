@@ -11,15 +11,34 @@ import com.openlineage.server.storage.repository.OutputDatasetFacetRepository;
 import com.openlineage.server.storage.repository.AlationMappingRepository;
 import com.openlineage.server.storage.document.AlationDatasetMappingDocument;
 import com.openlineage.server.storage.document.MappingStatus;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 @Service
 public class LineageExportService {
@@ -32,51 +51,358 @@ public class LineageExportService {
     private final RunRepository runRepository;
     private final OutputDatasetFacetRepository outputFacetRepository;
     private final AlationMappingRepository mappingRepository;
+    private final int parallelism;
+    /** Shared by all exports; {@code null} when namespaces are exported one at a time. */
+    private final ExecutorService namespaceExecutor;
 
     public LineageExportService(MongoTemplate mongoTemplate, JobRepository jobRepository,
             DatasetRepository datasetRepository, RunRepository runRepository,
             OutputDatasetFacetRepository outputFacetRepository,
-            AlationMappingRepository mappingRepository) {
+            AlationMappingRepository mappingRepository,
+            @Value("${openlineage.export.parallelism:4}") int parallelism) {
         this.mongoTemplate = mongoTemplate;
         // this.jobRepository = jobRepository;
         this.datasetRepository = datasetRepository;
         this.runRepository = runRepository;
         this.outputFacetRepository = outputFacetRepository;
         this.mappingRepository = mappingRepository;
+        this.parallelism = Math.max(1, parallelism);
+        if (this.parallelism > 1) {
+            AtomicInteger threads = new AtomicInteger();
+            this.namespaceExecutor = Executors.newFixedThreadPool(this.parallelism, r -> {
+                Thread thread = new Thread(r, "lineage-export-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.namespaceExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (namespaceExecutor != null) {
+            namespaceExecutor.shutdownNow();
+        }
     }
 
+    /** Jobs whose datasets, facets and runs are looked up together while streaming. */
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * How far behind the issuing clock a change token points: covers writes
+     * still in flight and skew between this instance's clock and the
+     * database's, at the cost of re-sending that much on the next delta.
+     */
+    static final Duration CHANGE_TOKEN_LAG = Duration.ofMinutes(1);
+    private static final String CHANGE_TOKEN_VERSION = "v1:";
+
+    /** Sink calls a namespace exported ahead of its turn may buffer before it waits. */
+    static final int SPOOL_CAPACITY = 2 * CHUNK_SIZE;
+
+    /**
+     * Receives the export as it is produced: per namespace, all job rows,
+     * then all column rows. Implementations write straight to the response.
+     */
+    public interface Sink {
+        /** Whether job rows are wanted; if not, they are not computed. */
+        default boolean acceptsJobRows() {
+            return true;
+        }
+
+        /** Whether column rows are wanted; if not, facets are not even read. */
+        default boolean acceptsColumnRows() {
+            return true;
+        }
+
+        void beginNamespace(UUID namespaceUuid, String namespace) throws IOException;
+
+        void jobRow(JobLineageRow row) throws IOException;
+
+        void beginColumnLineage() throws IOException;
+
+        void columnRow(ColumnLineageRow row) throws IOException;
+
+        void endNamespace(long jobLineageCount, long columnLineageCount) throws IOException;
+    }
+
+    /**
+     * Builds the whole export in memory. Prefer {@link #streamLineage} for
+     * large windows.
+     */
     public LineageExportResult exportLineage(int days, List<String> requestedNamespaces) {
-        Instant since = Instant.now().minus(days, ChronoUnit.DAYS);
+        List<NamespaceLineageData> nsDataList = new ArrayList<>();
+        try {
+            streamLineage(days, requestedNamespaces, new Sink() {
+                private UUID uuid;
+                private String namespace;
+                private List<JobLineageRow> jobRows;
+                private List<ColumnLineageRow> colRows;
+
+                @Override
+                public void beginNamespace(UUID namespaceUuid, String ns) {
+                    uuid = namespaceUuid;
+                    namespace = ns;
+                    jobRows = new ArrayList<>();
+                    colRows = new ArrayList<>();
+                }
+
+                @Override
+                public void jobRow(JobLineageRow row) {
+                    jobRows.add(row);
+                }
+
+                @Override
+                public void beginColumnLineage() {
+                }
+
+                @Override
+                public void columnRow(ColumnLineageRow row) {
+                    colRows.add(row);
+                }
+
+                @Override
+                public void endNamespace(long jobLineageCount, long columnLineageCount) {
+                    nsDataList.add(new NamespaceLineageData(uuid, namespace, jobRows, colRows,
+                            jobLineageCount, columnLineageCount));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new LineageExportResult(nsDataList);
+    }
+
+    /**
+     * Writes the export as {@code job_lineage.parquet} and
+     * {@code column_lineage.parquet} in {@code directory} (see
+     * {@link LineageParquetWriter}).
+     *
+     * @return the files written
+     */
+    public List<Path> exportParquet(int days, List<String> requestedNamespaces, Path directory) throws IOException {
+        return exportParquet(days, requestedNamespaces, directory, UnaryOperator.identity());
+    }
+
+    /** As above, with the Parquet sink wrapped by {@code decorate} (e.g. for progress tracking). */
+    public List<Path> exportParquet(int days, List<String> requestedNamespaces, Path directory,
+            UnaryOperator<Sink> decorate) throws IOException {
+        Files.createDirectories(directory);
+        Path jobFile = directory.resolve("job_lineage.parquet");
+        Path columnFile = directory.resolve("column_lineage.parquet");
+        LineageParquetWriter writer = new LineageParquetWriter(
+                LineageParquetWriter.localFile(jobFile), LineageParquetWriter.localFile(columnFile));
+        try {
+            streamLineage(days, requestedNamespaces, decorate.apply(writer));
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            Files.deleteIfExists(jobFile);
+            Files.deleteIfExists(columnFile);
+            throw e;
+        }
+        writer.close();
+        return List.of(jobFile, columnFile);
+    }
+
+    /**
+     * Streams the export namespace by namespace. Jobs are read with a cursor
+     * and processed in chunks of {@value #CHUNK_SIZE}, twice per namespace
+     * (job rows, then column rows), so memory stays bounded by one chunk
+     * whatever the window or namespace size.
+     *
+     * Up to {@code openlineage.export.parallelism} namespaces are read
+     * concurrently; each buffers at most {@value #SPOOL_CAPACITY} rows ahead
+     * and the sink still receives the namespaces in order, on the caller's
+     * thread.
+     */
+    public void streamLineage(int days, List<String> requestedNamespaces, Sink sink) throws IOException {
+        stream(new JobWindow("updatedAt", Instant.now().minus(days, ChronoUnit.DAYS)), requestedNamespaces, sink);
+    }
+
+    /**
+     * Streams the rows of jobs changed since {@code since} (see
+     * {@link #parseChangeToken}), in the same shape as
+     * {@link #streamLineage}. A job counts as changed when an event for it
+     * was ingested, whatever the event time, so late events are included.
+     */
+    public void streamChanges(Instant since, List<String> requestedNamespaces, Sink sink) throws IOException {
+        stream(new JobWindow("modifiedAt", since), requestedNamespaces, sink);
+    }
+
+    /**
+     * Token for the next {@link #streamChanges} call. Take it <em>before</em>
+     * exporting, so changes made during the export are picked up next time.
+     */
+    public String nextChangeToken() {
+        String value = CHANGE_TOKEN_VERSION + Instant.now().minus(CHANGE_TOKEN_LAG).toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a token from {@link #nextChangeToken()}; throws {@link IllegalArgumentException} if malformed. */
+    public static Instant parseChangeToken(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (value.startsWith(CHANGE_TOKEN_VERSION)) {
+                return Instant.ofEpochMilli(Long.parseLong(value.substring(CHANGE_TOKEN_VERSION.length())));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through: NumberFormatException is an IllegalArgumentException too
+        }
+        throw new IllegalArgumentException("Invalid change token: " + token);
+    }
 
+    /** Jobs exported: those whose {@code field} is at or after {@code since}. */
+    private record JobWindow(String field, Instant since) {
+        Criteria criteria() {
+            return Criteria.where(field).gte(since);
+        }
+    }
+
+    private void stream(JobWindow window, List<String> requestedNamespaces, Sink sink) throws IOException {
         // 1. Identify Target Namespaces
         List<String> namespaces;
         if (requestedNamespaces != null && !requestedNamespaces.isEmpty()) {
             namespaces = requestedNamespaces;
         } else {
             namespaces = mongoTemplate.findDistinct(
-                    Query.query(Criteria.where("updatedAt").gte(since)),
+                    Query.query(window.criteria()),
                     "_id.namespace",
                     JobDocument.class,
                     String.class);
         }
 
-        List<NamespaceLineageData> nsDataList = new ArrayList<>();
+        if (namespaceExecutor == null || namespaces.size() < 2) {
+            for (String ns : namespaces) {
+                streamNamespace(ns, window, sink);
+            }
+            return;
+        }
 
-        for (String ns : namespaces) {
-            nsDataList.add(processNamespace(ns, since));
+        // Keep the next `parallelism` namespaces in flight and replay them in order
+        Deque<SpooledNamespace> inFlight = new ArrayDeque<>();
+        Iterator<String> remaining = namespaces.iterator();
+        try {
+            while (remaining.hasNext() || !inFlight.isEmpty()) {
+                while (remaining.hasNext() && inFlight.size() < parallelism) {
+                    inFlight.addLast(new SpooledNamespace(remaining.next(), window, sink));
+                }
+                inFlight.peekFirst().replayInto(sink);
+                inFlight.removeFirst();
+            }
+        } finally {
+            // Stops namespaces read ahead of a failed or abandoned export
+            inFlight.forEach(SpooledNamespace::cancel);
         }
+    }
 
-        return new LineageExportResult(nsDataList);
+    @FunctionalInterface
+    private interface SinkCall {
+        void applyTo(Sink sink) throws IOException;
     }
 
-    private NamespaceLineageData processNamespace(String namespace, Instant since) {
-        // Fetch Jobs in this namespace updated recently
-        List<JobDocument> jobs = mongoTemplate.find(
-                Query.query(Criteria.where("_id.namespace").is(namespace).and("updatedAt").gte(since)),
-                JobDocument.class);
+    private static final SinkCall END_OF_NAMESPACE = sink -> {
+    };
+
+    /**
+     * A namespace exported on {@link #namespaceExecutor} into a bounded queue
+     * of sink calls. The worker blocks when the queue is full, so a namespace
+     * read ahead of its turn holds at most {@value #SPOOL_CAPACITY} calls.
+     */
+    private final class SpooledNamespace implements Sink {
+        private final BlockingQueue<SinkCall> calls = new ArrayBlockingQueue<>(SPOOL_CAPACITY);
+        private final Sink target;
+        private final Future<?> task;
+        private volatile Throwable failure;
+
+        SpooledNamespace(String namespace, JobWindow window, Sink target) {
+            this.target = target;
+            this.task = namespaceExecutor.submit(() -> {
+                try {
+                    streamNamespace(namespace, window, this);
+                } catch (Throwable e) {
+                    failure = e;
+                } finally {
+                    try {
+                        calls.put(END_OF_NAMESPACE);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        /** Forwards this namespace's calls to {@code sink} as they arrive; rethrows the worker's failure. */
+        void replayInto(Sink sink) throws IOException {
+            try {
+                for (SinkCall call = calls.take(); call != END_OF_NAMESPACE; call = calls.take()) {
+                    call.applyTo(sink);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while exporting lineage");
+            }
+            if (failure instanceof IOException e) {
+                throw e;
+            } else if (failure instanceof RuntimeException e) {
+                throw e;
+            } else if (failure instanceof Error e) {
+                throw e;
+            } else if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        }
+
+        void cancel() {
+            task.cancel(true);
+        }
+
+        private void enqueue(SinkCall call) throws IOException {
+            try {
+                calls.put(call);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Lineage export cancelled");
+            }
+        }
+
+        @Override
+        public boolean acceptsJobRows() {
+            return target.acceptsJobRows();
+        }
 
-        List<JobLineageRow> jobRows = new ArrayList<>();
-        List<ColumnLineageRow> colRows = new ArrayList<>();
+        @Override
+        public boolean acceptsColumnRows() {
+            return target.acceptsColumnRows();
+        }
+
+        @Override
+        public void beginNamespace(UUID namespaceUuid, String namespace) throws IOException {
+            enqueue(sink -> sink.beginNamespace(namespaceUuid, namespace));
+        }
+
+        @Override
+        public void jobRow(JobLineageRow row) throws IOException {
+            enqueue(sink -> sink.jobRow(row));
+        }
+
+        @Override
+        public void beginColumnLineage() throws IOException {
+            enqueue(Sink::beginColumnLineage);
+        }
+
+        @Override
+        public void columnRow(ColumnLineageRow row) throws IOException {
+            enqueue(sink -> sink.columnRow(row));
+        }
+
+        @Override
+        public void endNamespace(long jobLineageCount, long columnLineageCount) throws IOException {
+            enqueue(sink -> sink.endNamespace(jobLineageCount, columnLineageCount));
+        }
+    }
+
+    private void streamNamespace(String namespace, JobWindow window, Sink sink) throws IOException {
+        sink.beginNamespace(UUID.nameUUIDFromBytes(namespace.getBytes(StandardCharsets.UTF_8)), namespace);
 
         // Fetch Alation Mappings for the namespace
         List<AlationDatasetMappingDocument> mappings = mappingRepository.findByOpenLineageNamespace(namespace).stream()
@@ -87,6 +413,41 @@ public class LineageExportService {
             alationMap.put(m.getOpenLineageDatasetName(), m.getAlationDatasetId());
         }
 
+        long jobRowCount = sink.acceptsJobRows()
+                ? forEachJobChunk(namespace, window, jobs -> writeJobRows(jobs, alationMap, sink))
+                : 0;
+        sink.beginColumnLineage();
+        long colRowCount = sink.acceptsColumnRows()
+                ? forEachJobChunk(namespace, window, jobs -> writeColumnRows(jobs, sink))
+                : 0;
+        sink.endNamespace(jobRowCount, colRowCount);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        long write(List<JobDocument> jobs) throws IOException;
+    }
+
+    /** Runs {@code writer} over the namespace's jobs in {@code window} in chunks; returns the rows written. */
+    private long forEachJobChunk(String namespace, JobWindow window, ChunkWriter writer) throws IOException {
+        Query query = Query.query(Criteria.where("_id.namespace").is(namespace)
+                .and(window.field()).gte(window.since()));
+        long rows = 0;
+        try (Stream<JobDocument> jobs = mongoTemplate.stream(query, JobDocument.class)) {
+            Iterator<JobDocument> it = jobs.iterator();
+            List<JobDocument> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE || !it.hasNext()) {
+                    rows += writer.write(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeJobRows(List<JobDocument> jobs, Map<String, Long> alationMap, Sink sink) throws IOException {
         // Cache datasets
         Set<MarquezId> datasetIdsToFetch = new HashSet<>();
         for (JobDocument job : jobs) {
@@ -101,40 +462,14 @@ public class LineageExportService {
             datasetRepository.findAllById(datasetIdsToFetch).forEach(d -> datasetMap.put(d.getId(), d));
         }
 
-        // --- Prefetch Output Facets ---
-        Set<MarquezId> outputIdsToFetch = new HashSet<>();
-        for (JobDocument job : jobs) {
-            if (job.getOutputs() != null) {
-                outputIdsToFetch.addAll(job.getOutputs());
-            }
-        }
-        Map<MarquezId, OutputDatasetFacetDocument> outputFacetMap = new HashMap<>();
-        if (!outputIdsToFetch.isEmpty()) {
-            outputFacetRepository.findAllById(outputIdsToFetch).forEach(f -> outputFacetMap.put(f.getDatasetId(), f));
-        }
-
-        // --- Prefetch Latest Runs for Statuses (single batch query) ---
-        Map<MarquezId, RunDocument> latestRunsMap = new HashMap<>();
-        if (!jobs.isEmpty()) {
-            List<Criteria> runConditions = new ArrayList<>();
-            for (JobDocument job : jobs) {
-                runConditions.add(Criteria.where("jobNamespace").is(job.getId().getNamespace())
-                        .and("jobName").is(job.getId().getName()));
-            }
-            Query runQuery = Query.query(new Criteria().orOperator(runConditions))
-                    .with(org.springframework.data.domain.Sort.by("eventTime").descending());
-            List<RunDocument> allRuns = mongoTemplate.find(runQuery, RunDocument.class);
-            for (RunDocument run : allRuns) {
-                MarquezId key = run.getJob();
-                latestRunsMap.putIfAbsent(key, run);
-            }
-        }
+        Map<MarquezId, LatestRun> latestRunsMap = latestRuns(jobs);
 
+        long rows = 0;
         for (JobDocument job : jobs) {
-            RunDocument lastRun = latestRunsMap.get(job.getId());
+            LatestRun lastRun = latestRunsMap.get(job.getId());
 
-            String lastRunState = (lastRun != null) ? lastRun.getEventType() : null;
-            Instant lastRunTime = (lastRun != null) ? lastRun.getEventTime().toInstant() : null;
+            String lastRunState = (lastRun != null) ? lastRun.state() : null;
+            Instant lastRunTime = (lastRun != null) ? lastRun.time() : null;
 
             Set<MarquezId> inputs = job.getInputs() == null ? Collections.emptySet() : job.getInputs();
             Set<MarquezId> outputs = job.getOutputs() == null ? Collections.emptySet() : job.getOutputs();
@@ -147,7 +482,7 @@ public class LineageExportService {
                     Long sourceAlationId = alationMap.get(inputId.getName());
                     Long targetAlationId = alationMap.get(outputId.getName());
 
-                    jobRows.add(new JobLineageRow(
+                    sink.jobRow(new JobLineageRow(
                             getUuid(inputId), inputId.getNamespace(), inputId.getName(), getPhysicalName(inputDs),
                             sourceAlationId,
                             getUuid(outputId), outputId.getNamespace(), outputId.getName(), getPhysicalName(outputDs),
@@ -156,39 +491,107 @@ public class LineageExportService {
                             null, // Desc
                             lastRunTime, lastRunState,
                             job.getUpdatedAt() != null ? job.getUpdatedAt().toInstant() : null));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private record LatestRun(String state, Instant time) {
+    }
+
+    /**
+     * State and time of the latest run of each job, one run per job: runs are
+     * sorted along {@code job_run_idx} and grouped with {@code $first}, so the
+     * server never ships a job's run history.
+     */
+    private Map<MarquezId, LatestRun> latestRuns(List<JobDocument> jobs) {
+        Map<String, List<String>> namesByNamespace = new HashMap<>();
+        for (JobDocument job : jobs) {
+            namesByNamespace.computeIfAbsent(job.getId().getNamespace(), ns -> new ArrayList<>())
+                    .add(job.getId().getName());
+        }
+        if (namesByNamespace.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        // Chunks are per namespace, so this is a single $in in practice
+        List<Criteria> conditions = new ArrayList<>();
+        namesByNamespace.forEach((ns, names) -> conditions.add(
+                Criteria.where("jobNamespace").is(ns).and("jobName").in(names)));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(conditions.size() == 1 ? conditions.get(0)
+                        : new Criteria().orOperator(conditions)),
+                Aggregation.sort(Sort.by(Sort.Order.asc("jobNamespace"), Sort.Order.asc("jobName"),
+                        Sort.Order.desc("eventTime"))),
+                Aggregation.group("jobNamespace", "jobName")
+                        .first("eventType").as("eventType")
+                        .first("eventTime").as("eventTime"));
+
+        Map<MarquezId, LatestRun> latest = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, RunDocument.class, Document.class)
+                .getMappedResults()) {
+            Document id = (Document) row.get("_id");
+            Date eventTime = row.getDate("eventTime");
+            latest.put(new MarquezId(id.getString("jobNamespace"), id.getString("jobName")),
+                    new LatestRun(row.getString("eventType"), eventTime != null ? eventTime.toInstant() : null));
+        }
+        return latest;
+    }
+
+    private long writeColumnRows(List<JobDocument> jobs, Sink sink) throws IOException {
+        Set<MarquezId> outputIdsToFetch = new HashSet<>();
+        for (JobDocument job : jobs) {
+            if (job.getOutputs() != null && job.getInputs() != null && !job.getInputs().isEmpty()) {
+                outputIdsToFetch.addAll(job.getOutputs());
+            }
+        }
+        if (outputIdsToFetch.isEmpty()) {
+            return 0;
+        }
 
+        Map<MarquezId, DatasetDocument> outputMap = new HashMap<>();
+        datasetRepository.findAllById(outputIdsToFetch).forEach(d -> outputMap.put(d.getId(), d));
+
+        // --- Prefetch Output Facets ---
+        Map<MarquezId, OutputDatasetFacetDocument> outputFacetMap = new HashMap<>();
+        outputFacetRepository.findAllById(outputIdsToFetch).forEach(f -> outputFacetMap.put(f.getDatasetId(), f));
+
+        long rows = 0;
+        for (JobDocument job : jobs) {
+            Set<MarquezId> inputs = job.getInputs() == null ? Collections.emptySet() : job.getInputs();
+            Set<MarquezId> outputs = job.getOutputs() == null ? Collections.emptySet() : job.getOutputs();
+
+            for (MarquezId inputId : inputs) {
+                for (MarquezId outputId : outputs) {
+                    DatasetDocument outputDs = outputMap.get(outputId);
                     // Column Lineage logic
                     if (outputDs != null) {
                         OutputDatasetFacetDocument facetDoc = outputFacetMap.get(outputDs.getId());
-                        processColumnLineage(outputDs, inputId, facetDoc, colRows);
+                        rows += processColumnLineage(outputDs, inputId, facetDoc, sink);
                     }
                 }
             }
         }
-
-        return new NamespaceLineageData(
-                UUID.nameUUIDFromBytes(namespace.getBytes(StandardCharsets.UTF_8)),
-                namespace,
-                jobRows,
-                colRows,
-                jobRows.size(),
-                colRows.size());
+        return rows;
     }
 
-    private void processColumnLineage(DatasetDocument outputDs, MarquezId inputId, OutputDatasetFacetDocument facetDoc,
-            List<ColumnLineageRow> rows) {
+    private long processColumnLineage(DatasetDocument outputDs, MarquezId inputId, OutputDatasetFacetDocument facetDoc,
+            Sink sink) throws IOException {
         // Facets are stored separately
         if (facetDoc == null || facetDoc.getFacets() == null)
-            return;
+            return 0;
 
         Facet facet = facetDoc.getFacets().get("columnLineage");
         if (!(facet instanceof ColumnLineageDatasetFacet))
-            return;
+            return 0;
 
         ColumnLineageDatasetFacet colLineage = (ColumnLineageDatasetFacet) facet;
         if (colLineage.fields() == null)
-            return;
+            return 0;
 
+        long rows = 0;
         for (Map.Entry<String, ColumnLineageDatasetFacet.Fields> entry : colLineage.fields().entrySet()) {
             String outputFieldName = entry.getKey();
             ColumnLineageDatasetFacet.Fields fields = entry.getValue();
@@ -196,7 +599,7 @@ public class LineageExportService {
             for (ColumnLineageDatasetFacet.InputField inputField : fields.inputFields()) {
                 if (inputField.namespace().equals(inputId.getNamespace())
                         && inputField.name().equals(inputId.getName())) {
-                    rows.add(new ColumnLineageRow(
+                    sink.columnRow(new ColumnLineageRow(
                             getUuid(new MarquezId(inputField.namespace(), inputField.name())),
                             inputField.namespace(),
                             inputField.name(),
@@ -212,9 +615,11 @@ public class LineageExportService {
                             fields.transformationType(),
                             fields.transformationDescription(),
                             outputDs.getUpdatedAt() != null ? outputDs.getUpdatedAt().toInstant() : null));
+                    rows++;
                 }
             }
         }
+        return rows;
     }
 
     private String getUuid(MarquezId id) {
@@ -0,0 +1,269 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.api.models.LineageExportModels.ColumnLineageRow;
+import com.openlineage.server.api.models.LineageExportModels.JobLineageRow;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link LineageExportService.Sink} writing job and column lineage rows to
+ * Apache Parquet, snappy-compressed with dictionary encoding — the namespace,
+ * name and state columns repeat heavily, so files are a fraction of the
+ * JSON size.
+ *
+ * Each row type goes to its own file; pass {@code null} for a row type that
+ * is not wanted and the export skips producing it. The Avro schemas are
+ * derived from the row records, with every column nullable.
+ */
+public class LineageParquetWriter implements LineageExportService.Sink, Closeable {
+
+    public static final String CONTENT_TYPE = "application/vnd.apache.parquet";
+
+    /** Target row group size in bytes (16 MiB); the writer buffers about this much, which bounds its memory. */
+    static final long ROW_GROUP_SIZE = 16L * 1024 * 1024;
+
+    static final Schema JOB_SCHEMA = schemaOf(JobLineageRow.class);
+    static final Schema COLUMN_SCHEMA = schemaOf(ColumnLineageRow.class);
+
+    private final OutputFile[] files;
+    private final ParquetWriter<GenericRecord> jobWriter;
+    private final ParquetWriter<GenericRecord> columnWriter;
+
+    public LineageParquetWriter(OutputFile jobLineage, OutputFile columnLineage) throws IOException {
+        this.files = new OutputFile[] { jobLineage, columnLineage };
+        this.jobWriter = jobLineage != null ? open(jobLineage, JOB_SCHEMA) : null;
+        try {
+            this.columnWriter = columnLineage != null ? open(columnLineage, COLUMN_SCHEMA) : null;
+        } catch (IOException e) {
+            if (jobWriter != null) {
+                jobWriter.close();
+            }
+            throw e;
+        }
+    }
+
+    private static ParquetWriter<GenericRecord> open(OutputFile file, Schema schema) throws IOException {
+        return AvroParquetWriter.<GenericRecord>builder(file)
+                .withSchema(schema)
+                .withCompressionCodec(CompressionCodecName.SNAPPY)
+                .withDictionaryEncoding(true)
+                .withRowGroupSize(ROW_GROUP_SIZE)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build();
+    }
+
+    @Override
+    public boolean acceptsJobRows() {
+        return jobWriter != null;
+    }
+
+    @Override
+    public boolean acceptsColumnRows() {
+        return columnWriter != null;
+    }
+
+    @Override
+    public void beginNamespace(UUID namespaceUuid, String namespace) {
+    }
+
+    @Override
+    public void jobRow(JobLineageRow row) throws IOException {
+        jobWriter.write(toRecord(row, JOB_SCHEMA));
+    }
+
+    @Override
+    public void beginColumnLineage() {
+    }
+
+    @Override
+    public void columnRow(ColumnLineageRow row) throws IOException {
+        columnWriter.write(toRecord(row, COLUMN_SCHEMA));
+    }
+
+    @Override
+    public void endNamespace(long jobLineageCount, long columnLineageCount) {
+    }
+
+    /** Writes the footers; the files are not readable before this. */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (jobWriter != null) {
+                jobWriter.close();
+            }
+        } finally {
+            if (columnWriter != null) {
+                columnWriter.close();
+            }
+        }
+    }
+
+    /**
+     * Abandons the export without writing footers, so a failed export can
+     * never be mistaken for a complete (but short) file. Only closes streams
+     * opened through {@link #localFile} or {@link #stream}.
+     */
+    public void abort() {
+        for (OutputFile file : files) {
+            if (file instanceof StreamOutputFile streamFile) {
+                streamFile.closeQuietly();
+            }
+        }
+    }
+
+    // ── Schema / records ────────────────────────────────────────
+
+    /** Avro schema of a record's components: strings, longs and instants, all nullable. */
+    public static Schema schemaOf(Class<? extends Record> type) {
+        List<Schema.Field> fields = new ArrayList<>();
+        for (RecordComponent component : type.getRecordComponents()) {
+            Schema value;
+            if (component.getType() == String.class) {
+                value = Schema.create(Schema.Type.STRING);
+            } else if (component.getType() == Long.class || component.getType() == long.class) {
+                value = Schema.create(Schema.Type.LONG);
+            } else if (component.getType() == Instant.class) {
+                value = LogicalTypes.timestampMillis().addToSchema(Schema.create(Schema.Type.LONG));
+            } else {
+                throw new IllegalArgumentException("Unsupported export column type " + component.getType()
+                        + " of " + type.getSimpleName() + "." + component.getName());
+            }
+            fields.add(new Schema.Field(component.getName(),
+                    Schema.createUnion(Schema.create(Schema.Type.NULL), value), null, Schema.Field.NULL_DEFAULT_VALUE));
+        }
+        return Schema.createRecord(type.getSimpleName(), null, "com.openlineage.export", false, fields);
+    }
+
+    /** A row as a record of {@link #schemaOf} its type (or a schema starting with the same fields). */
+    public static GenericData.Record toRecord(Record row, Schema schema) {
+        GenericData.Record record = new GenericData.Record(schema);
+        RecordComponent[] components = row.getClass().getRecordComponents();
+        for (int i = 0; i < components.length; i++) {
+            Object value = read(components[i].getAccessor(), row);
+            record.put(i, value instanceof Instant instant ? instant.toEpochMilli() : value);
+        }
+        return record;
+    }
+
+    private static Object read(Method accessor, Record row) {
+        try {
+            return accessor.invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read " + accessor.getName() + " of " + row.getClass(), e);
+        }
+    }
+
+    // ── Output files ────────────────────────────────────────────
+
+    /** Parquet output to a local file, replacing it if present. */
+    public static OutputFile localFile(Path path) {
+        return new StreamOutputFile(() -> Files.newOutputStream(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Parquet output to an already open stream, e.g. an HTTP response.
+     * Parquet writes strictly sequentially (data, then footer), so no seeking
+     * is needed. The stream is closed with the writer.
+     */
+    public static OutputFile stream(OutputStream out) {
+        return new StreamOutputFile(() -> out);
+    }
+
+    @FunctionalInterface
+    private interface StreamOpener {
+        OutputStream open() throws IOException;
+    }
+
+    private static final class StreamOutputFile implements OutputFile {
+        private final StreamOpener opener;
+        private OutputStream opened;
+
+        StreamOutputFile(StreamOpener opener) {
+            this.opener = opener;
+        }
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) throws IOException {
+            return createOrOverwrite(blockSizeHint);
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
+            OutputStream out = opener.open();
+            opened = out;
+            return new PositionOutputStream() {
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+
+        void closeQuietly() {
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (IOException ignored) {
+                    // Already failing; the original error is what matters
+                }
+            }
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
@@ -32,6 +32,9 @@ public class LineageService {
     private final DatasetService datasetService;
     private final MongoTemplate mongoTemplate;
     private final DatasetNameNormalizer nameNormalizer;
+    private final StatsRollupService statsRollupService;
+    private final DistinctActivityService distinctActivityService;
+    private final FacetBlobService facetBlobs;
 
     public LineageService(LineageEventRepository eventRepository,
             GovernanceService governanceService,
@@ -39,7 +42,10 @@ public class LineageService {
             RunService runService,
             DatasetService datasetService,
             MongoTemplate mongoTemplate,
-            DatasetNameNormalizer nameNormalizer) {
+            DatasetNameNormalizer nameNormalizer,
+            StatsRollupService statsRollupService,
+            DistinctActivityService distinctActivityService,
+            FacetBlobService facetBlobs) {
         this.eventRepository = eventRepository;
         this.governanceService = governanceService;
         this.jobService = jobService;
@@ -47,6 +53,9 @@ public class LineageService {
         this.datasetService = datasetService;
         this.mongoTemplate = mongoTemplate;
         this.nameNormalizer = nameNormalizer;
+        this.statsRollupService = statsRollupService;
+        this.distinctActivityService = distinctActivityService;
+        this.facetBlobs = facetBlobs;
     }
 
     @Transactional
@@ -120,7 +129,8 @@ public class LineageService {
 
             jobService.upsertJob(event.job(), event.eventTime(), jobInputs, jobOutputs, parentJobName, parentJobUuid,
                     runId, isNewRun);
-            runService.upsertRun(event, isNewRun);
+            // Runs and the raw event hold large facets as blob references
+            runService.upsertRun(facetBlobs.dedupe(event), isNewRun);
 
             // Upsert materialized lineage edges for fast graph queries
             upsertLineageEdges(event, isNewRun);
@@ -138,9 +148,14 @@ public class LineageService {
 
         // Save Event — sanitize the raw event to replace dotted map keys
         // (e.g. "spark.master") that DocumentDB/MongoDB forbid in field names.
-        RunEvent sanitizedEvent = sanitizeEventForStorage(event);
+        RunEvent sanitizedEvent = facetBlobs.dedupe(sanitizeEventForStorage(event));
         LineageEventDocument doc = new LineageEventDocument(sanitizedEvent);
-        eventRepository.save(doc);
+        eventRepository.saveToPartition(doc);
+        statsRollupService.recordEvent(event.eventType(), event.eventTime());
+        Set<MarquezId> datasets = new HashSet<>(jobInputs.keySet());
+        datasets.addAll(jobOutputs.keySet());
+        distinctActivityService.record(event.eventTime(),
+                jobNamespace != null ? new MarquezId(jobNamespace, event.job().name()) : null, datasets, producer);
         log.info("Ingested event for run: {}", event.run().runId());
     }
 
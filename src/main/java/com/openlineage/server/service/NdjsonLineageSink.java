@@ -0,0 +1,64 @@
+package com.openlineage.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.openlineage.server.api.models.LineageExportModels.ColumnLineageRow;
+import com.openlineage.server.api.models.LineageExportModels.JobLineageRow;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * One JSON object per line: {@code {"type": "jobLineage" | "columnLineage",
+ * "namespaceName": ..., "row": {...}}}, then a {@code "namespaceEnd"} line
+ * with the row counts of the namespace.
+ */
+public class NdjsonLineageSink implements LineageExportService.Sink {
+    private final JsonGenerator gen;
+    private String namespace;
+
+    public NdjsonLineageSink(JsonGenerator gen) {
+        this.gen = gen;
+        // Lines are separated explicitly; no space between root values
+        gen.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void beginNamespace(UUID namespaceUuid, String namespace) {
+        this.namespace = namespace;
+    }
+
+    @Override
+    public void jobRow(JobLineageRow row) throws IOException {
+        line("jobLineage", row);
+    }
+
+    @Override
+    public void beginColumnLineage() {
+    }
+
+    @Override
+    public void columnRow(ColumnLineageRow row) throws IOException {
+        line("columnLineage", row);
+    }
+
+    @Override
+    public void endNamespace(long jobLineageCount, long columnLineageCount) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "namespaceEnd");
+        gen.writeStringField("namespaceName", namespace);
+        gen.writeNumberField("jobLineageCount", jobLineageCount);
+        gen.writeNumberField("columnLineageCount", columnLineageCount);
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+        gen.flush();
+    }
+
+    private void line(String type, Object row) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", type);
+        gen.writeStringField("namespaceName", namespace);
+        gen.writeObjectField("row", row);
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+}
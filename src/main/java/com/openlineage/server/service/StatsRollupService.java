@@ -0,0 +1,298 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.JobDocument;
+import com.openlineage.server.storage.document.NamespaceRegistryDocument;
+import com.openlineage.server.storage.document.StatsRollupDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maintains the {@code stats_hourly} rollups behind {@code /api/v2/stats}.
+ *
+ * Every ingested event, and every job, dataset and namespace created, bumps
+ * a counter in the document of its UTC hour with a single {@code $inc}
+ * upsert. Counter writes never fail ingestion; a lost increment only skews
+ * the dashboard.
+ *
+ * A scheduled compaction rolls hours up into {@code stats_daily} and days
+ * into {@code stats_monthly}, recomputing only the days whose hourly
+ * counters changed since the previous run (late events included), so long
+ * periods read a few dozen documents from the coarsest tier.
+ *
+ * On startup an empty {@code stats_hourly} is backfilled from the raw
+ * collections for the last {@code openlineage.stats.backfill-days} days.
+ */
+@Service
+public class StatsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsRollupService.class);
+
+    public static final String NEW_JOBS = "newJobs";
+    public static final String NEW_DATASETS = "newDatasets";
+    public static final String NEW_SOURCES = "newSources";
+
+    /** Margin for clock skew between instances when picking up changed hourly buckets. */
+    private static final Duration COMPACTION_OVERLAP = Duration.ofMinutes(1);
+
+    /** Rollup resolutions; bucket ids are the start of the UTC hour, day or month. */
+    public enum Tier {
+        HOURLY("stats_hourly", ChronoUnit.HOURS),
+        DAILY("stats_daily", ChronoUnit.DAYS),
+        MONTHLY("stats_monthly", ChronoUnit.MONTHS);
+
+        private final String collection;
+        private final ChronoUnit unit;
+
+        Tier(String collection, ChronoUnit unit) {
+            this.collection = collection;
+            this.unit = unit;
+        }
+
+        public String collection() {
+            return collection;
+        }
+
+        /** Start of the bucket containing {@code time}. */
+        public Instant floor(Instant time) {
+            ZonedDateTime utc = time.atZone(ZoneOffset.UTC);
+            return (unit == ChronoUnit.MONTHS
+                    ? utc.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)
+                    : utc.truncatedTo(unit)).toInstant();
+        }
+
+        /** Start of the bucket after the one starting at {@code bucket}. */
+        public Instant next(Instant bucket) {
+            return bucket.atZone(ZoneOffset.UTC).plus(1, unit).toInstant();
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final EventPartitionService eventPartitions;
+    private final int backfillDays;
+
+    /** Start of the previous compaction run, or {@code null} before the first. */
+    private Instant lastCompaction;
+
+    public StatsRollupService(MongoTemplate mongoTemplate, EventPartitionService eventPartitions,
+            @Value("${openlineage.stats.backfill-days:90}") int backfillDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPartitions = eventPartitions;
+        this.backfillDays = backfillDays;
+    }
+
+    public void recordEvent(String eventType, ZonedDateTime eventTime) {
+        increment(eventTime, "events." + eventTypeKey(eventType));
+    }
+
+    public void recordNewJob(ZonedDateTime createdAt) {
+        increment(createdAt, NEW_JOBS);
+    }
+
+    public void recordNewDataset(ZonedDateTime createdAt) {
+        increment(createdAt, NEW_DATASETS);
+    }
+
+    public void recordNewSource(ZonedDateTime createdAt) {
+        increment(createdAt, NEW_SOURCES);
+    }
+
+    /** Rollups of {@code tier} with {@code from <= bucket < to}, oldest first. */
+    public List<StatsRollupDocument> rollups(Tier tier, Instant from, Instant to) {
+        Query query = Query.query(Criteria.where("_id").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.find(query, StatsRollupDocument.class, tier.collection());
+    }
+
+    /** Adds the counters of {@code part} to {@code total}. */
+    public static void addTo(StatsRollupDocument total, StatsRollupDocument part) {
+        if (part.getEvents() != null) {
+            part.getEvents().forEach((type, count) -> total.getEvents().merge(type, count, Long::sum));
+        }
+        total.setNewJobs(total.getNewJobs() + part.getNewJobs());
+        total.setNewDatasets(total.getNewDatasets() + part.getNewDatasets());
+        total.setNewSources(total.getNewSources() + part.getNewSources());
+    }
+
+    private void increment(ZonedDateTime time, String field) {
+        Instant bucket = hourOf(time != null ? time : ZonedDateTime.now());
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(bucket)),
+                    new Update().inc(field, 1L).currentDate("updatedAt"), StatsRollupDocument.class);
+        } catch (RuntimeException e) {
+            log.warn("Failed to update stats rollup {} for {}", field, bucket, e);
+        }
+    }
+
+    static Instant hourOf(ZonedDateTime time) {
+        return time.toInstant().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    static String eventTypeKey(String eventType) {
+        return eventType != null ? eventType.toUpperCase(Locale.ROOT) : "OTHER";
+    }
+
+    // ── Compaction ──────────────────────────────────────────────
+
+    @Scheduled(fixedDelayString = "${openlineage.stats.compaction-interval-ms:300000}",
+            initialDelayString = "${openlineage.stats.compaction-initial-delay-ms:60000}")
+    public void scheduledCompact() {
+        try {
+            compact();
+        } catch (Exception e) {
+            log.error("Stats rollup compaction failed", e);
+        }
+    }
+
+    /**
+     * Rebuilds the daily rollup of every UTC day with an hourly bucket
+     * changed since the previous run, then the monthly rollup of those days'
+     * months. The first run after startup rebuilds everything. Rollups are
+     * replaced wholesale, so concurrent runs on several instances are safe.
+     *
+     * @return number of days compacted
+     */
+    public synchronized int compact() {
+        Instant started = Instant.now();
+        Query changed = lastCompaction == null
+                ? new Query()
+                : Query.query(Criteria.where("updatedAt").gt(lastCompaction));
+        changed.fields().include("_id");
+
+        SortedSet<Instant> days = new TreeSet<>();
+        for (StatsRollupDocument hour : mongoTemplate.find(changed, StatsRollupDocument.class,
+                Tier.HOURLY.collection())) {
+            days.add(Tier.DAILY.floor(hour.getBucket()));
+        }
+        SortedSet<Instant> months = new TreeSet<>();
+        for (Instant day : days) {
+            rollUp(Tier.HOURLY, Tier.DAILY, day);
+            months.add(Tier.MONTHLY.floor(day));
+        }
+        for (Instant month : months) {
+            rollUp(Tier.DAILY, Tier.MONTHLY, month);
+        }
+
+        lastCompaction = started.minus(COMPACTION_OVERLAP);
+        if (!days.isEmpty()) {
+            log.debug("Compacted stats rollups of {} days / {} months in {} ms", days.size(), months.size(),
+                    System.currentTimeMillis() - started.toEpochMilli());
+        }
+        return days.size();
+    }
+
+    private void rollUp(Tier from, Tier to, Instant bucket) {
+        StatsRollupDocument total = new StatsRollupDocument(bucket);
+        for (StatsRollupDocument part : rollups(from, bucket, to.next(bucket))) {
+            addTo(total, part);
+        }
+        total.setUpdatedAt(Instant.now());
+        mongoTemplate.save(total, to.collection());
+    }
+
+    // ── Backfill ────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (backfillDays <= 0) {
+            return;
+        }
+        try {
+            if (mongoTemplate.exists(new Query(), StatsRollupDocument.class)) {
+                return;
+            }
+            Instant to = Instant.now().truncatedTo(ChronoUnit.HOURS);
+            backfill(to.minus(backfillDays, ChronoUnit.DAYS), to);
+        } catch (Exception e) {
+            log.error("Stats rollup backfill failed; stats only cover events ingested from now on", e);
+        }
+    }
+
+    /**
+     * Recomputes the hourly counters in {@code [from, to)} from the raw
+     * collections. Counters are {@code $set}, so re-running is idempotent;
+     * {@code to} should be a past hour boundary so live increments of the
+     * current hour are not overwritten.
+     */
+    public void backfill(Instant from, Instant to) {
+        long started = System.currentTimeMillis();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatsRollupDocument.class);
+        int[] writes = { 0 };
+
+        Aggregation events = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("event.eventTime").gte(from).lt(to)),
+                Aggregation.project()
+                        .and(DateOperators.DateToString.dateOf("event.eventTime").toString("%Y-%m-%dT%H:00:00Z"))
+                        .as("hour")
+                        .and("event.eventType").as("type"),
+                Aggregation.group("hour", "type").count().as("count"));
+        Map<String, Map<String, Long>> eventCounts = new TreeMap<>();
+        for (String collection : eventPartitions.collections(from)) {
+            for (Document row : mongoTemplate.aggregate(events, collection, Document.class).getMappedResults()) {
+                Document id = (Document) row.get("_id");
+                eventCounts.computeIfAbsent(id.getString("hour"), hour -> new TreeMap<>())
+                        .merge(eventTypeKey(id.getString("type")), ((Number) row.get("count")).longValue(), Long::sum);
+            }
+        }
+        eventCounts.forEach((hour, counts) -> counts.forEach((type, count) -> {
+            set(bulk, hour, "events." + type, count);
+            writes[0]++;
+        }));
+
+        backfillCreated(bulk, JobDocument.class, NEW_JOBS, from, to, writes);
+        backfillCreated(bulk, DatasetDocument.class, NEW_DATASETS, from, to, writes);
+        backfillCreated(bulk, NamespaceRegistryDocument.class, NEW_SOURCES, from, to, writes);
+
+        if (writes[0] > 0) {
+            bulk.execute();
+        }
+        log.info("Backfilled {} stats rollup counters for {} .. {} in {} ms",
+                writes[0], from, to, System.currentTimeMillis() - started);
+    }
+
+    private void backfillCreated(BulkOperations bulk, Class<?> type, String field, Instant from, Instant to,
+            int[] writes) {
+        Aggregation created = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("createdAt").gte(from).lt(to)),
+                Aggregation.project()
+                        .and(DateOperators.DateToString.dateOf("createdAt").toString("%Y-%m-%dT%H:00:00Z"))
+                        .as("hour"),
+                Aggregation.group("hour").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(created, type, Document.class).getMappedResults()) {
+            set(bulk, row.getString("_id"), field, row.get("count"));
+            writes[0]++;
+        }
+    }
+
+    private static void set(BulkOperations bulk, String hour, String field, Object count) {
+        long value = count instanceof Number n ? n.longValue() : 0L;
+        bulk.upsert(Query.query(Criteria.where("_id").is(Instant.parse(hour))),
+                new Update().set(field, value).currentDate("updatedAt"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progress of the archival of one kind of record ({@code runs} or
+ * {@code events}), or of one event partition ({@code events:<collection>}),
+ * and the lease of the instance running it. A run that
+ * is interrupted or fails keeps its {@code position}, and the next run
+ * resumes from there; a completed run clears it.
+ */
+@Document(collection = "archive_checkpoints")
+public class ArchiveCheckpointDocument {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+
+    /** The kind, {@code runs} or {@code events}. */
+    @Id
+    private String id;
+
+    private Status status;
+    private String owner;
+    private Instant cutoff;
+    /** Time field value of the last archived document; everything older is archived. */
+    private Instant position;
+    private long archived;
+    private String error;
+    private Instant startedAt;
+    private Instant heartbeatAt;
+    private Instant finishedAt;
+
+    public ArchiveCheckpointDocument() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public Instant getCutoff() { return cutoff; }
+    public void setCutoff(Instant cutoff) { this.cutoff = cutoff; }
+
+    public Instant getPosition() { return position; }
+    public void setPosition(Instant position) { this.position = position; }
+
+    public long getArchived() { return archived; }
+    public void setArchived(long archived) { this.archived = archived; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(Instant heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,54 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Where an archived run or event lives: the segment object holding it and
+ * the byte range of its record, so it can be read back with one ranged GET.
+ * Written by archival before the source document is removed.
+ *
+ * Records archived as one object each, before segments, have a
+ * {@code length} of {@value #WHOLE_OBJECT}: the object is the record, as
+ * plain JSON.
+ */
+@Document(collection = "archive_manifest")
+public class ArchiveManifestDocument {
+
+    public static final int WHOLE_OBJECT = -1;
+
+    /** {@code {kind}/{recordId}}, e.g. {@code runs/<runId>}. */
+    @Id
+    private String id;
+
+    private String key;
+    private long offset;
+    private int length;
+    private Instant archivedAt;
+
+    public ArchiveManifestDocument() {
+    }
+
+    public static String id(String kind, String recordId) {
+        return kind + "/" + recordId;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getOffset() { return offset; }
+    public void setOffset(long offset) { this.offset = offset; }
+
+    public int getLength() { return length; }
+    public void setLength(int length) { this.length = length; }
+
+    public boolean isWholeObject() { return length == WHOLE_OBJECT; }
+
+    public Instant getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(Instant archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -10,7 +10,11 @@ import java.util.Map;
 
 @Document(collection = "datasets")
 @org.springframework.data.mongodb.core.index.CompoundIndexes({
-        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "dataset_namespace_updated_idx", def = "{'id.namespace': 1, 'updatedAt': -1}")
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "dataset_namespace_updated_idx", def = "{'id.namespace': 1, 'updatedAt': -1}"),
+        // Sort keys for the search fallback (see SearchController)
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "dataset_search_name_idx", def = "{'searchName': 1, 'id.namespace': 1}"),
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "dataset_updated_search_name_idx", def = "{'updatedAt': -1, 'searchName': 1, 'id.namespace': 1}"),
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "dataset_importance_search_name_idx", def = "{'importance.score': -1, 'updatedAt': -1, 'searchName': 1, 'id.namespace': 1}")
 })
 public class DatasetDocument {
 
@@ -31,6 +35,17 @@ public class DatasetDocument {
     @TextIndexed
     private String searchName;
 
+    /** Graph centrality, maintained by ImportanceService (absent until first computed). */
+    private ImportanceScore importance;
+
+    /**
+     * Server time of the last ingested change. Unlike {@code updatedAt} (the
+     * event time) it only moves forward, so it can serve as a change cursor;
+     * absent on datasets not modified since it was introduced.
+     */
+    @Indexed
+    private ZonedDateTime modifiedAt;
+
     /** Latest partition key-value pairs extracted from the raw dataset name. */
     private Map<String, String> lastPartitionValues;
 
@@ -104,6 +119,14 @@ public class DatasetDocument {
         this.updatedAt = updatedAt;
     }
 
+    public ZonedDateTime getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(ZonedDateTime modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+
     public ZonedDateTime getCreatedAt() {
         return createdAt;
     }
@@ -136,6 +159,14 @@ public class DatasetDocument {
         this.searchName = searchName;
     }
 
+    public ImportanceScore getImportance() {
+        return importance;
+    }
+
+    public void setImportance(ImportanceScore importance) {
+        this.importance = importance;
+    }
+
     public Map<String, String> getLastPartitionValues() {
         return lastPartitionValues;
     }
@@ -0,0 +1,56 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Serialized HyperLogLog sketches of the distinct jobs, datasets and
+ * producers seen in one UTC hour, keyed by the start of the hour. The same
+ * shape is stored per UTC day in {@code distinct_daily} and per UTC month in
+ * {@code distinct_monthly}; see {@code DistinctActivityService}.
+ */
+@Document(collection = "distinct_hourly")
+public class DistinctActivityDocument {
+
+    @Id
+    private Instant bucket;
+
+    private byte[] jobs;
+    private byte[] datasets;
+    private byte[] producers;
+
+    /** Incremented on every write; merges are read-merge-write guarded by it. */
+    private long version;
+
+    /** Hourly sketches expire after 35 days; only this collection gets the TTL index. */
+    @Indexed(expireAfter = "35d")
+    private Instant updatedAt;
+
+    public DistinctActivityDocument() {
+    }
+
+    public DistinctActivityDocument(Instant bucket) {
+        this.bucket = bucket;
+    }
+
+    public Instant getBucket() { return bucket; }
+    public void setBucket(Instant bucket) { this.bucket = bucket; }
+
+    public byte[] getJobs() { return jobs; }
+    public void setJobs(byte[] jobs) { this.jobs = jobs; }
+
+    public byte[] getDatasets() { return datasets; }
+    public void setDatasets(byte[] datasets) { this.datasets = datasets; }
+
+    public byte[] getProducers() { return producers; }
+    public void setProducers(byte[] producers) { this.producers = producers; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,129 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A background lineage export (see {@code ExportJobService}) and, once
+ * finished, where its result files are. Records expire a week after
+ * creation; result files are cleaned up separately.
+ */
+@Document(collection = "export_jobs")
+@CompoundIndex(name = "export_job_reuse_idx", def = "{'requestKey': 1, 'createdAt': -1}")
+public class ExportJobDocument {
+
+    /** One result file. */
+    public static class ExportFile {
+        private String name;
+        private String contentType;
+        private long size;
+        /** Local path, or S3 object key when {@code target} is {@code s3}. */
+        private String location;
+
+        public ExportFile() {
+        }
+
+        public ExportFile(String name, String contentType, long size, String location) {
+            this.name = name;
+            this.contentType = contentType;
+            this.size = size;
+            this.location = location;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getContentType() { return contentType; }
+        public void setContentType(String contentType) { this.contentType = contentType; }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+    }
+
+    @Id
+    private String id;
+
+    /** Identifies identical requests, so a running or recent export can be reused. */
+    private String requestKey;
+
+    private int days;
+    private List<String> namespaces;
+    private String format;
+    private String target;
+
+    private ExportJobStatus status;
+    private String error;
+    private long jobLineageCount;
+    private long columnLineageCount;
+    private List<ExportFile> files = new ArrayList<>();
+
+    /** Instance running the export. */
+    private String instance;
+
+    @Indexed(expireAfter = "7d")
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    /** Refreshed while queued or running; a stale heartbeat means the instance died. */
+    private Instant heartbeatAt;
+
+    public ExportJobDocument() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getRequestKey() { return requestKey; }
+    public void setRequestKey(String requestKey) { this.requestKey = requestKey; }
+
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+
+    public List<String> getNamespaces() { return namespaces; }
+    public void setNamespaces(List<String> namespaces) { this.namespaces = namespaces; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public String getTarget() { return target; }
+    public void setTarget(String target) { this.target = target; }
+
+    public ExportJobStatus getStatus() { return status; }
+    public void setStatus(ExportJobStatus status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public long getJobLineageCount() { return jobLineageCount; }
+    public void setJobLineageCount(long jobLineageCount) { this.jobLineageCount = jobLineageCount; }
+
+    public long getColumnLineageCount() { return columnLineageCount; }
+    public void setColumnLineageCount(long columnLineageCount) { this.columnLineageCount = columnLineageCount; }
+
+    public List<ExportFile> getFiles() { return files; }
+    public void setFiles(List<ExportFile> files) { this.files = files; }
+
+    public String getInstance() { return instance; }
+    public void setInstance(String instance) { this.instance = instance; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(Instant heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+}
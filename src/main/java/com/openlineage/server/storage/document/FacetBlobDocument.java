@@ -0,0 +1,59 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A large facet stored once and referenced by {@link FacetBlobRef} from the
+ * documents holding it, keyed by the SHA-256 of its stored BSON; see
+ * {@code FacetBlobService}.
+ *
+ * Blobs expire {@link #TTL} after they were last written or touched, which
+ * must outlive the runs, events and input/output facets that reference them
+ * ({@code FacetBlobService} checks the retention settings at startup).
+ * Blobs referenced from datasets, which have no TTL, are touched daily.
+ */
+@Document(collection = "facet_blobs")
+public class FacetBlobDocument {
+
+    /** Time to live after {@code lastSeenAt}. */
+    public static final String TTL = "200d";
+
+    @Id
+    private String hash;
+
+    /** Name of the facet; the same content under another name shares the blob. */
+    private String facet;
+    /** The facet as it would be stored inline: sanitized keys, typed facets in codec form. */
+    private Object content;
+    /** Bytes of BSON. */
+    private int size;
+
+    private Instant createdAt;
+    @Indexed(expireAfter = TTL)
+    private Instant lastSeenAt;
+
+    public FacetBlobDocument() {
+    }
+
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public String getFacet() { return facet; }
+    public void setFacet(String facet) { this.facet = facet; }
+
+    public Object getContent() { return content; }
+    public void setContent(Object content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(Instant lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+}
@@ -0,0 +1,17 @@
+package com.openlineage.server.storage.document;
+
+import com.openlineage.server.domain.Facet;
+
+/**
+ * Stands in for a facet stored in {@code facet_blobs}; written as
+ * {@code {"_blob": hash}} (see {@code MongoConfig}) and resolved back to
+ * the facet when read.
+ */
+public record FacetBlobRef(String hash) implements Facet {
+
+    public static final String FIELD = "_blob";
+
+    public org.bson.Document toDocument() {
+        return new org.bson.Document(FIELD, hash);
+    }
+}
@@ -0,0 +1,478 @@
+package com.openlineage.server.storage.document;
+
+import com.mongodb.MongoClientSettings;
+import com.openlineage.server.domain.ColumnLineageDatasetFacet;
+import com.openlineage.server.domain.DataSourceDatasetFacet;
+import com.openlineage.server.domain.DocumentationFacet;
+import com.openlineage.server.domain.Facet;
+import com.openlineage.server.domain.LifecycleStateChangeDatasetFacet;
+import com.openlineage.server.domain.OwnershipDatasetFacet;
+import com.openlineage.server.domain.SchemaDatasetFacet;
+import com.openlineage.server.domain.SourceCodeLocationJobFacet;
+import com.openlineage.server.domain.SqlJobFacet;
+import com.openlineage.server.domain.StorageDatasetFacet;
+import com.openlineage.server.domain.SymlinksDatasetFacet;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWrapper;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written BSON codecs for the typed facets, which write and read the
+ * stored form directly instead of going record → Jackson → Map → BSON and
+ * back. Dynamic keys (the column names of {@code columnLineage}) are
+ * sanitized and unsanitized as they are written and read, the same way as
+ * {@link DocumentDbSanitizer}; the BSON is the same the sanitizer produces.
+ *
+ * {@link #REGISTRY} is part of the client's codec registry (see
+ * {@code MongoConfig}), so the driver encodes these facets wherever it meets
+ * them.
+ */
+public final class FacetCodecs {
+
+    private static final Map<Class<?>, Codec<?>> CODECS = new LinkedHashMap<>();
+
+    static {
+        StringRecordCodec<SchemaDatasetFacet.SchemaField> schemaField = register(
+                new StringRecordCodec<>(SchemaDatasetFacet.SchemaField.class));
+        StringRecordCodec<OwnershipDatasetFacet.Owner> owner = register(
+                new StringRecordCodec<>(OwnershipDatasetFacet.Owner.class));
+        StringRecordCodec<SymlinksDatasetFacet.Identifier> identifier = register(
+                new StringRecordCodec<>(SymlinksDatasetFacet.Identifier.class));
+        StringRecordCodec<ColumnLineageDatasetFacet.InputField> inputField = register(
+                new StringRecordCodec<>(ColumnLineageDatasetFacet.InputField.class));
+        ColumnFieldsCodec columnFields = register(new ColumnFieldsCodec(inputField));
+
+        register(new SchemaCodec(schemaField));
+        register(new OwnershipCodec(owner));
+        register(new SymlinksCodec(identifier));
+        register(new ColumnLineageCodec(columnFields));
+        register(new StringRecordCodec<>(DocumentationFacet.class));
+        register(new StringRecordCodec<>(DataSourceDatasetFacet.class));
+        register(new StringRecordCodec<>(StorageDatasetFacet.class));
+        register(new StringRecordCodec<>(LifecycleStateChangeDatasetFacet.class));
+        register(new StringRecordCodec<>(SqlJobFacet.class));
+        register(new StringRecordCodec<>(SourceCodeLocationJobFacet.class));
+    }
+
+    /** Codecs of the typed facets and the records nested in them. */
+    public static final CodecRegistry REGISTRY = CodecRegistries.fromProviders(new CodecProvider() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+            return (Codec<T>) CODECS.get(clazz);
+        }
+    });
+
+    private static final Codec<Document> DOCUMENTS = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private FacetCodecs() {
+    }
+
+    private static <C extends Codec<?>> C register(C codec) {
+        CODECS.put(codec.getEncoderClass(), codec);
+        return codec;
+    }
+
+    /**
+     * The stored form of a facet: typed facets as BSON their codec writes
+     * when the document is sent, anything else through
+     * {@link DocumentDbSanitizer#sanitize}.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object encode(Object facet) {
+        Codec<Object> codec = facet == null ? null : (Codec<Object>) CODECS.get(facet.getClass());
+        if (codec == null) {
+            return DocumentDbSanitizer.sanitize(facet);
+        }
+        return new BsonDocumentWrapper<>(facet, codec);
+    }
+
+    /**
+     * Decodes a stored facet of a typed class, unsanitizing its keys.
+     *
+     * @throws org.bson.BSONException if the stored value does not fit the type
+     */
+    public static <T extends Facet> T decode(Class<T> type, Map<String, Object> stored) {
+        Codec<T> codec = REGISTRY.get(type);
+        Document document = stored instanceof Document doc ? doc : new Document(stored);
+        BsonDocument bson = new BsonDocumentWrapper<>(document, DOCUMENTS);
+        try (BsonReader reader = new BsonDocumentReader(bson)) {
+            return codec.decode(reader, DecoderContext.builder().build());
+        }
+    }
+
+    // --- field helpers -----------------------------------------------------------
+
+    /** Reads a string field; scalars are converted like Jackson would, documents and arrays are refused. */
+    static String readString(BsonReader reader) {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case STRING:
+                return reader.readString();
+            case NULL:
+                reader.readNull();
+                return null;
+            case INT32:
+                return String.valueOf(reader.readInt32());
+            case INT64:
+                return String.valueOf(reader.readInt64());
+            case DOUBLE:
+                return String.valueOf(reader.readDouble());
+            case BOOLEAN:
+                return String.valueOf(reader.readBoolean());
+            default:
+                throw new BsonInvalidOperationException("Expected a string but found " + type);
+        }
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeString(name, value);
+        }
+    }
+
+    static <E> List<E> readList(BsonReader reader, Codec<E> element, DecoderContext context) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        List<E> list = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            list.add(readNullable(reader, element, context));
+        }
+        reader.readEndArray();
+        return list;
+    }
+
+    static <E> void writeList(BsonWriter writer, String name, List<E> list, Codec<E> element,
+            EncoderContext context) {
+        if (list == null) {
+            writer.writeNull(name);
+            return;
+        }
+        writer.writeStartArray(name);
+        for (E item : list) {
+            writeNullable(writer, item, element, context);
+        }
+        writer.writeEndArray();
+    }
+
+    static <E> E readNullable(BsonReader reader, Codec<E> codec, DecoderContext context) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return codec.decode(reader, context);
+    }
+
+    static <E> void writeNullable(BsonWriter writer, E value, Codec<E> codec, EncoderContext context) {
+        if (value == null) {
+            writer.writeNull();
+        } else {
+            codec.encode(writer, value, context);
+        }
+    }
+
+    // --- codecs ------------------------------------------------------------------
+
+    /** A record whose components are all strings, written under the component names. */
+    static final class StringRecordCodec<T extends Record> implements Codec<T> {
+        private final Class<T> type;
+        private final String[] names;
+        private final Method[] accessors;
+        private final Constructor<T> constructor;
+
+        StringRecordCodec(Class<T> type) {
+            this.type = type;
+            RecordComponent[] components = type.getRecordComponents();
+            this.names = new String[components.length];
+            this.accessors = new Method[components.length];
+            Class<?>[] types = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                if (components[i].getType() != String.class) {
+                    throw new IllegalArgumentException(type + " has a component that is not a String");
+                }
+                names[i] = components[i].getName();
+                accessors[i] = components[i].getAccessor();
+                types[i] = String.class;
+            }
+            try {
+                this.constructor = type.getDeclaredConstructor(types);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(type + " has no canonical constructor", e);
+            }
+        }
+
+        @Override
+        public Class<T> getEncoderClass() {
+            return type;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, T value, EncoderContext context) {
+            writer.writeStartDocument();
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    writeString(writer, names[i], (String) accessors[i].invoke(value));
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + type.getSimpleName(), e);
+            }
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public T decode(BsonReader reader, DecoderContext context) {
+            Object[] values = new Object[names.length];
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                int index = indexOf(reader.readName());
+                if (index < 0) {
+                    reader.skipValue();
+                } else {
+                    values[index] = readString(reader);
+                }
+            }
+            reader.readEndDocument();
+            try {
+                return constructor.newInstance(values);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+            }
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    static final class SchemaCodec implements Codec<SchemaDatasetFacet> {
+        private final Codec<SchemaDatasetFacet.SchemaField> field;
+
+        SchemaCodec(Codec<SchemaDatasetFacet.SchemaField> field) {
+            this.field = field;
+        }
+
+        @Override
+        public Class<SchemaDatasetFacet> getEncoderClass() {
+            return SchemaDatasetFacet.class;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, SchemaDatasetFacet value, EncoderContext context) {
+            writer.writeStartDocument();
+            writeList(writer, "fields", value.fields(), field, context);
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public SchemaDatasetFacet decode(BsonReader reader, DecoderContext context) {
+            List<SchemaDatasetFacet.SchemaField> fields = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if ("fields".equals(reader.readName())) {
+                    fields = readList(reader, field, context);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            return new SchemaDatasetFacet(fields);
+        }
+    }
+
+    static final class OwnershipCodec implements Codec<OwnershipDatasetFacet> {
+        private final Codec<OwnershipDatasetFacet.Owner> owner;
+
+        OwnershipCodec(Codec<OwnershipDatasetFacet.Owner> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Class<OwnershipDatasetFacet> getEncoderClass() {
+            return OwnershipDatasetFacet.class;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, OwnershipDatasetFacet value, EncoderContext context) {
+            writer.writeStartDocument();
+            writeList(writer, "owners", value.owners(), owner, context);
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public OwnershipDatasetFacet decode(BsonReader reader, DecoderContext context) {
+            List<OwnershipDatasetFacet.Owner> owners = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if ("owners".equals(reader.readName())) {
+                    owners = readList(reader, owner, context);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            return new OwnershipDatasetFacet(owners);
+        }
+    }
+
+    static final class SymlinksCodec implements Codec<SymlinksDatasetFacet> {
+        private final Codec<SymlinksDatasetFacet.Identifier> identifier;
+
+        SymlinksCodec(Codec<SymlinksDatasetFacet.Identifier> identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public Class<SymlinksDatasetFacet> getEncoderClass() {
+            return SymlinksDatasetFacet.class;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, SymlinksDatasetFacet value, EncoderContext context) {
+            writer.writeStartDocument();
+            writeString(writer, "_producer", value._producer());
+            writeString(writer, "_schemaURL", value._schemaURL());
+            writeList(writer, "identifiers", value.identifiers(), identifier, context);
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public SymlinksDatasetFacet decode(BsonReader reader, DecoderContext context) {
+            String producer = null;
+            String schemaUrl = null;
+            List<SymlinksDatasetFacet.Identifier> identifiers = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case "_producer" -> producer = readString(reader);
+                    case "_schemaURL" -> schemaUrl = readString(reader);
+                    case "identifiers" -> identifiers = readList(reader, identifier, context);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            return new SymlinksDatasetFacet(producer, schemaUrl, identifiers);
+        }
+    }
+
+    static final class ColumnFieldsCodec implements Codec<ColumnLineageDatasetFacet.Fields> {
+        private final Codec<ColumnLineageDatasetFacet.InputField> inputField;
+
+        ColumnFieldsCodec(Codec<ColumnLineageDatasetFacet.InputField> inputField) {
+            this.inputField = inputField;
+        }
+
+        @Override
+        public Class<ColumnLineageDatasetFacet.Fields> getEncoderClass() {
+            return ColumnLineageDatasetFacet.Fields.class;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, ColumnLineageDatasetFacet.Fields value, EncoderContext context) {
+            writer.writeStartDocument();
+            writeList(writer, "inputFields", value.inputFields(), inputField, context);
+            writeString(writer, "transformationDescription", value.transformationDescription());
+            writeString(writer, "transformationType", value.transformationType());
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public ColumnLineageDatasetFacet.Fields decode(BsonReader reader, DecoderContext context) {
+            List<ColumnLineageDatasetFacet.InputField> inputFields = null;
+            String description = null;
+            String transformationType = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case "inputFields" -> inputFields = readList(reader, inputField, context);
+                    case "transformationDescription" -> description = readString(reader);
+                    case "transformationType" -> transformationType = readString(reader);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            return new ColumnLineageDatasetFacet.Fields(inputFields, description, transformationType);
+        }
+    }
+
+    /** Column names are keys, so they are sanitized here rather than by {@link DocumentDbSanitizer}. */
+    static final class ColumnLineageCodec implements Codec<ColumnLineageDatasetFacet> {
+        private final Codec<ColumnLineageDatasetFacet.Fields> columnFields;
+
+        ColumnLineageCodec(Codec<ColumnLineageDatasetFacet.Fields> columnFields) {
+            this.columnFields = columnFields;
+        }
+
+        @Override
+        public Class<ColumnLineageDatasetFacet> getEncoderClass() {
+            return ColumnLineageDatasetFacet.class;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, ColumnLineageDatasetFacet value, EncoderContext context) {
+            writer.writeStartDocument();
+            if (value.fields() == null) {
+                writer.writeNull("fields");
+            } else {
+                writer.writeStartDocument("fields");
+                for (Map.Entry<String, ColumnLineageDatasetFacet.Fields> column : value.fields().entrySet()) {
+                    writer.writeName(DocumentDbSanitizer.sanitizeKey(column.getKey()));
+                    writeNullable(writer, column.getValue(), columnFields, context);
+                }
+                writer.writeEndDocument();
+            }
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public ColumnLineageDatasetFacet decode(BsonReader reader, DecoderContext context) {
+            Map<String, ColumnLineageDatasetFacet.Fields> fields = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (!"fields".equals(reader.readName())) {
+                    reader.skipValue();
+                } else if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                } else {
+                    fields = new LinkedHashMap<>();
+                    reader.readStartDocument();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                        String column = DocumentDbSanitizer.unsanitizeKey(reader.readName());
+                        fields.put(column, readNullable(reader, columnFields, context));
+                    }
+                    reader.readEndDocument();
+                }
+            }
+            reader.readEndDocument();
+            return new ColumnLineageDatasetFacet(fields);
+        }
+    }
+}
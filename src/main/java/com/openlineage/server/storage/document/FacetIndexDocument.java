@@ -0,0 +1,62 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Secondary index over selected dataset facet values.
+ *
+ * One document per (dataset, facet path, value), e.g.
+ * {@code ownership.owners.name = "team-data"}. Populated at ingestion for the
+ * paths listed in {@code openlineage.facet-index.paths}, so datasets can be
+ * filtered by facet content without scanning the split facet collections.
+ */
+@Document(collection = "facet_index")
+@CompoundIndexes({
+        @CompoundIndex(name = "path_value_dataset_idx", def = "{'path': 1, 'value': 1, 'namespace': 1, 'name': 1}", unique = true),
+        @CompoundIndex(name = "dataset_path_idx", def = "{'namespace': 1, 'name': 1, 'path': 1}")
+})
+public class FacetIndexDocument {
+
+    @Id
+    private String id;
+
+    private String path;
+    private String value;
+    private String namespace;
+    private String name;
+    private ZonedDateTime updatedAt;
+
+    public FacetIndexDocument() {
+    }
+
+    public FacetIndexDocument(String path, String value, String namespace, String name, ZonedDateTime updatedAt) {
+        this.path = path;
+        this.value = value;
+        this.namespace = namespace;
+        this.name = name;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public String getNamespace() { return namespace; }
+    public void setNamespace(String namespace) { this.namespace = namespace; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public ZonedDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(ZonedDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
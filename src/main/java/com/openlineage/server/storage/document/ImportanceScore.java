@@ -0,0 +1,13 @@
+package com.openlineage.server.storage.document;
+
+/**
+ * Graph centrality of a job or dataset, embedded as {@code importance} in the
+ * {@code jobs} and {@code datasets} collections and refreshed periodically by
+ * {@code ImportanceService}.
+ *
+ * {@code score} is PageRank over the reversed lineage graph scaled so the
+ * average node scores 1.0; it backs {@code sort=RELEVANCE} in search.
+ * {@code downstreamReach} is approximate.
+ */
+public record ImportanceScore(double score, int inDegree, int outDegree, long downstreamReach) {
+}
@@ -11,7 +11,13 @@ import java.util.Map;
 
 @Document(collection = "jobs")
 @org.springframework.data.mongodb.core.index.CompoundIndexes({
-        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "job_namespace_updated_idx", def = "{'id.namespace': 1, 'updatedAt': -1}")
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "job_namespace_updated_idx", def = "{'id.namespace': 1, 'updatedAt': -1}"),
+        // Sort keys for the search fallback (see SearchController)
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "job_search_name_idx", def = "{'searchName': 1, 'id.namespace': 1}"),
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "job_updated_search_name_idx", def = "{'updatedAt': -1, 'searchName': 1, 'id.namespace': 1}"),
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "job_importance_search_name_idx", def = "{'importance.score': -1, 'updatedAt': -1, 'searchName': 1, 'id.namespace': 1}"),
+        // Delta export (see LineageExportService#streamChanges)
+        @org.springframework.data.mongodb.core.index.CompoundIndex(name = "job_namespace_modified_idx", def = "{'id.namespace': 1, 'modifiedAt': 1}")
 })
 public class JobDocument {
 
@@ -39,6 +45,17 @@ public class JobDocument {
     @TextIndexed
     private String searchName;
 
+    /** Graph centrality, maintained by ImportanceService (absent until first computed). */
+    private ImportanceScore importance;
+
+    /**
+     * Server time of the last ingested change. Unlike {@code updatedAt} (the
+     * event time) it only moves forward, so it can serve as a change cursor;
+     * absent on jobs not modified since it was introduced.
+     */
+    @Indexed
+    private ZonedDateTime modifiedAt;
+
     public JobDocument() {
     }
 
@@ -157,6 +174,22 @@ public class JobDocument {
         this.searchName = searchName;
     }
 
+    public ZonedDateTime getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(ZonedDateTime modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+
+    public ImportanceScore getImportance() {
+        return importance;
+    }
+
+    public void setImportance(ImportanceScore importance) {
+        this.importance = importance;
+    }
+
     public String getLatestRunId() {
         return latestRunId;
     }
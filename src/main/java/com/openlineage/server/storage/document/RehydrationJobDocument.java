@@ -0,0 +1,98 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A bulk copy of archived runs and events back into DocumentDB (see
+ * {@code RehydrationService}), with its progress. Records expire 30 days
+ * after creation; the rehydrated documents expire with their collection's
+ * TTL.
+ */
+@Document(collection = "rehydration_jobs")
+public class RehydrationJobDocument {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    @Id
+    private String id;
+
+    /** Event time range, {@code from} inclusive. */
+    private Instant from;
+    private Instant to;
+    /** Empty for every job. */
+    private List<MarquezId> jobs;
+    /** {@code runs} and/or {@code events}. */
+    private List<String> kinds;
+
+    private Status status;
+    private String error;
+    /** Archive summaries read, and segments streamed because they held matches. */
+    private long summaries;
+    private long segments;
+    private long inserted;
+    /** Matches already in DocumentDB. */
+    private long skipped;
+
+    /** Instance running the job. */
+    private String instance;
+
+    @Indexed(expireAfter = "30d")
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public RehydrationJobDocument() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Instant getFrom() { return from; }
+    public void setFrom(Instant from) { this.from = from; }
+
+    public Instant getTo() { return to; }
+    public void setTo(Instant to) { this.to = to; }
+
+    public List<MarquezId> getJobs() { return jobs; }
+    public void setJobs(List<MarquezId> jobs) { this.jobs = jobs; }
+
+    public List<String> getKinds() { return kinds; }
+    public void setKinds(List<String> kinds) { this.kinds = kinds; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public long getSummaries() { return summaries; }
+    public void setSummaries(long summaries) { this.summaries = summaries; }
+
+    public long getSegments() { return segments; }
+    public void setSegments(long segments) { this.segments = segments; }
+
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+
+    public String getInstance() { return instance; }
+    public void setInstance(String instance) { this.instance = instance; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+}
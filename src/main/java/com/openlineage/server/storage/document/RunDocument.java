@@ -37,6 +37,7 @@ public class RunDocument {
 
     @Indexed(expireAfter = "180d")
     private ZonedDateTime createdAt;
+    @Indexed
     private ZonedDateTime updatedAt;
 
     public RunDocument() {
@@ -0,0 +1,62 @@
+package com.openlineage.server.storage.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-aggregated counters for one UTC hour, keyed by the start of the hour.
+ *
+ * Maintained with {@code $inc} upserts at ingestion (see
+ * {@code StatsRollupService}), so the stats endpoints read one small document
+ * per bucket instead of aggregating {@code lineage_events}, {@code jobs} and
+ * {@code datasets}. The same shape is stored per UTC day in
+ * {@code stats_daily} and per UTC month in {@code stats_monthly}, compacted
+ * from the finer tier.
+ */
+@Document(collection = "stats_hourly")
+public class StatsRollupDocument {
+
+    @Id
+    private Instant bucket;
+
+    /** Event type (upper-case, e.g. START, COMPLETE) → events with an eventTime in this bucket. */
+    private Map<String, Long> events = new HashMap<>();
+
+    private long newJobs;
+    private long newDatasets;
+    private long newSources;
+
+    /** Last write; compaction picks up hourly buckets changed since its previous run. */
+    @Indexed
+    private Instant updatedAt;
+
+    public StatsRollupDocument() {
+    }
+
+    public StatsRollupDocument(Instant bucket) {
+        this.bucket = bucket;
+    }
+
+    public Instant getBucket() { return bucket; }
+    public void setBucket(Instant bucket) { this.bucket = bucket; }
+
+    public Map<String, Long> getEvents() { return events; }
+    public void setEvents(Map<String, Long> events) { this.events = events; }
+
+    public long getNewJobs() { return newJobs; }
+    public void setNewJobs(long newJobs) { this.newJobs = newJobs; }
+
+    public long getNewDatasets() { return newDatasets; }
+    public void setNewDatasets(long newDatasets) { this.newDatasets = newDatasets; }
+
+    public long getNewSources() { return newSources; }
+    public void setNewSources(long newSources) { this.newSources = newSources; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
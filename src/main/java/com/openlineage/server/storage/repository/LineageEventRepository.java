@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 import java.util.Optional;
 
-public interface LineageEventRepository extends MongoRepository<LineageEventDocument, String> {
+public interface LineageEventRepository extends MongoRepository<LineageEventDocument, String>, PartitionedEventRepository {
     @org.springframework.data.mongodb.repository.Query("{ 'event.run.runId': ?0 }")
     List<LineageEventDocument> findByRunId(String runId);
 
@@ -13,8 +13,4 @@ public interface LineageEventRepository extends MongoRepository<LineageEventDocu
     List<LineageEventDocument> findByEventRunRunId(String runId);
     
     List<LineageEventDocument> findByEventJobNamespaceAndEventJobName(String namespace, String name);
-
-    org.springframework.data.domain.Page<LineageEventDocument> findByEventOutputsNamespaceAndEventOutputsName(String namespace, String name, org.springframework.data.domain.Pageable pageable);
-    
-    org.springframework.data.domain.Page<LineageEventDocument> findByEventTimeBetween(java.time.ZonedDateTime start, java.time.ZonedDateTime end, org.springframework.data.domain.Pageable pageable);
 }
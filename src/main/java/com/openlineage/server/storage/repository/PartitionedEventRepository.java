@@ -0,0 +1,27 @@
+package com.openlineage.server.storage.repository;
+
+import com.openlineage.server.storage.document.LineageEventDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The operations of {@link LineageEventRepository} that follow the monthly
+ * event partitions (see {@code EventPartitionService}).
+ */
+public interface PartitionedEventRepository {
+
+    /**
+     * Writes to the partition of the event's {@code createdAt}. Named apart
+     * from {@code CrudRepository.save}, which always writes to
+     * {@code lineage_events}.
+     */
+    LineageEventDocument saveToPartition(LineageEventDocument event);
+
+    /** {@code eventTime} strictly between {@code start} and {@code end}. */
+    Page<LineageEventDocument> findByEventTimeBetween(ZonedDateTime start, ZonedDateTime end, Pageable pageable);
+
+    Page<LineageEventDocument> findByEventOutputsNamespaceAndEventOutputsName(String namespace, String name,
+            Pageable pageable);
+}
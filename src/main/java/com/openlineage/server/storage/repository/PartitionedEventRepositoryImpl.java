@@ -0,0 +1,98 @@
+package com.openlineage.server.storage.repository;
+
+import com.openlineage.server.service.EventPartitionService;
+import com.openlineage.server.storage.document.LineageEventDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads fan out over every collection that may hold matches: each returns
+ * its first {@code offset + size} matches in the page's order, and the page
+ * is cut from their merge, so it is the same page a single collection would
+ * return.
+ */
+public class PartitionedEventRepositoryImpl implements PartitionedEventRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final EventPartitionService partitions;
+
+    public PartitionedEventRepositoryImpl(MongoTemplate mongoTemplate, EventPartitionService partitions) {
+        this.mongoTemplate = mongoTemplate;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public LineageEventDocument saveToPartition(LineageEventDocument event) {
+        return mongoTemplate.save(event, partitions.collectionFor(event.getCreatedAt()));
+    }
+
+    @Override
+    public Page<LineageEventDocument> findByEventTimeBetween(ZonedDateTime start, ZonedDateTime end,
+            Pageable pageable) {
+        return find(Criteria.where("eventTime").gt(start).lt(end), partitions.collections(start.toInstant()),
+                pageable);
+    }
+
+    @Override
+    public Page<LineageEventDocument> findByEventOutputsNamespaceAndEventOutputsName(String namespace, String name,
+            Pageable pageable) {
+        return find(Criteria.where("event.outputs.namespace").is(namespace).and("event.outputs.name").is(name),
+                partitions.collections(null), pageable);
+    }
+
+    private Page<LineageEventDocument> find(Criteria criteria, List<String> collections, Pageable pageable) {
+        if (collections.size() == 1) {
+            String collection = collections.get(0);
+            List<LineageEventDocument> content = mongoTemplate.find(Query.query(criteria).with(pageable),
+                    LineageEventDocument.class, collection);
+            return PageableExecutionUtils.getPage(content, pageable,
+                    () -> mongoTemplate.count(Query.query(criteria), LineageEventDocument.class, collection));
+        }
+
+        Query first = Query.query(criteria).with(pageable.getSort());
+        if (pageable.isPaged()) {
+            first.limit((int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()));
+        }
+        List<LineageEventDocument> merged = new ArrayList<>();
+        long total = 0;
+        for (String collection : collections) {
+            merged.addAll(mongoTemplate.find(first, LineageEventDocument.class, collection));
+            total += mongoTemplate.count(Query.query(criteria), LineageEventDocument.class, collection);
+        }
+        merged.sort(comparator(pageable.getSort()));
+
+        int from = pageable.isPaged() ? (int) Math.min(merged.size(), pageable.getOffset()) : 0;
+        int to = pageable.isPaged() ? Math.min(merged.size(), from + pageable.getPageSize()) : merged.size();
+        long count = total;
+        return PageableExecutionUtils.getPage(merged.subList(from, to), pageable, () -> count);
+    }
+
+    /** The order of {@code sort} in memory; only the time fields events are paged by. */
+    private static Comparator<LineageEventDocument> comparator(Sort sort) {
+        Comparator<LineageEventDocument> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<LineageEventDocument, ZonedDateTime> field = switch (order.getProperty()) {
+                case "eventTime" -> LineageEventDocument::getEventTime;
+                case "event.eventTime" -> event -> event.getEvent() != null ? event.getEvent().eventTime() : null;
+                case "createdAt" -> LineageEventDocument::getCreatedAt;
+                default -> throw new IllegalArgumentException(
+                        "Cannot page event partitions by " + order.getProperty());
+            };
+            Comparator<ZonedDateTime> values = Comparator.nullsFirst(Comparator.naturalOrder());
+            comparator = comparator.thenComparing(field,
+                    order.isAscending() ? values : values.reversed());
+        }
+        return comparator;
+    }
+}
@@ -2,7 +2,9 @@ package com.openlineage.server.api;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.result.DeleteResult;
+import com.openlineage.server.service.EventPartitionService;
 import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -28,6 +30,14 @@ public class AdminControllerTest {
     @MockBean
     private MongoTemplate mongoTemplate;
 
+    @MockBean
+    private EventPartitionService eventPartitions;
+
+    @BeforeEach
+    public void setup() {
+        when(eventPartitions.collections(null)).thenReturn(List.of("lineage_events_202401", "lineage_events"));
+    }
+
     @Test
     public void testWipeDatabase() throws Exception {
         com.mongodb.client.MongoDatabase db = mock(com.mongodb.client.MongoDatabase.class);
@@ -60,9 +70,10 @@ public class AdminControllerTest {
                 .param("olderThan", cutoff))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.lineage_events").value(5))
+            .andExpect(jsonPath("$.lineage_events_202401").value(5))
             .andExpect(jsonPath("$.cutoffDate").exists());
 
-        verify(mongoTemplate, times(4)).remove(any(Query.class), anyString());
+        verify(mongoTemplate, times(5)).remove(any(Query.class), anyString());
     }
 
     @Test
@@ -75,6 +86,7 @@ public class AdminControllerTest {
         mockMvc.perform(get("/api/v2/admin/stats"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.jobs").value(42))
+            .andExpect(jsonPath("$.lineage_events_202401").value(42))
             .andExpect(jsonPath("$.runs").value(42));
     }
 }
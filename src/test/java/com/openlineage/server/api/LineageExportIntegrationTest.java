@@ -6,6 +6,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,10 +17,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.time.ZonedDateTime;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -28,6 +33,7 @@ import com.openlineage.server.storage.document.RunDocument;
 import com.openlineage.server.storage.document.DatasetDocument;
 import com.openlineage.server.storage.document.OutputDatasetFacetDocument;
 import com.openlineage.server.domain.ColumnLineageDatasetFacet;
+import com.openlineage.server.service.LineageExportService;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -94,23 +100,19 @@ public class LineageExportIntegrationTest {
                 job.setInputs(Set.of(inputId));
                 job.setOutputs(Set.of(outputId));
 
-                // Mock Run (needed for batch latest run query)
-                RunDocument run = new RunDocument();
-                run.setEventTime(ZonedDateTime.now());
-                run.setEventType("COMPLETE");
-
-                // mongoTemplate.find is called for both jobs (by namespace) and runs (batch
-                // latest)
-                when(mongoTemplate.find(any(Query.class), any(Class.class)))
-                                .thenAnswer(invocation -> {
-                                        Class<?> entityClass = invocation.getArgument(1);
-                                        if (JobDocument.class.equals(entityClass)) {
-                                                return Collections.singletonList(job);
-                                        } else if (RunDocument.class.equals(entityClass)) {
-                                                return Collections.singletonList(run);
-                                        }
-                                        return Collections.emptyList();
-                                });
+                // Latest run per job, as grouped by the aggregation
+                org.bson.Document latestRun = new org.bson.Document("_id",
+                                new org.bson.Document("jobNamespace", namespace).append("jobName", "test-job"))
+                                .append("eventType", "COMPLETE")
+                                .append("eventTime", java.util.Date.from(java.time.Instant.parse("2024-03-01T10:00:00Z")));
+
+                // Jobs are streamed by namespace (once for job rows, once for column rows);
+                // latest runs are aggregated per chunk
+                when(mongoTemplate.stream(any(Query.class), eq(JobDocument.class)))
+                                .thenAnswer(invocation -> Stream.of(job));
+                when(mongoTemplate.aggregate(any(Aggregation.class), eq(RunDocument.class),
+                                eq(org.bson.Document.class)))
+                                .thenReturn(new AggregationResults<>(List.of(latestRun), new org.bson.Document()));
 
                 // Mock Datasets
                 DatasetDocument inputDs = new DatasetDocument(namespace, "input-ds", "src", Collections.emptyList(),
@@ -139,7 +141,120 @@ public class LineageExportIntegrationTest {
                                 .andExpect(jsonPath("$.namespaceData[0].jobLineage[0].jobName").value("test-job"))
                                 .andExpect(jsonPath("$.namespaceData[0].jobLineage[0].sourceDatasetName")
                                                 .value("input-ds"))
+                                .andExpect(jsonPath("$.namespaceData[0].jobLineage[0].lastRunState")
+                                                .value("COMPLETE"))
+                                .andExpect(jsonPath("$.namespaceData[0].jobLineage[0].lastRunTime")
+                                                .value("2024-03-01T10:00:00Z"))
                                 .andExpect(jsonPath("$.namespaceData[0].columnLineage[0].sourceFieldName")
-                                                .value("inCol"));
+                                                .value("inCol"))
+                                .andExpect(jsonPath("$.namespaceData[0].jobLineageCount").value(1))
+                                .andExpect(jsonPath("$.namespaceData[0].columnLineageCount").value(1));
+
+                // Same rows as NDJSON, one per line
+                String ndjson = mockMvc.perform(get("/api/v2/lineage-export/recent/30")
+                                .param("format", "ndjson"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                                .andReturn().getResponse().getContentAsString();
+                String[] lines = ndjson.split("\n");
+                org.junit.jupiter.api.Assertions.assertEquals(3, lines.length);
+                org.junit.jupiter.api.Assertions.assertTrue(lines[0].startsWith("{\"type\":\"jobLineage\""));
+                org.junit.jupiter.api.Assertions.assertTrue(lines[1].startsWith("{\"type\":\"columnLineage\""));
+                org.junit.jupiter.api.Assertions.assertTrue(lines[2].contains("\"jobLineageCount\":1"));
+        }
+
+        @Test
+        public void testEmptyExportIsValidJson() throws Exception {
+                when(mongoTemplate.findDistinct(any(Query.class), any(String.class), any(Class.class),
+                                any(Class.class)))
+                                .thenReturn(Collections.emptyList());
+
+                mockMvc.perform(get("/api/v2/lineage-export/recent/30"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.namespaceData").isEmpty());
+        }
+
+        @Test
+        public void testNamespacesExportedInRequestedOrder() throws Exception {
+                // More namespaces than export threads, read concurrently but written in order
+                List<String> namespaces = List.of("ns-a", "ns-b", "ns-c", "ns-d", "ns-e", "ns-f");
+
+                var result = mockMvc.perform(get("/api/v2/lineage-export/recent/30")
+                                .param("namespaces", namespaces.toArray(new String[0])))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.namespaceData.length()").value(namespaces.size()));
+                for (int i = 0; i < namespaces.size(); i++) {
+                        result.andExpect(jsonPath("$.namespaceData[" + i + "].namespaceName").value(namespaces.get(i)));
+                }
+        }
+
+        @Test
+        public void testChangesUseTokenFromPreviousExport() throws Exception {
+                when(mongoTemplate.findDistinct(any(Query.class), any(String.class), any(Class.class),
+                                any(Class.class)))
+                                .thenReturn(Collections.emptyList());
+
+                String token = mockMvc.perform(get("/api/v2/lineage-export/recent/30"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("X-Change-Token");
+                org.junit.jupiter.api.Assertions.assertNotNull(token);
+
+                mockMvc.perform(get("/api/v2/lineage-export/changes").param("token", token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.changeToken").isNotEmpty())
+                                .andExpect(jsonPath("$.namespaceData").isEmpty());
+
+                // Changes are selected on the server-side modification time, not the event time
+                org.mockito.ArgumentCaptor<Query> queries = org.mockito.ArgumentCaptor.forClass(Query.class);
+                org.mockito.Mockito.verify(mongoTemplate, org.mockito.Mockito.times(2)).findDistinct(
+                                queries.capture(), eq("_id.namespace"), eq(JobDocument.class), eq(String.class));
+                org.junit.jupiter.api.Assertions.assertEquals(LineageExportService.parseChangeToken(token),
+                                queries.getAllValues().get(1).getQueryObject()
+                                                .get("modifiedAt", org.bson.Document.class).get("$gte"));
+        }
+
+        @Test
+        public void testInvalidChangeTokenIsRejected() throws Exception {
+                mockMvc.perform(get("/api/v2/lineage-export/changes").param("token", "not-a-token"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void testUnknownExportJobIsNotFound() throws Exception {
+                mockMvc.perform(get("/api/v2/lineage-export/jobs/missing"))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        public void testExportJobWithUnknownFormatIsRejected() throws Exception {
+                mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .post("/api/v2/lineage-export/jobs").param("days", "7").param("format", "xml"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void testUnknownFormatIsRejected() throws Exception {
+                mockMvc.perform(get("/api/v2/lineage-export/recent/30").param("format", "xml"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void testParquetDownload() throws Exception {
+                when(mongoTemplate.findDistinct(any(Query.class), any(String.class), any(Class.class),
+                                any(Class.class)))
+                                .thenReturn(Collections.emptyList());
+
+                byte[] body = mockMvc.perform(get("/api/v2/lineage-export/recent/30").param("format", "parquet"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/vnd.apache.parquet"))
+                                .andReturn().getResponse().getContentAsByteArray();
+                org.junit.jupiter.api.Assertions.assertEquals("PAR1", new String(body, 0, 4));
+        }
+
+        @Test
+        public void testUnknownParquetRowsAreRejected() throws Exception {
+                mockMvc.perform(get("/api/v2/lineage-export/recent/30").param("format", "parquet")
+                                .param("rows", "dataset"))
+                                .andExpect(status().isBadRequest());
         }
 }
@@ -101,7 +101,7 @@ public class MarquezCompatibilityTest {
 
                 when(datasetRepo.save(any())).thenAnswer(i -> i.getArgument(0));
 
-                when(eventRepo.save(any())).thenAnswer(i -> i.getArgument(0));
+                when(eventRepo.saveToPartition(any())).thenAnswer(i -> i.getArgument(0));
 
                 // Mock finding run for lifecycle
                 com.openlineage.server.storage.document.LineageEventDocument mockRun = new com.openlineage.server.storage.document.LineageEventDocument();
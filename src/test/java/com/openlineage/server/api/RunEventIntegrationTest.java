@@ -102,7 +102,7 @@ public class RunEventIntegrationTest {
                                 .andExpect(status().isCreated());
 
                 // Verify that the event was processed by the service (which saves to eventRepo)
-                verify(eventRepo).save(any());
+                verify(eventRepo).saveToPartition(any());
                 // Verify atomic upsert via mongoTemplate
                 verify(mongoTemplate, org.mockito.Mockito.atLeastOnce()).upsert(
                                 any(org.springframework.data.mongodb.core.query.Query.class),
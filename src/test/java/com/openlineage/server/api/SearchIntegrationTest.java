@@ -29,7 +29,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+// Exercises the MongoDB query path; the in-memory index is covered by SearchIndexServiceTest
+@SpringBootTest(properties = "openlineage.search.index.enabled=false")
 @AutoConfigureMockMvc
 @EnableAutoConfiguration(exclude = { MongoAutoConfiguration.class, MongoDataAutoConfiguration.class,
         org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration.class })
@@ -83,6 +84,8 @@ public class SearchIntegrationTest {
 
         when(mongoTemplate.find(any(Query.class), eq(JobDocument.class))).thenReturn(List.of(job));
         when(mongoTemplate.find(any(Query.class), eq(DatasetDocument.class))).thenReturn(List.of(dataset));
+        when(mongoTemplate.count(any(Query.class), eq(JobDocument.class))).thenReturn(1L);
+        when(mongoTemplate.count(any(Query.class), eq(DatasetDocument.class))).thenReturn(1L);
 
         mockMvc.perform(get("/api/v2/search?q=my"))
                 .andExpect(status().isOk())
@@ -97,6 +100,7 @@ public class SearchIntegrationTest {
         job.setId(new MarquezId("ns", "my-job"));
 
         when(mongoTemplate.find(any(Query.class), eq(JobDocument.class))).thenReturn(List.of(job));
+        when(mongoTemplate.count(any(Query.class), eq(JobDocument.class))).thenReturn(1L);
 
         mockMvc.perform(get("/api/v2/search?q=my&filter=JOB"))
                 .andExpect(status().isOk())
@@ -104,4 +108,72 @@ public class SearchIntegrationTest {
                 .andExpect(jsonPath("$.results[0].type").value("JOB"))
                 .andExpect(jsonPath("$.results[0].name").value("my-job"));
     }
+
+    @Test
+    public void testSuggestFallsBackToSearchWhenIndexDisabled() throws Exception {
+        JobDocument job = new JobDocument();
+        job.setId(new MarquezId("ns", "my-job"));
+
+        when(mongoTemplate.find(any(Query.class), eq(JobDocument.class))).thenReturn(List.of(job));
+        when(mongoTemplate.count(any(Query.class), eq(JobDocument.class))).thenReturn(1L);
+
+        mockMvc.perform(get("/api/v2/search/suggest?q=my&filter=JOB"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(1))
+                .andExpect(jsonPath("$.results[0].name").value("my-job"));
+    }
+
+    @Test
+    public void testSearchMergesSortedPagesAndReturnsCursor() throws Exception {
+        ZonedDateTime now = ZonedDateTime.now();
+        JobDocument jobA = new JobDocument();
+        jobA.setId(new MarquezId("ns", "my-a"));
+        jobA.setUpdatedAt(now);
+        JobDocument jobC = new JobDocument();
+        jobC.setId(new MarquezId("ns", "my-c"));
+        jobC.setUpdatedAt(now);
+        DatasetDocument datasetB = new DatasetDocument("ns", "my-b", "src", Collections.emptyList(), now);
+
+        // Each collection answers with limit + 1 rows, already sorted by the database
+        when(mongoTemplate.find(any(Query.class), eq(JobDocument.class))).thenReturn(List.of(jobA, jobC));
+        when(mongoTemplate.find(any(Query.class), eq(DatasetDocument.class))).thenReturn(List.of(datasetB));
+        when(mongoTemplate.count(any(Query.class), eq(JobDocument.class))).thenReturn(5L);
+        when(mongoTemplate.count(any(Query.class), eq(DatasetDocument.class))).thenReturn(3L);
+
+        mockMvc.perform(get("/api/v2/search?q=my&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(8))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].name").value("my-a"))
+                .andExpect(jsonPath("$.results[1].name").value("my-b"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    public void testSearchRejectsCursorForOtherSort() throws Exception {
+        String cursor = new com.openlineage.server.search.SearchCursor(SearchSort.NAME,
+                new com.openlineage.server.search.SearchIndexService.Entry(SearchFilter.JOB, "ns", "my-a", 0L))
+                .encode();
+
+        mockMvc.perform(get("/api/v2/search?q=my&sort=UPDATE_AT&cursor=" + cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchByFieldQueriesDatasetsOnly() throws Exception {
+        DatasetDocument dataset = new DatasetDocument("ns", "orders", "src", Collections.emptyList(),
+                ZonedDateTime.now());
+
+        when(mongoTemplate.find(any(Query.class), eq(DatasetDocument.class))).thenReturn(List.of(dataset));
+        when(mongoTemplate.count(any(Query.class), eq(DatasetDocument.class))).thenReturn(1L);
+
+        mockMvc.perform(get("/api/v2/search?q=customer_id&filter=FIELD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(1))
+                .andExpect(jsonPath("$.results[0].type").value("DATASET"))
+                .andExpect(jsonPath("$.results[0].name").value("orders"));
+
+        org.mockito.Mockito.verify(mongoTemplate, org.mockito.Mockito.never())
+                .find(any(Query.class), eq(JobDocument.class));
+    }
 }
@@ -9,12 +9,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.web.servlet.MockMvc;
-import org.bson.Document;
+import com.openlineage.server.service.HyperLogLog;
+import com.openlineage.server.storage.document.DistinctActivityDocument;
+import com.openlineage.server.storage.document.StatsRollupDocument;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -68,38 +75,82 @@ public class StatsIntegrationTest {
 
         @Test
         public void testGetLineageEventStats() throws Exception {
-                // Mock Aggregation Results
-                Document doc1 = new Document("_id",
-                                new Document("hour", "2023-01-01T10:00:00Z").append("type", "START"))
-                                .append("count", 5);
+                // Mock the rollup of the current hour
+                StatsRollupDocument rollup = new StatsRollupDocument(Instant.now().truncatedTo(ChronoUnit.HOURS));
+                rollup.getEvents().put("START", 5L);
+                rollup.getEvents().put("FAIL", 1L);
+                rollup.getEvents().put("FAILED", 2L);
 
-                AggregationResults<Document> results = new AggregationResults<>(List.of(doc1), new Document());
-
-                when(mongoTemplate.aggregate(any(), eq(com.openlineage.server.storage.document.LineageEventDocument.class),
-                                eq(Document.class)))
-                                .thenReturn(results);
+                when(mongoTemplate.find(any(Query.class), eq(StatsRollupDocument.class), eq("stats_hourly")))
+                                .thenReturn(List.of(rollup));
 
                 mockMvc.perform(get("/api/v2/stats/lineage-events"))
-                                .andExpect(status().isOk());
-                // Verification of fields requires mocking the date range precise match or
-                // logic,
-                // but status OK confirms endpoint works and calls aggregate.
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(25))
+                                .andExpect(jsonPath("$[*].start", hasItem(5)))
+                                .andExpect(jsonPath("$[*].fail", hasItem(3)));
         }
 
         @Test
         public void testGetJobStats() throws Exception {
-                // Mock count and aggregation
-                when(mongoTemplate.count(any(), eq(com.openlineage.server.storage.document.JobDocument.class))).thenReturn(10L);
+                // Current total and the jobs created in the current hour
+                when(mongoTemplate.estimatedCount(eq(com.openlineage.server.storage.document.JobDocument.class)))
+                                .thenReturn(10L);
 
-                Document doc1 = new Document("_id", "2023-01-01T10:00:00Z").append("count", 2L);
-                AggregationResults<Document> results = new AggregationResults<>(List.of(doc1), new Document());
-
-                when(mongoTemplate.aggregate(any(), eq(com.openlineage.server.storage.document.JobDocument.class),
-                                eq(Document.class)))
-                                .thenReturn(results);
+                StatsRollupDocument rollup = new StatsRollupDocument(Instant.now().truncatedTo(ChronoUnit.HOURS));
+                rollup.setNewJobs(2);
+                when(mongoTemplate.find(any(Query.class), eq(StatsRollupDocument.class), eq("stats_hourly")))
+                                .thenReturn(List.of(rollup));
 
                 mockMvc.perform(get("/api/v2/stats/jobs"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$").isArray());
+                                .andExpect(jsonPath("$").isArray())
+                                .andExpect(jsonPath("$[*].count", hasItems(8, 10)));
+        }
+
+        @Test
+        public void testGetYearStatsReadsMonthlyRollups() throws Exception {
+                Instant month = Instant.now().atZone(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)
+                                .toInstant();
+                StatsRollupDocument rollup = new StatsRollupDocument(month);
+                rollup.getEvents().put("COMPLETE", 40L);
+                when(mongoTemplate.find(any(Query.class), eq(StatsRollupDocument.class), eq("stats_monthly")))
+                                .thenReturn(List.of(rollup));
+
+                mockMvc.perform(get("/api/v2/stats/lineage-events").param("period", "YEAR"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(13))
+                                .andExpect(jsonPath("$[12].startInterval").value(month.toString()))
+                                .andExpect(jsonPath("$[12].complete").value(40));
+        }
+
+        @Test
+        public void testUnknownPeriodIsRejected() throws Exception {
+                mockMvc.perform(get("/api/v2/stats/jobs").param("period", "DECADE"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void testGetDistinctActivityMergesBuckets() throws Exception {
+                Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+                HyperLogLog earlier = new HyperLogLog();
+                earlier.add("ns:job_a");
+                earlier.add("ns:job_b");
+                HyperLogLog current = new HyperLogLog();
+                current.add("ns:job_b");
+                current.add("ns:job_c");
+                DistinctActivityDocument earlierDoc = new DistinctActivityDocument(hour.minus(2, ChronoUnit.HOURS));
+                earlierDoc.setJobs(earlier.toBytes());
+                DistinctActivityDocument currentDoc = new DistinctActivityDocument(hour);
+                currentDoc.setJobs(current.toBytes());
+                when(mongoTemplate.find(any(Query.class), eq(DistinctActivityDocument.class), eq("distinct_hourly")))
+                                .thenReturn(List.of(earlierDoc, currentDoc));
+
+                mockMvc.perform(get("/api/v2/stats/distinct"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.intervals.length()").value(25))
+                                .andExpect(jsonPath("$.intervals[*].jobs", hasItems(0, 2)))
+                                .andExpect(jsonPath("$.total.jobs").value(3))
+                                .andExpect(jsonPath("$.total.datasets").value(0));
         }
 }
@@ -1,16 +1,18 @@
 package com.openlineage.server.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openlineage.server.service.DistinctActivityService;
+import com.openlineage.server.service.StatsRollupService;
 import com.openlineage.server.storage.document.NamespaceRegistryDocument;
+import com.openlineage.server.storage.document.StatsRollupDocument;
 import com.openlineage.server.storage.repository.NamespaceRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
-import org.bson.Document;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +34,12 @@ public class StatsSourceTest {
         @MockBean
         private MongoTemplate mongoTemplate;
 
+        @MockBean
+        private StatsRollupService statsRollupService;
+
+        @MockBean
+        private DistinctActivityService distinctActivityService;
+
         @MockBean
         private NamespaceRepository namespaceRepository;
 
@@ -55,13 +63,12 @@ public class StatsSourceTest {
                 // This implies query param 'timezoon' is ignored, default 'UTC' used.
                 // If this fails, then something else is wrong.
 
-                when(mongoTemplate.count(any(), eq(NamespaceRegistryDocument.class))).thenReturn(10L);
+                when(mongoTemplate.estimatedCount(eq(NamespaceRegistryDocument.class))).thenReturn(10L);
 
-                // Mock aggregation result
-                Document doc = new Document("_id", "2023-10-27T10:00:00Z").append("count", 5);
-                AggregationResults<Document> results = new AggregationResults<>(List.of(doc), new Document());
-                when(mongoTemplate.aggregate(any(), eq(NamespaceRegistryDocument.class), eq(Document.class)))
-                                .thenReturn(results);
+                // Mock rollup result
+                StatsRollupDocument rollup = new StatsRollupDocument(Instant.parse("2023-10-27T10:00:00Z"));
+                rollup.setNewSources(5);
+                when(statsRollupService.rollups(any(), any(), any())).thenReturn(List.of(rollup));
 
                 mockMvc.perform(get("/api/v2/stats/sources")
                                 .param("period", "DAY")
@@ -73,16 +80,15 @@ public class StatsSourceTest {
         public void testGetSourceStatsWithLowerCaseTimezone() throws Exception {
                 // Test explicit timezone with lower case 'l' which Java ZoneId might reject
 
-                when(mongoTemplate.count(any(), eq(NamespaceRegistryDocument.class))).thenReturn(10L);
-                Document doc = new Document("_id", "2023-10-27T10:00:00Z").append("count", 5);
-                AggregationResults<Document> results = new AggregationResults<>(List.of(doc), new Document());
+                when(mongoTemplate.estimatedCount(eq(NamespaceRegistryDocument.class))).thenReturn(10L);
+                StatsRollupDocument rollup = new StatsRollupDocument(Instant.parse("2023-10-27T10:00:00Z"));
+                rollup.setNewSources(5);
 
                 // This setup primarily checking if Controller throws 500 before hitting DB
                 // mocks largely
                 // But logic calls ZoneId.of(timezone) early.
 
-                when(mongoTemplate.aggregate(any(), eq(NamespaceRegistryDocument.class), eq(Document.class)))
-                                .thenReturn(results);
+                when(statsRollupService.rollups(any(), any(), any())).thenReturn(List.of(rollup));
 
                 mockMvc.perform(get("/api/v2/stats/sources")
                                 .param("period", "DAY")
@@ -0,0 +1,292 @@
+package com.openlineage.server.archival;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.storage.document.ArchiveCheckpointDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.RunDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ArchivalPipelineTest {
+
+    private static final Instant CUTOFF = Instant.parse("2024-06-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private ArchiveClient archiveClient;
+    private ArchiveManifest manifest;
+    private SimpleMeterRegistry meterRegistry;
+    private ArchivalProperties properties;
+    private ArchivalPipeline<RunDocument> pipeline;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        archiveClient = mock(ArchiveClient.class);
+        manifest = mock(ArchiveManifest.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ArchivalProperties();
+        properties.setBatchSize(2);
+        properties.setUploadParallelism(3);
+        properties.setQueueCapacity(1);
+        pipeline = new ArchivalPipeline<>(ArchiveSegment.RUNS, RunDocument.class, "updatedAt",
+                RunDocument::getRunId, run -> run.getUpdatedAt().toInstant(), ArchiveSummary.RUNS,
+                mongoTemplate, archiveClient, manifest, properties, meterRegistry);
+
+        checkpoint(null);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ArchiveCheckpointDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.remove(any(Query.class), eq(RunDocument.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            return DeleteResult.acknowledged(((Collection<?>) query.getQueryObject().get("_id", Document.class)
+                    .get("$in")).size());
+        });
+        when(archiveClient.serialize(anyList(), any())).thenReturn(new ArchiveSegment());
+        when(archiveClient.upload(eq(ArchiveSegment.RUNS), any(), any(), any()))
+                .thenAnswer(invocation -> new ArchiveClient.UploadedSegment(
+                        "seg-" + invocation.getArgument(2), List.of()));
+    }
+
+    private void checkpoint(Instant position) {
+        ArchiveCheckpointDocument checkpoint = new ArchiveCheckpointDocument();
+        checkpoint.setId(ArchiveSegment.RUNS);
+        checkpoint.setPosition(position);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ArchiveCheckpointDocument.class))).thenReturn(checkpoint);
+    }
+
+    private void documents(int count) {
+        List<RunDocument> runs = IntStream.rangeClosed(1, count).mapToObj(i -> {
+            RunDocument run = new RunDocument();
+            run.setRunId("r" + i);
+            run.setJob(new MarquezId("ns", "etl"));
+            run.setEventType("COMPLETE");
+            run.setEventTime(CUTOFF.minusSeconds(1000 - i).atZone(ZoneOffset.UTC));
+            run.setUpdatedAt(CUTOFF.minusSeconds(1000 - i).atZone(ZoneOffset.UTC));
+            return run;
+        }).toList();
+        when(mongoTemplate.stream(any(Query.class), eq(RunDocument.class))).thenReturn(runs.stream());
+    }
+
+    private List<Object> removedIds() {
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeast(0)).remove(removed.capture(), eq(RunDocument.class));
+        return removed.getAllValues().stream()
+                .map(query -> query.getQueryObject().get("_id", Document.class).get("$in"))
+                .toList();
+    }
+
+    /** Updates of the checkpoint, after the one that claimed it. */
+    private List<Document> checkpointUpdates() {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeast(0))
+                .updateFirst(any(Query.class), updates.capture(), eq(ArchiveCheckpointDocument.class));
+        return updates.getAllValues().stream().map(Update::getUpdateObject).toList();
+    }
+
+    @Test
+    public void testBatchesAreUploadedOnceAndRemovedInReadOrder() {
+        documents(5);
+
+        ArchivalPipeline.Result result = pipeline.run(CUTOFF);
+
+        assertEquals(new ArchivalPipeline.Result(5, 0, true), result);
+        verify(archiveClient, times(3)).upload(eq(ArchiveSegment.RUNS), any(), any(), any());
+        verify(archiveClient, times(3)).uploadSummary(eq(ArchiveSummary.RUNS), anyList(), any());
+        verify(manifest, times(3)).record(eq(ArchiveSegment.RUNS), any());
+        assertEquals(List.of(List.of("r1", "r2"), List.of("r3", "r4"), List.of("r5")), removedIds());
+
+        List<Document> updates = checkpointUpdates();
+        assertEquals(4, updates.size());
+        assertEquals(CUTOFF.minusSeconds(1000 - 2), updates.get(0).get("$set", Document.class).get("position"));
+        assertEquals(CUTOFF.minusSeconds(1000 - 5), updates.get(2).get("$set", Document.class).get("position"));
+        Document finished = updates.get(3);
+        assertEquals(ArchiveCheckpointDocument.Status.COMPLETED, finished.get("$set", Document.class).get("status"));
+        assertTrue(finished.get("$unset", Document.class).containsKey("position"));
+
+        ArgumentCaptor<Query> selected = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(selected.capture(), eq(RunDocument.class));
+        assertEquals(new Document("updatedAt", 1), selected.getValue().getSortObject());
+        assertEquals(new Document("$exists", false), selected.getValue().getQueryObject().get("rehydratedAt"));
+        assertEquals(5.0, meterRegistry.get("archival.documents").tag("stage", "deleted").counter().count());
+        assertEquals(0.0, meterRegistry.get("archival.lag").gauge().value());
+    }
+
+    @Test
+    public void testUploadedBatchesAreQueryableFromTheArchive() throws Exception {
+        properties.getLocal().setPath(dir.toString());
+        ArchiveClient client = new ArchiveClient(new LocalArchiveStorage(properties));
+        pipeline = new ArchivalPipeline<>(ArchiveSegment.RUNS, RunDocument.class, "updatedAt",
+                RunDocument::getRunId, run -> run.getUpdatedAt().toInstant(), ArchiveSummary.RUNS,
+                mongoTemplate, client, manifest, properties, meterRegistry);
+        documents(5);
+
+        assertEquals(new ArchivalPipeline.Result(5, 0, true), pipeline.run(CUTOFF));
+
+        ArchiveQueryService query = new ArchiveQueryService(client, properties);
+        try {
+            List<ArchivedRunSummary> runs = query.runs(new ArchiveQueryService.Filter("ns", "etl", null,
+                    CUTOFF.minusSeconds(3600), CUTOFF, 10));
+            assertEquals(List.of("r5", "r4", "r3", "r2", "r1"), runs.stream().map(ArchivedRunSummary::runId).toList());
+        } finally {
+            query.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedSummaryStillArchivesTheBatch() {
+        documents(3);
+        doThrow(new RuntimeException("parquet")).when(archiveClient).uploadSummary(any(), anyList(), any());
+
+        assertEquals(new ArchivalPipeline.Result(3, 0, true), pipeline.run(CUTOFF));
+        verify(manifest, times(2)).record(eq(ArchiveSegment.RUNS), any());
+        assertEquals(List.of(List.of("r1", "r2"), List.of("r3")), removedIds());
+    }
+
+    @Test
+    public void testDocumentsUpdatedPastTheCutoffAreNotDeleted() {
+        documents(2);
+
+        pipeline.run(CUTOFF);
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(RunDocument.class));
+        assertEquals(new Document("$lt", CUTOFF), removed.getValue().getQueryObject().get("updatedAt"));
+    }
+
+    @Test
+    public void testCollectionIsArchivedWithoutDeletes() {
+        List<RunDocument> runs = IntStream.rangeClosed(1, 3).mapToObj(i -> {
+            RunDocument run = new RunDocument();
+            run.setRunId("r" + i);
+            run.setUpdatedAt(CUTOFF.minusSeconds(1000 - i).atZone(ZoneOffset.UTC));
+            return run;
+        }).toList();
+        when(mongoTemplate.stream(any(Query.class), eq(RunDocument.class), eq("runs_202401")))
+                .thenReturn(runs.stream());
+
+        ArchivalPipeline.Result result = pipeline.run(CUTOFF, "runs_202401");
+
+        assertEquals(new ArchivalPipeline.Result(3, 0, true), result);
+        verify(manifest, times(2)).record(eq(ArchiveSegment.RUNS), any());
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(RunDocument.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(RunDocument.class));
+        assertEquals(CUTOFF.minusSeconds(1000 - 3),
+                checkpointUpdates().get(1).get("$set", Document.class).get("position"));
+    }
+
+    @Test
+    public void testEachCollectionHasItsOwnCheckpoint() {
+        documents(1);
+        when(mongoTemplate.stream(any(Query.class), eq(RunDocument.class), eq("runs_202401")))
+                .thenReturn(Stream.empty());
+
+        pipeline.run(CUTOFF);
+        pipeline.run(CUTOFF, "runs_202401");
+
+        ArgumentCaptor<Query> claimed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findAndModify(claimed.capture(), any(Update.class),
+                any(FindAndModifyOptions.class), eq(ArchiveCheckpointDocument.class));
+        assertEquals(List.of("runs", "runs:runs_202401"), claimed.getAllValues().stream()
+                .map(query -> query.getQueryObject().get("_id")).toList());
+        ArgumentCaptor<Query> updated = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeastOnce())
+                .updateFirst(updated.capture(), any(Update.class), eq(ArchiveCheckpointDocument.class));
+        Query last = updated.getValue();
+        assertEquals("runs:runs_202401", last.getQueryObject().get("_id"));
+    }
+
+    @Test
+    public void testFailedUploadStopsAndRemovesOnlyEarlierBatches() {
+        documents(6);
+        // Uploads run in parallel: fail all but the first batch, whichever finishes first
+        Instant first = CUTOFF.minusSeconds(1000 - 1);
+        when(archiveClient.upload(eq(ArchiveSegment.RUNS), any(), any(), any())).thenAnswer(invocation -> {
+            if (!first.equals(invocation.getArgument(2))) {
+                throw new RuntimeException("S3 down");
+            }
+            return new ArchiveClient.UploadedSegment("seg-1", List.of());
+        });
+
+        ArchivalPipeline.Result result = pipeline.run(CUTOFF);
+
+        assertFalse(result.completed());
+        assertEquals(2, result.archived());
+        assertEquals(List.of(List.of("r1", "r2")), removedIds());
+        Document finished = checkpointUpdates().get(1).get("$set", Document.class);
+        assertEquals(ArchiveCheckpointDocument.Status.FAILED, finished.get("status"));
+        assertTrue(((String) finished.get("error")).contains("S3 down"));
+    }
+
+    @Test
+    public void testFailedManifestWriteRemovesNothing() {
+        documents(1);
+        doThrow(new RuntimeException("write failed")).when(manifest).record(any(), any());
+
+        assertFalse(pipeline.run(CUTOFF).completed());
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(RunDocument.class));
+    }
+
+    @Test
+    public void testInterruptedRunResumesFromCheckpoint() {
+        Instant position = CUTOFF.minusSeconds(500);
+        checkpoint(position);
+        documents(1);
+
+        pipeline.run(CUTOFF);
+
+        ArgumentCaptor<Query> selected = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(selected.capture(), eq(RunDocument.class));
+        Document window = selected.getValue().getQueryObject().get("updatedAt", Document.class);
+        assertEquals(position, window.get("$gte"));
+        assertEquals(CUTOFF, window.get("$lt"));
+    }
+
+    @Test
+    public void testRunHeldByAnotherInstanceIsSkipped() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ArchiveCheckpointDocument.class))).thenThrow(new DuplicateKeyException("held"));
+
+        assertFalse(pipeline.run(CUTOFF).completed());
+
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(RunDocument.class));
+    }
+
+    @Test
+    public void testOpsLimiterSpacesOperations() throws Exception {
+        OpsLimiter limiter = new OpsLimiter(100);
+        long started = System.nanoTime();
+        limiter.acquire(10);
+        limiter.acquire(10);
+        limiter.acquire(1);
+        // Two reservations of 10 ops at 100 ops/s come first
+        assertTrue(System.nanoTime() - started >= 190_000_000L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.openlineage.server.archival;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.openlineage.server.storage.document.ArchiveManifestDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.RunDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/** Backfill over the local backend, with the manifest collection mocked. */
+public class ArchiveManifestBackfillTest {
+
+    private static final Instant MARCH = Instant.parse("2025-03-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private ArchivalProperties properties;
+    private ArchiveClient client;
+    private ArchiveManifestBackfill backfill;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(ArchiveManifestDocument.class),
+                eq(Document.class))).thenAnswer(invocation -> Stream.empty());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(ArchiveManifestDocument.class)))
+                .thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+        properties = new ArchivalProperties();
+        properties.getLocal().setPath(dir.toString());
+        client = new ArchiveClient(new LocalArchiveStorage(properties));
+        backfill = new ArchiveManifestBackfill(mongoTemplate, client);
+    }
+
+    @AfterEach
+    public void teardown() {
+        backfill.shutdown();
+    }
+
+    private static RunDocument run(String id, Instant eventTime) {
+        RunDocument run = new RunDocument();
+        run.setRunId(id);
+        run.setJob(new MarquezId("ns", "etl"));
+        run.setEventType("FAIL");
+        run.setEventTime(eventTime.atZone(ZoneOffset.UTC));
+        return run;
+    }
+
+    @Test
+    public void testSegmentsWithoutASummaryGetOneRebuilt() {
+        List<RunDocument> batch = List.of(run("r1", MARCH.plusSeconds(60)), run("r2", MARCH.plusSeconds(120)));
+        // As left by an upload whose summary failed
+        client.upload(ArchiveSegment.RUNS, client.serialize(batch, RunDocument::getRunId), MARCH,
+                MARCH.plusSeconds(120));
+
+        ArchiveManifestBackfill.Result result = backfill.backfill(ArchiveSummary.RUNS, RunDocument.class,
+                RunDocument::getRunId);
+
+        assertEquals(1, result.segments());
+        assertEquals(1, result.summaries());
+        verify(bulk, times(2)).upsert(any(Query.class), any(Update.class));
+        ArchiveQueryService query = new ArchiveQueryService(client, properties);
+        try {
+            assertEquals(List.of("r2", "r1"), query.runs(new ArchiveQueryService.Filter("ns", "etl", "FAIL",
+                    MARCH, MARCH.plusSeconds(3600), 10)).stream().map(ArchivedRunSummary::runId).toList());
+        } finally {
+            query.shutdown();
+        }
+
+        // Summarized and indexed segments are left alone
+        assertEquals(0, backfill.backfill(ArchiveSummary.RUNS, RunDocument.class, RunDocument::getRunId)
+                .summaries());
+    }
+}
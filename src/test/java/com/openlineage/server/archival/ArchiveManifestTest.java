@@ -0,0 +1,123 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.ArchiveManifestDocument;
+import com.openlineage.server.storage.document.RunDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ArchiveManifestTest {
+
+    private MongoTemplate mongoTemplate;
+    private ArchiveClient archiveClient;
+    private ArchiveManifest manifest;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        archiveClient = mock(ArchiveClient.class);
+        manifest = new ArchiveManifest(mongoTemplate, archiveClient, new ArchivalProperties());
+    }
+
+    @Test
+    public void testRecordUpsertsOneEntryPerRecord() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchiveManifestDocument.class))
+                .thenReturn(bulk);
+
+        manifest.record(ArchiveSegment.RUNS, new ArchiveClient.UploadedSegment("p/runs/segments/s.ndjson.gz",
+                List.of(new ArchiveSegment.Entry("r1", 0, 40), new ArchiveSegment.Entry("r2", 40, 42))));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(queries.capture(), updates.capture());
+        verify(bulk).execute();
+        assertEquals("runs/r2", queries.getAllValues().get(1).getQueryObject().get("_id"));
+        Document set = updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class);
+        assertEquals("p/runs/segments/s.ndjson.gz", set.get("key"));
+        assertEquals(40L, set.get("offset"));
+        assertEquals(42, set.get("length"));
+    }
+
+    private static ArchiveManifestDocument entry(String id, String key, long offset, int length) {
+        ArchiveManifestDocument entry = new ArchiveManifestDocument();
+        entry.setId(id);
+        entry.setKey(key);
+        entry.setOffset(offset);
+        entry.setLength(length);
+        return entry;
+    }
+
+    @Test
+    public void testManifestEntryIsReadWithARangedRead() {
+        when(mongoTemplate.findById("runs/r1", ArchiveManifestDocument.class))
+                .thenReturn(entry("runs/r1", "seg", 40, 42));
+        RunDocument run = new RunDocument();
+        run.setRunId("r1");
+        when(archiveClient.readRecord("seg", 40, 42, RunDocument.class)).thenReturn(run);
+
+        assertSame(run, manifest.fetchRun("r1").orElseThrow());
+    }
+
+    @Test
+    public void testWholeObjectEntriesAreReadWithOneGet() {
+        when(mongoTemplate.findById("runs/old", ArchiveManifestDocument.class)).thenReturn(
+                entry("runs/old", "runs/2023/01/old.json", 0, ArchiveManifestDocument.WHOLE_OBJECT));
+        RunDocument run = new RunDocument();
+        when(archiveClient.readObject("runs/2023/01/old.json", RunDocument.class)).thenReturn(run);
+
+        assertSame(run, manifest.fetchRun("old").orElseThrow());
+        verify(archiveClient, never()).readRecord(anyString(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    public void testRecordsWithoutAnEntryAreNotSearchedFor() {
+        assertTrue(manifest.fetchRun("unknown").isEmpty());
+        assertTrue(manifest.fetchEvent("unknown").isEmpty());
+
+        verifyNoInteractions(archiveClient);
+    }
+
+    @Test
+    public void testRepeatedRunReadsAreServedFromCache() {
+        when(mongoTemplate.findById("runs/r1", ArchiveManifestDocument.class))
+                .thenReturn(entry("runs/r1", "seg", 40, 42));
+        RunDocument run = new RunDocument();
+        when(archiveClient.readRecord("seg", 40, 42, RunDocument.class)).thenReturn(run);
+        when(archiveClient.serializedSize(run)).thenReturn(100L);
+
+        manifest.fetchRun("r1");
+        assertSame(run, manifest.fetchRun("r1").orElseThrow());
+
+        verify(archiveClient, times(1)).readRecord("seg", 40, 42, RunDocument.class);
+        verify(mongoTemplate, times(1)).findById("runs/r1", ArchiveManifestDocument.class);
+    }
+
+    @Test
+    public void testAbsentRunsAreCachedButFailuresAreNot() {
+        when(mongoTemplate.findById("runs/flaky", ArchiveManifestDocument.class))
+                .thenThrow(new RuntimeException("DocumentDB down"));
+
+        assertTrue(manifest.fetchRun("missing").isEmpty());
+        assertTrue(manifest.fetchRun("missing").isEmpty());
+        assertTrue(manifest.fetchRun("flaky").isEmpty());
+        assertTrue(manifest.fetchRun("flaky").isEmpty());
+
+        verify(mongoTemplate, times(1)).findById("runs/missing", ArchiveManifestDocument.class);
+        verify(mongoTemplate, times(2)).findById("runs/flaky", ArchiveManifestDocument.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.RunDocument;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Archived summaries written and queried on the local backend. */
+public class ArchiveQueryServiceTest {
+
+    private static final Instant MARCH = Instant.parse("2025-03-01T00:00:00Z");
+    private static final Instant APRIL = Instant.parse("2025-04-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private ArchivalProperties properties;
+    private ArchiveClient client;
+    private ArchiveQueryService service;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        properties = new ArchivalProperties();
+        properties.getLocal().setPath(dir.toString());
+        properties.getQuery().setParallelism(2);
+        client = new ArchiveClient(new LocalArchiveStorage(properties));
+        service = new ArchiveQueryService(client, properties);
+    }
+
+    @AfterEach
+    public void teardown() {
+        service.shutdown();
+    }
+
+    private static RunDocument run(String id, String job, String eventType, Instant eventTime) {
+        RunDocument run = new RunDocument();
+        run.setRunId(id);
+        run.setJob(new MarquezId("ns", job));
+        run.setEventType(eventType);
+        run.setEventTime(eventTime.atZone(ZoneOffset.UTC));
+        return run;
+    }
+
+    /** Archives one batch the way the pipeline does; returns the summary key. */
+    private String archive(RunDocument... runs) {
+        List<RunDocument> batch = List.of(runs);
+        Instant from = batch.get(0).getEventTime().toInstant();
+        ArchiveClient.UploadedSegment segment = client.upload(ArchiveSegment.RUNS,
+                client.serialize(batch, RunDocument::getRunId), from, from.plusSeconds(60));
+        return client.uploadSummary(ArchiveSummary.RUNS, batch, segment);
+    }
+
+    private static ArchiveQueryService.Filter filter(String job, String state, Instant from, Instant to) {
+        return filter(job, state, from, to, 100);
+    }
+
+    private static ArchiveQueryService.Filter filter(String job, String state, Instant from, Instant to, int limit) {
+        return new ArchiveQueryService.Filter("ns", job, state, from, to, limit);
+    }
+
+    @Test
+    public void testFailedRunsOfAJobInAMonth() {
+        archive(run("r1", "etl", "FAIL", MARCH.plusSeconds(3600)),
+                run("r2", "etl", "COMPLETE", MARCH.plusSeconds(7200)),
+                run("r3", "report", "FAIL", MARCH.plusSeconds(9000)));
+        archive(run("r4", "etl", "FAIL", MARCH.plusSeconds(86400 * 20)),
+                run("r5", "etl", "FAIL", APRIL.plusSeconds(60)));
+
+        List<ArchivedRunSummary> runs = service.runs(filter("etl", "FAIL", MARCH, APRIL));
+
+        assertEquals(List.of("r4", "r1"), runs.stream().map(ArchivedRunSummary::runId).toList());
+        assertEquals(MARCH.plusSeconds(3600), runs.get(1).eventTime());
+        assertEquals("ns", runs.get(1).jobNamespace());
+    }
+
+    @Test
+    public void testLimitKeepsTheMostRecentMatchesOfEachSummary() {
+        archive(run("r1", "etl", "FAIL", MARCH.plusSeconds(60)),
+                run("r2", "etl", "FAIL", MARCH.plusSeconds(120)),
+                run("r3", "etl", "FAIL", MARCH.plusSeconds(180)),
+                run("r4", "etl", "FAIL", MARCH.plusSeconds(240)));
+        archive(run("r5", "etl", "FAIL", MARCH.plusSeconds(200)));
+
+        List<ArchivedRunSummary> runs = service.runs(filter("etl", "FAIL", MARCH, APRIL, 2));
+
+        assertEquals(List.of("r4", "r5"), runs.stream().map(ArchivedRunSummary::runId).toList());
+        assertEquals(List.of("r4", "r5", "r3"), service.runs(filter("etl", null, MARCH, APRIL, 3)).stream()
+                .map(ArchivedRunSummary::runId).toList());
+    }
+
+    @Test
+    public void testSummaryKeyCarriesEventTimeRange() {
+        String key = archive(run("r2", "etl", "COMPLETE", MARCH.plusSeconds(7200)),
+                run("r1", "etl", "FAIL", MARCH.plusSeconds(3600)));
+
+        assertTrue(key.startsWith("runs/summaries/2025/03/" + MARCH.plusSeconds(3600).toEpochMilli() + "-"
+                + MARCH.plusSeconds(7200).toEpochMilli() + "-"), key);
+        assertTrue(ArchiveSummary.overlaps(key, MARCH, APRIL));
+        assertTrue(ArchiveSummary.overlaps(key, MARCH.plusSeconds(7200), APRIL));
+        assertFalse(ArchiveSummary.overlaps(key, MARCH, MARCH.plusSeconds(3600)));
+        assertFalse(ArchiveSummary.overlaps(key, APRIL, APRIL.plusSeconds(60)));
+    }
+
+    @Test
+    public void testSummaryRowsPointIntoTheirSegment() throws Exception {
+        String key = archive(run("r1", "etl", "FAIL", MARCH));
+
+        try (ParquetFileReader reader = ParquetFileReader.open(client.summaryFile(key))) {
+            String segment = reader.getFooter().getFileMetaData().getKeyValueMetaData()
+                    .get(ArchiveSummary.SEGMENT_METADATA);
+            assertTrue(segment.startsWith("runs/segments/2025/03/"));
+            assertEquals(1, reader.getRecordCount());
+            assertNotNull(reader.getFooter().getFileMetaData().getSchema().getType("offset"));
+        }
+    }
+
+    @Test
+    public void testRangesSpanningTooManySummariesAreRejected() {
+        properties.getQuery().setMaxSummaries(1);
+        archive(run("r1", "etl", "FAIL", MARCH));
+        archive(run("r2", "etl", "FAIL", MARCH.plusSeconds(60)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.runs(filter(null, null, MARCH, APRIL)));
+        assertEquals(1, service.runs(filter(null, null, MARCH, MARCH.plusSeconds(30))).size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.openlineage.server.archival;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveSegmentTest {
+
+    private static String gunzip(byte[] data, int offset, int length) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data, offset, length))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testSegmentReadsAsOneFileAndPerRecord() throws Exception {
+        ArchiveSegment segment = new ArchiveSegment();
+        segment.add("a", "{\"runId\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        segment.add("b", "{\"runId\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+        byte[] bytes = segment.bytes();
+
+        assertEquals("{\"runId\":\"a\"}\n{\"runId\":\"b\"}\n", gunzip(bytes, 0, bytes.length));
+
+        ArchiveSegment.Entry second = segment.entries().get(1);
+        assertEquals("b", second.id());
+        assertEquals(bytes.length, second.offset() + second.length());
+        assertEquals("{\"runId\":\"b\"}\n", gunzip(bytes, (int) second.offset(), second.length()));
+    }
+
+    @Test
+    public void testMembersAreSplitBackOutOfTheSegment() throws Exception {
+        ArchiveSegment segment = new ArchiveSegment();
+        segment.add("a", "{\"runId\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        segment.add("b", "x".repeat(20000).getBytes(StandardCharsets.UTF_8));
+
+        List<ArchiveSegment.Member> members = ArchiveSegment.members(segment.bytes());
+
+        assertEquals(2, members.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(segment.entries().get(i).offset(), members.get(i).offset());
+            assertEquals(segment.entries().get(i).length(), members.get(i).length());
+        }
+        assertEquals("{\"runId\":\"a\"}\n", new String(members.get(0).line(), StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> ArchiveSegment.members(Arrays.copyOf(segment.bytes(),
+                segment.bytes().length - 4)));
+    }
+
+    @Test
+    public void testKeyIsDeterministicPerBatch() throws Exception {
+        Instant from = Instant.parse("2024-03-01T00:00:00Z");
+        Instant to = Instant.parse("2024-03-02T00:00:00Z");
+        ArchiveSegment first = new ArchiveSegment();
+        first.add("a", new byte[0]);
+        ArchiveSegment retry = new ArchiveSegment();
+        retry.add("a", new byte[0]);
+        ArchiveSegment other = new ArchiveSegment();
+        other.add("b", new byte[0]);
+
+        String key = first.key("runs", from, to);
+        assertTrue(key.startsWith("runs/segments/2024/03/" + from.toEpochMilli() + "-" + to.toEpochMilli() + "-"));
+        assertTrue(key.endsWith(".ndjson.gz"));
+        assertEquals(key, retry.key("runs", from, to));
+        assertNotEquals(key, other.key("runs", from, to));
+    }
+}
@@ -0,0 +1,67 @@
+package com.openlineage.server.archival;
+
+import com.openlineage.server.storage.document.RunDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchivedRunCacheTest {
+
+    private static RunDocument run(String runId) {
+        RunDocument run = new RunDocument();
+        run.setRunId(runId);
+        return run;
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRunsAreEvictedPastMaxBytes() {
+        ArchivedRunCache cache = new ArchivedRunCache(250, 60000, 10);
+        cache.put("r1", run("r1"), 100);
+        cache.put("r2", run("r2"), 100);
+        assertNotNull(cache.get("r1"));
+
+        cache.put("r3", run("r3"), 100);
+
+        assertNull(cache.get("r2"));
+        assertEquals("r1", cache.get("r1").orElseThrow().getRunId());
+        assertEquals("r3", cache.get("r3").orElseThrow().getRunId());
+        assertEquals(200, cache.bytes());
+    }
+
+    @Test
+    public void testRunsLargerThanTheCacheAreNotCached() {
+        ArchivedRunCache cache = new ArchivedRunCache(250, 60000, 10);
+        cache.put("r1", run("r1"), 100);
+
+        cache.put("big", run("big"), 300);
+
+        assertNull(cache.get("big"));
+        assertNotNull(cache.get("r1"));
+    }
+
+    @Test
+    public void testAbsentIdsExpireAndAreBounded() throws Exception {
+        ArchivedRunCache cache = new ArchivedRunCache(250, 50, 2);
+        cache.putAbsent("a");
+        cache.putAbsent("b");
+        cache.putAbsent("c");
+
+        assertNull(cache.get("a"));
+        assertEquals(Optional.empty(), cache.get("c"));
+
+        Thread.sleep(80);
+        assertNull(cache.get("c"));
+    }
+
+    @Test
+    public void testCachedRunReplacesAbsentEntry() {
+        ArchivedRunCache cache = new ArchivedRunCache(250, 60000, 10);
+        cache.putAbsent("r1");
+
+        cache.put("r1", run("r1"), 100);
+
+        assertTrue(cache.get("r1").isPresent());
+    }
+}
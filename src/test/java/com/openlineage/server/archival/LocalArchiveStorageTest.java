@@ -0,0 +1,67 @@
+package com.openlineage.server.archival;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalArchiveStorageTest {
+
+    @TempDir
+    Path dir;
+
+    private LocalArchiveStorage storage;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        ArchivalProperties properties = new ArchivalProperties();
+        properties.getLocal().setPath(dir.resolve("archive").toString());
+        storage = new LocalArchiveStorage(properties);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testPutReadAndOverwrite() throws Exception {
+        storage.put("runs/segments/2024/03/a.ndjson.gz", bytes("0123456789"), ArchiveSegment.CONTENT_TYPE);
+
+        assertArrayEquals(bytes("345"), storage.read("runs/segments/2024/03/a.ndjson.gz", 3, 3));
+        storage.put("runs/segments/2024/03/a.ndjson.gz", bytes("abc"), ArchiveSegment.CONTENT_TYPE);
+        try (InputStream in = storage.open("runs/segments/2024/03/a.ndjson.gz")) {
+            assertArrayEquals(bytes("abc"), in.readAllBytes());
+        }
+        assertThrows(java.io.EOFException.class, () -> storage.read("runs/segments/2024/03/a.ndjson.gz", 2, 5));
+    }
+
+    @Test
+    public void testListMatchesKeyPrefixOnly() throws Exception {
+        storage.put("runs/segments/2024/03/a.ndjson.gz", bytes("a"), ArchiveSegment.CONTENT_TYPE);
+        storage.put("runs/2023/12/old.json", bytes("b"), "application/json");
+        storage.put("events/segments/2024/03/c.ndjson.gz", bytes("c"), ArchiveSegment.CONTENT_TYPE);
+        Path upload = Files.writeString(dir.resolve("export.json.gz"), "d");
+        storage.put("exports/1/lineage.json.gz", upload, "application/gzip");
+        // Left behind by a crash mid-write
+        Files.writeString(dir.resolve("archive/runs/segments/2024/03/.tmp-b.ndjson.gz-1"), "partial");
+
+        assertEquals(List.of("runs/segments/2024/03/a.ndjson.gz"), storage.list("runs/segments/"));
+        assertEquals(2, storage.list("runs/").size());
+        assertEquals(List.of("exports/1/lineage.json.gz"), storage.list("exp"));
+        assertEquals(List.of(), storage.list("datasets/"));
+    }
+
+    @Test
+    public void testKeysCannotEscapeTheArchive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.put("../outside.json", bytes("x"), "application/json"));
+        assertFalse(Files.exists(dir.resolve("outside.json")));
+    }
+}
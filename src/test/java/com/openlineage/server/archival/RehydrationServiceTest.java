@@ -0,0 +1,179 @@
+package com.openlineage.server.archival;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.openlineage.server.storage.document.MarquezId;
+import com.openlineage.server.storage.document.RunDocument;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/** Rehydration from a local archive into a mocked DocumentDB. */
+public class RehydrationServiceTest {
+
+    private static final Instant MARCH = Instant.parse("2025-03-01T00:00:00Z");
+    private static final Instant APRIL = Instant.parse("2025-04-01T00:00:00Z");
+    private static final Instant MAY = Instant.parse("2025-05-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private ArchiveClient client;
+    private RehydrationService service;
+    private final List<Document> inserted = Collections.synchronizedList(new ArrayList<>());
+    /** Ids that the next bulk writes report as already present. */
+    private Set<Object> present = Set.of();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        ArchivalProperties properties = new ArchivalProperties();
+        properties.getLocal().setPath(dir.toString());
+        properties.setBatchSize(2);
+        properties.getRehydration().setParallelism(2);
+        client = new ArchiveClient(new LocalArchiveStorage(properties));
+
+        mongoTemplate = mock(MongoTemplate.class);
+        MongoConverter converter = mock(MongoConverter.class);
+        doAnswer(invocation -> {
+            invocation.<Document>getArgument(1).put("_id", invocation.<RunDocument>getArgument(0).getRunId());
+            return null;
+        }).when(converter).write(any(), any());
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(RunDocument.class)))
+                .thenAnswer(invocation -> bulk());
+        service = new RehydrationService(mongoTemplate, client, properties);
+
+        archive(run("r1", "etl", MARCH.plusSeconds(60)), run("r2", "report", MARCH.plusSeconds(120)));
+        archive(run("r3", "etl", MAY.plusSeconds(60)));
+    }
+
+    @AfterEach
+    public void teardown() {
+        service.shutdown();
+    }
+
+    /** A bulk write that inserts everything but the {@link #present} ids. */
+    private BulkOperations bulk() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        List<Document> batch = new ArrayList<>();
+        when(bulk.insert(any(Object.class))).thenAnswer(invocation -> {
+            batch.add(invocation.getArgument(0));
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(invocation -> {
+            List<BulkWriteError> errors = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (present.contains(batch.get(i).get("_id"))) {
+                    errors.add(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), i));
+                } else {
+                    inserted.add(batch.get(i));
+                }
+            }
+            BulkWriteResult result = BulkWriteResult.acknowledged(batch.size() - errors.size(), 0, 0, 0,
+                    List.of(), List.of());
+            if (!errors.isEmpty()) {
+                throw new BulkOperationException("duplicates",
+                        new MongoBulkWriteException(result, errors, null, new ServerAddress(), Set.of()));
+            }
+            return result;
+        });
+        return bulk;
+    }
+
+    private static RunDocument run(String id, String job, Instant eventTime) {
+        RunDocument run = new RunDocument();
+        run.setRunId(id);
+        run.setJob(new MarquezId("ns", job));
+        run.setEventType("COMPLETE");
+        run.setEventTime(eventTime.atZone(ZoneOffset.UTC));
+        return run;
+    }
+
+    private void archive(RunDocument... runs) {
+        List<RunDocument> batch = List.of(runs);
+        Instant from = batch.get(0).getEventTime().toInstant();
+        ArchiveClient.UploadedSegment segment = client.upload(ArchiveSegment.RUNS,
+                client.serialize(batch, RunDocument::getRunId), from, from.plusSeconds(60));
+        client.uploadSummary(ArchiveSummary.RUNS, batch, segment);
+    }
+
+    private RehydrationService.Progress rehydrate(RehydrationService.RehydrationRequest request) throws Exception {
+        RehydrationService.Progress progress = new RehydrationService.Progress();
+        service.rehydrate("job", request, progress);
+        return progress;
+    }
+
+    private List<Object> insertedIds() {
+        return inserted.stream().map(document -> document.get("_id")).sorted().toList();
+    }
+
+    @Test
+    public void testRunsOfJobsAreRehydratedWhateverTheirTime() throws Exception {
+        RehydrationService.Progress progress = rehydrate(new RehydrationService.RehydrationRequest(null, null,
+                List.of(new MarquezId("ns", "etl")), List.of(ArchiveSegment.RUNS)));
+
+        assertEquals(List.of("r1", "r3"), insertedIds());
+        assertEquals(2, progress.inserted.get());
+        assertEquals(2, progress.segments.get());
+        Document copy = inserted.get(0);
+        assertInstanceOf(Date.class, copy.get(RehydrationService.REHYDRATED_AT));
+        assertEquals(copy.get(RehydrationService.REHYDRATED_AT), copy.get("createdAt"));
+    }
+
+    @Test
+    public void testTimeRangeSkipsSummariesOutsideIt() throws Exception {
+        RehydrationService.Progress progress = rehydrate(new RehydrationService.RehydrationRequest(MARCH, APRIL,
+                null, List.of(ArchiveSegment.RUNS)));
+
+        assertEquals(List.of("r1", "r2"), insertedIds());
+        assertEquals(1, progress.summaries.get());
+    }
+
+    @Test
+    public void testDocumentsAlreadyPresentAreSkipped() throws Exception {
+        present = Set.of("r1");
+
+        RehydrationService.Progress progress = rehydrate(new RehydrationService.RehydrationRequest(MARCH, APRIL,
+                null, List.of(ArchiveSegment.RUNS)));
+
+        assertEquals(List.of("r2"), insertedIds());
+        assertEquals(1, progress.inserted.get());
+        assertEquals(1, progress.skipped.get());
+    }
+
+    @Test
+    public void testRequestsNeedARangeOrJobs() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RehydrationService.RehydrationRequest(null, null, List.of(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RehydrationService.RehydrationRequest(APRIL, MARCH, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RehydrationService.RehydrationRequest(MARCH, APRIL, null, List.of("jobs")));
+        assertEquals(List.of(ArchiveSegment.RUNS, ArchiveSegment.EVENTS),
+                new RehydrationService.RehydrationRequest(MARCH, null, null, null).kinds());
+    }
+}
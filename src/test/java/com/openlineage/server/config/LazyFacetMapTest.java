@@ -0,0 +1,86 @@
+package com.openlineage.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.openlineage.server.domain.Facet;
+import com.openlineage.server.domain.GenericFacet;
+import com.openlineage.server.domain.SchemaDatasetFacet;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyFacetMapTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    /** Facets as stored: sanitized keys, nested documents. */
+    private static Document stored() {
+        return new Document("_class", "java.util.HashMap")
+                .append("schema", new Document("fields",
+                        List.of(new Document("name", "col1").append("type", "STRING"))))
+                .append("spark_dot_properties", new Document("spark_dot_master", "yarn")
+                        .append("conf", List.of(new Document("k_dollar_1", 1))))
+                .append("flag", true)
+                .append("empty", null);
+    }
+
+    @Test
+    public void testFacetsAreDecodedOnAccess() {
+        Map<String, Facet> facets = new DocumentToFacetMapConverter().convert(stored());
+
+        assertInstanceOf(LazyFacetMap.class, facets);
+        assertEquals(4, facets.size());
+        assertTrue(facets.containsKey("spark.properties"));
+        assertFalse(facets.containsKey("_class"));
+        assertInstanceOf(SchemaDatasetFacet.class, facets.get("schema"));
+        GenericFacet spark = (GenericFacet) facets.get("spark.properties");
+        assertEquals("yarn", spark.getAdditionalProperties().get("spark.master"));
+        assertEquals(Map.of("k$1", 1), ((List<?>) spark.getAdditionalProperties().get("conf")).get(0));
+        assertSame(spark, facets.get("spark.properties"));
+        assertEquals(true, ((GenericFacet) facets.get("flag")).getAdditionalProperties().get("value"));
+    }
+
+    @Test
+    public void testUndecodedFacetsSerializeLikeDecodedOnes() throws Exception {
+        Map<String, Facet> lazy = new DocumentToFacetMapConverter().convert(stored());
+        Map<String, Facet> decoded = new HashMap<>();
+        stored().forEach((key, value) -> {
+            if (!"_class".equals(key)) {
+                String name = key.replace("_dot_", ".");
+                decoded.put(name, DocumentToFacetMapConverter.decode(name, value));
+            }
+        });
+
+        assertEquals(mapper.readTree(mapper.writeValueAsString(decoded)),
+                mapper.readTree(mapper.writeValueAsString(lazy)));
+        // Once decoded, facets serialize from their decoded form
+        lazy.get("spark.properties");
+        assertEquals(mapper.readTree(mapper.writeValueAsString(decoded)),
+                mapper.readTree(mapper.writeValueAsString(lazy)));
+    }
+
+    @Test
+    public void testMergeKeepsLaterFacets() {
+        Map<String, Facet> input = new DocumentToFacetMapConverter().convert(stored());
+        Map<String, Facet> output = new DocumentToFacetMapConverter().convert(
+                new Document("flag", false).append("documentation", new Document("description", "d")));
+
+        Map<String, Facet> merged = new LazyFacetMap();
+        merged.putAll(input);
+        merged.putAll(output);
+
+        assertEquals(5, merged.size());
+        assertEquals(false, ((GenericFacet) merged.get("flag")).getAdditionalProperties().get("value"));
+        assertEquals(true, ((GenericFacet) input.get("flag")).getAdditionalProperties().get("value"));
+        assertEquals(input.get("schema"), merged.get("schema"));
+        assertEquals(merged, new HashMap<>(merged));
+    }
+}
@@ -0,0 +1,35 @@
+package com.openlineage.server.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldIndexTest {
+
+    @Test
+    public void testLookupIsCaseInsensitive() {
+        FieldIndex index = new FieldIndex();
+        index.set(0, List.of("Customer_ID", "name"));
+        index.set(2, List.of("customer_id"));
+
+        assertArrayEquals(new int[] { 0, 2 }, index.lookup("CUSTOMER_ID"));
+        assertArrayEquals(new int[0], index.lookup("order_id"));
+    }
+
+    @Test
+    public void testSchemaChangeReplacesFields() {
+        FieldIndex index = new FieldIndex();
+        index.set(5, List.of("customer_id", "name"));
+        index.set(1, List.of("customer_id"));
+        index.set(5, List.of("name", "email"));
+
+        assertArrayEquals(new int[] { 1 }, index.lookup("customer_id"));
+        assertArrayEquals(new int[] { 5 }, index.lookup("email"));
+
+        index.set(1, List.of());
+        assertArrayEquals(new int[0], index.lookup("customer_id"));
+        assertEquals(2, index.size());
+    }
+}
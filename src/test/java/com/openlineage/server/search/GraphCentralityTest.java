@@ -0,0 +1,120 @@
+package com.openlineage.server.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphCentralityTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** dataset 0 → job 1 → dataset 2 → job 3 */
+    private static LineageGraph chain() {
+        LineageGraph.Builder builder = new LineageGraph.Builder();
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 2);
+        builder.addEdge(2, 3);
+        return builder.build(4);
+    }
+
+    @Test
+    public void testCsrDegrees() {
+        LineageGraph.Builder builder = new LineageGraph.Builder();
+        builder.addEdge(0, 1);
+        builder.addEdge(0, 2);
+        builder.addEdge(1, 2);
+        LineageGraph graph = builder.build(4);
+
+        assertEquals(4, graph.nodeCount());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(2, graph.outDegree(0));
+        assertEquals(0, graph.inDegree(0));
+        assertEquals(2, graph.inDegree(2));
+        assertEquals(0, graph.outDegree(3)); // isolated node
+    }
+
+    @Test
+    public void testPageRankFavoursUpstreamNodes() {
+        double[] rank = GraphCentrality.pageRank(chain(), pool, 0.85, 1e-10, 100, null);
+
+        assertEquals(1.0, Arrays.stream(rank).sum(), 1e-9);
+        assertTrue(rank[0] > rank[1]);
+        assertTrue(rank[1] > rank[2]);
+        assertTrue(rank[2] > rank[3]);
+    }
+
+    @Test
+    public void testPageRankIsIndependentOfParallelismAndWarmStart() {
+        Random random = new Random(1);
+        LineageGraph.Builder builder = new LineageGraph.Builder();
+        int n = 20_000;
+        for (int i = 0; i < 60_000; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        LineageGraph graph = builder.build(n);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            double[] parallel = GraphCentrality.pageRank(graph, pool, 0.85, 1e-12, 200, null);
+            double[] sequential = GraphCentrality.pageRank(graph, single, 0.85, 1e-12, 200, null);
+            double[] warm = GraphCentrality.pageRank(graph, pool, 0.85, 1e-12, 200, parallel);
+            for (int u = 0; u < n; u++) {
+                assertEquals(sequential[u], parallel[u], 1e-12);
+                assertEquals(parallel[u], warm[u], 1e-12);
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testReachIsExactBelowSketchSize() {
+        assertArrayEquals(new long[] { 3, 2, 1, 0 }, GraphCentrality.downstreamReach(chain(), pool, 42, 100));
+
+        // Diamond: 3 is reached along two paths but counted once
+        LineageGraph.Builder builder = new LineageGraph.Builder();
+        builder.addEdge(0, 1);
+        builder.addEdge(0, 2);
+        builder.addEdge(1, 3);
+        builder.addEdge(2, 3);
+        assertArrayEquals(new long[] { 3, 1, 1, 0 }, GraphCentrality.downstreamReach(builder.build(4), pool, 42, 100));
+    }
+
+    @Test
+    public void testReachIsApproximateForLargeFanOutAndHandlesCycles() {
+        // 0 fans out to 1..1000, which all feed 1001
+        LineageGraph.Builder builder = new LineageGraph.Builder();
+        for (int i = 1; i <= 1000; i++) {
+            builder.addEdge(0, i);
+            builder.addEdge(i, 1001);
+        }
+        long[] reach = GraphCentrality.downstreamReach(builder.build(1002), pool, 42, 100);
+        assertTrue(reach[0] > 500 && reach[0] < 1500, "reach " + reach[0]);
+        assertEquals(0, reach[1001]);
+
+        // A 300-node cycle: every node reaches the other 299
+        builder = new LineageGraph.Builder();
+        for (int i = 0; i < 300; i++) {
+            builder.addEdge(i, (i + 1) % 300);
+        }
+        reach = GraphCentrality.downstreamReach(builder.build(300), pool, 42, 1000);
+        assertTrue(reach[0] > 200 && reach[0] < 400, "reach " + reach[0]);
+        assertEquals(reach[0], reach[150]);
+    }
+}
@@ -0,0 +1,115 @@
+package com.openlineage.server.search;
+
+import com.openlineage.server.api.models.SearchFilter;
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.JobDocument;
+import com.openlineage.server.storage.document.LineageEdgeDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ImportanceServiceTest {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2025-01-01T00:00:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private SearchIndexService searchIndex;
+    private BulkOperations jobBulk;
+    private BulkOperations datasetBulk;
+    private ImportanceService service;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        searchIndex = mock(SearchIndexService.class);
+        jobBulk = mock(BulkOperations.class);
+        datasetBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(JobDocument.class))).thenReturn(jobBulk);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(DatasetDocument.class))).thenReturn(datasetBulk);
+        // raw.orders → etl → mart.orders → report
+        when(mongoTemplate.stream(any(Query.class), eq(LineageEdgeDocument.class))).thenAnswer(inv -> Stream.of(
+                edge("dataset", "raw.orders", "job", "etl"),
+                edge("job", "etl", "dataset", "mart.orders"),
+                edge("dataset", "mart.orders", "job", "report")));
+        service = new ImportanceService(mongoTemplate, searchIndex, true, 2);
+    }
+
+    private static LineageEdgeDocument edge(String sourceType, String source, String targetType, String target) {
+        return new LineageEdgeDocument(sourceType, "ns", source, targetType, "ns", target, "input", T0);
+    }
+
+    @Test
+    public void testScoresAreWrittenAndPushedToSearchIndex() {
+        assertEquals(4, service.recompute(false));
+
+        verify(datasetBulk, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(jobBulk, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(datasetBulk).execute();
+        verify(jobBulk).execute();
+
+        verify(searchIndex).setImportance(argThat((Map<String, Double> scores) -> {
+            double raw = scores.get(SearchIndexService.key(SearchFilter.DATASET, "ns", "raw.orders"));
+            double mart = scores.get(SearchIndexService.key(SearchFilter.DATASET, "ns", "mart.orders"));
+            double report = scores.get(SearchIndexService.key(SearchFilter.JOB, "ns", "report"));
+            // The most upstream dataset feeds everything; the final consumer feeds nothing
+            return scores.size() == 4 && raw > mart && mart > report;
+        }));
+    }
+
+    @Test
+    public void testUnchangedEdgesSkipRecomputation() {
+        service.recompute(false);
+        clearInvocations(mongoTemplate, searchIndex);
+
+        assertEquals(0, service.recompute(false));
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(LineageEdgeDocument.class));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    public void testForcedRecomputationOnlyWritesChangedScores() {
+        service.recompute(false);
+        clearInvocations(jobBulk, datasetBulk);
+
+        assertEquals(0, service.recompute(true));
+        verify(jobBulk, never()).updateOne(any(Query.class), any(Update.class));
+        verify(datasetBulk, never()).updateOne(any(Query.class), any(Update.class));
+        verify(searchIndex, times(2)).setImportance(anyMap());
+    }
+
+    @Test
+    public void testNodesThatLeftTheGraphLoseTheirScore() {
+        service.recompute(false);
+        clearInvocations(jobBulk, datasetBulk, searchIndex);
+        // The report job's only edge is gone
+        when(mongoTemplate.stream(any(Query.class), eq(LineageEdgeDocument.class))).thenAnswer(inv -> Stream.of(
+                edge("dataset", "raw.orders", "job", "etl"),
+                edge("job", "etl", "dataset", "mart.orders")));
+
+        service.recompute(true);
+
+        verify(jobBulk).updateOne(any(Query.class), eq(new Update().unset("importance")));
+        verify(searchIndex).setImportance(argThat((Map<String, Double> scores) ->
+                scores.get(SearchIndexService.key(SearchFilter.JOB, "ns", "report")) == 0.0));
+    }
+
+    @Test
+    public void testDisabledSchedulerDoesNothing() {
+        new ImportanceService(mongoTemplate, searchIndex, false, 2).scheduledRecompute();
+        verifyNoInteractions(mongoTemplate);
+    }
+}
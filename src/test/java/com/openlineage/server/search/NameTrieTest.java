@@ -0,0 +1,50 @@
+package com.openlineage.server.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameTrieTest {
+
+    private final long[] updatedAt = { 10, 30, 20, 40 };
+
+    private NameTrie trie() {
+        NameTrie trie = new NameTrie();
+        trie.add("orders", 0, updatedAt[0]);
+        trie.add("order_items", 1, updatedAt[1]);
+        trie.add("ordinals", 2, updatedAt[2]);
+        trie.add("customers", 3, updatedAt[3]);
+        return trie;
+    }
+
+    @Test
+    public void testPrefixMatchesMostRecentFirst() {
+        assertEquals(List.of(1, 2, 0), trie().topK("ord", 10, id -> updatedAt[id], id -> true));
+        assertEquals(List.of(1, 0), trie().topK("order", 10, id -> updatedAt[id], id -> true));
+    }
+
+    @Test
+    public void testPrefixEndingInsideEdge() {
+        // "orde" stops in the middle of the compressed "der" edge
+        assertEquals(List.of(1, 0), trie().topK("orde", 10, id -> updatedAt[id], id -> true));
+        assertEquals(List.of(), trie().topK("ordx", 10, id -> updatedAt[id], id -> true));
+    }
+
+    @Test
+    public void testLimitAndFilter() {
+        assertEquals(List.of(1), trie().topK("", 1, id -> updatedAt[id], id -> id != 3));
+        assertEquals(List.of(2, 0), trie().topK("ord", 10, id -> updatedAt[id], id -> id != 1));
+    }
+
+    @Test
+    public void testSameIdUnderSeveralKeysIsReturnedOnce() {
+        NameTrie trie = new NameTrie();
+        trie.add("warehouse.orders", 0, 1);
+        trie.add("orders", 0, 1);
+        trie.add("orders_archive", 1, 2);
+
+        assertEquals(List.of(1, 0), trie.topK("o", 10, id -> id + 1, id -> true));
+    }
+}
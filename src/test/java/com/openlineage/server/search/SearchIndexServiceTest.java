@@ -0,0 +1,255 @@
+package com.openlineage.server.search;
+
+import com.openlineage.server.api.models.SearchFilter;
+import com.openlineage.server.api.models.SearchSort;
+import com.openlineage.server.storage.document.DatasetDocument;
+import com.openlineage.server.storage.document.JobDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SearchIndexServiceTest {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2025-01-01T00:00:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private SearchIndexService index;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        index = new SearchIndexService(mongoTemplate, true);
+    }
+
+    @Test
+    public void testNotReadyUntilRebuilt() {
+        assertFalse(index.isReady());
+        index.rebuild();
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    public void testDisabledIsNeverReady() {
+        SearchIndexService disabled = new SearchIndexService(mongoTemplate, false);
+        disabled.warmUp();
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testRebuildLoadsJobsAndDatasets() {
+        JobDocument job = new JobDocument();
+        job.setId(new MarquezId("ns", "daily_orders_etl"));
+        job.setUpdatedAt(T0);
+        DatasetDocument dataset = new DatasetDocument("ns", "warehouse.orders", "src", Collections.emptyList(), T0);
+
+        when(mongoTemplate.stream(any(Query.class), eq(JobDocument.class))).thenReturn(Stream.of(job));
+        when(mongoTemplate.stream(any(Query.class), eq(DatasetDocument.class))).thenReturn(Stream.of(dataset));
+
+        index.rebuild();
+
+        SearchIndexService.SearchHits hits = index.search("ORDERS", null, null, null, null, SearchSort.NAME, 10, null);
+        assertEquals(2, hits.totalCount());
+        assertEquals("daily_orders_etl", hits.entries().get(0).name());
+        assertEquals(SearchFilter.DATASET, hits.entries().get(1).type());
+    }
+
+    @Test
+    public void testSubstringMatchIsVerified() {
+        index.rebuild();
+        index.indexDataset("ns", "aba_bab", T0);
+        index.indexDataset("ns", "xabab", T0);
+
+        // Both names contain the trigrams "aba" and "bab", only one contains "abab"
+        List<SearchIndexService.Entry> hits = index.search("abab", null, null, null, null, SearchSort.NAME, 10, null).entries();
+        assertEquals(1, hits.size());
+        assertEquals("xabab", hits.get(0).name());
+    }
+
+    @Test
+    public void testShortQueryScansInMemory() {
+        index.rebuild();
+        index.indexJob("ns", "a1", T0);
+        index.indexJob("ns", "b2", T0);
+
+        assertEquals(1, index.search("a", null, null, null, null, SearchSort.NAME, 10, null).totalCount());
+    }
+
+    @Test
+    public void testFiltersAndLimit() {
+        index.rebuild();
+        index.indexJob("ns", "orders_job", T0);
+        index.indexDataset("ns", "orders", T0.plusDays(1));
+        index.indexDataset("other", "orders_archive", T0.plusDays(2));
+
+        assertEquals(1, index.search("orders", SearchFilter.JOB, null, null, null, SearchSort.NAME, 10, null).totalCount());
+        assertEquals(2, index.search("orders", null, "ns", null, null, SearchSort.NAME, 10, null).totalCount());
+        assertEquals(1, index.search("orders", null, null, T0.plusHours(36), null, SearchSort.NAME, 10, null).totalCount());
+
+        SearchIndexService.SearchHits top = index.search("orders", null, null, null, null, SearchSort.UPDATE_AT, 2, null);
+        assertEquals(3, top.totalCount());
+        assertEquals(2, top.entries().size());
+        assertEquals("orders_archive", top.entries().get(0).name());
+        assertEquals("orders", top.entries().get(1).name());
+    }
+
+    @Test
+    public void testUpsertReplaces() {
+        index.rebuild();
+        index.indexJob("ns", "orders_job", T0);
+        index.indexJob("ns", "orders_job", T0.plusDays(1));
+
+        SearchIndexService.SearchHits hits = index.search("orders", null, null, null, null, SearchSort.NAME, 10, null);
+        assertEquals(1, hits.totalCount());
+        assertEquals(T0.plusDays(1).toInstant().toEpochMilli(), hits.entries().get(0).updatedAt());
+    }
+
+    @Test
+    public void testSuggestMatchesNameSegments() {
+        index.rebuild();
+        index.indexDataset("ns", "warehouse.daily_orders", T0);
+        index.indexJob("ns", "orders_etl", T0.plusDays(1));
+        index.indexJob("ns", "customers_etl", T0.plusDays(2));
+
+        List<SearchIndexService.Entry> hits = index.suggest("Ord", null, null, 10);
+        assertEquals(2, hits.size());
+        assertEquals("orders_etl", hits.get(0).name());
+        assertEquals("warehouse.daily_orders", hits.get(1).name());
+
+        assertEquals(1, index.suggest("ord", SearchFilter.DATASET, null, 10).size());
+        assertEquals(2, index.suggest("etl", null, "ns", 10).size());
+        assertTrue(index.suggest("rders", null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void testSuggestKeys() {
+        assertEquals(List.of("db.schema_table", "schema_table", "table"),
+                SearchIndexService.suggestKeys("DB.Schema_Table"));
+        assertEquals(List.of("s3://bucket/key", "bucket/key", "key"),
+                SearchIndexService.suggestKeys("s3://bucket/key"));
+    }
+
+    @Test
+    public void testCursorPaging() {
+        index.rebuild();
+        index.indexJob("ns", "orders_b", T0);
+        index.indexDataset("ns", "orders_a", T0);
+        index.indexDataset("ns", "orders_b", T0);
+        index.indexJob("other", "orders_b", T0);
+
+        SearchIndexService.SearchHits first = index.search("orders", null, null, null, null, SearchSort.NAME, 2, null);
+        assertEquals(4, first.totalCount());
+        assertTrue(first.hasMore());
+        assertEquals("orders_a", first.entries().get(0).name());
+        // Same name: JOB before DATASET, then by namespace
+        assertEquals(SearchFilter.JOB, first.entries().get(1).type());
+        assertEquals("ns", first.entries().get(1).namespace());
+
+        SearchIndexService.SearchHits second = index.search("orders", null, null, null, null, SearchSort.NAME, 2,
+                first.entries().get(1));
+        assertEquals(4, second.totalCount());
+        assertFalse(second.hasMore());
+        assertEquals("other", second.entries().get(0).namespace());
+        assertEquals(SearchFilter.DATASET, second.entries().get(1).type());
+    }
+
+    @Test
+    public void testRelevanceSortUsesImportanceAndSurvivesUpserts() {
+        index.rebuild();
+        index.indexDataset("ns", "orders_raw", T0);
+        index.indexDataset("ns", "orders_mart", T0.plusDays(1));
+        index.indexJob("ns", "orders_etl", T0.plusDays(2));
+        index.setImportance(java.util.Map.of(
+                SearchIndexService.key(SearchFilter.DATASET, "ns", "orders_raw"), 3.0,
+                SearchIndexService.key(SearchFilter.DATASET, "ns", "orders_mart"), 1.5));
+
+        // Ingestion does not carry the score and must not reset it
+        index.indexDataset("ns", "orders_mart", T0.plusDays(3));
+
+        List<SearchIndexService.Entry> ranked = index.search("orders", null, null, null, null,
+                SearchSort.RELEVANCE, 10, null).entries();
+        assertEquals(List.of("orders_raw", "orders_mart", "orders_etl"),
+                ranked.stream().map(SearchIndexService.Entry::name).toList());
+        assertEquals(1.5, ranked.get(1).importance());
+
+        SearchCursor cursor = SearchCursor.decode(new SearchCursor(SearchSort.RELEVANCE, ranked.get(0)).encode(),
+                SearchSort.RELEVANCE);
+        assertEquals(ranked.get(0), cursor.last());
+        assertEquals(List.of("orders_mart", "orders_etl"), index.search("orders", null, null, null, null,
+                SearchSort.RELEVANCE, 10, cursor.last()).entries().stream().map(SearchIndexService.Entry::name).toList());
+    }
+
+    @Test
+    public void testFuzzySearchRanksByDistanceThenRecency() {
+        index.rebuild();
+        index.indexDataset("ns", "sales.customer_orders", T0);
+        index.indexDataset("ns", "sales.customers_orders", T0.plusDays(2));
+        index.indexDataset("ns", "sales.customer_order", T0.plusDays(1));
+        index.indexDataset("ns", "sales.invoices", T0.plusDays(3));
+
+        List<SearchIndexService.Entry> hits = index.fuzzySearch("cusotmer_orders", null, null, 10).entries();
+        assertEquals(List.of("sales.customer_orders", "sales.customer_order"),
+                hits.stream().map(SearchIndexService.Entry::name).toList());
+
+        // Exact tokens rank first regardless of recency
+        hits = index.fuzzySearch("customer_orders", null, null, 10).entries();
+        assertEquals("sales.customer_orders", hits.get(0).name());
+        assertEquals(3, hits.size());
+    }
+
+    @Test
+    public void testFuzzySearchRespectsFilters() {
+        index.rebuild();
+        index.indexJob("ns", "load_customer", T0);
+        index.indexDataset("other", "customer", T0);
+
+        assertEquals(1, index.fuzzySearch("custmer", SearchFilter.JOB, null, 10).totalCount());
+        assertEquals(1, index.fuzzySearch("custmer", null, "other", 10).totalCount());
+        assertEquals(0, index.fuzzySearch("xyz", null, null, 10).totalCount());
+    }
+
+    @Test
+    public void testFieldSearch() {
+        index.rebuild();
+        index.indexDataset("ns", "orders", T0, List.of("order_id", "Customer_ID"));
+        index.indexDataset("ns", "customers", T0.plusDays(1), List.of("customer_id", "name"));
+        index.indexJob("ns", "customer_id_job", T0);
+
+        SearchIndexService.SearchHits hits = index.search("customer_id", SearchFilter.FIELD, null, null, null,
+                SearchSort.UPDATE_AT, 10, null);
+        assertEquals(2, hits.totalCount());
+        assertEquals("customers", hits.entries().get(0).name());
+
+        // Upsert without a schema keeps the fields; with a schema replaces them
+        index.indexDataset("ns", "orders", T0.plusDays(2));
+        assertEquals(2, index.search("customer_id", SearchFilter.FIELD, null, null, null, SearchSort.NAME, 10, null)
+                .totalCount());
+        index.indexDataset("ns", "orders", T0.plusDays(3), List.of("order_id"));
+        assertEquals(1, index.search("customer_id", SearchFilter.FIELD, null, null, null, SearchSort.NAME, 10, null)
+                .totalCount());
+    }
+
+    @Test
+    public void testRebuildLoadsDatasetFields() {
+        DatasetDocument dataset = new DatasetDocument("ns", "orders", "src",
+                List.<Object>of(new org.bson.Document("name", "order_id").append("type", "int")), T0);
+        when(mongoTemplate.stream(any(Query.class), eq(DatasetDocument.class))).thenReturn(Stream.of(dataset));
+
+        index.rebuild();
+
+        assertEquals(1, index.search("ORDER_ID", SearchFilter.FIELD, null, null, null, SearchSort.NAME, 10, null)
+                .totalCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.openlineage.server.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBkTreeTest {
+
+    @Test
+    public void testDistance() {
+        assertEquals(0, TokenBkTree.distance("orders", "orders"));
+        assertEquals(1, TokenBkTree.distance("orders", "order"));
+        assertEquals(2, TokenBkTree.distance("cusotmer", "customer"));
+        assertEquals(3, TokenBkTree.distance("kitten", "sitting"));
+        assertEquals(4, TokenBkTree.distance("", "abcd"));
+    }
+
+    @Test
+    public void testFindsTokensWithinDistance() {
+        TokenBkTree tree = new TokenBkTree();
+        tree.add("customer", 0);
+        tree.add("orders", 0);
+        tree.add("customers", 1);
+        tree.add("costumer", 2);
+        tree.add("invoices", 3);
+        tree.add("customer", 4);
+
+        Map<String, Integer> found = new HashMap<>();
+        tree.search("cusotmer", 2, Integer.MAX_VALUE, (token, d, ids, idCount) -> found.put(token, d));
+
+        assertEquals(Map.of("customer", 2), found);
+        assertEquals(5, tree.size());
+    }
+
+    @Test
+    public void testReportsIdsPerToken() {
+        TokenBkTree tree = new TokenBkTree();
+        tree.add("orders", 0);
+        tree.add("orders", 3);
+        tree.add("orders", 3);
+
+        int[][] seen = new int[1][];
+        tree.search("orders", 0, Integer.MAX_VALUE,
+                (token, d, ids, idCount) -> seen[0] = java.util.Arrays.copyOf(ids, idCount));
+        assertArrayEquals(new int[] { 0, 3 }, seen[0]);
+    }
+
+    @Test
+    public void testVisitBudgetBoundsLookup() {
+        TokenBkTree tree = new TokenBkTree();
+        for (int i = 0; i < 1000; i++) {
+            tree.add("token" + i, i);
+        }
+        int[] visited = { 0 };
+        tree.search("token1", 10, 5, (token, d, ids, idCount) -> visited[0]++);
+        assertTrue(visited[0] <= 5);
+    }
+
+    @Test
+    public void testExhaustedBudgetStillFindsTheClosestMatches() {
+        // Thousands of tokens two or three edits from the query, added before its matches
+        TokenBkTree tree = new TokenBkTree();
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            char[] token = "orders".toCharArray();
+            for (int edit = 0; edit < 3; edit++) {
+                token[random.nextInt(token.length)] = (char) ('a' + random.nextInt(26));
+            }
+            if (TokenBkTree.distance("orders", new String(token)) > 1) {
+                tree.add(new String(token), i);
+            }
+        }
+        tree.add("orders", 2000);
+        tree.add("ordes", 2001);
+
+        Map<String, Integer> exact = new HashMap<>();
+        tree.search("orders", 2, 50, (token, d, ids, idCount) -> exact.put(token, d));
+        Map<String, Integer> close = new HashMap<>();
+        tree.search("orders", 2, 1000, (token, d, ids, idCount) -> close.put(token, d));
+
+        assertEquals(0, exact.get("orders"));
+        assertTrue(exact.size() <= 50);
+        assertEquals(1, close.get("ordes"));
+    }
+}
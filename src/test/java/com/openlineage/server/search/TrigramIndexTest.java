@@ -0,0 +1,34 @@
+package com.openlineage.server.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void testIntersectsPostingLists() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(0, "orders");
+        index.add(1, "customers");
+        index.add(2, "order_items");
+
+        assertArrayEquals(new int[] { 0, 2 }, index.candidates("order"));
+        assertArrayEquals(new int[] { 0, 1 }, index.candidates("ers"));
+        assertArrayEquals(new int[0], index.candidates("xyz"));
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(0, "Warehouse.Orders");
+
+        assertArrayEquals(new int[] { 0 }, index.candidates("ORDERS"));
+    }
+
+    @Test
+    public void testRejectsShortQuery() {
+        TrigramIndex index = new TrigramIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.candidates("ab"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.openlineage.server.service;
 
 import com.openlineage.server.domain.*;
+import com.openlineage.server.search.SearchIndexService;
 import com.openlineage.server.storage.document.DataSourceDocument;
 import com.openlineage.server.storage.document.DatasetDocument;
 import com.openlineage.server.storage.document.MarquezId;
@@ -11,6 +12,7 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 
@@ -33,7 +35,10 @@ public class DatasetServiceTest {
         facetMergeService = mock(FacetMergeService.class);
         versionService = mock(VersionService.class);
         nameNormalizer = new DatasetNameNormalizer(true);
-        datasetService = new DatasetService(mongoTemplate, facetMergeService, versionService, nameNormalizer);
+        datasetService = new DatasetService(mongoTemplate, facetMergeService, versionService, nameNormalizer,
+                mock(SearchIndexService.class), mock(StatsRollupService.class),
+                new FacetBlobService(mongoTemplate, false, List.of("schema", "columnLineage"), 2048, 0,
+                Duration.ofDays(180), Duration.ofDays(90), Duration.ofDays(90)));
     }
 
     @Test
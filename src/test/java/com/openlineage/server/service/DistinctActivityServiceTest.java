@@ -0,0 +1,124 @@
+package com.openlineage.server.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.storage.document.DistinctActivityDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DistinctActivityServiceTest {
+
+    private static final ZonedDateTime EVENT_TIME = ZonedDateTime.parse("2024-03-15T10:42:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private DistinctActivityService service;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new DistinctActivityService(mongoTemplate, true);
+    }
+
+    @Test
+    public void testFlushCreatesHourDayAndMonthSketches() {
+        service.record(EVENT_TIME, new MarquezId("ns", "job_a"),
+                List.of(new MarquezId("s3://b", "in"), new MarquezId("s3://b", "out")), "spark");
+        service.record(EVENT_TIME.plusMinutes(5), new MarquezId("ns", "job_a"), List.of(), "spark");
+
+        assertEquals(1, service.flush());
+
+        ArgumentCaptor<DistinctActivityDocument> hourly = ArgumentCaptor.forClass(DistinctActivityDocument.class);
+        verify(mongoTemplate).insert(hourly.capture(), eq("distinct_hourly"));
+        assertEquals(Instant.parse("2024-03-15T10:00:00Z"), hourly.getValue().getBucket());
+        DistinctActivityService.Sketches sketches = DistinctActivityService.Sketches.of(hourly.getValue());
+        assertEquals(1, sketches.distinctJobs());
+        assertEquals(2, sketches.distinctDatasets());
+        assertEquals(1, sketches.distinctProducers());
+
+        ArgumentCaptor<DistinctActivityDocument> daily = ArgumentCaptor.forClass(DistinctActivityDocument.class);
+        verify(mongoTemplate).insert(daily.capture(), eq("distinct_daily"));
+        assertEquals(Instant.parse("2024-03-15T00:00:00Z"), daily.getValue().getBucket());
+        ArgumentCaptor<DistinctActivityDocument> monthly = ArgumentCaptor.forClass(DistinctActivityDocument.class);
+        verify(mongoTemplate).insert(monthly.capture(), eq("distinct_monthly"));
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), monthly.getValue().getBucket());
+
+        // Nothing left to flush
+        assertEquals(0, service.flush());
+    }
+
+    @Test
+    public void testFlushMergesIntoExistingSketchWithVersionGuard() {
+        HyperLogLog stored = new HyperLogLog();
+        stored.add("ns:job_a");
+        DistinctActivityDocument existing = new DistinctActivityDocument(Instant.parse("2024-03-15T10:00:00Z"));
+        existing.setJobs(stored.toBytes());
+        existing.setVersion(7);
+        when(mongoTemplate.findById(any(), eq(DistinctActivityDocument.class), eq("distinct_hourly")))
+                .thenReturn(existing);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("distinct_hourly")))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        service.record(EVENT_TIME, new MarquezId("ns", "job_b"), List.of(), null);
+        service.flush();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq("distinct_hourly"));
+        assertEquals(7L, query.getValue().getQueryObject().get("version"));
+        org.bson.Document set = (org.bson.Document) update.getValue().getUpdateObject().get("$set");
+        DistinctActivityDocument merged = new DistinctActivityDocument();
+        merged.setJobs((byte[]) set.get("jobs"));
+        assertEquals(2, DistinctActivityService.Sketches.of(merged).distinctJobs());
+    }
+
+    @Test
+    public void testUnchangedSketchIsNotRewritten() {
+        HyperLogLog stored = new HyperLogLog();
+        stored.add("ns:job_a");
+        DistinctActivityDocument existing = new DistinctActivityDocument(Instant.parse("2024-03-15T10:00:00Z"));
+        existing.setJobs(stored.toBytes());
+        when(mongoTemplate.findById(any(), eq(DistinctActivityDocument.class), any(String.class)))
+                .thenReturn(existing);
+
+        service.record(EVENT_TIME, new MarquezId("ns", "job_a"), List.of(), null);
+        service.flush();
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), any(String.class));
+        verify(mongoTemplate, never()).insert(any(DistinctActivityDocument.class), any(String.class));
+    }
+
+    @Test
+    public void testFailedFlushKeepsSketchesForNextFlush() {
+        when(mongoTemplate.insert(any(DistinctActivityDocument.class), eq("distinct_hourly")))
+                .thenThrow(new RuntimeException("boom"))
+                .thenReturn(null);
+
+        service.record(EVENT_TIME, new MarquezId("ns", "job_a"), List.of(), null);
+        assertThrows(RuntimeException.class, () -> service.flush());
+
+        assertEquals(1, service.flush());
+        verify(mongoTemplate, times(2)).insert(any(DistinctActivityDocument.class), eq("distinct_hourly"));
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        DistinctActivityService disabled = new DistinctActivityService(mongoTemplate, false);
+        disabled.record(EVENT_TIME, new MarquezId("ns", "job_a"), List.of(), "spark");
+
+        assertEquals(0, disabled.flush());
+        verifyNoInteractions(mongoTemplate);
+    }
+}
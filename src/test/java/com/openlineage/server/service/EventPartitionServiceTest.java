@@ -0,0 +1,109 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.config.MongoConfig;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EventPartitionServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations indexOps;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(anyString())).thenReturn(indexOps);
+        // With the application's simple types, so ZonedDateTime is not mapped as an entity
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(new MongoConfig().customConversions(null).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context));
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of("lineage_events", "lineage_events_202401",
+                "lineage_events_202402", "lineage_events_202403", "lineage_events_backup", "runs"));
+    }
+
+    private EventPartitionService service(boolean enabled, boolean archival) {
+        return new EventPartitionService(mongoTemplate, enabled, Duration.ofDays(30), archival);
+    }
+
+    @Test
+    public void testDisabledUsesTheCollectionOnly() {
+        EventPartitionService service = service(false, false);
+
+        assertEquals("lineage_events", service.collectionFor(ZonedDateTime.now()));
+        assertEquals(List.of("lineage_events"), service.collections(null));
+        assertEquals(List.of(), service.partitionsBefore(Instant.now()));
+        service.dropExpired();
+        verify(mongoTemplate, never()).getCollectionNames();
+        verify(mongoTemplate, never()).dropCollection(anyString());
+    }
+
+    @Test
+    public void testWritesGoToTheUtcMonthWithoutATtlIndex() {
+        EventPartitionService service = service(true, false);
+
+        assertEquals("lineage_events_202403",
+                service.collectionFor(ZonedDateTime.parse("2024-04-01T01:00:00+02:00")));
+        assertEquals("lineage_events_202403",
+                service.collectionFor(ZonedDateTime.parse("2024-03-15T00:00:00Z")));
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(mongoTemplate, times(1)).indexOps("lineage_events_202403");
+        verify(indexOps, atLeastOnce()).ensureIndex(indexes.capture());
+        assertTrue(indexes.getAllValues().stream()
+                .noneMatch(index -> index.getIndexOptions().containsKey("expireAfterSeconds")));
+        assertTrue(indexes.getAllValues().stream()
+                .anyMatch(index -> index.getIndexKeys().equals(new Document("eventTime", 1))));
+    }
+
+    @Test
+    public void testReadsSkipPartitionsTooOldForTheRange() {
+        EventPartitionService service = service(true, false);
+
+        assertEquals(List.of("lineage_events_202403", "lineage_events_202402", "lineage_events_202401",
+                "lineage_events"), service.collections(null));
+        assertEquals(List.of("lineage_events_202403", "lineage_events_202402", "lineage_events"),
+                service.collections(Instant.parse("2024-03-20T00:00:00Z")));
+    }
+
+    @Test
+    public void testRetentionDropsWholeMonthsOnly() {
+        EventPartitionService service = service(true, false);
+
+        assertEquals(List.of("lineage_events_202401", "lineage_events_202402"),
+                service.partitionsBefore(Instant.parse("2024-03-01T00:00:00Z")));
+        assertEquals(List.of("lineage_events_202401"),
+                service.partitionsBefore(Instant.parse("2024-02-29T23:00:00Z")));
+
+        service.dropExpired();
+        verify(mongoTemplate).dropCollection("lineage_events_202401");
+        verify(mongoTemplate).dropCollection("lineage_events_202403");
+        verify(mongoTemplate, never()).dropCollection("lineage_events");
+        assertThrows(IllegalArgumentException.class, () -> service.drop("lineage_events"));
+    }
+
+    @Test
+    public void testArchivalDropsPartitionsInsteadOfRetention() {
+        service(true, true).dropExpired();
+
+        verify(mongoTemplate, never()).dropCollection(anyString());
+    }
+}
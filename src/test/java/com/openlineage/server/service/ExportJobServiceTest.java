@@ -0,0 +1,207 @@
+package com.openlineage.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.client.result.UpdateResult;
+import com.openlineage.server.api.models.LineageExportModels.JobLineageRow;
+import com.openlineage.server.archival.ArchiveClient;
+import com.openlineage.server.storage.document.ExportJobDocument;
+import com.openlineage.server.storage.document.ExportJobStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ExportJobServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private LineageExportService lineageExportService;
+    private ExportJobService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ExportJobDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        lineageExportService = mock(LineageExportService.class);
+        ObjectProvider<ArchiveClient> s3 = mock(ObjectProvider.class);
+        service = new ExportJobService(mongoTemplate, lineageExportService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), s3, dir.toString(), 1, 1, 60, 30000);
+    }
+
+    @AfterEach
+    public void teardown() {
+        service.shutdown();
+    }
+
+    private static JobLineageRow row(String job) {
+        return new JobLineageRow(null, "ns", "in", null, null, null, "ns", "out", null, null,
+                null, "ns", job, "JOB", null, null, null, null);
+    }
+
+    /** Status updates applied so far, in order. */
+    private List<Object> statuses(int expected) {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, timeout(5000).atLeast(expected))
+                .updateFirst(any(Query.class), updates.capture(), eq(ExportJobDocument.class));
+        return updates.getAllValues().stream()
+                .map(update -> update.getUpdateObject().get("$set", Document.class).get("status"))
+                .toList();
+    }
+
+    @Test
+    public void testJsonExportIsWrittenGzippedAndMarkedSucceeded() throws Exception {
+        doAnswer(invocation -> {
+            LineageExportService.Sink sink = invocation.getArgument(2);
+            sink.beginNamespace(UUID.randomUUID(), "ns");
+            sink.jobRow(row("etl"));
+            sink.beginColumnLineage();
+            sink.endNamespace(1, 0);
+            return null;
+        }).when(lineageExportService).streamLineage(eq(7), any(), any());
+
+        ExportJobDocument job = service.submit(new ExportJobService.ExportRequest(7, null, "JSON", null));
+
+        assertEquals(ExportJobStatus.QUEUED, job.getStatus());
+        verify(mongoTemplate).insert(job);
+        assertEquals(List.of(ExportJobStatus.RUNNING, ExportJobStatus.SUCCEEDED), statuses(2));
+
+        Path file = dir.resolve(job.getId()).resolve("lineage.json.gz");
+        String json;
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(json.startsWith("{\"namespaceData\":[{"));
+        assertTrue(json.contains("\"jobName\":\"etl\""));
+        assertTrue(json.endsWith("]}"));
+    }
+
+    @Test
+    public void testIdenticalRequestReusesExistingExport() {
+        ExportJobDocument existing = new ExportJobDocument();
+        existing.setId("existing");
+        existing.setStatus(ExportJobStatus.RUNNING);
+        when(mongoTemplate.findOne(any(Query.class), eq(ExportJobDocument.class))).thenReturn(existing);
+
+        // Namespace order does not matter
+        ExportJobDocument job = service.submit(
+                new ExportJobService.ExportRequest(7, List.of("b", "a"), "json", "local"));
+
+        assertSame(existing, job);
+        verify(mongoTemplate, never()).insert(any(ExportJobDocument.class));
+        assertEquals(new ExportJobService.ExportRequest(7, List.of("a", "b"), "json", "local").key(),
+                new ExportJobService.ExportRequest(7, List.of("b", "a", "a"), "JSON", "LOCAL").key());
+    }
+
+    @Test
+    public void testCancelStopsRunningExportAndDeletesPartialResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            LineageExportService.Sink sink = invocation.getArgument(2);
+            sink.beginNamespace(UUID.randomUUID(), "ns");
+            started.countDown();
+            while (true) {
+                sink.jobRow(row("etl")); // Throws once cancelled
+                Thread.sleep(5);
+            }
+        }).when(lineageExportService).streamLineage(anyInt(), any(), any());
+
+        ExportJobDocument job = service.submit(new ExportJobService.ExportRequest(1, null, "ndjson", null));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        service.cancel(job.getId());
+
+        assertEquals(List.of(ExportJobStatus.RUNNING, ExportJobStatus.CANCELLED), statuses(2));
+        // The worker neither reports success nor failure, and cleans up after itself
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.exists(dir.resolve(job.getId())) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(Files.exists(dir.resolve(job.getId())));
+        Thread.sleep(50);
+        assertEquals(2, statuses(2).size());
+    }
+
+    @Test
+    public void testSubmissionsBeyondCapacityAreRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(lineageExportService).streamLineage(anyInt(), any(), any());
+
+        // One running, one queued, then full
+        service.submit(new ExportJobService.ExportRequest(1, null, "json", null));
+        service.submit(new ExportJobService.ExportRequest(2, null, "json", null));
+        assertThrows(java.util.concurrent.RejectedExecutionException.class,
+                () -> service.submit(new ExportJobService.ExportRequest(3, null, "json", null)));
+        verify(mongoTemplate).remove(any(Query.class), eq(ExportJobDocument.class));
+        release.countDown();
+    }
+
+    @Test
+    public void testInvalidRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExportJobService.ExportRequest(7, null, "xml", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExportJobService.ExportRequest(0, null, "json", null));
+        // No S3 client unless archival is enabled
+        assertThrows(IllegalArgumentException.class,
+                () -> service.submit(new ExportJobService.ExportRequest(7, null, "json", "s3")));
+    }
+
+    @Test
+    public void testStaleExportIsReportedAsFailed() {
+        ExportJobDocument job = new ExportJobDocument();
+        job.setId("stale");
+        job.setStatus(ExportJobStatus.RUNNING);
+        job.setInstance("gone@host");
+        job.setHeartbeatAt(java.time.Instant.now().minusSeconds(600));
+        when(mongoTemplate.findById("stale", ExportJobDocument.class)).thenReturn(job);
+
+        ExportJobDocument found = service.find("stale").orElseThrow();
+
+        assertEquals(ExportJobStatus.FAILED, found.getStatus());
+        assertTrue(found.getError().contains("gone@host"));
+    }
+
+    @Test
+    public void testExpiredResultDirectoriesAreDeleted() throws IOException {
+        Path old = Files.createDirectories(dir.resolve("old"));
+        Files.writeString(old.resolve("lineage.json.gz"), "x");
+        Files.setLastModifiedTime(old, java.nio.file.attribute.FileTime.from(
+                java.time.Instant.now().minus(ExportJobService.RESULT_RETENTION).minusSeconds(60)));
+        Path recent = Files.createDirectories(dir.resolve("recent"));
+
+        service.deleteExpiredResults();
+
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+    }
+}
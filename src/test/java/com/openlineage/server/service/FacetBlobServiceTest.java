@@ -0,0 +1,135 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.config.DocumentToFacetMapConverter;
+import com.openlineage.server.domain.Dataset;
+import com.openlineage.server.domain.DocumentationFacet;
+import com.openlineage.server.domain.Facet;
+import com.openlineage.server.domain.GenericFacet;
+import com.openlineage.server.domain.RunEvent;
+import com.openlineage.server.domain.SchemaDatasetFacet;
+import com.openlineage.server.storage.document.FacetBlobDocument;
+import com.openlineage.server.storage.document.FacetBlobRef;
+import com.openlineage.server.storage.document.FacetCodecs;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FacetBlobServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private FacetBlobService service;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new FacetBlobService(mongoTemplate, true, List.of("schema", "columnLineage"), 512, 1 << 20,
+                Duration.ofDays(180), Duration.ofDays(90), Duration.ofDays(90));
+    }
+
+    private static SchemaDatasetFacet schema(int columns) {
+        List<SchemaDatasetFacet.SchemaField> fields = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            fields.add(new SchemaDatasetFacet.SchemaField("column_" + i, "VARCHAR", "Column " + i));
+        }
+        return new SchemaDatasetFacet(fields);
+    }
+
+    @Test
+    public void testLargeFacetsAreWrittenOnceAndReferenced() {
+        Object first = service.store("schema", FacetCodecs.encode(schema(50)));
+        Object second = service.store("schema", FacetCodecs.encode(schema(50)));
+
+        assertInstanceOf(FacetBlobRef.class, first);
+        assertEquals(first, second);
+        assertEquals(64, ((FacetBlobRef) first).hash().length());
+        // The second store is known to this instance and writes nothing
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(query.capture(), any(Update.class), eq(FacetBlobDocument.class));
+        assertEquals(((FacetBlobRef) first).hash(), query.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    public void testSmallOrUnlistedFacetsStayInline() {
+        Object small = FacetCodecs.encode(schema(1));
+        Object unlisted = FacetCodecs.encode(new DocumentationFacet("x".repeat(4096)));
+
+        assertSame(small, service.store("schema", small));
+        assertSame(unlisted, service.store("documentation", unlisted));
+        assertSame(unlisted, new FacetBlobService(mongoTemplate, false, List.of("documentation"), 0, 0,
+                Duration.ofDays(180), Duration.ofDays(90), Duration.ofDays(90))
+                .store("documentation", unlisted));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testDedupeReplacesFacetsOfInputsAndOutputs() {
+        Map<String, Facet> facets = new LinkedHashMap<>();
+        facets.put("schema", schema(50));
+        facets.put("documentation", new DocumentationFacet("orders"));
+        Dataset input = new Dataset("ns", "orders", facets);
+        Dataset output = new Dataset("ns", "summary", Map.of("documentation", new DocumentationFacet("summary")));
+        RunEvent event = new RunEvent("COMPLETE", ZonedDateTime.now(), new RunEvent.Run("run", null), null,
+                List.of(input), List.of(output), "producer", null);
+
+        RunEvent deduped = service.dedupe(event);
+
+        assertInstanceOf(FacetBlobRef.class, deduped.inputs().get(0).facets().get("schema"));
+        assertEquals(new DocumentationFacet("orders"), deduped.inputs().get(0).facets().get("documentation"));
+        assertSame(output, deduped.outputs().get(0));
+        assertSame(facets.get("schema"), input.facets().get("schema"));
+    }
+
+    @Test
+    public void testReadsResolveReferencesThroughTheCache() {
+        SchemaDatasetFacet facet = schema(50);
+        FacetBlobRef ref = (FacetBlobRef) service.store("schema", FacetCodecs.encode(facet));
+        Document content = Document.parse(new Document("content", FacetCodecs.encode(facet)).toJson())
+                .get("content", Document.class);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq(FacetBlobService.COLLECTION)))
+                .thenReturn(new Document("_id", ref.hash()).append("content", content).append("size", 2048));
+
+        DocumentToFacetMapConverter converter = new DocumentToFacetMapConverter(service);
+        Document stored = new Document("schema", ref.toDocument());
+
+        assertEquals(facet, converter.convert(stored).get("schema"));
+        assertEquals(facet, converter.convert(stored).get("schema"));
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(Document.class), eq(FacetBlobService.COLLECTION));
+    }
+
+    @Test
+    public void testMissingBlobsAreNotServedAsTheirReference() {
+        Document stored = new Document("schema", new FacetBlobRef("0".repeat(64)).toDocument());
+
+        Facet schema = new DocumentToFacetMapConverter(service).convert(stored).get("schema");
+
+        assertEquals(Map.of(), assertInstanceOf(GenericFacet.class, schema).getAdditionalProperties());
+        assertNull(service.resolve(stored.get("schema")));
+    }
+
+    @Test
+    public void testRetentionLongerThanTheBlobTtlFailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new FacetBlobService(mongoTemplate, true, List.of("schema"),
+                512, 0, FacetBlobService.TTL, Duration.ofDays(90), Duration.ofDays(90)));
+        assertThrows(IllegalStateException.class, () -> new FacetBlobService(mongoTemplate, true, List.of("schema"),
+                512, 0, Duration.ofDays(180), Duration.ofDays(90), FacetBlobService.TTL.minusHours(1)));
+        // Not checked while blobs are not written
+        new FacetBlobService(mongoTemplate, false, List.of("schema"), 512, 0,
+                FacetBlobService.TTL, Duration.ofDays(90), Duration.ofDays(90));
+    }
+}
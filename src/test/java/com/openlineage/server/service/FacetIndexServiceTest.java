@@ -0,0 +1,256 @@
+package com.openlineage.server.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.openlineage.server.domain.OwnershipDatasetFacet;
+import com.openlineage.server.domain.StorageDatasetFacet;
+import com.openlineage.server.storage.document.DocumentDbSanitizer;
+import com.openlineage.server.storage.document.FacetCodecs;
+import com.openlineage.server.storage.document.FacetIndexDocument;
+import com.openlineage.server.storage.document.MarquezId;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FacetIndexServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private FacetIndexService service;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(FacetIndexDocument.class))).thenReturn(bulk);
+        service = new FacetIndexService(mongoTemplate,
+                List.of("ownership.owners.name", "storage.fileFormat", "storage.storageLayer"));
+    }
+
+    @Test
+    public void testExtractFlattensLists() {
+        Object ownership = DocumentDbSanitizer.sanitize(new OwnershipDatasetFacet(List.of(
+                new OwnershipDatasetFacet.Owner("team-data", "TEAM"),
+                new OwnershipDatasetFacet.Owner("alice", "USER"))));
+
+        assertEquals(Set.of("team-data", "alice"), FacetIndexService.extract(ownership, "ownership.owners.name"));
+        assertEquals(Set.of(), FacetIndexService.extract(ownership, "ownership.missing"));
+    }
+
+    @Test
+    public void testExtractReadsCodecEncodedFacets() {
+        Object ownership = FacetCodecs.encode(new OwnershipDatasetFacet(List.of(
+                new OwnershipDatasetFacet.Owner("team-data", "TEAM"),
+                new OwnershipDatasetFacet.Owner(null, "USER"))));
+
+        assertEquals(Set.of("team-data"), FacetIndexService.extract(ownership, "ownership.owners.name"));
+        assertEquals(Set.of("TEAM", "USER"), FacetIndexService.extract(ownership, "ownership.owners.type"));
+    }
+
+    @Test
+    public void testExtractUnwrapsBsonScalars() {
+        Instant created = Instant.parse("2025-01-01T00:00:00Z");
+        BsonDocument storage = new BsonDocument()
+                .append("version", new BsonInt32(3))
+                .append("size", new BsonInt64(1L << 40))
+                .append("ratio", new BsonDouble(0.5))
+                .append("partitioned", BsonBoolean.TRUE)
+                .append("createdAt", new BsonDateTime(created.toEpochMilli()));
+        Map<String, Object> plain = Map.of("version", 3, "size", 1L << 40, "ratio", 0.5, "partitioned", true,
+                "createdAt", Date.from(created));
+
+        for (String field : List.of("version", "size", "ratio", "partitioned", "createdAt")) {
+            assertEquals(FacetIndexService.extract(plain, "storage." + field),
+                    FacetIndexService.extract(storage, "storage." + field), field);
+        }
+        assertEquals(Set.of("3"), FacetIndexService.extract(storage, "storage.version"));
+        assertEquals(Set.of(created.toString()), FacetIndexService.extract(storage, "storage.createdAt"));
+    }
+
+    @Test
+    public void testIndexWritesConfiguredPathsOfPresentFacets() {
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("storage", DocumentDbSanitizer.sanitize(new StorageDatasetFacet("iceberg", "parquet")));
+        facets.put("documentation", DocumentDbSanitizer.sanitize(Map.of("description", "ignored")));
+
+        service.index("ns", "orders", facets, ZonedDateTime.now());
+
+        // Stale values of every path are cleared in one delete, current ones upserted in one bulk
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(FacetIndexDocument.class));
+        assertEquals(2, removed.getValue().getQueryObject().get("$or", List.class).size());
+        verify(bulk, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulk).execute();
+    }
+
+    @Test
+    public void testIndexRetriesUpsertsThatRacedAnotherIngest() {
+        BulkWriteResult partial = BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of());
+        when(bulk.execute())
+                .thenThrow(new BulkOperationException("duplicates", new MongoBulkWriteException(partial,
+                        List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)),
+                        null, new ServerAddress(), Set.of())))
+                .thenReturn(partial);
+
+        service.index("ns", "orders", Map.of("storage",
+                DocumentDbSanitizer.sanitize(new StorageDatasetFacet("iceberg", "parquet"))), ZonedDateTime.now());
+
+        // Both values once, then only the one that hit the unique index
+        ArgumentCaptor<Query> upserted = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(3)).upsert(upserted.capture(), any(Update.class));
+        assertEquals(upserted.getAllValues().get(1), upserted.getAllValues().get(2));
+        verify(bulk, times(2)).execute();
+    }
+
+    @Test
+    public void testIndexRethrowsOtherBulkErrors() {
+        when(bulk.execute()).thenThrow(new BulkOperationException("failed", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of())));
+
+        assertThrows(BulkOperationException.class, () -> service.index("ns", "orders", Map.of("storage",
+                DocumentDbSanitizer.sanitize(new StorageDatasetFacet("iceberg", "parquet"))), ZonedDateTime.now()));
+        verify(bulk).execute();
+    }
+
+    @Test
+    public void testIndexSkipsEventsWithoutIndexedFacets() {
+        service.index("ns", "orders", Map.<String, Object>of("documentation", Map.of("description", "x")), ZonedDateTime.now());
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static FacetIndexDocument hit(String name) {
+        return new FacetIndexDocument(null, null, "ns", name, null);
+    }
+
+    private void count(String path, long count) {
+        when(mongoTemplate.count(argThat(query -> query != null
+                && path.equals(query.getQueryObject().get("path"))), eq(FacetIndexDocument.class))).thenReturn(count);
+    }
+
+    private List<Query> finds() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeast(0)).find(queries.capture(), eq(FacetIndexDocument.class));
+        return queries.getAllValues();
+    }
+
+    @Test
+    public void testFindDatasetsIntersectsFilters() {
+        count("ownership.owners.name", 2);
+        count("storage.fileFormat", 3);
+        when(mongoTemplate.find(any(Query.class), eq(FacetIndexDocument.class)))
+                .thenReturn(List.of(hit("a"), hit("b")))
+                .thenReturn(List.of(hit("b"), new FacetIndexDocument(null, null, "other", "a", null)));
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put("ownership.owners.name", "alice");
+        filters.put("storage.fileFormat", "parquet");
+
+        assertEquals(new FacetIndexService.Matches(List.of(new MarquezId("ns", "b")), 1),
+                service.findDatasets(filters, null, 0, 10));
+        List<Query> finds = finds();
+        assertEquals(2, finds.size());
+        assertEquals(new Document("namespace", 1).append("name", 1), finds.get(0).getSortObject());
+        assertEquals(FacetIndexService.PAGE_SIZE, finds.get(0).getLimit());
+        Document checked = finds.get(1).getQueryObject();
+        assertEquals("storage.fileFormat", checked.get("path"));
+        assertEquals(new Document("$in", List.of("a", "b")), checked.get("name"));
+    }
+
+    @Test
+    public void testFindDatasetsIsDrivenByTheMostSelectiveFilter() {
+        count("ownership.owners.name", 10_000);
+        count("storage.fileFormat", 1);
+        when(mongoTemplate.find(any(Query.class), eq(FacetIndexDocument.class)))
+                .thenReturn(List.of(hit("b")));
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put("ownership.owners.name", "alice");
+        filters.put("storage.fileFormat", "parquet");
+        service.findDatasets(filters, "ns", 0, 10);
+
+        Query driver = finds().get(0);
+        assertEquals("storage.fileFormat", driver.getQueryObject().get("path"));
+        assertEquals("ns", driver.getQueryObject().get("namespace"));
+    }
+
+    @Test
+    public void testFindDatasetsWalksTheDriverInPages() {
+        count("ownership.owners.name", 1);
+        count("storage.fileFormat", 1);
+        List<FacetIndexDocument> full = IntStream.range(0, FacetIndexService.PAGE_SIZE)
+                .mapToObj(i -> hit(String.format("d%04d", i))).toList();
+        when(mongoTemplate.find(any(Query.class), eq(FacetIndexDocument.class)))
+                .thenReturn(full)
+                .thenReturn(full.subList(0, 3))
+                .thenReturn(List.of(hit("z")))
+                .thenReturn(List.of(hit("z")));
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put("ownership.owners.name", "alice");
+        filters.put("storage.fileFormat", "parquet");
+        FacetIndexService.Matches matches = service.findDatasets(filters, null, 2, 10);
+
+        // Three matches on the first page and one on the second; the first two are skipped
+        assertEquals(4, matches.total());
+        assertEquals(List.of(new MarquezId("ns", "d0002"), new MarquezId("ns", "z")), matches.datasets());
+        Document next = finds().get(2).getQueryObject();
+        assertEquals(List.of(new Document("namespace", new Document("$gt", "ns")),
+                new Document("namespace", "ns").append("name", new Document("$gt", "d0499"))), next.get("$or"));
+    }
+
+    @Test
+    public void testFindDatasetsPagesASingleFilterInTheDatabase() {
+        count("storage.fileFormat", 42);
+        when(mongoTemplate.find(any(Query.class), eq(FacetIndexDocument.class))).thenReturn(List.of(hit("k")));
+
+        FacetIndexService.Matches matches = service.findDatasets(Map.of("storage.fileFormat", "parquet"), null, 20, 10);
+
+        assertEquals(new FacetIndexService.Matches(List.of(new MarquezId("ns", "k")), 42), matches);
+        Query query = finds().get(0);
+        assertEquals(20, query.getSkip());
+        assertEquals(10, query.getLimit());
+    }
+
+    @Test
+    public void testRejectsUnindexedPath() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findDatasets(Map.of("schema.fields.name", "id"), null, 0, 10));
+    }
+
+    @Test
+    public void testRejectsMalformedPathConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new FacetIndexService(mongoTemplate, List.of("ownership")));
+    }
+}
@@ -7,13 +7,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +29,13 @@ class FacetMergeServiceTest {
     @Mock
     private MongoTemplate mongoTemplate;
 
+    @Mock
+    private FacetIndexService facetIndexService;
+
+    @Spy
+    private FacetBlobService facetBlobs = new FacetBlobService(null, false, List.of("schema"), 2048, 0,
+                Duration.ofDays(180), Duration.ofDays(90), Duration.ofDays(90));
+
     @InjectMocks
     private FacetMergeService facetMergeService;
 
@@ -0,0 +1,68 @@
+package com.openlineage.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testSmallCardinalitiesAreExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.estimate());
+
+        for (int i = 0; i < 10; i++) {
+            sketch.add("ns:job_" + i);
+            sketch.add("ns:job_" + i); // duplicates do not count
+        }
+        assertEquals(10, sketch.estimate());
+    }
+
+    @Test
+    public void testLargeCardinalityWithinTwoPercent() {
+        HyperLogLog sketch = new HyperLogLog();
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            sketch.add("s3://bucket:table_" + i);
+        }
+        assertEquals(n, sketch.estimate(), n * 0.02);
+    }
+
+    @Test
+    public void testMergeCountsUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            left.add("job_" + i);
+        }
+        for (int i = 15_000; i < 45_000; i++) {
+            right.add("job_" + i);
+        }
+
+        assertTrue(left.merge(right));
+        assertEquals(45_000, left.estimate(), 45_000 * 0.02);
+        // Merging is idempotent
+        assertFalse(left.merge(right));
+    }
+
+    @Test
+    public void testSerializationRoundTrip() {
+        HyperLogLog sparse = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sparse.add("job_" + i);
+        }
+        byte[] sparseBytes = sparse.toBytes();
+        assertTrue(sparseBytes.length < 1000, "few values are stored sparsely");
+        assertEquals(sparse.estimate(), HyperLogLog.fromBytes(sparseBytes).estimate());
+
+        HyperLogLog dense = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            dense.add("job_" + i);
+        }
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(dense.toBytes()).estimate());
+
+        assertTrue(HyperLogLog.fromBytes(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] { 'X', 1 }));
+    }
+}
@@ -1,6 +1,7 @@
 package com.openlineage.server.service;
 
 import com.openlineage.server.domain.*;
+import com.openlineage.server.search.SearchIndexService;
 import com.openlineage.server.storage.document.JobDocument;
 import com.openlineage.server.storage.document.MarquezId;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,13 +23,31 @@ public class JobServiceTest {
 
     private MongoTemplate mongoTemplate;
     private VersionService versionService;
+    private StatsRollupService statsRollupService;
     private JobService jobService;
 
     @BeforeEach
     public void setup() {
         mongoTemplate = mock(MongoTemplate.class);
         versionService = mock(VersionService.class);
-        jobService = new JobService(mongoTemplate, versionService);
+        statsRollupService = mock(StatsRollupService.class);
+        jobService = new JobService(mongoTemplate, versionService, mock(SearchIndexService.class),
+                statsRollupService);
+    }
+
+    @Test
+    public void testOnlyInsertedJobsAreCountedAsNew() {
+        ZonedDateTime eventTime = ZonedDateTime.now();
+        Job job = new Job("my-namespace", "my-job", null);
+
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(JobDocument.class)))
+                .thenReturn(com.mongodb.client.result.UpdateResult.acknowledged(0, 0L, new org.bson.BsonString("id")))
+                .thenReturn(com.mongodb.client.result.UpdateResult.acknowledged(1, 1L, null));
+
+        jobService.upsertJob(job, eventTime, Map.of(), Map.of(), null, null, "run1", false);
+        jobService.upsertJob(job, eventTime, Map.of(), Map.of(), null, null, "run1", false);
+
+        verify(statsRollupService, times(1)).recordNewJob(eventTime);
     }
 
     @Test
@@ -63,6 +82,8 @@ public class JobServiceTest {
         assertTrue(updateStr.contains("Test job description"));
         assertTrue(updateStr.contains("http://github.com/my-job"));
         assertTrue(updateStr.contains("parent-job"));
+        // Server-side change cursor for delta exports
+        assertTrue(update.getUpdateObject().get("$currentDate", org.bson.Document.class).containsKey("modifiedAt"));
     }
 
     @Test
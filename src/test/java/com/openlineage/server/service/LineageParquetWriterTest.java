@@ -0,0 +1,104 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.api.models.LineageExportModels.JobLineageRow;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineageParquetWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static JobLineageRow row(String job, Instant lastRun) {
+        return new JobLineageRow("src-uuid", "ns", "src", null, 42L, "tgt-uuid", "ns", "tgt", null, null,
+                "job-uuid", "ns", job, "BATCH", null, lastRun, "COMPLETE", null);
+    }
+
+    private static InputFile input(Path file) throws Exception {
+        return HadoopInputFile.fromPath(new org.apache.hadoop.fs.Path(file.toUri()), new Configuration());
+    }
+
+    @Test
+    public void testJobRowsRoundTrip() throws Exception {
+        Path file = dir.resolve("job_lineage.parquet");
+        Instant lastRun = Instant.parse("2024-03-01T10:00:00Z");
+        try (LineageParquetWriter writer = new LineageParquetWriter(LineageParquetWriter.localFile(file), null)) {
+            assertTrue(writer.acceptsJobRows());
+            assertFalse(writer.acceptsColumnRows());
+            writer.jobRow(row("etl", lastRun));
+            writer.jobRow(row("report", null));
+        }
+
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(input(file)).build()) {
+            GenericRecord first = reader.read();
+            assertEquals("etl", first.get("jobName").toString());
+            assertEquals(42L, first.get("sourceAlationDatasetId"));
+            assertEquals(lastRun.toEpochMilli(), first.get("lastRunTime"));
+            assertNull(first.get("sourcePhysicalName"));
+            GenericRecord second = reader.read();
+            assertEquals("report", second.get("jobName").toString());
+            assertNull(second.get("lastRunTime"));
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testColumnsAreSnappyAndDictionaryEncoded() throws Exception {
+        Path file = dir.resolve("job_lineage.parquet");
+        try (LineageParquetWriter writer = new LineageParquetWriter(LineageParquetWriter.localFile(file), null)) {
+            for (int i = 0; i < 100; i++) {
+                writer.jobRow(row("job-" + (i % 3), null));
+            }
+        }
+
+        try (ParquetFileReader reader = ParquetFileReader.open(input(file))) {
+            ColumnChunkMetaData jobName = reader.getFooter().getBlocks().get(0).getColumns().stream()
+                    .filter(column -> column.getPath().toDotString().equals("jobName"))
+                    .findFirst().orElseThrow();
+            assertEquals(CompressionCodecName.SNAPPY, jobName.getCodec());
+            assertTrue(jobName.getEncodings().contains(Encoding.PLAIN_DICTIONARY)
+                    || jobName.getEncodings().contains(Encoding.RLE_DICTIONARY));
+        }
+    }
+
+    @Test
+    public void testStreamOutputStartsWithMagic() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LineageParquetWriter writer = new LineageParquetWriter(LineageParquetWriter.stream(out), null)) {
+            writer.jobRow(row("etl", null));
+        }
+
+        byte[] bytes = out.toByteArray();
+        assertEquals("PAR1", new String(bytes, 0, 4));
+        assertEquals("PAR1", new String(bytes, bytes.length - 4, 4));
+    }
+
+    @Test
+    public void testAbortLeavesNoFooter() throws Exception {
+        Path file = dir.resolve("job_lineage.parquet");
+        LineageParquetWriter writer = new LineageParquetWriter(LineageParquetWriter.localFile(file), null);
+        writer.jobRow(row("etl", null));
+
+        writer.abort();
+
+        byte[] bytes = Files.readAllBytes(file);
+        assertFalse(bytes.length >= 8 && "PAR1".equals(new String(bytes, bytes.length - 4, 4)));
+    }
+}
@@ -2,6 +2,7 @@ package com.openlineage.server.service;
 
 import com.openlineage.server.domain.Job;
 import com.openlineage.server.domain.RunEvent;
+import com.openlineage.server.storage.document.MarquezId;
 import com.openlineage.server.storage.repository.LineageEventRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +10,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -24,6 +28,8 @@ public class LineageServiceTest {
     private DatasetService datasetService;
     private org.springframework.data.mongodb.core.MongoTemplate mongoTemplate;
     private DatasetNameNormalizer nameNormalizer;
+    private StatsRollupService statsRollupService;
+    private DistinctActivityService distinctActivityService;
 
     @BeforeEach
     public void setup() {
@@ -34,9 +40,13 @@ public class LineageServiceTest {
         datasetService = mock(DatasetService.class);
         mongoTemplate = mock(org.springframework.data.mongodb.core.MongoTemplate.class);
         nameNormalizer = new DatasetNameNormalizer(true);
+        statsRollupService = mock(StatsRollupService.class);
+        distinctActivityService = mock(DistinctActivityService.class);
 
         service = new LineageService(eventRepo, governanceService, jobService, runService, datasetService,
-                mongoTemplate, nameNormalizer);
+                mongoTemplate, nameNormalizer, statsRollupService, distinctActivityService,
+                new FacetBlobService(mongoTemplate, false, List.of("schema", "columnLineage"), 2048, 0,
+                Duration.ofDays(180), Duration.ofDays(90), Duration.ofDays(90)));
     }
 
     @Test
@@ -51,7 +61,10 @@ public class LineageServiceTest {
         verify(governanceService, times(1)).validateOrRegisterNamespace("new-ns", "producer-x");
         verify(jobService, times(1)).upsertJob(any(), any(), any(), any(), any(), any(), any(), anyBoolean());
         verify(runService, times(1)).upsertRun(any(), anyBoolean());
-        verify(eventRepo, times(1)).save(any());
+        verify(eventRepo, times(1)).saveToPartition(any());
+        verify(statsRollupService).recordEvent(eq("START"), any());
+        verify(distinctActivityService).record(any(), eq(new MarquezId("new-ns", "job")), eq(Set.of()),
+                eq("producer-x"));
     }
 
     @Test
@@ -68,7 +81,8 @@ public class LineageServiceTest {
             service.ingestEvent(event);
         });
 
-        verify(eventRepo, never()).save(any());
+        verify(eventRepo, never()).saveToPartition(any());
+        verifyNoInteractions(statsRollupService, distinctActivityService);
     }
     @Test
     public void testIngestEventWithInputsOutputsAndParent() {
@@ -114,6 +128,6 @@ public class LineageServiceTest {
         verify(mongoTemplate, times(2)).upsert(any(org.springframework.data.mongodb.core.query.Query.class), any(org.springframework.data.mongodb.core.query.Update.class), eq(com.openlineage.server.storage.document.LineageEdgeDocument.class));
 
         // verify event saved
-        verify(eventRepo, times(1)).save(any());
+        verify(eventRepo, times(1)).saveToPartition(any());
     }
 }
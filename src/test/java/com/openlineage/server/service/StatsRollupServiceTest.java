@@ -0,0 +1,167 @@
+package com.openlineage.server.service;
+
+import com.openlineage.server.storage.document.JobDocument;
+import com.openlineage.server.storage.document.StatsRollupDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class StatsRollupServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private StatsRollupService service;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(StatsRollupDocument.class))).thenReturn(bulk);
+        when(mongoTemplate.aggregate(any(Aggregation.class), any(Class.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        when(mongoTemplate.aggregate(any(Aggregation.class), anyString(), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        service = new StatsRollupService(mongoTemplate,
+                new EventPartitionService(mongoTemplate, false, Duration.ofDays(90), false), 90);
+    }
+
+    @Test
+    public void testRecordEventIncrementsUtcHourBucket() {
+        ZonedDateTime eventTime = ZonedDateTime.of(2024, 3, 1, 12, 45, 10, 0, ZoneId.of("Europe/Paris"));
+
+        service.recordEvent("complete", eventTime);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(StatsRollupDocument.class));
+        assertEquals(Instant.parse("2024-03-01T11:00:00Z"), query.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("events.COMPLETE", 1L), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    public void testRecordNewJobIncrementsCounter() {
+        service.recordNewJob(ZonedDateTime.parse("2024-03-01T10:59:59Z"));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(StatsRollupDocument.class));
+        assertEquals(new Document(StatsRollupService.NEW_JOBS, 1L), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    public void testCounterFailureDoesNotPropagate() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(StatsRollupDocument.class)))
+                .thenThrow(new RuntimeException("boom"));
+
+        assertDoesNotThrow(() -> service.recordEvent("START", ZonedDateTime.now()));
+    }
+
+    @Test
+    public void testTierBuckets() {
+        Instant time = Instant.parse("2024-03-15T10:42:00Z");
+        assertEquals(Instant.parse("2024-03-15T10:00:00Z"), StatsRollupService.Tier.HOURLY.floor(time));
+        assertEquals(Instant.parse("2024-03-15T00:00:00Z"), StatsRollupService.Tier.DAILY.floor(time));
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), StatsRollupService.Tier.MONTHLY.floor(time));
+        assertEquals(Instant.parse("2024-04-01T00:00:00Z"),
+                StatsRollupService.Tier.MONTHLY.next(Instant.parse("2024-03-01T00:00:00Z")));
+    }
+
+    @Test
+    public void testCompactRollsChangedHoursUpIntoDayAndMonth() {
+        StatsRollupDocument changed = new StatsRollupDocument(Instant.parse("2024-03-15T10:00:00Z"));
+        StatsRollupDocument morning = new StatsRollupDocument(Instant.parse("2024-03-15T09:00:00Z"));
+        morning.getEvents().put("START", 3L);
+        morning.setNewJobs(1);
+        StatsRollupDocument noon = new StatsRollupDocument(Instant.parse("2024-03-15T10:00:00Z"));
+        noon.getEvents().put("START", 2L);
+        noon.getEvents().put("COMPLETE", 2L);
+        // First the changed-bucket scan, then the hours of the changed day
+        when(mongoTemplate.find(any(Query.class), eq(StatsRollupDocument.class), eq("stats_hourly")))
+                .thenReturn(List.of(changed), List.of(morning, noon));
+        StatsRollupDocument earlierDay = new StatsRollupDocument(Instant.parse("2024-03-02T00:00:00Z"));
+        earlierDay.getEvents().put("START", 10L);
+        StatsRollupDocument day = new StatsRollupDocument(Instant.parse("2024-03-15T00:00:00Z"));
+        day.getEvents().put("START", 5L);
+        when(mongoTemplate.find(any(Query.class), eq(StatsRollupDocument.class), eq("stats_daily")))
+                .thenReturn(List.of(earlierDay, day));
+
+        assertEquals(1, service.compact());
+
+        ArgumentCaptor<StatsRollupDocument> daily = ArgumentCaptor.forClass(StatsRollupDocument.class);
+        verify(mongoTemplate).save(daily.capture(), eq("stats_daily"));
+        assertEquals(Instant.parse("2024-03-15T00:00:00Z"), daily.getValue().getBucket());
+        assertEquals(Map.of("START", 5L, "COMPLETE", 2L), daily.getValue().getEvents());
+        assertEquals(1, daily.getValue().getNewJobs());
+
+        ArgumentCaptor<StatsRollupDocument> monthly = ArgumentCaptor.forClass(StatsRollupDocument.class);
+        verify(mongoTemplate).save(monthly.capture(), eq("stats_monthly"));
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), monthly.getValue().getBucket());
+        assertEquals(Map.of("START", 15L), monthly.getValue().getEvents());
+    }
+
+    @Test
+    public void testCompactOnlyScansChangesAfterFirstRun() {
+        service.compact();
+        service.compact();
+
+        ArgumentCaptor<Query> scans = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(scans.capture(), eq(StatsRollupDocument.class), eq("stats_hourly"));
+        assertTrue(scans.getAllValues().get(0).getQueryObject().isEmpty());
+        assertTrue(scans.getAllValues().get(1).getQueryObject().containsKey("updatedAt"));
+        verify(mongoTemplate, never()).save(any(), any(String.class));
+    }
+
+    @Test
+    public void testEventTypeKey() {
+        assertEquals("FAIL", StatsRollupService.eventTypeKey("fail"));
+        assertEquals("OTHER", StatsRollupService.eventTypeKey(null));
+    }
+
+    @Test
+    public void testBackfillSetsCountersFromAggregations() {
+        Document eventRow = new Document("_id", new Document("hour", "2024-03-01T10:00:00Z").append("type", "start"))
+                .append("count", 4);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(EventPartitionService.COLLECTION), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(eventRow), new Document()));
+        Document jobRow = new Document("_id", "2024-03-01T10:00:00Z").append("count", 2);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(JobDocument.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(jobRow), new Document()));
+
+        service.backfill(Instant.parse("2024-03-01T00:00:00Z"), Instant.parse("2024-03-02T00:00:00Z"));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), updates.capture());
+        assertEquals(new Document("events.START", 4L), updates.getAllValues().get(0).getUpdateObject().get("$set"));
+        assertEquals(new Document(StatsRollupService.NEW_JOBS, 2L),
+                updates.getAllValues().get(1).getUpdateObject().get("$set"));
+        verify(bulk).execute();
+    }
+
+    @Test
+    public void testBackfillSkippedWhenRollupsExist() {
+        when(mongoTemplate.exists(any(Query.class), eq(StatsRollupDocument.class))).thenReturn(true);
+
+        service.backfillIfEmpty();
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(StatsRollupDocument.class));
+    }
+}
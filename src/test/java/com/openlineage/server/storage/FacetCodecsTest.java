@@ -0,0 +1,82 @@
+package com.openlineage.server.storage;
+
+import com.openlineage.server.domain.ColumnLineageDatasetFacet;
+import com.openlineage.server.domain.DocumentationFacet;
+import com.openlineage.server.domain.Facet;
+import com.openlineage.server.domain.GenericFacet;
+import com.openlineage.server.domain.SchemaDatasetFacet;
+import com.openlineage.server.domain.SourceCodeLocationJobFacet;
+import com.openlineage.server.domain.SymlinksDatasetFacet;
+import com.openlineage.server.storage.document.DocumentDbSanitizer;
+import com.openlineage.server.storage.document.FacetCodecs;
+import org.bson.BSONException;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FacetCodecsTest {
+
+    private static ColumnLineageDatasetFacet columnLineage() {
+        Map<String, ColumnLineageDatasetFacet.Fields> fields = new LinkedHashMap<>();
+        fields.put("order.id", new ColumnLineageDatasetFacet.Fields(
+                List.of(new ColumnLineageDatasetFacet.InputField("s3://raw", "orders", "id")), "copied", "IDENTITY"));
+        fields.put("$total", new ColumnLineageDatasetFacet.Fields(null, null, null));
+        return new ColumnLineageDatasetFacet(fields);
+    }
+
+    /** What {@link DocumentDbSanitizer} would store, as the driver reads it back. */
+    @SuppressWarnings("unchecked")
+    private static Document stored(Object facet) {
+        return Document.parse(new Document((Map<String, Object>) DocumentDbSanitizer.sanitize(facet)).toJson());
+    }
+
+    @Test
+    public void testEncodesLikeTheSanitizer() {
+        List<Facet> facets = List.of(columnLineage(),
+                new SchemaDatasetFacet(List.of(new SchemaDatasetFacet.SchemaField("id", "BIGINT", null))),
+                new SymlinksDatasetFacet("producer", "schema", List.of(
+                        new SymlinksDatasetFacet.Identifier("ns", "db.orders", "TABLE"))),
+                new SourceCodeLocationJobFacet("git", "https://example.com", null, "jobs/orders.py", null, null, "main"),
+                new DocumentationFacet(null));
+
+        for (Facet facet : facets) {
+            BsonDocument encoded = (BsonDocument) FacetCodecs.encode(facet);
+            assertEquals(stored(facet).toBsonDocument(), encoded, facet.getClass().getSimpleName());
+        }
+        assertTrue(((BsonDocument) FacetCodecs.encode(columnLineage())).getDocument("fields")
+                .containsKey("order_dot_id"));
+    }
+
+    @Test
+    public void testDecodesStoredFacets() {
+        ColumnLineageDatasetFacet facet = columnLineage();
+
+        assertEquals(facet, FacetCodecs.decode(ColumnLineageDatasetFacet.class, stored(facet)));
+        assertEquals(new ArrayList<>(facet.fields().keySet()),
+                new ArrayList<>(FacetCodecs.decode(ColumnLineageDatasetFacet.class, stored(facet)).fields().keySet()));
+    }
+
+    @Test
+    public void testDecodeIgnoresUnknownFieldsAndCoercesScalars() {
+        Document stored = new Document("description", 42).append("_producer", "p");
+
+        assertEquals(new DocumentationFacet("42"), FacetCodecs.decode(DocumentationFacet.class, stored));
+        assertThrows(BSONException.class, () -> FacetCodecs.decode(DocumentationFacet.class,
+                new Document("description", new Document("nested", true))));
+    }
+
+    @Test
+    public void testEncodeFallsBackToSanitizerForOtherFacets() {
+        GenericFacet generic = new GenericFacet();
+        generic.setAdditionalProperty("a.b", 1);
+
+        assertEquals(Map.of("a_dot_b", 1), FacetCodecs.encode(generic));
+    }
+}
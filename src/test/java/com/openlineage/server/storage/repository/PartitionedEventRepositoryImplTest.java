@@ -0,0 +1,107 @@
+package com.openlineage.server.storage.repository;
+
+import com.openlineage.server.config.MongoConfig;
+import com.openlineage.server.service.EventPartitionService;
+import com.openlineage.server.storage.document.LineageEventDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PartitionedEventRepositoryImplTest {
+
+    private static final ZonedDateTime MARCH = ZonedDateTime.parse("2024-03-10T00:00:00Z");
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setup() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionNames())
+                .thenReturn(Set.of("lineage_events", "lineage_events_202402", "lineage_events_202403"));
+    }
+
+    private PartitionedEventRepositoryImpl repository(boolean partitioned) {
+        return new PartitionedEventRepositoryImpl(mongoTemplate,
+                new EventPartitionService(mongoTemplate, partitioned, Duration.ofDays(90), false));
+    }
+
+    private static LineageEventDocument event(String id, long hours) {
+        LineageEventDocument event = new LineageEventDocument();
+        event.setId(id);
+        event.setEventTime(MARCH.plusHours(hours));
+        return event;
+    }
+
+    private void collection(String name, LineageEventDocument... events) {
+        when(mongoTemplate.find(any(Query.class), eq(LineageEventDocument.class), eq(name)))
+                .thenReturn(List.of(events));
+        when(mongoTemplate.count(any(Query.class), eq(LineageEventDocument.class), eq(name)))
+                .thenReturn((long) events.length + 10);
+    }
+
+    @Test
+    public void testPagesAreCutFromTheMergeOfEveryCollection() {
+        collection("lineage_events_202403", event("e5", 5), event("e3", 3));
+        collection("lineage_events_202402", event("e4", 4), event("e1", 1));
+        collection("lineage_events", event("e2", 2));
+
+        Page<LineageEventDocument> page = repository(true).findByEventTimeBetween(MARCH, MARCH.plusDays(1),
+                PageRequest.of(1, 2, Sort.by("eventTime").descending()));
+
+        assertEquals(List.of("e3", "e2"), page.getContent().stream().map(LineageEventDocument::getId).toList());
+        assertEquals(35, page.getTotalElements());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(LineageEventDocument.class), eq("lineage_events"));
+        assertEquals(4, query.getValue().getLimit());
+        assertEquals(0, query.getValue().getSkip());
+    }
+
+    @Test
+    public void testSingleCollectionIsPagedByTheDatabase() {
+        collection("lineage_events", event("e2", 2));
+
+        Page<LineageEventDocument> page = repository(false).findByEventOutputsNamespaceAndEventOutputsName("db",
+                "table", PageRequest.of(2, 5, Sort.by(Sort.Direction.DESC, "event.eventTime")));
+
+        assertEquals(1, page.getContent().size());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(LineageEventDocument.class), eq("lineage_events"));
+        assertEquals(10, query.getValue().getSkip());
+        assertEquals("db", query.getValue().getQueryObject().get("event.outputs.namespace"));
+        verify(mongoTemplate, never()).getCollectionNames();
+    }
+
+    @Test
+    public void testEventsAreSavedToTheirPartition() {
+        LineageEventDocument event = event("e1", 1);
+        event.setCreatedAt(MARCH);
+        when(mongoTemplate.indexOps("lineage_events_202403"))
+                .thenReturn(mock(org.springframework.data.mongodb.core.index.IndexOperations.class));
+        org.springframework.data.mongodb.core.mapping.MongoMappingContext context =
+                new org.springframework.data.mongodb.core.mapping.MongoMappingContext();
+        context.setSimpleTypeHolder(new MongoConfig().customConversions(null).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new org.springframework.data.mongodb.core.convert.MappingMongoConverter(
+                org.springframework.data.mongodb.core.convert.NoOpDbRefResolver.INSTANCE, context));
+
+        repository(true).saveToPartition(event);
+        repository(false).saveToPartition(event);
+
+        verify(mongoTemplate).save(event, "lineage_events_202403");
+        verify(mongoTemplate).save(event, "lineage_events");
+    }
+}